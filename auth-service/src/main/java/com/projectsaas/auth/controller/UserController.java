@@ -28,7 +28,7 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('SERVICE')")
     public ResponseEntity<ApiResponse<List<UserDto>>> getAllUsers() {
         UUID tenantId = TenantContext.getTenantId();
         log.info("Getting all users for tenant: {}", tenantId);
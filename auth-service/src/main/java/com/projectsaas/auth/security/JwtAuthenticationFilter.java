@@ -68,6 +68,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
+            // Token de service (ex: project-service chargeant l'annuaire d'un tenant)
+            final String serviceName = jwtService.extractServiceName(jwt);
+            if (serviceName != null) {
+                if (jwtService.extractTenantId(jwt) != null
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            "service:" + serviceName,
+                            null,
+                            List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    log.debug("Service authenticated: {}", serviceName);
+                }
+                filterChain.doFilter(request, response);
+                return;
+            }
+
             final String userEmail = jwtService.extractUsername(jwt);
             final UUID tenantId = jwtService.extractTenantId(jwt);
 
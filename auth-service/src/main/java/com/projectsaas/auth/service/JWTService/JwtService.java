@@ -206,6 +206,18 @@ public class JwtService {
         }
     }
 
+    // Token d'un autre service (claim "service"), sans utilisateur associé
+    public String extractServiceName(String token) {
+        try {
+            if (isRefreshToken(token)) {
+                return null;
+            }
+            return extractClaim(token, claims -> claims.get("service", String.class));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     // Obtenir temps restant avant expiration
     public long getExpirationTime(String token) {
         Date expiration = extractExpiration(token);
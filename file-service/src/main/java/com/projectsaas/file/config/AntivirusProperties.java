@@ -12,4 +12,5 @@ public class AntivirusProperties {
     private String engine = "mock";
     private String clamavHost = "localhost";
     private int clamavPort = 3310;
+    private int timeout = 30000; // ms, connexion et réponse clamd
 }
\ No newline at end of file
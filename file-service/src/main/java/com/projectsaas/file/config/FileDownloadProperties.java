@@ -0,0 +1,17 @@
+package com.projectsaas.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.download")
+public class FileDownloadProperties {
+    // Envoi par le connecteur Tomcat (sendfile) : aucune copie en mémoire utilisateur
+    private boolean sendfileEnabled = true;
+    // En dessous, une écriture classique coûte moins que la mise en place du sendfile
+    private long sendfileMinSize = 48 * 1024;
+    // Au-delà, l'en-tête Range est ignoré et le fichier envoyé en entier
+    private int maxRanges = 16;
+}
@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 
 @Data
@@ -11,6 +12,21 @@ import java.util.List;
 @ConfigurationProperties(prefix = "file.upload")
 public class FileUploadProperties {
     private String maxSize = "100MB";
+    // Exécutables natifs (PE, ELF, Mach-O) refusés d'après leurs premiers octets
+    private boolean rejectExecutables = true;
     private List<String> allowedExtensions;
     private List<String> blockedExtensions;
+    private Resumable resumable = new Resumable();
+
+    // Uploads reprenables (/api/files/uploads) : parties envoyées séparément, dans n'importe quel ordre
+    @Data
+    public static class Resumable {
+        // Relevée à 5MB au minimum (taille minimale d'une partie S3 hors dernière)
+        private String chunkSize = "8MB";
+        private String maxSize = "50GB";
+        // Session abandonnée puis nettoyée passé ce délai après sa création
+        private Duration sessionTtl = Duration.ofHours(24);
+        // Période du nettoyage des sessions expirées, en ms (lue par @Scheduled)
+        private long cleanupInterval = 900000;
+    }
 }
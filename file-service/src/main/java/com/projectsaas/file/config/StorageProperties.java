@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "storage")
@@ -12,6 +14,19 @@ public class StorageProperties {
     private Local local = new Local();
     private S3 s3 = new S3();
     private Minio minio = new Minio();
+    private Dedup dedup = new Dedup();
+
+    // Stockage adressé par contenu : un contenu identique n'est stocké qu'une fois par périmètre
+    @Data
+    public static class Dedup {
+        private boolean enabled = false;
+        // tenant : partage entre fichiers d'un même tenant ; global : entre tous les tenants
+        private String scope = "tenant";
+        // Délai avant suppression d'un blob qui n'est plus référencé
+        private Duration gcGrace = Duration.ofHours(1);
+        // Période du ramasse-miettes, en ms (lue par @Scheduled)
+        private long gcInterval = 3600000;
+    }
 
     @Data
     public static class Local {
@@ -11,4 +11,11 @@ public class ThumbnailProperties {
     private boolean enabled = true;
     private float quality = 0.8f;
     private boolean generateAsync = true;
+    // Générations simultanées ; au-delà de queueCapacity en attente, l'appelant génère lui-même
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 100;
+    // Images plus grandes ignorées (temps de décodage, bombes de décompression)
+    private long maxSourcePixels = 250_000_000L;
+    // Budget mémoire du cache des miniatures servies
+    private long cacheMaxBytes = 64L * 1024 * 1024;
 }
\ No newline at end of file
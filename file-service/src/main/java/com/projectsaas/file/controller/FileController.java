@@ -1,26 +1,33 @@
 package com.projectsaas.file.controller;
 
 import com.projectsaas.file.dto.*;
+import com.projectsaas.file.exception.FileSecurityException;
+import com.projectsaas.file.exception.FileValidationException;
+import com.projectsaas.file.service.FileDownloadService;
 import com.projectsaas.file.service.FileService;
+import com.projectsaas.file.storage.StorageStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,6 +39,7 @@ import java.util.UUID;
 public class FileController {
 
     private final FileService fileService;
+    private final FileDownloadService fileDownloadService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload d'un fichier")
@@ -60,6 +68,59 @@ public class FileController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success(uploadedFile, "Fichier uploadé avec succès"));
 
+        } catch (FileValidationException | FileSecurityException | MaxUploadSizeExceededException e) {
+            // 400 / 403 / 413 via GlobalExceptionHandler
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid file upload request", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error during file upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Erreur inattendue lors de l'upload"));
+        }
+    }
+
+    // Corps brut = contenu du fichier : lu une seule fois, sans passer par le disque temporaire du multipart
+    @PostMapping("/upload/stream")
+    @Operation(summary = "Upload d'un fichier en flux (corps de la requête)")
+    public ResponseEntity<ApiResponse<FileDto>> uploadFileStream(
+            @RequestParam("filename") String filename,
+            @RequestParam(value = "folderId", required = false) UUID folderId,
+            @RequestParam(value = "entityType", required = false) String entityType,
+            @RequestParam(value = "entityId", required = false) UUID entityId,
+            @RequestParam(value = "isPublic", defaultValue = "false") Boolean isPublic,
+            @RequestParam(value = "allowDuplicates", defaultValue = "true") Boolean allowDuplicates,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader("Authorization") String authorization,
+            HttpServletRequest httpRequest) {
+
+        try {
+            if (contentType != null && (contentType.startsWith("multipart/")
+                    || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE))) {
+                throw new IllegalArgumentException("Use /api/files/upload for form uploads");
+            }
+
+            String token = authorization.replace("Bearer ", "");
+
+            UploadFileRequest request = UploadFileRequest.builder()
+                    .folderId(folderId)
+                    .entityType(entityType)
+                    .entityId(entityId)
+                    .isPublic(isPublic)
+                    .allowDuplicates(allowDuplicates)
+                    .build();
+
+            FileDto uploadedFile = fileService.uploadFileStream(
+                    httpRequest.getInputStream(), filename, contentType, request, token);
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(uploadedFile, "Fichier uploadé avec succès"));
+
+        } catch (FileValidationException | FileSecurityException | MaxUploadSizeExceededException e) {
+            // 400 / 403 / 413 via GlobalExceptionHandler
+            throw e;
         } catch (IllegalArgumentException e) {
             log.error("Invalid file upload request", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -84,24 +145,33 @@ public class FileController {
     }
 
     @GetMapping("/{fileId}/download")
-    @Operation(summary = "Télécharger un fichier")
-    public ResponseEntity<InputStreamResource> downloadFile(
+    @Operation(summary = "Télécharger un fichier (Range, ETag / If-None-Match)")
+    public void downloadFile(
             @PathVariable UUID fileId,
             @RequestHeader("Authorization") String authorization,
+            HttpServletRequest request,
             HttpServletResponse response) throws IOException {
 
         String token = authorization.replace("Bearer ", "");
         FileDownloadResponse downloadResponse = fileService.downloadFile(fileId, token);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + downloadResponse.getFilename() + "\"");
-        headers.add(HttpHeaders.CONTENT_TYPE, downloadResponse.getContentType());
-        headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(downloadResponse.getFileSize()));
+        fileDownloadService.serve(downloadResponse, request, response);
+    }
+
+    @GetMapping("/{fileId}/thumbnails/{size}")
+    @Operation(summary = "Miniature JPEG d'une image (small, medium, large)")
+    public ResponseEntity<byte[]> getThumbnail(
+            @PathVariable UUID fileId,
+            @PathVariable String size,
+            @RequestHeader("Authorization") String authorization) {
+
+        String token = authorization.replace("Bearer ", "");
+        byte[] thumbnail = fileService.getThumbnail(fileId, size, token);
 
         return ResponseEntity.ok()
-                .headers(headers)
-                .body(new InputStreamResource(downloadResponse.getInputStream()));
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                .body(thumbnail);
     }
 
     @GetMapping
@@ -178,4 +248,10 @@ public class FileController {
 
         return ResponseEntity.ok(ApiResponse.success(files));
     }
+
+    @GetMapping("/storage/stats")
+    @Operation(summary = "Statistiques du stockage (espace économisé par la déduplication)")
+    public ResponseEntity<ApiResponse<StorageStats>> getStorageStats() {
+        return ResponseEntity.ok(ApiResponse.success(fileService.getStorageStats()));
+    }
 }
\ No newline at end of file
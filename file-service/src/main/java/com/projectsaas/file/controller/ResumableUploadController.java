@@ -0,0 +1,94 @@
+package com.projectsaas.file.controller;
+
+import com.projectsaas.file.dto.ApiResponse;
+import com.projectsaas.file.dto.CreateUploadSessionRequest;
+import com.projectsaas.file.dto.FileDto;
+import com.projectsaas.file.dto.UploadPartDto;
+import com.projectsaas.file.dto.UploadSessionDto;
+import com.projectsaas.file.service.ResumableUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/files/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Resumable Uploads", description = "Uploads reprenables en plusieurs parties")
+public class ResumableUploadController {
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    @Operation(summary = "Ouvrir une session d'upload (taille des parties dans la réponse)")
+    public ResponseEntity<ApiResponse<UploadSessionDto>> createSession(
+            @Valid @RequestBody CreateUploadSessionRequest request,
+            @RequestHeader("Authorization") String authorization) {
+
+        String token = authorization.replace("Bearer ", "");
+        UploadSessionDto session = resumableUploadService.createSession(request, token);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(session, "Session d'upload créée"));
+    }
+
+    // Corps brut = contenu de la partie ; parties envoyables en parallèle et dans le désordre
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    @Operation(summary = "Envoyer une partie (renvoi possible pour reprendre)")
+    public ResponseEntity<ApiResponse<UploadPartDto>> uploadPart(
+            @PathVariable UUID uploadId,
+            @PathVariable int partNumber,
+            @RequestHeader("Authorization") String authorization,
+            HttpServletRequest request) throws IOException {
+
+        String token = authorization.replace("Bearer ", "");
+        UploadPartDto part = resumableUploadService.uploadPart(
+                uploadId, partNumber, request.getInputStream(), request.getContentLengthLong(), token);
+
+        return ResponseEntity.ok(ApiResponse.success(part));
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "État de la session : parties et plages d'octets reçues")
+    public ResponseEntity<ApiResponse<UploadSessionDto>> getSession(
+            @PathVariable UUID uploadId,
+            @RequestHeader("Authorization") String authorization) {
+
+        String token = authorization.replace("Bearer ", "");
+        return ResponseEntity.ok(ApiResponse.success(resumableUploadService.getSession(uploadId, token)));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Assembler les parties et créer le fichier")
+    public ResponseEntity<ApiResponse<FileDto>> completeSession(
+            @PathVariable UUID uploadId,
+            @RequestHeader("Authorization") String authorization) {
+
+        String token = authorization.replace("Bearer ", "");
+        FileDto file = resumableUploadService.completeSession(uploadId, token);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(file, "Fichier uploadé avec succès"));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Abandonner la session et libérer les parties reçues")
+    public ResponseEntity<ApiResponse<Void>> abortSession(
+            @PathVariable UUID uploadId,
+            @RequestHeader("Authorization") String authorization) {
+
+        String token = authorization.replace("Bearer ", "");
+        resumableUploadService.abortSession(uploadId, token);
+
+        return ResponseEntity.ok(ApiResponse.success(null, "Session d'upload abandonnée"));
+    }
+}
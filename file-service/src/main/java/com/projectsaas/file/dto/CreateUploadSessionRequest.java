@@ -0,0 +1,39 @@
+package com.projectsaas.file.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateUploadSessionRequest {
+
+    @NotBlank(message = "Le nom du fichier est requis")
+    @Size(max = 255, message = "Le nom ne peut pas dépasser 255 caractères")
+    private String filename;
+
+    private String contentType;
+
+    @NotNull(message = "La taille du fichier est requise")
+    @Positive(message = "La taille du fichier doit être positive")
+    private Long size;
+
+    private UUID folderId;
+    private String entityType;
+    private UUID entityId;
+
+    @Builder.Default
+    private Boolean isPublic = false;
+
+    @Builder.Default
+    private Boolean allowDuplicates = true;
+}
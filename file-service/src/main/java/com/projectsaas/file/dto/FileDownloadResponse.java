@@ -4,15 +4,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class FileDownloadResponse {
+    private UUID fileId;
     private String filename;
     private String contentType;
     private Long fileSize;
-    private InputStream inputStream;
-}
\ No newline at end of file
+    private String checksum;
+    private LocalDateTime lastModified;
+    private Path path; // Contenu sur disque : envoyé par FileDownloadService, jamais ouvert ici
+}
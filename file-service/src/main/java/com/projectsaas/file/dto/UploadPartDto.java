@@ -0,0 +1,17 @@
+package com.projectsaas.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPartDto {
+    private Integer partNumber;
+    private Long offset;
+    private Long size;
+    private String etag;
+}
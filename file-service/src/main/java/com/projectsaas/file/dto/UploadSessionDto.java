@@ -0,0 +1,30 @@
+package com.projectsaas.file.dto;
+
+import com.projectsaas.file.entity.UploadSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+    private UUID id;
+    private String filename;
+    private Long fileSize;
+    private Long chunkSize; // Partie n : octets [(n - 1) * chunkSize, min(n * chunkSize, fileSize))
+    private Integer partCount;
+    private UploadSession.UploadStatus status;
+    private List<Integer> receivedParts;
+    private List<String> receivedRanges; // Plages d'octets reçues, "début-fin" inclus
+    private Long receivedBytes;
+    private UUID fileId;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
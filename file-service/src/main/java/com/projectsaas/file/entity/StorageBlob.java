@@ -0,0 +1,59 @@
+package com.projectsaas.file.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Contenu stocké une seule fois, adressé par son SHA-256 dans un périmètre (tenant ou global).
+ * refCount : nombre de fichiers (et versions) qui pointent vers storedPath ;
+ * -1 pendant la suppression par le ramasse-miettes.
+ */
+@Entity
+@Table(name = "storage_blobs",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"scope", "checksum"}),
+                @UniqueConstraint(columnNames = {"stored_path"})
+        },
+        indexes = @Index(name = "idx_storage_blobs_ref_count", columnList = "ref_count, released_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageBlob {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    // ID du tenant, ou "global" si la déduplication est commune à tous les tenants
+    @Column(nullable = false, length = 36)
+    private String scope;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "stored_path", nullable = false, length = 500)
+    private String storedPath;
+
+    @Column(name = "blob_size", nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Dernière référence libérée : point de départ du délai de grâce avant suppression
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,93 @@
+package com.projectsaas.file.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Upload reprenable en cours : le fichier est découpé en parties de chunkSize octets,
+ * reçues dans n'importe quel ordre (voir UploadSessionPart)
+ */
+@Entity
+@Table(name = "upload_sessions",
+        indexes = @Index(name = "idx_upload_sessions_status_expires", columnList = "status, expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(name = "id", columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false, columnDefinition = "UUID")
+    private UUID tenantId;
+
+    @Column(name = "uploaded_by", nullable = false, columnDefinition = "UUID")
+    private UUID uploadedBy;
+
+    @Column(name = "original_name", nullable = false, length = 255)
+    private String originalName;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Long chunkSize;
+
+    @Column(name = "part_count", nullable = false)
+    private Integer partCount;
+
+    @Column(name = "provider", nullable = false, length = 20)
+    private String provider;
+
+    @Column(name = "stored_path", nullable = false, length = 500)
+    private String storedPath;
+
+    @Column(name = "provider_upload_id", length = 1000)
+    private String providerUploadId;
+
+    @Column(name = "folder_id", columnDefinition = "UUID")
+    private UUID folderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 50)
+    private FileEntity.EntityType entityType;
+
+    @Column(name = "entity_id", columnDefinition = "UUID")
+    private UUID entityId;
+
+    @Column(name = "is_public", nullable = false)
+    private Boolean isPublic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private UploadStatus status;
+
+    // Fichier créé à la fin de l'upload
+    @Column(name = "file_id", columnDefinition = "UUID")
+    private UUID fileId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public enum UploadStatus {
+        ACTIVE,      // Parties acceptées
+        COMPLETING,  // Assemblage en cours
+        COMPLETED,
+        ABORTED,
+        EXPIRED
+    }
+}
@@ -0,0 +1,47 @@
+package com.projectsaas.file.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Une ligne par partie reçue : les parties parallèles ne modifient pas la ligne de la session
+@Entity
+@Table(name = "upload_session_parts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "part_number"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionPart {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "session_id", nullable = false, columnDefinition = "UUID")
+    private UUID sessionId;
+
+    @Column(name = "part_number", nullable = false)
+    private Integer partNumber;
+
+    @Column(name = "part_size", nullable = false)
+    private Long size;
+
+    @Column(length = 200)
+    private String etag;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    // Partie en cours d'écriture chez le provider (null une fois écrite) : pas encore reçue
+    @Column(name = "writing_since")
+    private LocalDateTime writingSince;
+}
@@ -0,0 +1,8 @@
+package com.projectsaas.file.exception;
+
+// Opération impossible dans l'état courant de la session d'upload (terminée, expirée, en cours d'assemblage)
+public class UploadSessionConflictException extends RuntimeException {
+    public UploadSessionConflictException(String message) {
+        super(message);
+    }
+}
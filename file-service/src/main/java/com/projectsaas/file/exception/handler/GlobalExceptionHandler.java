@@ -10,6 +10,7 @@ import com.projectsaas.file.exception.FileValidationException;
 import com.projectsaas.file.exception.FolderAlreadyExistsException;
 import com.projectsaas.file.exception.FolderNotFoundException;
 import com.projectsaas.file.exception.UnauthorizedException;
+import com.projectsaas.file.exception.UploadSessionConflictException;
 import com.projectsaas.file.storage.StorageException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -84,6 +85,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Duplicate file", ex.getMessage()));
     }
 
+    @ExceptionHandler(UploadSessionConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleUploadSessionConflict(UploadSessionConflictException ex) {
+        log.error("Upload session conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Upload session conflict", ex.getMessage()));
+    }
+
     @ExceptionHandler(FolderAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<Object>> handleFolderAlreadyExists(FolderAlreadyExistsException ex) {
         log.error("Folder already exists: {}", ex.getMessage());
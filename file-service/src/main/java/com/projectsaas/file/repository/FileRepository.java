@@ -3,9 +3,11 @@ import com.projectsaas.file.entity.FileEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -130,4 +132,21 @@ public interface FileRepository extends JpaRepository<FileEntity, UUID> {
     // Vérification d'existence par nom original
     boolean existsByOriginalNameAndTenantIdAndFolderIdAndStatus(
             String originalName, UUID tenantId, UUID folderId, FileEntity.FileStatus status);
+
+    // Miniatures générées en tâche de fond : seule la colonne concernée est modifiée,
+    // jamais sur un fichier supprimé entre-temps (0 : miniatures à supprimer)
+    @Modifying
+    @Transactional
+    @Query("UPDATE FileEntity f SET f.thumbnailPath = :thumbnailPath " +
+            "WHERE f.id = :id " +
+            "AND f.status <> com.projectsaas.file.entity.FileEntity.FileStatus.DELETED")
+    int updateThumbnailPath(@Param("id") UUID id, @Param("thumbnailPath") String thumbnailPath);
+
+    // Soft delete atomique : 1 pour la seule requête qui fait passer le fichier à DELETED
+    @Modifying
+    @Query("UPDATE FileEntity f SET f.status = com.projectsaas.file.entity.FileEntity.FileStatus.DELETED, " +
+            "f.thumbnailPath = NULL, f.updatedAt = :now " +
+            "WHERE f.id = :id AND f.tenantId = :tenantId " +
+            "AND f.status <> com.projectsaas.file.entity.FileEntity.FileStatus.DELETED")
+    int markDeleted(@Param("id") UUID id, @Param("tenantId") UUID tenantId, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.projectsaas.file.repository;
+
+import com.projectsaas.file.entity.StorageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StorageBlobRepository extends JpaRepository<StorageBlob, UUID> {
+
+    Optional<StorageBlob> findByScopeAndChecksum(String scope, String checksum);
+
+    // Nouvelle référence, refusée si le blob est en cours de suppression (refCount = -1)
+    @Modifying
+    @Transactional
+    @Query("UPDATE StorageBlob b SET b.refCount = b.refCount + 1 WHERE b.id = :id AND b.refCount >= 0")
+    int acquire(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StorageBlob b SET b.refCount = b.refCount + 1 WHERE b.storedPath = :storedPath AND b.refCount >= 0")
+    int acquireByPath(@Param("storedPath") String storedPath);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StorageBlob b SET b.refCount = b.refCount - 1, b.releasedAt = :now " +
+            "WHERE b.storedPath = :storedPath AND b.refCount > 0")
+    int release(@Param("storedPath") String storedPath, @Param("now") LocalDateTime now);
+
+    // Candidats au ramasse-miettes : plus aucune référence depuis le délai de grâce
+    List<StorageBlob> findTop500ByRefCountAndReleasedAtBefore(Integer refCount, LocalDateTime releasedBefore);
+
+    // Blob réservé pour suppression : plus aucune nouvelle référence possible
+    @Modifying
+    @Transactional
+    @Query("UPDATE StorageBlob b SET b.refCount = -1 WHERE b.id = :id AND b.refCount = 0")
+    int claimForDeletion(@Param("id") UUID id);
+
+    // Suppression physique échouée : le blob redevient candidat au prochain passage
+    @Modifying
+    @Transactional
+    @Query("UPDATE StorageBlob b SET b.refCount = 0 WHERE b.id = :id AND b.refCount = -1")
+    int unclaim(@Param("id") UUID id);
+
+    @Query("SELECT COUNT(b) FROM StorageBlob b WHERE b.refCount > 0")
+    long countReferenced();
+
+    // Octets réellement stockés
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM StorageBlob b WHERE b.refCount > 0")
+    long sumStoredSize();
+
+    // Octets qui seraient stockés sans déduplication
+    @Query("SELECT COALESCE(SUM(b.size * b.refCount), 0) FROM StorageBlob b WHERE b.refCount > 0")
+    long sumReferencedSize();
+}
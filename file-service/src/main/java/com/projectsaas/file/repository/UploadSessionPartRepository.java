@@ -0,0 +1,26 @@
+package com.projectsaas.file.repository;
+
+import com.projectsaas.file.entity.UploadSessionPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionPartRepository extends JpaRepository<UploadSessionPart, UUID> {
+
+    List<UploadSessionPart> findBySessionIdOrderByPartNumber(UUID sessionId);
+
+    Optional<UploadSessionPart> findBySessionIdAndPartNumber(UUID sessionId, Integer partNumber);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadSessionPart p WHERE p.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") UUID sessionId);
+}
@@ -0,0 +1,50 @@
+package com.projectsaas.file.repository;
+
+import com.projectsaas.file.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    Optional<UploadSession> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    // Sessions à expirer par le nettoyage périodique
+    List<UploadSession> findByStatusAndExpiresAtBefore(UploadSession.UploadStatus status, LocalDateTime now);
+
+    // Changement d'état conditionnel : une seule requête gagne (complete / abort / expiration concurrents)
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.status = :to WHERE s.id = :id AND s.status = :from")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("from") UploadSession.UploadStatus from,
+                     @Param("to") UploadSession.UploadStatus to);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.status = 'COMPLETED', s.fileId = :fileId WHERE s.id = :id")
+    int markCompleted(@Param("id") UUID id, @Param("fileId") UUID fileId);
+
+    // Type détecté sur la première partie, seulement si le client n'en a pas déclaré
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.contentType = :contentType WHERE s.id = :id AND s.contentType IS NULL")
+    int updateDetectedContentType(@Param("id") UUID id, @Param("contentType") String contentType);
+
+    // Sessions terminées conservées jusqu'à leur expiration (complete rejouable), puis supprimées
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadSession s WHERE s.status IN :statuses AND s.expiresAt < :now")
+    int deleteFinishedBefore(@Param("statuses") Collection<UploadSession.UploadStatus> statuses,
+                             @Param("now") LocalDateTime now);
+}
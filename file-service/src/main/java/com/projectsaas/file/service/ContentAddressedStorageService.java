@@ -0,0 +1,183 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.StorageProperties;
+import com.projectsaas.file.entity.StorageBlob;
+import com.projectsaas.file.repository.StorageBlobRepository;
+import com.projectsaas.file.storage.StorageException;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import com.projectsaas.file.storage.StorageStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stockage adressé par contenu au-dessus du StorageProvider actif (storage.dedup.enabled) :
+ * un contenu est stocké une fois par périmètre sous blobs/{périmètre}/{hh}/{sha256}, chaque
+ * fichier qui y pointe compte une référence, et les blobs sans référence sont supprimés
+ * par un ramasse-miettes après un délai de grâce.
+ * Un même chemin contient toujours le même contenu : l'écraser par une copie identique est sans effet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentAddressedStorageService {
+
+    private static final String BLOB_PREFIX = "blobs/";
+    private static final String GLOBAL_SCOPE = "global";
+
+    private final StorageBlobRepository blobRepository;
+    private final StorageProviderRegistry storageProviders;
+    private final StorageProperties properties;
+
+    public boolean isEnabled() {
+        return properties.getDedup().isEnabled();
+    }
+
+    /**
+     * Rattacher un contenu fraîchement écrit à son blob : s'il existe déjà, la copie est
+     * supprimée et le chemin du blob existant est renvoyé, sinon la copie devient le blob.
+     * @return Chemin à enregistrer dans le fichier (inchangé si la déduplication ne s'applique pas)
+     */
+    public String adopt(String storedPath, String checksum, long size, UUID tenantId) {
+        if (!isEnabled() || checksum == null) {
+            return storedPath;
+        }
+        String scope = scope(tenantId);
+        StorageProvider storage = storageProviders.getActive();
+
+        Optional<StorageBlob> existing = blobRepository.findByScopeAndChecksum(scope, checksum);
+        if (existing.isPresent()) {
+            if (blobRepository.acquire(existing.get().getId()) == 0) {
+                // Blob en cours de suppression : cette copie reste un fichier indépendant
+                return storedPath;
+            }
+            deleteQuietly(storage, storedPath);
+            log.debug("Content {} already stored, {} bytes saved", checksum, size);
+            return existing.get().getStoredPath();
+        }
+
+        String blobPath = blobPath(scope, checksum);
+        try {
+            storage.move(storedPath, blobPath);
+        } catch (StorageException e) {
+            log.warn("Could not move {} to {}, kept as a plain file: {}", storedPath, blobPath, e.getMessage());
+            return storedPath;
+        }
+
+        try {
+            blobRepository.saveAndFlush(StorageBlob.builder()
+                    .scope(scope)
+                    .checksum(checksum)
+                    .storedPath(blobPath)
+                    .size(size)
+                    .refCount(1)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Même contenu adopté en parallèle : sa copie, identique, est déjà à blobPath
+            if (blobRepository.acquireByPath(blobPath) == 0) {
+                throw new StorageException(storage.getProviderName(), "adopt",
+                        "Blob being collected while adopted: " + blobPath, e);
+            }
+        }
+        return blobPath;
+    }
+
+    /**
+     * Nouvelle référence vers un contenu déjà stocké (copie de fichier, nouvelle version)
+     * @return false si storedPath n'est pas un blob : l'appelant doit copier le contenu
+     */
+    public boolean retain(String storedPath) {
+        return isBlob(storedPath) && blobRepository.acquireByPath(storedPath) == 1;
+    }
+
+    // Référence supprimée ; le contenu est libéré par le ramasse-miettes. Sans effet hors blob
+    public void release(String storedPath) {
+        if (isBlob(storedPath) && blobRepository.release(storedPath, LocalDateTime.now()) == 0) {
+            log.warn("Released blob without reference: {}", storedPath);
+        }
+    }
+
+    // Abandon d'un upload enregistré nulle part : référence libérée, ou copie supprimée
+    public void discard(String storedPath) {
+        if (isBlob(storedPath)) {
+            release(storedPath);
+        } else {
+            storageProviders.getActive().delete(storedPath);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${storage.dedup.gc-interval:3600000}")
+    public void collectGarbage() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime releasedBefore = LocalDateTime.now().minus(properties.getDedup().getGcGrace());
+        List<StorageBlob> candidates = blobRepository.findTop500ByRefCountAndReleasedAtBefore(0, releasedBefore);
+
+        StorageProvider storage = storageProviders.getActive();
+        int deleted = 0;
+        long freed = 0;
+        for (StorageBlob blob : candidates) {
+            // Réservé d'abord : un upload concurrent ne peut plus y ajouter de référence
+            if (blobRepository.claimForDeletion(blob.getId()) == 0) {
+                continue;
+            }
+            try {
+                storage.delete(blob.getStoredPath());
+                blobRepository.deleteById(blob.getId());
+                deleted++;
+                freed += blob.getSize();
+            } catch (RuntimeException e) {
+                log.error("Failed to collect blob {}", blob.getStoredPath(), e);
+                blobRepository.unclaim(blob.getId());
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("Blob garbage collection: {} blobs deleted, {} bytes freed", deleted, freed);
+        }
+    }
+
+    // Statistiques du provider, complétées par l'espace économisé
+    public StorageStats getStats() {
+        StorageStats stats = storageProviders.getActive().getStats();
+        if (isEnabled()) {
+            long storedSize = blobRepository.sumStoredSize();
+            long referencedSize = blobRepository.sumReferencedSize();
+            stats.setBlobCount(blobRepository.countReferenced());
+            stats.setLogicalSize(referencedSize);
+            stats.setSavedSpace(referencedSize - storedSize);
+            stats.formatSizes();
+        }
+        return stats;
+    }
+
+    private String scope(UUID tenantId) {
+        return "global".equalsIgnoreCase(properties.getDedup().getScope()) ? GLOBAL_SCOPE : tenantId.toString();
+    }
+
+    private static String blobPath(String scope, String checksum) {
+        return BLOB_PREFIX + scope + "/" + checksum.substring(0, 2) + "/" + checksum;
+    }
+
+    private static boolean isBlob(String storedPath) {
+        return storedPath != null && storedPath.startsWith(BLOB_PREFIX);
+    }
+
+    private static void deleteQuietly(StorageProvider storage, String storedPath) {
+        try {
+            storage.delete(storedPath);
+        } catch (StorageException e) {
+            log.warn("Duplicate copy {} not deleted: {}", storedPath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.projectsaas.file.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Type réel d'un fichier d'après ses premiers octets (signatures connues uniquement)
+ */
+final class ContentSniffer {
+
+    // Octets nécessaires à la plus longue signature reconnue (RIFF....WEBP)
+    static final int HEAD_LENGTH = 16;
+
+    static final String EXECUTABLE = "application/x-executable";
+
+    private ContentSniffer() {
+    }
+
+    // null : signature inconnue (texte, SVG, CSV...), aucune conclusion possible
+    static String detect(byte[] head, int length) {
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "image/png";
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(head, length, "GIF87a") || startsWith(head, length, "GIF89a")) return "image/gif";
+        if (startsWith(head, length, "RIFF") && matches(head, length, 8, "WEBP")) return "image/webp";
+        if (startsWith(head, length, "BM") && length >= 14) return "image/bmp";
+        if (startsWith(head, length, "%PDF-")) return "application/pdf";
+        if (startsWith(head, length, 'P', 'K', 0x03, 0x04)) return "application/zip";
+        if (startsWith(head, length, 0x1F, 0x8B)) return "application/gzip";
+        if (matches(head, length, 4, "ftyp")) return "video/mp4";
+        if (isExecutable(head, length)) return EXECUTABLE;
+        return null;
+    }
+
+    // Exécutables natifs : PE (Windows), ELF, Mach-O
+    private static boolean isExecutable(byte[] head, int length) {
+        return startsWith(head, length, 'M', 'Z')
+                || startsWith(head, length, 0x7F, 'E', 'L', 'F')
+                || startsWith(head, length, 0xFE, 0xED, 0xFA, 0xCE)
+                || startsWith(head, length, 0xFE, 0xED, 0xFA, 0xCF)
+                || startsWith(head, length, 0xCE, 0xFA, 0xED, 0xFE)
+                || startsWith(head, length, 0xCF, 0xFA, 0xED, 0xFE);
+    }
+
+    // Types déclarés compatibles avec la signature détectée (documents Office = archives zip)
+    static boolean isCompatible(String declaredType, String detectedType) {
+        if (declaredType.equals(detectedType)) {
+            return true;
+        }
+        if ("application/zip".equals(detectedType)) {
+            return declaredType.startsWith("application/vnd.openxmlformats-officedocument.")
+                    || declaredType.startsWith("application/vnd.oasis.opendocument.")
+                    || declaredType.equals("application/java-archive")
+                    || declaredType.equals("application/x-zip-compressed");
+        }
+        if ("video/mp4".equals(detectedType)) {
+            return declaredType.startsWith("video/") || declaredType.startsWith("audio/")
+                    || declaredType.equals("image/heic") || declaredType.equals("image/avif");
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] head, int length, String signature) {
+        return matches(head, length, 0, signature);
+    }
+
+    private static boolean matches(byte[] head, int length, int offset, String signature) {
+        byte[] expected = signature.getBytes(StandardCharsets.US_ASCII);
+        return length >= offset + expected.length
+                && Arrays.equals(head, offset, offset + expected.length, expected, 0, expected.length);
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
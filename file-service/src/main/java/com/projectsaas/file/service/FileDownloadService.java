@@ -0,0 +1,306 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.FileDownloadProperties;
+import com.projectsaas.file.dto.FileDownloadResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Envoi du contenu d'un fichier stocké localement :
+ * - GET conditionnel (ETag / Last-Modified, 304 et 412)
+ * - Range simple (206) et multiple (206 multipart/byteranges), 416 hors du fichier
+ * - Corps envoyé par le connecteur Tomcat via sendfile (FileChannel.transferTo vers la socket)
+ *   quand il le supporte (pas en TLS), sinon FileChannel.transferTo vers la sortie de la réponse
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileDownloadService {
+
+    // Attributs lus par Tomcat (Http11Processor) : le corps n'est pas écrit par l'application
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CRLF = "\r\n";
+
+    private final FileDownloadProperties properties;
+
+    public void serve(FileDownloadResponse file, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Path path = file.getPath();
+        long length = Files.size(path);
+        String etag = etag(file, length);
+        long lastModified = file.getLastModified() != null
+                ? file.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+
+        // If-Match / If-Unmodified-Since (412) : ignorés par Spring pour GET et HEAD
+        if (preconditionFailed(request, etag, lastModified)) {
+            response.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+            return;
+        }
+
+        // If-None-Match / If-Modified-Since (304) ; pose aussi les en-têtes ETag et Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String contentType = file.getContentType() != null
+                ? file.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Téléchargement authentifié : pas de cache partagé, revalidation par ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.getFilename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        List<Region> regions = requestedRegions(request, etag, lastModified, length);
+        if (regions == null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            send(path, new Region(0, length - 1), request, response);
+        } else if (regions.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setContentLength(0);
+        } else if (regions.size() == 1) {
+            Region region = regions.get(0);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, region.contentRange(length));
+            response.setContentLengthLong(region.count());
+            send(path, region, request, response);
+        } else {
+            sendMultipart(path, regions, contentType, length, request, response);
+        }
+    }
+
+    // null : contenu entier (pas de Range, Range ignoré) ; vide : aucune plage satisfaisable (416)
+    private List<Region> requestedRegions(HttpServletRequest request, String etag,
+                                          long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || length == 0 || !ifRangeMatches(request, etag, lastModified)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // En-tête invalide : ignoré (RFC 9110)
+            log.debug("Ignoring invalid Range header: {}", rangeHeader);
+            return null;
+        }
+        if (ranges.isEmpty() || ranges.size() > properties.getMaxRanges()) {
+            return null;
+        }
+
+        List<Region> regions = new ArrayList<>();
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            // Plage commençant après la fin du fichier (ou suffixe vide) : ignorée
+            if (start < length) {
+                regions.add(new Region(start, range.getRangeEnd(length)));
+            }
+        }
+        return coalesce(regions);
+    }
+
+    // RFC 9110 13.2.2 : If-Match (comparaison forte) prime sur If-Unmodified-Since
+    private boolean preconditionFailed(HttpServletRequest request, String etag, long lastModified) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch != null) {
+            if (ifMatch.trim().equals("*")) {
+                return false;
+            }
+            if (etag.startsWith("W/")) {
+                return true;
+            }
+            for (String candidate : ifMatch.split(",")) {
+                if (candidate.trim().equals(etag)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) == null || lastModified < 0) {
+            return false;
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_UNMODIFIED_SINCE);
+            return lastModified / 1000 > date / 1000;
+        } catch (IllegalArgumentException e) {
+            // Date invalide : en-tête ignoré
+            return false;
+        }
+    }
+
+    // If-Range : plage servie seulement si le fichier n'a pas changé (ETag fort ou date exacte)
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Plages qui se chevauchent ou se touchent fusionnées : chaque octet envoyé une seule fois
+    private List<Region> coalesce(List<Region> regions) {
+        regions.sort(Comparator.comparingLong(region -> region.start));
+        List<Region> merged = new ArrayList<>();
+        for (Region region : regions) {
+            Region last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && region.start <= last.end + 1) {
+                merged.set(merged.size() - 1, new Region(last.start, Math.max(last.end, region.end)));
+            } else {
+                merged.add(region);
+            }
+        }
+        return merged;
+    }
+
+    private void send(Path path, Region region, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (isHead(request) || region.count() == 0) {
+            return;
+        }
+        if (useSendfile(request, region.count())) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, region.start);
+            request.setAttribute(SENDFILE_END, region.end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(channel, region, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    // Une partie par plage ; longueur calculée à l'avance (pas de chunked)
+    private void sendMultipart(Path path, List<Region> regions, String contentType, long length,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (Region region : regions) {
+            byte[] header = (CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + region.contentRange(length) + CRLF
+                    + CRLF).getBytes(StandardCharsets.ISO_8859_1);
+            partHeaders.add(header);
+            contentLength += header.length + region.count();
+        }
+        byte[] closing = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closing.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (isHead(request)) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < regions.size(); i++) {
+                out.write(partHeaders.get(i));
+                transfer(channel, regions.get(i), target);
+            }
+        }
+        out.write(closing);
+    }
+
+    private boolean useSendfile(HttpServletRequest request, long count) {
+        return properties.isSendfileEnabled()
+                && count >= properties.getSendfileMinSize()
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+    }
+
+    private static void transfer(FileChannel channel, Region region, WritableByteChannel target) throws IOException {
+        long position = region.start;
+        long remaining = region.count();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                // Fichier tronqué pendant l'envoi : la longueur annoncée ne peut plus être tenue
+                throw new EOFException("File shorter than announced Content-Length");
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    // ETag fort à partir du checksum du contenu ; faible (id, taille, date) pour les fichiers sans checksum
+    private static String etag(FileDownloadResponse file, long length) {
+        if (file.getChecksum() != null && !file.getChecksum().isBlank()) {
+            return "\"" + file.getChecksum() + "\"";
+        }
+        long modified = file.getLastModified() != null
+                ? file.getLastModified().atZone(ZoneId.systemDefault()).toEpochSecond()
+                : 0;
+        return "W/\"" + file.getFileId() + "-" + length + "-" + modified + "\"";
+    }
+
+    private static boolean isHead(HttpServletRequest request) {
+        return "HEAD".equalsIgnoreCase(request.getMethod());
+    }
+
+    // Plage d'octets, bornes incluses
+    private static final class Region {
+        private final long start;
+        private final long end;
+
+        private Region(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private long count() {
+            return end - start + 1;
+        }
+
+        private String contentRange(long length) {
+            return "bytes " + start + "-" + end + "/" + length;
+        }
+    }
+}
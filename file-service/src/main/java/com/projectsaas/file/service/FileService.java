@@ -3,25 +3,28 @@ package com.projectsaas.file.service;
 import com.projectsaas.file.dto.*;
 import com.projectsaas.file.entity.FileEntity;
 import com.projectsaas.file.entity.FileShare;
+import com.projectsaas.file.exception.FileDownloadException;
 import com.projectsaas.file.exception.FileNotFoundException;
+import com.projectsaas.file.exception.FileUploadException;
 import com.projectsaas.file.exception.UnauthorizedException;
 import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import com.projectsaas.file.storage.StorageStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import org.springframework.web.multipart.MultipartFile;
-
-
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -36,10 +39,38 @@ public class FileService {
 
     private final FileRepository fileRepository;
     private final AuthIntegrationService authIntegrationService;
+    private final StreamingUploadService streamingUploadService;
+    private final StorageProviderRegistry storageProviders;
+    private final ContentAddressedStorageService contentAddressedStorage;
+    private final ThumbnailService thumbnailService;
 
+    // Hors transaction : l'écriture du fichier ne garde pas de connexion ouverte
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FileDto uploadFile(MultipartFile file, UploadFileRequest request, String token) {
-        log.info("Uploading file: {}", file.getOriginalFilename());
+        log.info("Uploading file: {}", file != null ? file.getOriginalFilename() : null);
+
+        // Validation du fichier
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            return storeUpload(content, file.getOriginalFilename(), file.getContentType(), request, token);
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded file", e);
+        }
+    }
 
+    // Upload en flux : le corps de la requête est le fichier, lu une seule fois
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FileDto uploadFileStream(InputStream content, String filename, String contentType,
+                                    UploadFileRequest request, String token) {
+        log.info("Streaming upload of file: {}", filename);
+        return storeUpload(content, filename, contentType, request, token);
+    }
+
+    private FileDto storeUpload(InputStream content, String filename, String contentType,
+                                UploadFileRequest request, String token) {
         // Validation basique du token
         if (token == null || token.trim().isEmpty()) {
             throw new IllegalArgumentException("Token is required");
@@ -48,84 +79,99 @@ public class FileService {
         UUID tenantId = extractTenantIdFromToken(token);
         UUID uploadedBy = extractUserIdFromToken(token);
 
-        // Validation du fichier
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("File cannot be empty");
-        }
-
-        if (file.getSize() > 100 * 1024 * 1024) { // 100MB
-            throw new IllegalArgumentException("File size exceeds maximum allowed (100MB)");
-        }
-
-        if (file.getOriginalFilename() == null || file.getOriginalFilename().trim().isEmpty()) {
+        if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename is required");
         }
 
         // Check for duplicates if not allowed
         if (!request.getAllowDuplicates()) {
             boolean exists = fileRepository.existsByOriginalNameAndTenantIdAndFolderIdAndStatus(
-                    file.getOriginalFilename(), tenantId, request.getFolderId(), FileEntity.FileStatus.ACTIVE);
+                    filename, tenantId, request.getFolderId(), FileEntity.FileStatus.ACTIVE);
             if (exists) {
                 throw new IllegalStateException("File with this name already exists in the folder");
             }
         }
 
-        // Store file locally pour tests
-        String storedName = generateStoredName(file.getOriginalFilename());
-        String storedPath = saveFileLocally(file, storedName, tenantId);
+        // Écriture dans le provider actif ; checksum, taille, type et scan calculés au passage
+        StreamingUploadService.StoredUpload stored = streamingUploadService.store(content, filename, contentType, tenantId);
+        String storedPath = stored.getStoredPath();
 
-        FileEntity fileEntity = FileEntity.builder()
-                .id(UUID.randomUUID())
-                .tenantId(tenantId)
-                .originalName(file.getOriginalFilename())
-                .storedName(storedName)
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
-                .filePath(storedPath)
-                .folderId(request.getFolderId())
-                .entityType(parseEntityType(request.getEntityType()))
-                .entityId(request.getEntityId())
-                .uploadedBy(uploadedBy)
-                .isPublic(request.getIsPublic())
-                .uploadedAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .status(FileEntity.FileStatus.ACTIVE)
-                .virusScanStatus(FileEntity.VirusScanStatus.CLEAN) // Pour tests
-                .build();
+        try {
+            if (stored.getSize() == 0) {
+                throw new IllegalArgumentException("File cannot be empty");
+            }
 
-        FileEntity savedFile = fileRepository.save(fileEntity);
-        log.info("File uploaded successfully with ID: {}", savedFile.getId());
+            FileEntity fileEntity = FileEntity.builder()
+                    .id(UUID.randomUUID())
+                    .tenantId(tenantId)
+                    .originalName(filename)
+                    .storedName(storedPath.substring(storedPath.lastIndexOf('/') + 1))
+                    .contentType(stored.getContentType())
+                    .fileSize(stored.getSize())
+                    .filePath(storedPath)
+                    .checksum(stored.getChecksum())
+                    .folderId(request.getFolderId())
+                    .entityType(parseEntityType(request.getEntityType()))
+                    .entityId(request.getEntityId())
+                    .uploadedBy(uploadedBy)
+                    .isPublic(request.getIsPublic())
+                    .uploadedAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .status(FileEntity.FileStatus.ACTIVE)
+                    .virusScanStatus(virusScanStatus(stored.getScanResult()))
+                    .build();
+
+            FileEntity savedFile = fileRepository.save(fileEntity);
+            log.info("File uploaded successfully with ID: {} ({} bytes, sha256 {})",
+                    savedFile.getId(), stored.getSize(), stored.getChecksum());
+
+            thumbnailService.submit(savedFile);
+            return mapToDto(savedFile);
+        } catch (RuntimeException e) {
+            // Pas de fichier orphelin (ni de référence de blob) si l'enregistrement échoue
+            contentAddressedStorage.discard(storedPath);
+            throw e;
+        }
+    }
 
+    // Fichier déjà assemblé par le provider (upload reprenable) : seul l'enregistrement reste à faire.
+    // Hors transaction : la ligne est validée avant que les miniatures ne la mettent à jour
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FileDto registerUploadedFile(FileEntity file) {
+        FileEntity savedFile = fileRepository.save(file);
+        log.info("File uploaded successfully with ID: {} ({} bytes)", savedFile.getId(), savedFile.getFileSize());
+        thumbnailService.submit(savedFile);
         return mapToDto(savedFile);
     }
 
-    // Méthode locale pour sauvegarder les fichiers (pour tests)
-    private String saveFileLocally(MultipartFile file, String storedName, UUID tenantId) {
-        try {
-            // ✅ CHEMIN ABSOLU - vers votre dossier projet
-            String projectDir = System.getProperty("user.dir");
-            String baseDir = projectDir + File.separator + "temp-storage" + File.separator + tenantId.toString();
-
-            File directory = new File(baseDir);
-            if (!directory.exists()) {
-                boolean created = directory.mkdirs();
-                if (!created) {
-                    throw new RuntimeException("Could not create directory: " + baseDir);
-                }
-                log.info("Created directory: {}", baseDir);
-            }
+    @Transactional(readOnly = true)
+    public byte[] getThumbnail(UUID fileId, String size, String token) {
+        UUID tenantId = extractTenantIdFromToken(token);
+        ThumbnailService.ThumbnailSize thumbnailSize = ThumbnailService.ThumbnailSize.fromKey(size);
 
-            // Sauvegarder le fichier
-            String filePath = baseDir + File.separator + storedName;
-            File destFile = new File(filePath);
-            file.transferTo(destFile);
+        FileEntity file = fileRepository.findByIdAndTenantId(fileId, tenantId)
+                .filter(f -> f.getStatus() != FileEntity.FileStatus.DELETED)
+                .orElseThrow(() -> new FileNotFoundException("File not found: " + fileId));
+        return thumbnailService.getThumbnail(file, thumbnailSize);
+    }
 
-            log.info("File saved successfully to: {}", filePath);
-            return filePath;
+    @Transactional(readOnly = true)
+    public StorageStats getStorageStats() {
+        return contentAddressedStorage.getStats();
+    }
 
-        } catch (Exception e) {
-            log.error("Error saving file locally: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to save file: " + e.getMessage());
+    // Aussi utilisé pour les uploads reprenables, analysés après assemblage
+    static FileEntity.VirusScanStatus virusScanStatus(ScanResult scanResult) {
+        switch (scanResult.getStatus()) {
+            case CLEAN:
+                return FileEntity.VirusScanStatus.CLEAN;
+            case INFECTED:
+                return FileEntity.VirusScanStatus.INFECTED;
+            case ERROR:
+                return FileEntity.VirusScanStatus.ERROR;
+            default:
+                // Antivirus désactivé : non analysé
+                return FileEntity.VirusScanStatus.PENDING;
         }
     }
 
@@ -171,22 +217,46 @@ public class FileService {
 //                .build();
 //    }
 
-    public FileDownloadResponse downloadFile(UUID fileId, String token) throws IOException {
+    @Transactional(readOnly = true)
+    public FileDownloadResponse downloadFile(UUID fileId, String token) {
         log.info("Downloading file: {}", fileId);
 
         // TEMPORAIRE : Chercher sans filtre tenant pour tests
         FileEntity file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new FileNotFoundException("File not found: " + fileId));
 
-        InputStream inputStream = getFileInputStream(file.getFilePath());
+        // Le contenu n'est pas ouvert ici : FileDownloadService l'envoie (plages, sendfile)
+        Path path = resolveLocalPath(file.getFilePath());
+        if (!Files.isRegularFile(path)) {
+            log.warn("File content not found: {}", file.getFilePath());
+            throw new FileNotFoundException("File content not found: " + fileId);
+        }
 
         return FileDownloadResponse.builder()
+                .fileId(file.getId())
                 .filename(file.getOriginalName())
                 .contentType(file.getContentType())
                 .fileSize(file.getFileSize())
-                .inputStream(inputStream)
+                .checksum(file.getChecksum())
+                .lastModified(file.getUpdatedAt())
+                .path(path)
                 .build();
     }
+
+    // Anciens fichiers : chemin absolu ; sinon chemin relatif au provider actif
+    private Path resolveLocalPath(String filePath) {
+        Path path = Paths.get(filePath);
+        if (path.isAbsolute()) {
+            return path;
+        }
+        StorageProvider storage = storageProviders.getActive();
+        Path localPath = storage.localPath(filePath);
+        if (localPath == null) {
+            throw new FileDownloadException("Download not supported for storage provider " + storage.getProviderName());
+        }
+        return localPath;
+    }
+
     @Transactional(readOnly = true)
     public Page<FileDto> getFiles(FileSearchRequest searchRequest, Pageable pageable, String token) {
         log.info("Getting files with search: {}", searchRequest.getSearch());
@@ -234,10 +304,16 @@ public class FileService {
         FileEntity file = fileRepository.findByIdAndTenantId(fileId, tenantId)
                 .orElseThrow(() -> new FileNotFoundException("File not found: " + fileId));
 
-        // Soft delete
-        file.setStatus(FileEntity.FileStatus.DELETED);
-        file.setUpdatedAt(LocalDateTime.now());
-        fileRepository.save(file);
+        // Soft delete conditionnel : deux suppressions simultanées ne libèrent le blob qu'une fois
+        if (fileRepository.markDeleted(fileId, tenantId, LocalDateTime.now()) == 0) {
+            log.debug("File already deleted: {}", fileId);
+            return;
+        }
+
+        // Contenu dédupliqué : libéré par le ramasse-miettes quand plus aucun fichier n'y pointe.
+        // file_path est conservé (colonne obligatoire, blob éventuellement partagé).
+        contentAddressedStorage.release(file.getFilePath());
+        thumbnailService.deleteThumbnails(file);
 
         log.info("File deleted successfully: {}", fileId);
     }
@@ -320,9 +396,9 @@ public class FileService {
                 .height(null)
                 .duration(null)
                 .checksum(file.getChecksum())
-                .thumbnailSmall(null)
-                .thumbnailMedium(null)
-                .thumbnailLarge(null)
+                .thumbnailSmall(thumbnailService.thumbnailUrl(file, ThumbnailService.ThumbnailSize.SMALL))
+                .thumbnailMedium(thumbnailService.thumbnailUrl(file, ThumbnailService.ThumbnailSize.MEDIUM))
+                .thumbnailLarge(thumbnailService.thumbnailUrl(file, ThumbnailService.ThumbnailSize.LARGE))
                 .build();
     }
 
@@ -349,31 +425,6 @@ public class FileService {
         return authIntegrationService.extractUserId(token);
     }
 
-    private String generateStoredName(String originalName) {
-        String extension = "";
-        int dotIndex = originalName.lastIndexOf('.');
-        if (dotIndex > 0) {
-            extension = originalName.substring(dotIndex);
-        }
-        return UUID.randomUUID().toString() + extension;
-    }
-
-    // Méthode pour lire les fichiers depuis le disque local
-    private InputStream getFileInputStream(String path) throws IOException {
-        try {
-            File file = new File(path);
-            if (file.exists()) {
-                return new FileInputStream(file);
-            } else {
-                log.warn("File not found: {}", path);
-                return new ByteArrayInputStream("File not found".getBytes());
-            }
-        } catch (Exception e) {
-            log.error("Error reading file: " + path, e);
-            return new ByteArrayInputStream("Error reading file".getBytes());
-        }
-    }
-
     private FileEntity.EntityType parseEntityType(String entityType) {
         if (entityType == null) return null;
         try {
@@ -0,0 +1,508 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.FileUploadProperties;
+import com.projectsaas.file.dto.CreateUploadSessionRequest;
+import com.projectsaas.file.dto.FileDto;
+import com.projectsaas.file.dto.UploadPartDto;
+import com.projectsaas.file.dto.UploadSessionDto;
+import com.projectsaas.file.entity.FileEntity;
+import com.projectsaas.file.entity.UploadSession;
+import com.projectsaas.file.entity.UploadSessionPart;
+import com.projectsaas.file.exception.DuplicateFileException;
+import com.projectsaas.file.exception.FileNotFoundException;
+import com.projectsaas.file.exception.FileSecurityException;
+import com.projectsaas.file.exception.FileValidationException;
+import com.projectsaas.file.exception.UploadSessionConflictException;
+import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.repository.UploadSessionPartRepository;
+import com.projectsaas.file.repository.UploadSessionRepository;
+import com.projectsaas.file.storage.MultipartUpload;
+import com.projectsaas.file.storage.StorageException;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import com.projectsaas.file.storage.UploadedPart;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Uploads reprenables : la session est ouverte avec la taille du fichier, les parties arrivent
+ * dans n'importe quel ordre et en parallèle, l'état indique ce qui reste à envoyer après une
+ * coupure, puis le provider assemble le fichier (multipart S3, composeObject MinIO, fichier
+ * creux écrit par positions en local). Aucune transaction n'est ouverte pendant la réception
+ * d'une partie. Le fichier assemblé est relu une fois (SHA-256, antivirus) avant d'être enregistré.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService {
+
+    // Contraintes S3 : 5MB minimum par partie (sauf la dernière), 10 000 parties au plus
+    private static final long MIN_CHUNK_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+    private static final long CHUNK_ALIGNMENT = 1024L * 1024;
+
+    private static final List<UploadSession.UploadStatus> FINISHED = List.of(
+            UploadSession.UploadStatus.COMPLETED,
+            UploadSession.UploadStatus.ABORTED,
+            UploadSession.UploadStatus.EXPIRED);
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionPartRepository partRepository;
+    private final FileRepository fileRepository;
+    private final FileService fileService;
+    private final StreamingUploadService streamingUploadService;
+    private final StorageProviderRegistry storageProviders;
+    private final AuthIntegrationService authIntegrationService;
+    private final FileUploadProperties properties;
+    private final FileUtilsService fileUtilsService;
+    private final ContentAddressedStorageService contentAddressedStorage;
+
+    public UploadSessionDto createSession(CreateUploadSessionRequest request, String token) {
+        UUID tenantId = authIntegrationService.extractTenantId(token);
+        UUID uploadedBy = authIntegrationService.extractUserId(token);
+
+        long size = request.getSize();
+        long maxSize = fileUtilsService.parseSize(properties.getResumable().getMaxSize());
+        if (size > maxSize) {
+            throw new MaxUploadSizeExceededException(maxSize);
+        }
+
+        if (Boolean.FALSE.equals(request.getAllowDuplicates())) {
+            boolean exists = fileRepository.existsByOriginalNameAndTenantIdAndFolderIdAndStatus(
+                    request.getFilename(), tenantId, request.getFolderId(), FileEntity.FileStatus.ACTIVE);
+            if (exists) {
+                throw new DuplicateFileException("File with this name already exists in the folder");
+            }
+        }
+
+        long chunkSize = chunkSize(size);
+        int partCount = (int) ((size + chunkSize - 1) / chunkSize);
+
+        String providerName = storageProviders.getActiveName();
+        StorageProvider storage = storageProviders.getActive();
+        MultipartUpload upload = storage.initiateMultipartUpload(request.getFilename(), tenantId.toString(), size);
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = UploadSession.builder()
+                .id(UUID.randomUUID())
+                .tenantId(tenantId)
+                .uploadedBy(uploadedBy)
+                .originalName(request.getFilename())
+                .contentType(streamingUploadService.normalize(request.getContentType()))
+                .fileSize(size)
+                .chunkSize(chunkSize)
+                .partCount(partCount)
+                .provider(providerName)
+                .storedPath(upload.getStoredPath())
+                .providerUploadId(upload.getUploadId())
+                .folderId(request.getFolderId())
+                .entityType(parseEntityType(request.getEntityType()))
+                .entityId(request.getEntityId())
+                .isPublic(Boolean.TRUE.equals(request.getIsPublic()))
+                .status(UploadSession.UploadStatus.ACTIVE)
+                .createdAt(now)
+                .expiresAt(now.plus(properties.getResumable().getSessionTtl()))
+                .build();
+
+        try {
+            session = sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            storage.abortMultipartUpload(upload);
+            throw e;
+        }
+
+        log.info("Resumable upload {} started: {} ({} bytes, {} parts of {} bytes)",
+                session.getId(), session.getOriginalName(), size, partCount, chunkSize);
+        return mapToDto(session, List.of());
+    }
+
+    public UploadPartDto uploadPart(UUID sessionId, int partNumber, InputStream content,
+                                    long contentLength, String token) {
+        UploadSession session = findSession(sessionId, token);
+        requireActive(session);
+
+        if (partNumber < 1 || partNumber > session.getPartCount()) {
+            throw new IllegalArgumentException("Part number must be between 1 and " + session.getPartCount());
+        }
+        long offset = (partNumber - 1) * session.getChunkSize();
+        long length = Math.min(session.getChunkSize(), session.getFileSize() - offset);
+        if (contentLength >= 0 && contentLength != length) {
+            throw new IllegalArgumentException("Part " + partNumber + " must be exactly " + length + " bytes");
+        }
+
+        // Partie marquée en cours d'écriture avant le provider : complete ne l'assemble pas, et un renvoi
+        // pendant l'assemblage est détecté. Reste marquée si l'écriture échoue (contenu incertain)
+        UploadSessionPart part = partRepository.findBySessionIdAndPartNumber(sessionId, partNumber)
+                .orElseGet(() -> UploadSessionPart.builder()
+                        .sessionId(sessionId)
+                        .partNumber(partNumber)
+                        .build());
+        part.setSize(length);
+        part.setWritingSince(LocalDateTime.now());
+        part.setReceivedAt(part.getWritingSince());
+        part = partRepository.save(part);
+        // complete commencé depuis la lecture de la session : rien n'est écrit
+        requireStillActive(sessionId);
+
+        String etag;
+        try {
+            InputStream data = partNumber == 1 ? checkHead(session, content) : content;
+            etag = storageProviders.get(session.getProvider())
+                    .uploadPart(upload(session), partNumber, offset, data, length);
+            // Corps envoyé sans Content-Length : rien ne doit suivre la partie
+            if (contentLength < 0 && content.read() != -1) {
+                throw new IllegalArgumentException("Part " + partNumber + " larger than " + length + " bytes");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read part " + partNumber + ": " + e.getMessage(), e);
+        } catch (StorageException e) {
+            if (hasCause(e, EOFException.class)) {
+                throw new IllegalArgumentException("Part " + partNumber + " shorter than " + length + " bytes", e);
+            }
+            throw e;
+        }
+        requireStillActive(sessionId);
+
+        // Partie renvoyée (reprise) : la ligne existante est remplacée
+        part.setEtag(etag);
+        part.setWritingSince(null);
+        part.setReceivedAt(LocalDateTime.now());
+        partRepository.save(part);
+
+        log.debug("Resumable upload {}: part {}/{} received", sessionId, partNumber, session.getPartCount());
+        return UploadPartDto.builder()
+                .partNumber(partNumber)
+                .offset(offset)
+                .size(length)
+                .etag(etag)
+                .build();
+    }
+
+    public UploadSessionDto getSession(UUID sessionId, String token) {
+        UploadSession session = findSession(sessionId, token);
+        return mapToDto(session, receivedParts(partRepository.findBySessionIdOrderByPartNumber(sessionId)));
+    }
+
+    public FileDto completeSession(UUID sessionId, String token) {
+        UploadSession session = findSession(sessionId, token);
+
+        // Réponse perdue puis complete rejoué : même résultat
+        if (session.getStatus() == UploadSession.UploadStatus.COMPLETED && session.getFileId() != null) {
+            return fileService.getFileById(session.getFileId(), token);
+        }
+        requireActive(session);
+        if (sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.ACTIVE,
+                UploadSession.UploadStatus.COMPLETING) == 0) {
+            throw new UploadSessionConflictException("Upload session is no longer active: " + sessionId);
+        }
+
+        // Parties en cours d'écriture exclues : elles sont signalées comme manquantes
+        List<UploadSessionPart> parts = receivedParts(partRepository.findBySessionIdOrderByPartNumber(sessionId));
+        if (parts.size() != session.getPartCount()) {
+            sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.COMPLETING,
+                    UploadSession.UploadStatus.ACTIVE);
+            throw new FileValidationException("Upload incomplete: " + parts.size() + " of "
+                    + session.getPartCount() + " parts received, missing " + missingParts(session, parts));
+        }
+        Map<Integer, LocalDateTime> receivedAt = parts.stream()
+                .collect(Collectors.toMap(UploadSessionPart::getPartNumber, UploadSessionPart::getReceivedAt));
+
+        StorageProvider storage = storageProviders.get(session.getProvider());
+        try {
+            storage.completeMultipartUpload(upload(session), parts.stream()
+                    .map(part -> new UploadedPart(part.getPartNumber(), part.getEtag()))
+                    .toList());
+        } catch (RuntimeException e) {
+            sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.COMPLETING,
+                    UploadSession.UploadStatus.ACTIVE);
+            throw e;
+        }
+
+        // Type du fichier relu (premiers octets détectés sur la partie 1)
+        String contentType = sessionRepository.findById(sessionId)
+                .map(UploadSession::getContentType)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        String storedPath = session.getStoredPath();
+
+        // Fichier assemblé relu une fois : SHA-256 (ETag fort, déduplication) et antivirus
+        StreamingUploadService.StoredUpload stored;
+        try {
+            stored = streamingUploadService.inspect(storage, storedPath, session.getOriginalName(), contentType);
+            if (stored.getScanResult().isInfected()) {
+                log.warn("Resumable upload {} rejected by antivirus: {}", sessionId, stored.getScanResult().getMessage());
+                throw new FileSecurityException("File rejected by antivirus: " + stored.getScanResult().getMessage());
+            }
+            if (stored.getSize() != session.getFileSize()) {
+                throw new FileValidationException("Assembled file is " + stored.getSize() + " bytes, expected "
+                        + session.getFileSize());
+            }
+            // Partie renvoyée pendant l'assemblage : le fichier peut mélanger deux versions de la partie
+            if (!receivedAt.equals(writtenParts(sessionId))) {
+                throw new UploadSessionConflictException("Parts were re-sent while the upload was completing: "
+                        + sessionId);
+            }
+        } catch (RuntimeException e) {
+            abandon(session, storage, storedPath);
+            throw e;
+        }
+
+        // Contenu déjà présent (storage.dedup) : la copie est remplacée par le blob existant.
+        // Blobs dans le provider actif uniquement
+        if (session.getProvider().equals(storageProviders.getActiveName())) {
+            storedPath = contentAddressedStorage.adopt(storedPath, stored.getChecksum(), stored.getSize(),
+                    session.getTenantId());
+        }
+
+        FileDto file;
+        try {
+            file = fileService.registerUploadedFile(FileEntity.builder()
+                    .id(UUID.randomUUID())
+                    .tenantId(session.getTenantId())
+                    .originalName(session.getOriginalName())
+                    .storedName(storedPath.substring(storedPath.lastIndexOf('/') + 1))
+                    .contentType(contentType)
+                    .fileSize(stored.getSize())
+                    .filePath(storedPath)
+                    .checksum(stored.getChecksum())
+                    .folderId(session.getFolderId())
+                    .entityType(session.getEntityType())
+                    .entityId(session.getEntityId())
+                    .uploadedBy(session.getUploadedBy())
+                    .isPublic(session.getIsPublic())
+                    .uploadedAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .status(FileEntity.FileStatus.ACTIVE)
+                    .virusScanStatus(FileService.virusScanStatus(stored.getScanResult()))
+                    .build());
+        } catch (RuntimeException e) {
+            if (storedPath.equals(session.getStoredPath())) {
+                abandon(session, storage, storedPath);
+            } else {
+                contentAddressedStorage.discard(storedPath);
+                sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.COMPLETING,
+                        UploadSession.UploadStatus.ABORTED);
+            }
+            throw e;
+        }
+
+        sessionRepository.markCompleted(sessionId, file.getId());
+        partRepository.deleteBySessionId(sessionId);
+
+        log.info("Resumable upload {} completed: file {} ({} bytes, sha256 {})",
+                sessionId, file.getId(), stored.getSize(), stored.getChecksum());
+        return file;
+    }
+
+    public void abortSession(UUID sessionId, String token) {
+        UploadSession session = findSession(sessionId, token);
+        if (sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.ACTIVE,
+                UploadSession.UploadStatus.ABORTED) == 0) {
+            throw new UploadSessionConflictException("Upload session is no longer active: " + sessionId);
+        }
+        release(session);
+        log.info("Resumable upload {} aborted", sessionId);
+    }
+
+    // Sessions abandonnées : parties libérées chez le provider, puis lignes supprimées
+    @Scheduled(fixedDelayString = "${file.upload.resumable.cleanup-interval:900000}")
+    public void purgeExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UploadSession> expired = sessionRepository.findByStatusAndExpiresAtBefore(
+                UploadSession.UploadStatus.ACTIVE, now);
+
+        int count = 0;
+        for (UploadSession session : expired) {
+            if (sessionRepository.updateStatus(session.getId(), UploadSession.UploadStatus.ACTIVE,
+                    UploadSession.UploadStatus.EXPIRED) == 0) {
+                continue;
+            }
+            try {
+                release(session);
+                count++;
+            } catch (RuntimeException e) {
+                log.error("Failed to release expired upload {}", session.getId(), e);
+            }
+        }
+
+        int deleted = sessionRepository.deleteFinishedBefore(FINISHED, now);
+        if (count > 0 || deleted > 0) {
+            log.info("Upload sessions cleanup: {} expired, {} finished sessions deleted", count, deleted);
+        }
+    }
+
+    // Fichier assemblé rejeté : supprimé, la session ne peut plus être reprise (parties consommées)
+    private void abandon(UploadSession session, StorageProvider storage, String storedPath) {
+        storage.delete(storedPath);
+        sessionRepository.updateStatus(session.getId(), UploadSession.UploadStatus.COMPLETING,
+                UploadSession.UploadStatus.ABORTED);
+    }
+
+    // Parties relues après l'assemblage, en cours d'écriture comprises (receivedAt null pour celles-ci)
+    private Map<Integer, LocalDateTime> writtenParts(UUID sessionId) {
+        Map<Integer, LocalDateTime> receivedAt = new HashMap<>();
+        for (UploadSessionPart part : partRepository.findBySessionIdOrderByPartNumber(sessionId)) {
+            receivedAt.put(part.getPartNumber(), part.getWritingSince() == null ? part.getReceivedAt() : null);
+        }
+        return receivedAt;
+    }
+
+    private static List<UploadSessionPart> receivedParts(List<UploadSessionPart> parts) {
+        return parts.stream()
+                .filter(part -> part.getWritingSince() == null)
+                .toList();
+    }
+
+    private void release(UploadSession session) {
+        storageProviders.get(session.getProvider()).abortMultipartUpload(upload(session));
+        partRepository.deleteBySessionId(session.getId());
+    }
+
+    // Premiers octets de la partie 1 : même contrôle de type que l'upload en flux
+    private InputStream checkHead(UploadSession session, InputStream content) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(content, ContentSniffer.HEAD_LENGTH);
+        byte[] head = in.readNBytes(ContentSniffer.HEAD_LENGTH);
+        in.unread(head);
+
+        String detectedType = ContentSniffer.detect(head, head.length);
+        try {
+            streamingUploadService.checkContent(session.getContentType(), detectedType);
+        } catch (UploadInspectingInputStream.UploadRejectedException e) {
+            throw new FileValidationException(e.getMessage(), e);
+        }
+        if (session.getContentType() == null && detectedType != null) {
+            sessionRepository.updateDetectedContentType(session.getId(), detectedType);
+        }
+        return in;
+    }
+
+    private UploadSession findSession(UUID sessionId, String token) {
+        UUID tenantId = authIntegrationService.extractTenantId(token);
+        return sessionRepository.findByIdAndTenantId(sessionId, tenantId)
+                .orElseThrow(() -> new FileNotFoundException("Upload session not found: " + sessionId));
+    }
+
+    // Statut relu en base : complete ou abort a pu commencer depuis la lecture de la session
+    private void requireStillActive(UUID sessionId) {
+        UploadSession.UploadStatus status = sessionRepository.findById(sessionId)
+                .map(UploadSession::getStatus)
+                .orElseThrow(() -> new FileNotFoundException("Upload session not found: " + sessionId));
+        if (status != UploadSession.UploadStatus.ACTIVE) {
+            throw new UploadSessionConflictException("Upload session is " + status + ": " + sessionId);
+        }
+    }
+
+    private void requireActive(UploadSession session) {
+        if (session.getStatus() != UploadSession.UploadStatus.ACTIVE) {
+            throw new UploadSessionConflictException("Upload session is " + session.getStatus() + ": " + session.getId());
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new UploadSessionConflictException("Upload session expired: " + session.getId());
+        }
+    }
+
+    // Parties assez grandes pour rester sous MAX_PARTS, arrondies au Mo
+    private long chunkSize(long size) {
+        long chunkSize = Math.max(fileUtilsService.parseSize(properties.getResumable().getChunkSize()), MIN_CHUNK_SIZE);
+        long minimum = (size + MAX_PARTS - 1) / MAX_PARTS;
+        if (chunkSize < minimum) {
+            chunkSize = (minimum + CHUNK_ALIGNMENT - 1) / CHUNK_ALIGNMENT * CHUNK_ALIGNMENT;
+        }
+        return chunkSize;
+    }
+
+    private static MultipartUpload upload(UploadSession session) {
+        return new MultipartUpload(session.getStoredPath(), session.getProviderUploadId());
+    }
+
+    private static List<Integer> missingParts(UploadSession session, List<UploadSessionPart> parts) {
+        List<Integer> missing = new ArrayList<>();
+        int next = 1;
+        for (UploadSessionPart part : parts) {
+            for (; next < part.getPartNumber() && missing.size() < 20; next++) {
+                missing.add(next);
+            }
+            next = part.getPartNumber() + 1;
+        }
+        for (; next <= session.getPartCount() && missing.size() < 20; next++) {
+            missing.add(next);
+        }
+        return missing;
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static FileEntity.EntityType parseEntityType(String entityType) {
+        if (entityType == null) return null;
+        try {
+            return FileEntity.EntityType.valueOf(entityType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return FileEntity.EntityType.OTHER;
+        }
+    }
+
+    private UploadSessionDto mapToDto(UploadSession session, List<UploadSessionPart> parts) {
+        List<Integer> receivedParts = new ArrayList<>(parts.size());
+        List<String> receivedRanges = new ArrayList<>();
+        long receivedBytes = 0;
+        long rangeStart = -1;
+        long rangeEnd = -1;
+
+        // Parties contiguës regroupées en une seule plage
+        for (UploadSessionPart part : parts) {
+            receivedParts.add(part.getPartNumber());
+            receivedBytes += part.getSize();
+            long start = (part.getPartNumber() - 1) * session.getChunkSize();
+            long end = start + part.getSize() - 1;
+            if (rangeStart >= 0 && start == rangeEnd + 1) {
+                rangeEnd = end;
+                continue;
+            }
+            if (rangeStart >= 0) {
+                receivedRanges.add(rangeStart + "-" + rangeEnd);
+            }
+            rangeStart = start;
+            rangeEnd = end;
+        }
+        if (rangeStart >= 0) {
+            receivedRanges.add(rangeStart + "-" + rangeEnd);
+        }
+
+        return UploadSessionDto.builder()
+                .id(session.getId())
+                .filename(session.getOriginalName())
+                .fileSize(session.getFileSize())
+                .chunkSize(session.getChunkSize())
+                .partCount(session.getPartCount())
+                .status(session.getStatus())
+                .receivedParts(receivedParts)
+                .receivedRanges(receivedRanges)
+                .receivedBytes(receivedBytes)
+                .fileId(session.getFileId())
+                .createdAt(session.getCreatedAt())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.FileUploadProperties;
+import com.projectsaas.file.exception.FileSecurityException;
+import com.projectsaas.file.exception.FileValidationException;
+import com.projectsaas.file.storage.StorageException;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Upload en un seul passage : le flux reçu est écrit directement par le StorageProvider
+ * pendant que le SHA-256, la limite de taille, le type réel et le scanner l'inspectent.
+ * Aucun fichier intermédiaire, aucune relecture du fichier stocké.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingUploadService {
+
+    private final StorageProviderRegistry storageProviders;
+    private final UploadScanner uploadScanner;
+    private final FileUploadProperties properties;
+    private final FileUtilsService fileUtilsService;
+    private final ContentAddressedStorageService contentAddressedStorage;
+
+    public StoredUpload store(InputStream content, String filename, String declaredType, UUID tenantId) {
+        long maxSize = fileUtilsService.parseSize(properties.getMaxSize());
+        String declared = normalize(declaredType);
+        StorageProvider storage = storageProviders.getActive();
+
+        try (UploadScanner.Session scan = uploadScanner.begin(filename)) {
+            UploadInspectingInputStream inspected = new UploadInspectingInputStream(content, maxSize, scan,
+                    detectedType -> checkContent(declared, detectedType));
+
+            String storedPath;
+            try {
+                storedPath = storage.store(inspected, filename, tenantId.toString());
+            } catch (RuntimeException e) {
+                throw rejection(e);
+            }
+
+            ScanResult scanResult = scan.finish();
+            if (scanResult.isInfected()) {
+                storage.delete(storedPath);
+                log.warn("Upload {} rejected by antivirus: {}", filename, scanResult.getMessage());
+                throw new FileSecurityException("File rejected by antivirus: " + scanResult.getMessage());
+            }
+
+            // Contenu déjà présent (storage.dedup) : la copie est remplacée par le blob existant
+            storedPath = contentAddressedStorage.adopt(storedPath, inspected.getChecksum(),
+                    inspected.getSize(), tenantId);
+
+            return StoredUpload.builder()
+                    .storedPath(storedPath)
+                    .size(inspected.getSize())
+                    .checksum(inspected.getChecksum())
+                    .contentType(contentType(declared, inspected.getDetectedType()))
+                    .scanResult(scanResult)
+                    .build();
+        }
+    }
+
+    // Fichier assemblé par le provider (upload reprenable, parties reçues dans le désordre) : relu une fois
+    // pour le SHA-256 et l'antivirus. Le type a été contrôlé sur la partie 1 ; le fichier reste en place,
+    // y compris s'il est infecté (à supprimer par l'appelant)
+    public StoredUpload inspect(StorageProvider storage, String storedPath, String filename, String contentType) {
+        try (UploadScanner.Session scan = uploadScanner.begin(filename);
+             InputStream stored = storage.retrieve(storedPath)) {
+            UploadInspectingInputStream inspected = new UploadInspectingInputStream(stored, Long.MAX_VALUE, scan,
+                    detectedType -> { });
+            inspected.transferTo(OutputStream.nullOutputStream());
+
+            return StoredUpload.builder()
+                    .storedPath(storedPath)
+                    .size(inspected.getSize())
+                    .checksum(inspected.getChecksum())
+                    .contentType(contentType)
+                    .scanResult(scan.finish())
+                    .build();
+        } catch (IOException e) {
+            throw new StorageException(storage.getProviderName(), "inspect", "Failed to read " + storedPath, e);
+        }
+    }
+
+    // Le type déclaré par le client doit correspondre à la signature quand elle est connue
+    // (aussi appelé sur la première partie des uploads reprenables)
+    void checkContent(String declared, String detectedType)
+            throws UploadInspectingInputStream.UploadRejectedException {
+        if (detectedType == null) {
+            return;
+        }
+        if (ContentSniffer.EXECUTABLE.equals(detectedType) && properties.isRejectExecutables()) {
+            throw new UploadInspectingInputStream.UploadRejectedException("Executable files are not allowed");
+        }
+        if (declared != null && !ContentSniffer.isCompatible(declared, detectedType)) {
+            throw new UploadInspectingInputStream.UploadRejectedException(
+                    "File content (" + detectedType + ") does not match declared type " + declared);
+        }
+    }
+
+    // Rejet levé dans le flux : retrouvé dans les causes de l'exception du provider
+    private RuntimeException rejection(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UploadInspectingInputStream.UploadTooLargeException) {
+                return new MaxUploadSizeExceededException(
+                        ((UploadInspectingInputStream.UploadTooLargeException) cause).getMaxSize(), cause);
+            }
+            if (cause instanceof UploadInspectingInputStream.UploadRejectedException) {
+                return new FileValidationException(cause.getMessage(), cause);
+            }
+        }
+        return e;
+    }
+
+    private String contentType(String declared, String detectedType) {
+        if (declared != null) {
+            return declared;
+        }
+        return detectedType != null ? detectedType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // null : type absent ou générique, seule la signature compte
+    String normalize(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return null;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (type.equals(MediaType.APPLICATION_OCTET_STREAM_VALUE)) {
+            return null;
+        }
+        return type.equals("image/jpg") || type.equals("image/pjpeg") ? "image/jpeg" : type;
+    }
+
+    @Getter
+    @Builder
+    public static class StoredUpload {
+        private final String storedPath;
+        private final long size;
+        private final String checksum;
+        private final String contentType;
+        private final ScanResult scanResult;
+    }
+}
@@ -1,15 +1,67 @@
 package com.projectsaas.file.service;
 
+import com.projectsaas.file.config.ThumbnailProperties;
+import com.projectsaas.file.entity.FileEntity;
+import com.projectsaas.file.exception.FileDownloadException;
+import com.projectsaas.file.exception.FileNotFoundException;
+import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Miniatures des images : générées après l'upload par un pool borné, décodées
+ * sous-échantillonnées (l'image source n'est jamais entièrement en mémoire),
+ * stockées par le StorageProvider sous thumbnails/{tenant}/{fichier}/{taille}.jpg.
+ */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class ThumbnailService {
 
+    private static final String THUMBNAIL_PREFIX = "thumbnails/";
+    private static final String THUMBNAIL_TYPE = MediaType.IMAGE_JPEG_VALUE;
+
+    // Ordre de génération : chaque taille est réduite depuis la précédente
+    private static final List<ThumbnailSize> GENERATION_ORDER =
+            List.of(ThumbnailSize.LARGE, ThumbnailSize.MEDIUM, ThumbnailSize.SMALL);
+
     public enum ThumbnailSize {
         SMALL(150, 150),
         MEDIUM(300, 300),
@@ -22,17 +74,283 @@ public class ThumbnailService {
             this.width = width;
             this.height = height;
         }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static ThumbnailSize fromKey(String key) {
+            for (ThumbnailSize size : values()) {
+                if (size.key().equalsIgnoreCase(key)) {
+                    return size;
+                }
+            }
+            throw new IllegalArgumentException("Unknown thumbnail size: " + key);
+        }
+    }
+
+    private final ThumbnailProperties properties;
+    private final StorageProviderRegistry storageProviders;
+    private final FileRepository fileRepository;
+
+    private ThreadPoolExecutor executor;
+    private ThumbnailCache cache;
+
+    @PostConstruct
+    public void init() {
+        int workers = Math.max(1, properties.getWorkers());
+        // File pleine : le thread de l'upload génère lui-même, ce qui ralentit les uploads
+        // au lieu d'accumuler des images en attente
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                new CustomizableThreadFactory("thumbnail-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        cache = new ThumbnailCache(properties.getCacheMaxBytes());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean supports(String contentType) {
+        return properties.isEnabled() && isImage(contentType);
+    }
+
+    private static boolean isImage(String contentType) {
+        return contentType != null && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    // Appelé une fois le fichier enregistré ; ne lève jamais d'exception
+    public void submit(FileEntity file) {
+        if (!supports(file.getContentType())) {
+            return;
+        }
+        Runnable task = () -> generateQuietly(file);
+        if (properties.isGenerateAsync()) {
+            executor.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Générer et stocker les trois tailles
+     * @return Chemins stockés, vide si l'image n'est pas lisible ou trop grande
+     */
+    public Map<ThumbnailSize, String> generateThumbnails(FileEntity file) throws IOException {
+        StorageProvider storage = storageProviders.getActive();
+        BufferedImage image = decodeSubsampled(file, storage);
+        if (image == null) {
+            return Map.of();
+        }
+
+        Map<ThumbnailSize, String> paths = new EnumMap<>(ThumbnailSize.class);
+        for (ThumbnailSize size : GENERATION_ORDER) {
+            image = resize(image, size);
+            byte[] jpeg = encode(image);
+            String path = thumbnailPath(thumbnailPrefix(file), size);
+            storage.storeAt(path, new ByteArrayInputStream(jpeg), jpeg.length, THUMBNAIL_TYPE);
+            cache.put(path, jpeg);
+            paths.put(size, path);
+        }
+        return paths;
+    }
+
+    public byte[] getThumbnail(FileEntity file, ThumbnailSize size) {
+        if (file.getThumbnailPath() == null) {
+            throw new FileNotFoundException("Thumbnail not available for file: " + file.getId());
+        }
+        String path = thumbnailPath(file.getThumbnailPath(), size);
+        byte[] cached = cache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = storageProviders.getActive().retrieve(path)) {
+            byte[] content = in.readAllBytes();
+            cache.put(path, content);
+            return content;
+        } catch (IOException e) {
+            throw new FileDownloadException("Failed to read thumbnail: " + path, e);
+        }
+    }
+
+    // Fichier supprimé : miniatures retirées du stockage et du cache ; ne lève jamais d'exception
+    public void deleteThumbnails(FileEntity file) {
+        if (file.getThumbnailPath() == null && !isImage(file.getContentType())) {
+            return;
+        }
+        StorageProvider storage = storageProviders.getActive();
+        String prefix = thumbnailPrefix(file);
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            String path = thumbnailPath(prefix, size);
+            cache.remove(path);
+            try {
+                if (storage.exists(path)) {
+                    storage.delete(path);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to delete thumbnail {}: {}", path, e.getMessage());
+            }
+        }
     }
 
-    public Map<ThumbnailSize, String> generateThumbnails(InputStream imageStream,
-                                                         String originalPath,
-                                                         String tenantId) {
-        // Mock implementation
-        log.debug("Mock thumbnail generation for: {}", originalPath);
-        return Map.of(
-                ThumbnailSize.SMALL, originalPath + "_small.jpg",
-                ThumbnailSize.MEDIUM, originalPath + "_medium.jpg",
-                ThumbnailSize.LARGE, originalPath + "_large.jpg"
-        );
+    // URL servie par FileController, null tant que les miniatures n'existent pas
+    public String thumbnailUrl(FileEntity file, ThumbnailSize size) {
+        if (file.getThumbnailPath() == null) {
+            return null;
+        }
+        return "/api/files/" + file.getId() + "/thumbnails/" + size.key();
+    }
+
+    private void generateQuietly(FileEntity file) {
+        long start = System.nanoTime();
+        try {
+            if (generateThumbnails(file).isEmpty()) {
+                return;
+            }
+            if (fileRepository.updateThumbnailPath(file.getId(), thumbnailPrefix(file)) == 0) {
+                log.debug("File {} removed before its thumbnails were recorded", file.getId());
+                deleteThumbnails(file);
+                return;
+            }
+            log.debug("Thumbnails generated for {} in {} ms", file.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("Thumbnail generation failed for {}: {}", file.getId(), e.getMessage());
+        }
+    }
+
+    private BufferedImage decodeSubsampled(FileEntity file, StorageProvider storage) throws IOException {
+        Path local = localPath(file.getFilePath(), storage);
+        try (InputStream remote = local == null ? storage.retrieve(file.getFilePath()) : null;
+             ImageInputStream input = local != null
+                     ? new FileImageInputStream(local.toFile())
+                     : ImageIO.createImageInputStream(remote)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.debug("No image reader for {}", file.getId());
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > properties.getMaxSourcePixels()) {
+                    log.info("Image {} too large for thumbnails: {}x{}", file.getId(), width, height);
+                    return null;
+                }
+                // Une ligne et une colonne sur n, en gardant au moins deux fois la plus grande
+                // taille : la réduction progressive qui suit lisse le crénelage du sous-échantillonnage
+                int factor = Math.max(1, Math.max(width / (2 * ThumbnailSize.LARGE.width),
+                        height / (2 * ThumbnailSize.LARGE.height)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Lecture directe sur disque quand le provider le permet (anciens chemins absolus compris)
+    private static Path localPath(String storedPath, StorageProvider storage) {
+        Path path = Paths.get(storedPath);
+        return path.isAbsolute() ? path : storage.localPath(storedPath);
+    }
+
+    // Réduction par moitiés puis pas final bilinéaire, sans agrandir les petites images
+    static BufferedImage resize(BufferedImage image, ThumbnailSize size) {
+        double scale = Math.min(1.0, Math.min((double) size.width / image.getWidth(),
+                (double) size.height / image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            current = draw(current, width, height);
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    // RGB opaque pour le JPEG, fond blanc sous les zones transparentes
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(properties.getQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String thumbnailPrefix(FileEntity file) {
+        return THUMBNAIL_PREFIX + file.getTenantId() + "/" + file.getId();
+    }
+
+    private static String thumbnailPath(String prefix, ThumbnailSize size) {
+        return prefix + "/" + size.key() + ".jpg";
+    }
+
+    // LRU borné en octets : les miniatures les plus demandées restent en mémoire
+    private static final class ThumbnailCache {
+        private final long maxBytes;
+        private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+
+        private ThumbnailCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized byte[] get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void remove(String key) {
+            byte[] removed = entries.remove(key);
+            if (removed != null) {
+                size -= removed.length;
+            }
+        }
+
+        synchronized void put(String key, byte[] value) {
+            if (value.length > maxBytes) {
+                return;
+            }
+            byte[] previous = entries.put(key, value);
+            size += value.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> eldest = entries.values().iterator();
+            while (size > maxBytes && eldest.hasNext()) {
+                size -= eldest.next().length;
+                eldest.remove();
+            }
+        }
     }
-}
\ No newline at end of file
+}
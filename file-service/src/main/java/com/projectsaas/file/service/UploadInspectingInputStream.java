@@ -0,0 +1,153 @@
+package com.projectsaas.file.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Flux d'upload inspecté pendant sa lecture par le StorageProvider : SHA-256, taille
+ * maximale, type réel (premiers octets) et scanner reçoivent chaque octet une seule fois.
+ */
+final class UploadInspectingInputStream extends FilterInputStream {
+
+    // Contrôle du type réel, appelé une fois les premiers octets lus ; peut rejeter l'upload
+    interface HeadCheck {
+        void check(String detectedType) throws UploadRejectedException;
+    }
+
+    // Rejet en cours de flux : IOException pour traverser le StorageProvider
+    static class UploadRejectedException extends IOException {
+        UploadRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    static final class UploadTooLargeException extends UploadRejectedException {
+        private final long maxSize;
+
+        UploadTooLargeException(long maxSize) {
+            super("File size exceeds maximum allowed (" + maxSize + " bytes)");
+            this.maxSize = maxSize;
+        }
+
+        long getMaxSize() {
+            return maxSize;
+        }
+    }
+
+    private final long maxSize;
+    private final UploadScanner.Session scan;
+    private final HeadCheck headCheck;
+    private final MessageDigest digest;
+    private final byte[] head = new byte[ContentSniffer.HEAD_LENGTH];
+
+    private int headLength;
+    private boolean headChecked;
+    private String detectedType;
+    private long size;
+    private String checksum;
+
+    UploadInspectingInputStream(InputStream in, long maxSize, UploadScanner.Session scan, HeadCheck headCheck) {
+        super(in);
+        this.maxSize = maxSize;
+        this.scan = scan;
+        this.headCheck = headCheck;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = in.read(buffer, offset, length);
+        if (n > 0) {
+            accept(buffer, offset, n);
+        } else if (n < 0) {
+            checkHead();
+        }
+        return n;
+    }
+
+    // Les octets sautés doivent aussi être inspectés : lecture normale
+    @Override
+    public long skip(long count) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(count, 8192)];
+        long skipped = 0;
+        while (skipped < count) {
+            int n = read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+            if (n < 0) {
+                break;
+            }
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    String getDetectedType() {
+        return detectedType;
+    }
+
+    // À appeler une fois le flux entièrement lu ; calculé au premier appel (digest() réinitialise)
+    String getChecksum() {
+        if (checksum == null) {
+            checksum = HexFormat.of().formatHex(digest.digest());
+        }
+        return checksum;
+    }
+
+    private void accept(byte[] buffer, int offset, int length) throws IOException {
+        size += length;
+        if (size > maxSize) {
+            throw new UploadTooLargeException(maxSize);
+        }
+        digest.update(buffer, offset, length);
+        if (headLength < head.length) {
+            int copied = Math.min(length, head.length - headLength);
+            System.arraycopy(buffer, offset, head, headLength, copied);
+            headLength += copied;
+            if (headLength == head.length) {
+                checkHead();
+            }
+        }
+        scan.update(buffer, offset, length);
+    }
+
+    private void checkHead() throws UploadRejectedException {
+        if (headChecked) {
+            return;
+        }
+        headChecked = true;
+        detectedType = ContentSniffer.detect(head, headLength);
+        headCheck.check(detectedType);
+    }
+}
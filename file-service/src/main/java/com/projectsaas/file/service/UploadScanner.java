@@ -0,0 +1,23 @@
+package com.projectsaas.file.service;
+
+/**
+ * Analyse d'un upload pendant son écriture : reçoit les octets au fil du flux,
+ * sans relire le fichier stocké. Implémentation par défaut : AntivirusService.
+ */
+public interface UploadScanner {
+
+    Session begin(String filename);
+
+    interface Session extends AutoCloseable {
+
+        // Appelé pour chaque bloc lu, dans l'ordre du flux
+        void update(byte[] buffer, int offset, int length);
+
+        // Verdict une fois le flux entièrement lu
+        ScanResult finish();
+
+        // Libère les ressources (aussi en cas d'abandon de l'upload)
+        @Override
+        void close();
+    }
+}
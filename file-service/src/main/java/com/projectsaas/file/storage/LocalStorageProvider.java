@@ -6,10 +6,15 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.*;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
 @Component("local")
@@ -27,7 +32,7 @@ public class LocalStorageProvider implements StorageProvider {
     @PostConstruct
     public void init() {
         try {
-            this.baseDirectory = Paths.get(basePath);
+            this.baseDirectory = Paths.get(basePath).toAbsolutePath().normalize();
             Files.createDirectories(baseDirectory);
             log.info("LocalStorageProvider initialized with path: {}", basePath);
         } catch (IOException e) {
@@ -51,9 +56,12 @@ public class LocalStorageProvider implements StorageProvider {
 
             Path filePath = tenantPath.resolve(uniqueFileName);
 
-            // Copier le fichier
+            // Copier le fichier (pas de fichier partiel si le flux échoue ou est rejeté)
             try (InputStream in = inputStream) {
                 Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(filePath);
+                throw e;
             }
 
             String storedPath = tenantId + "/" + datePath + "/" + uniqueFileName;
@@ -67,6 +75,25 @@ public class LocalStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public void storeAt(String storedPath, InputStream inputStream, long size, String contentType) {
+        Path filePath = localPath(storedPath);
+        try {
+            Files.createDirectories(filePath.getParent());
+            try (InputStream in = inputStream) {
+                Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(filePath);
+                throw e;
+            }
+            log.debug("File stored locally: {}", storedPath);
+
+        } catch (IOException e) {
+            log.error("Failed to store file: {}", storedPath, e);
+            throw new StorageException("local", "storeAt", "Failed to store file: " + storedPath, e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storedPath) {
         try {
@@ -115,6 +142,99 @@ public class LocalStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public Path localPath(String storedPath) {
+        Path filePath = baseDirectory.resolve(storedPath).normalize();
+        if (!filePath.startsWith(baseDirectory)) {
+            throw new StorageException("local", "localPath", "Path traversal attempt detected: " + storedPath);
+        }
+        return filePath;
+    }
+
+    // Fichier creux préalloué à la taille finale : chaque partie est écrite à sa position,
+    // puis le fichier est renommé à la fin (pas de concaténation des parties)
+    @Override
+    public MultipartUpload initiateMultipartUpload(String fileName, String tenantId, long size) {
+        try {
+            String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+            String extension = getFileExtension(fileName);
+            String uniqueFileName = UUID.randomUUID().toString() +
+                    (extension.isEmpty() ? "" : "." + extension);
+            String storedPath = tenantId + "/" + datePath + "/" + uniqueFileName;
+
+            Path staging = stagingPath(storedPath);
+            Files.createDirectories(staging.getParent());
+            try (FileChannel channel = FileChannel.open(staging,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+                if (size > 0) {
+                    channel.write(ByteBuffer.allocate(1), size - 1);
+                }
+            }
+
+            log.debug("Multipart upload started locally: {} ({} bytes)", storedPath, size);
+            return new MultipartUpload(storedPath, null);
+
+        } catch (IOException e) {
+            log.error("Failed to start multipart upload: {}", fileName, e);
+            throw new StorageException("local", "initiateMultipartUpload", "Failed to start upload: " + fileName, e);
+        }
+    }
+
+    @Override
+    public String uploadPart(MultipartUpload upload, int partNumber, long offset, InputStream data, long length) {
+        Path staging = stagingPath(upload.getStoredPath());
+        // Le flux appartient à l'appelant : seul le canal fichier est fermé ici
+        ReadableByteChannel source = Channels.newChannel(data);
+        try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferFrom(source, position, remaining);
+                if (written <= 0) {
+                    throw new EOFException("Part " + partNumber + " shorter than " + length + " bytes");
+                }
+                position += written;
+                remaining -= written;
+            }
+            return null;
+
+        } catch (NoSuchFileException e) {
+            throw new StorageException("local", "uploadPart", "Upload not found: " + upload.getStoredPath(), e);
+        } catch (IOException e) {
+            log.error("Failed to write part {} of {}", partNumber, upload.getStoredPath(), e);
+            throw new StorageException("local", "uploadPart",
+                    "Failed to write part " + partNumber + " of " + upload.getStoredPath(), e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(MultipartUpload upload, List<UploadedPart> parts) {
+        try {
+            Files.move(stagingPath(upload.getStoredPath()), localPath(upload.getStoredPath()),
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Multipart upload completed locally: {}", upload.getStoredPath());
+
+        } catch (IOException e) {
+            log.error("Failed to complete multipart upload: {}", upload.getStoredPath(), e);
+            throw new StorageException("local", "completeMultipartUpload",
+                    "Failed to complete upload: " + upload.getStoredPath(), e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(MultipartUpload upload) {
+        try {
+            Path staging = stagingPath(upload.getStoredPath());
+            Files.deleteIfExists(staging);
+            cleanupEmptyDirectories(staging.getParent());
+
+        } catch (IOException e) {
+            log.error("Failed to abort multipart upload: {}", upload.getStoredPath(), e);
+            throw new StorageException("local", "abortMultipartUpload",
+                    "Failed to abort upload: " + upload.getStoredPath(), e);
+        }
+    }
+
     @Override
     public String generatePresignedUrl(String storedPath, Duration expiration) {
         // Pour stockage local, on génère un token temporaire
@@ -268,6 +388,12 @@ public class LocalStorageProvider implements StorageProvider {
     }
 
     // Méthodes utilitaires privées
+    // Fichier en cours d'assemblage, à côté du fichier final (même système de fichiers pour le renommage)
+    private Path stagingPath(String storedPath) {
+        Path filePath = localPath(storedPath);
+        return filePath.resolveSibling(filePath.getFileName() + ".upload");
+    }
+
     private String getFileExtension(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return "";
@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -97,6 +98,25 @@ public class MinIOStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public void storeAt(String storedPath, InputStream inputStream, long size, String contentType) {
+        try (InputStream in = inputStream) {
+            PutObjectArgs putArgs = PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(storedPath)
+                    .stream(in, size, -1)
+                    .contentType(contentType)
+                    .build();
+
+            minioClient.putObject(putArgs);
+            log.debug("File stored in MinIO: {}", storedPath);
+
+        } catch (Exception e) {
+            log.error("Failed to store file in MinIO: {}", storedPath, e);
+            throw new StorageException("minio", "storeAt", "Failed to store file in MinIO: " + storedPath, e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storedPath) {
         try {
@@ -135,6 +155,75 @@ public class MinIOStorageProvider implements StorageProvider {
         }
     }
 
+    // Les parties sont des objets temporaires assemblés côté serveur par composeObject
+    // (UploadPartCopy) : aucune donnée ne repasse par le service
+    @Override
+    public MultipartUpload initiateMultipartUpload(String fileName, String tenantId, long size) {
+        String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String extension = getFileExtension(fileName);
+        String uniqueFileName = UUID.randomUUID().toString() +
+                (extension.isEmpty() ? "" : "." + extension);
+
+        String objectName = tenantId + "/" + datePath + "/" + uniqueFileName;
+        return new MultipartUpload(objectName, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public String uploadPart(MultipartUpload upload, int partNumber, long offset, InputStream data, long length) {
+        try {
+            PutObjectArgs putArgs = PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(partObjectName(upload, partNumber))
+                    .stream(data, length, -1)
+                    .build();
+
+            return minioClient.putObject(putArgs).etag();
+
+        } catch (Exception e) {
+            log.error("Failed to upload part {} of {} to MinIO", partNumber, upload.getStoredPath(), e);
+            throw new StorageException("minio", "uploadPart",
+                    "Failed to upload part " + partNumber + " of " + upload.getStoredPath(), e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(MultipartUpload upload, List<UploadedPart> parts) {
+        try {
+            List<ComposeSource> sources = parts.stream()
+                    .map(part -> ComposeSource.builder()
+                            .bucket(bucketName)
+                            .object(partObjectName(upload, part.getPartNumber()))
+                            .build())
+                    .toList();
+
+            ComposeObjectArgs composeArgs = ComposeObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(upload.getStoredPath())
+                    .sources(sources)
+                    .build();
+
+            minioClient.composeObject(composeArgs);
+            log.debug("Multipart upload completed in MinIO: {}", upload.getStoredPath());
+
+        } catch (Exception e) {
+            log.error("Failed to complete multipart upload in MinIO: {}", upload.getStoredPath(), e);
+            throw new StorageException("minio", "completeMultipartUpload",
+                    "Failed to complete upload: " + upload.getStoredPath(), e);
+        }
+
+        try {
+            removePartObjects(upload);
+        } catch (StorageException e) {
+            // Fichier assemblé : des parties orphelines ne doivent pas faire échouer l'upload
+            log.warn("Parts of {} left in MinIO: {}", upload.getStoredPath(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(MultipartUpload upload) {
+        removePartObjects(upload);
+    }
+
     @Override
     public String generatePresignedUrl(String storedPath, Duration expiration) {
         try {
@@ -321,6 +410,36 @@ public class MinIOStorageProvider implements StorageProvider {
         }
     }
 
+    private String partObjectName(MultipartUpload upload, int partNumber) {
+        return partsPrefix(upload) + String.format("%05d", partNumber);
+    }
+
+    private String partsPrefix(MultipartUpload upload) {
+        return upload.getStoredPath() + ".parts/" + upload.getUploadId() + "/";
+    }
+
+    private void removePartObjects(MultipartUpload upload) {
+        try {
+            ListObjectsArgs listArgs = ListObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .prefix(partsPrefix(upload))
+                    .recursive(true)
+                    .build();
+
+            for (Result<Item> result : minioClient.listObjects(listArgs)) {
+                minioClient.removeObject(RemoveObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(result.get().objectName())
+                        .build());
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to remove parts of {} from MinIO", upload.getStoredPath(), e);
+            throw new StorageException("minio", "removeParts",
+                    "Failed to remove parts of " + upload.getStoredPath(), e);
+        }
+    }
+
     private String getFileExtension(String fileName) {
         if (fileName == null || fileName.isEmpty()) return "";
         int lastDot = fileName.lastIndexOf('.');
@@ -89,6 +89,24 @@ public class MockStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public void storeAt(String storedPath, InputStream inputStream, long size, String contentType) {
+        simulateDelay();
+
+        if (simulateFailures) {
+            throw new StorageException("mock", "storeAt", "Simulated failure");
+        }
+
+        try (InputStream in = inputStream) {
+            byte[] content = in.readAllBytes();
+            storage.put(storedPath, new MockFile(content, storedPath, null, contentType));
+            log.debug("Mock file stored: {} (size: {} bytes)", storedPath, content.length);
+
+        } catch (IOException e) {
+            throw new StorageException("mock", "storeAt", "Failed to read input stream", e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storedPath) {
         simulateDelay();
@@ -0,0 +1,20 @@
+package com.projectsaas.file.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Upload en plusieurs parties ouvert chez un provider
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultipartUpload {
+
+    /** Chemin de stockage du fichier une fois assemblé */
+    private String storedPath;
+
+    /** Identifiant de l'upload chez le provider (null pour le stockage local) */
+    private String uploadId;
+}
@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
 @Component("s3")
@@ -126,6 +127,24 @@ public class S3StorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public void storeAt(String storedPath, InputStream inputStream, long size, String contentType) {
+        try (InputStream in = inputStream) {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(storedPath)
+                    .contentType(contentType)
+                    .build();
+
+            s3Client.putObject(putRequest, RequestBody.fromInputStream(in, size));
+            log.debug("File stored in S3: {}", storedPath);
+
+        } catch (Exception e) {
+            log.error("Failed to store file in S3: {}", storedPath, e);
+            throw new StorageException("s3", "storeAt", "Failed to store file in S3: " + storedPath, e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storedPath) {
         try {
@@ -161,6 +180,105 @@ public class S3StorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public MultipartUpload initiateMultipartUpload(String fileName, String tenantId, long size) {
+        try {
+            String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+            String extension = getFileExtension(fileName);
+            String uniqueFileName = UUID.randomUUID().toString() +
+                    (extension.isEmpty() ? "" : "." + extension);
+
+            String key = tenantId + "/" + datePath + "/" + uniqueFileName;
+
+            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(getContentType(fileName))
+                    .metadata(java.util.Map.of(
+                            "original-name", fileName,
+                            "tenant-id", tenantId,
+                            "upload-date", LocalDateTime.now().toString()
+                    ))
+                    .build();
+
+            String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+            log.debug("Multipart upload started in S3: {} ({})", key, uploadId);
+            return new MultipartUpload(key, uploadId);
+
+        } catch (Exception e) {
+            log.error("Failed to start multipart upload in S3: {}", fileName, e);
+            throw new StorageException("s3", "initiateMultipartUpload", "Failed to start upload: " + fileName, e);
+        }
+    }
+
+    @Override
+    public String uploadPart(MultipartUpload upload, int partNumber, long offset, InputStream data, long length) {
+        try {
+            UploadPartRequest partRequest = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(upload.getStoredPath())
+                    .uploadId(upload.getUploadId())
+                    .partNumber(partNumber)
+                    .contentLength(length)
+                    .build();
+
+            return s3Client.uploadPart(partRequest, RequestBody.fromInputStream(data, length)).eTag();
+
+        } catch (Exception e) {
+            log.error("Failed to upload part {} of {} to S3", partNumber, upload.getStoredPath(), e);
+            throw new StorageException("s3", "uploadPart",
+                    "Failed to upload part " + partNumber + " of " + upload.getStoredPath(), e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(MultipartUpload upload, List<UploadedPart> parts) {
+        try {
+            List<CompletedPart> completedParts = parts.stream()
+                    .map(part -> CompletedPart.builder()
+                            .partNumber(part.getPartNumber())
+                            .eTag(part.getEtag())
+                            .build())
+                    .toList();
+
+            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(upload.getStoredPath())
+                    .uploadId(upload.getUploadId())
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+
+            s3Client.completeMultipartUpload(completeRequest);
+            log.debug("Multipart upload completed in S3: {}", upload.getStoredPath());
+
+        } catch (Exception e) {
+            log.error("Failed to complete multipart upload in S3: {}", upload.getStoredPath(), e);
+            throw new StorageException("s3", "completeMultipartUpload",
+                    "Failed to complete upload: " + upload.getStoredPath(), e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(MultipartUpload upload) {
+        try {
+            AbortMultipartUploadRequest abortRequest = AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(upload.getStoredPath())
+                    .uploadId(upload.getUploadId())
+                    .build();
+
+            s3Client.abortMultipartUpload(abortRequest);
+            log.debug("Multipart upload aborted in S3: {}", upload.getStoredPath());
+
+        } catch (NoSuchUploadException e) {
+            log.debug("Multipart upload already gone in S3: {}", upload.getStoredPath());
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload in S3: {}", upload.getStoredPath(), e);
+            throw new StorageException("s3", "abortMultipartUpload",
+                    "Failed to abort upload: " + upload.getStoredPath(), e);
+        }
+    }
+
     @Override
     public String generatePresignedUrl(String storedPath, Duration expiration) {
         try {
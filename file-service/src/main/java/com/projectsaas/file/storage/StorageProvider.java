@@ -1,7 +1,9 @@
 package com.projectsaas.file.storage;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Interface pour les différents providers de stockage
@@ -18,6 +20,15 @@ public interface StorageProvider {
      */
     String store(InputStream inputStream, String fileName, String tenantId);
 
+    /**
+     * Stocker un fichier à un chemin choisi par l'appelant (fichiers dérivés : miniatures)
+     * @param storedPath Chemin de stockage, remplacé s'il existe
+     * @param inputStream Flux du fichier
+     * @param size Taille exacte du contenu
+     * @param contentType Type MIME du contenu
+     */
+    void storeAt(String storedPath, InputStream inputStream, long size, String contentType);
+
     /**
      * Récupérer un fichier
      * @param storedPath Chemin de stockage
@@ -79,6 +90,56 @@ public interface StorageProvider {
      */
     boolean isHealthy();
 
+    /**
+     * Chemin sur le disque local (envoi par sendfile, lecture sans copie)
+     * @param storedPath Chemin de stockage
+     * @return Chemin local, ou null si le provider ne stocke pas sur disque
+     */
+    default Path localPath(String storedPath) {
+        return null;
+    }
+
+    /**
+     * Ouvrir un upload en plusieurs parties (upload reprenable)
+     * @param fileName Nom original du fichier
+     * @param tenantId ID du tenant
+     * @param size Taille totale annoncée
+     * @return Chemin de stockage final et identifiant d'upload du provider
+     */
+    default MultipartUpload initiateMultipartUpload(String fileName, String tenantId, long size) {
+        throw new StorageException(getProviderName(), "initiateMultipartUpload", "Multipart upload not supported");
+    }
+
+    /**
+     * Écrire une partie ; les parties peuvent arriver dans le désordre et en parallèle
+     * @param upload Upload ouvert
+     * @param partNumber Numéro de la partie, à partir de 1
+     * @param offset Position de la partie dans le fichier
+     * @param data Contenu de la partie (fermé par l'appelant)
+     * @param length Taille exacte de la partie
+     * @return ETag de la partie (null si le provider n'en a pas)
+     */
+    default String uploadPart(MultipartUpload upload, int partNumber, long offset, InputStream data, long length) {
+        throw new StorageException(getProviderName(), "uploadPart", "Multipart upload not supported");
+    }
+
+    /**
+     * Assembler les parties : le fichier devient visible à upload.getStoredPath()
+     * @param upload Upload ouvert
+     * @param parts Toutes les parties, triées par numéro
+     */
+    default void completeMultipartUpload(MultipartUpload upload, List<UploadedPart> parts) {
+        throw new StorageException(getProviderName(), "completeMultipartUpload", "Multipart upload not supported");
+    }
+
+    /**
+     * Abandonner l'upload et libérer les parties déjà reçues
+     * @param upload Upload ouvert
+     */
+    default void abortMultipartUpload(MultipartUpload upload) {
+        throw new StorageException(getProviderName(), "abortMultipartUpload", "Multipart upload not supported");
+    }
+
     /**
      * Nom du provider
      * @return Nom du provider (local, s3, minio)
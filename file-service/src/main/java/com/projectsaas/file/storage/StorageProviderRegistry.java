@@ -0,0 +1,51 @@
+package com.projectsaas.file.storage;
+
+import com.projectsaas.file.config.StorageProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Provider actif selon storage.provider (beans nommés local, s3, minio, mock)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StorageProviderRegistry {
+
+    private final Map<String, StorageProvider> providers;
+    private final StorageProperties properties;
+
+    private StorageProvider active;
+
+    @PostConstruct
+    public void init() {
+        this.active = providers.get(properties.getProvider());
+        if (active == null) {
+            throw new StorageException(properties.getProvider(), "init",
+                    "Unknown storage provider, available: " + providers.keySet());
+        }
+        log.info("Active storage provider: {}", active.getProviderName());
+    }
+
+    public StorageProvider getActive() {
+        return active;
+    }
+
+    // Nom du bean actif (local, s3, minio, mock), à mémoriser avec les données qui en dépendent
+    public String getActiveName() {
+        return properties.getProvider();
+    }
+
+    // Provider par nom de bean : une session d'upload reste sur le provider qui l'a ouverte
+    public StorageProvider get(String name) {
+        StorageProvider provider = providers.get(name);
+        if (provider == null) {
+            throw new StorageException(name, "get", "Storage provider not available, active: " + getActiveName());
+        }
+        return provider;
+    }
+}
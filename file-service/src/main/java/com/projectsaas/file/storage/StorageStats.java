@@ -26,6 +26,15 @@ public class StorageStats {
     /** Espace utilisé en bytes */
     private long usedSpace;
 
+    /** Contenus distincts stockés (mode dédupliqué) */
+    private long blobCount;
+
+    /** Taille totale des fichiers référencés, avant déduplication */
+    private long logicalSize;
+
+    /** Espace économisé par la déduplication (logicalSize - taille stockée) */
+    private long savedSpace;
+
     /** Pourcentage d'utilisation */
     private double usagePercentage;
 
@@ -38,6 +47,9 @@ public class StorageStats {
     /** Espace disponible formaté */
     private String humanReadableAvailable;
 
+    /** Espace économisé formaté */
+    private String humanReadableSaved;
+
     /** Santé du stockage */
     private boolean healthy;
 
@@ -62,6 +74,7 @@ public class StorageStats {
     public void formatSizes() {
         this.humanReadableSize = formatBytes(this.totalSize);
         this.humanReadableAvailable = formatBytes(this.availableSpace);
+        this.humanReadableSaved = formatBytes(this.savedSpace);
     }
 
     private String formatBytes(long bytes) {
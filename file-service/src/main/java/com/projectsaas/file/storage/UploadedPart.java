@@ -0,0 +1,20 @@
+package com.projectsaas.file.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partie reçue d'un upload en plusieurs parties
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadedPart {
+
+    /** Numéro de la partie, à partir de 1 */
+    private int partNumber;
+
+    /** ETag renvoyé par le provider (null pour le stockage local) */
+    private String etag;
+}
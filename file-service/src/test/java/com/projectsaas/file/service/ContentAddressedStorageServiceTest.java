@@ -0,0 +1,319 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.StorageProperties;
+import com.projectsaas.file.entity.StorageBlob;
+import com.projectsaas.file.repository.StorageBlobRepository;
+import com.projectsaas.file.storage.LocalStorageProvider;
+import com.projectsaas.file.storage.StorageException;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import com.projectsaas.file.storage.StorageStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Blobs partagés par contenu : une copie par périmètre, références comptées, ramasse-miettes après délai de grâce
+class ContentAddressedStorageServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final byte[] CONTENT = "same bytes, uploaded twice".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path baseDirectory;
+
+    private final StorageBlobRepository blobRepository = mock(StorageBlobRepository.class);
+    private final StorageProviderRegistry storageProviders = mock(StorageProviderRegistry.class);
+    private final StorageProperties properties = new StorageProperties();
+    private final LocalStorageProvider local = new LocalStorageProvider();
+    private final ContentAddressedStorageService service =
+            new ContentAddressedStorageService(blobRepository, storageProviders, properties);
+
+    // Table storage_blobs simulée : mêmes mises à jour conditionnelles que les requêtes JPQL
+    private final Map<UUID, StorageBlob> blobs = new ConcurrentHashMap<>();
+
+    private String checksum;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        ReflectionTestUtils.setField(local, "basePath", baseDirectory.toString());
+        local.init();
+        when(storageProviders.getActive()).thenReturn(local);
+        properties.getDedup().setEnabled(true);
+        checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+
+        when(blobRepository.findByScopeAndChecksum(anyString(), anyString())).thenAnswer(invocation ->
+                find(blob -> blob.getScope().equals(invocation.getArgument(0))
+                        && blob.getChecksum().equals(invocation.getArgument(1))));
+        when(blobRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            StorageBlob blob = invocation.getArgument(0);
+            synchronized (blobs) {
+                if (find(other -> other.getStoredPath().equals(blob.getStoredPath())).isPresent()) {
+                    throw new DataIntegrityViolationException("uk_storage_blobs_stored_path");
+                }
+                blob.setId(UUID.randomUUID());
+                blobs.put(blob.getId(), blob);
+            }
+            return blob;
+        });
+        when(blobRepository.acquire(any())).thenAnswer(invocation ->
+                acquire(blobs.get(invocation.<UUID>getArgument(0))));
+        when(blobRepository.acquireByPath(anyString())).thenAnswer(invocation ->
+                acquire(find(blob -> blob.getStoredPath().equals(invocation.getArgument(0))).orElse(null)));
+        when(blobRepository.release(anyString(), any())).thenAnswer(invocation -> {
+            StorageBlob blob = find(other -> other.getStoredPath().equals(invocation.getArgument(0))).orElse(null);
+            synchronized (blobs) {
+                if (blob == null || blob.getRefCount() <= 0) {
+                    return 0;
+                }
+                blob.setRefCount(blob.getRefCount() - 1);
+                blob.setReleasedAt(invocation.getArgument(1));
+                return 1;
+            }
+        });
+        when(blobRepository.findTop500ByRefCountAndReleasedAtBefore(any(), any())).thenAnswer(invocation ->
+                blobs.values().stream()
+                        .filter(blob -> blob.getRefCount().equals(invocation.getArgument(0)))
+                        .filter(blob -> blob.getReleasedAt().isBefore(invocation.getArgument(1)))
+                        .toList());
+        when(blobRepository.claimForDeletion(any())).thenAnswer(invocation ->
+                compareAndSet(invocation.getArgument(0), 0, -1));
+        when(blobRepository.unclaim(any())).thenAnswer(invocation ->
+                compareAndSet(invocation.getArgument(0), -1, 0));
+        doAnswer(invocation -> blobs.remove(invocation.<UUID>getArgument(0)))
+                .when(blobRepository).deleteById(any());
+    }
+
+    @Test
+    void disabledDedupKeepsThePlainFile() throws IOException {
+        properties.getDedup().setEnabled(false);
+        String stored = upload("uploads/a.txt");
+
+        assertThat(service.adopt(stored, checksum, CONTENT.length, TENANT_ID)).isEqualTo(stored);
+        assertThat(Files.exists(baseDirectory.resolve(stored))).isTrue();
+        verifyNoInteractions(blobRepository);
+    }
+
+    // Premier envoi : la copie devient le blob ; les suivants pointent dessus et leur copie est supprimée
+    @Test
+    void identicalUploadsShareOneBlob() throws IOException {
+        String first = upload("uploads/a.txt");
+        String second = upload("uploads/b.txt");
+
+        String blobPath = service.adopt(first, checksum, CONTENT.length, TENANT_ID);
+        String sharedPath = service.adopt(second, checksum, CONTENT.length, TENANT_ID);
+
+        assertThat(blobPath).isEqualTo("blobs/" + TENANT_ID + "/" + checksum.substring(0, 2) + "/" + checksum);
+        assertThat(sharedPath).isEqualTo(blobPath);
+        assertThat(Files.readAllBytes(baseDirectory.resolve(blobPath))).isEqualTo(CONTENT);
+        assertThat(baseDirectory.resolve(first)).doesNotExist();
+        assertThat(baseDirectory.resolve(second)).doesNotExist();
+        assertThat(blobs.values()).singleElement().satisfies(blob -> {
+            assertThat(blob.getRefCount()).isEqualTo(2);
+            assertThat(blob.getSize()).isEqualTo(CONTENT.length);
+        });
+    }
+
+    // Périmètre tenant par défaut : deux tenants ne partagent rien ; global : un seul blob
+    @Test
+    void scopeDecidesWhoSharesABlob() throws IOException {
+        UUID otherTenant = UUID.randomUUID();
+        String mine = service.adopt(upload("uploads/a.txt"), checksum, CONTENT.length, TENANT_ID);
+        String theirs = service.adopt(upload("uploads/b.txt"), checksum, CONTENT.length, otherTenant);
+        assertThat(theirs).isNotEqualTo(mine);
+
+        blobs.clear();
+        properties.getDedup().setScope("global");
+        String shared = service.adopt(upload("uploads/c.txt"), checksum, CONTENT.length, TENANT_ID);
+        assertThat(service.adopt(upload("uploads/d.txt"), checksum, CONTENT.length, otherTenant))
+                .isEqualTo(shared)
+                .startsWith("blobs/global/");
+    }
+
+    // Blob réservé par le ramasse-miettes : pas de nouvelle référence, l'upload reste un fichier simple
+    @Test
+    void blobBeingCollectedIsNotAdopted() throws IOException {
+        String blobPath = service.adopt(upload("uploads/a.txt"), checksum, CONTENT.length, TENANT_ID);
+        blobs.values().forEach(blob -> blob.setRefCount(-1));
+        String stored = upload("uploads/b.txt");
+
+        assertThat(service.adopt(stored, checksum, CONTENT.length, TENANT_ID)).isEqualTo(stored);
+        assertThat(baseDirectory.resolve(stored)).exists();
+        assertThat(baseDirectory.resolve(blobPath)).exists();
+    }
+
+    // Même contenu adopté en parallèle : l'insertion perdante prend une référence sur le blob gagnant
+    @Test
+    void concurrentAdoptionOfTheSameContentCountsBothReferences() throws IOException {
+        String blobPath = service.adopt(upload("uploads/a.txt"), checksum, CONTENT.length, TENANT_ID);
+        when(blobRepository.findByScopeAndChecksum(anyString(), anyString())).thenReturn(Optional.empty());
+
+        assertThat(service.adopt(upload("uploads/b.txt"), checksum, CONTENT.length, TENANT_ID)).isEqualTo(blobPath);
+        assertThat(blobs.values()).singleElement().extracting(StorageBlob::getRefCount).isEqualTo(2);
+
+        blobs.values().forEach(blob -> blob.setRefCount(-1));
+        String third = upload("uploads/c.txt");
+        assertThatThrownBy(() -> service.adopt(third, checksum, CONTENT.length, TENANT_ID))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("Blob being collected while adopted");
+    }
+
+    @Test
+    void retainAndReleaseOnlyApplyToBlobs() throws IOException {
+        String blobPath = service.adopt(upload("uploads/a.txt"), checksum, CONTENT.length, TENANT_ID);
+        StorageBlob blob = blobs.values().iterator().next();
+
+        assertThat(service.retain(blobPath)).isTrue();
+        assertThat(blob.getRefCount()).isEqualTo(2);
+        assertThat(service.retain("uploads/plain.txt")).isFalse();
+
+        service.release(blobPath);
+        service.release(blobPath);
+        // Libération en trop : le compteur ne devient jamais négatif
+        service.release(blobPath);
+        assertThat(blob.getRefCount()).isZero();
+        assertThat(blob.getReleasedAt()).isNotNull();
+        assertThat(baseDirectory.resolve(blobPath)).exists();
+    }
+
+    @Test
+    void discardDeletesPlainCopiesAndReleasesBlobs() throws IOException {
+        String plain = upload("uploads/a.txt");
+        service.discard(plain);
+        assertThat(baseDirectory.resolve(plain)).doesNotExist();
+
+        String blobPath = service.adopt(upload("uploads/b.txt"), checksum, CONTENT.length, TENANT_ID);
+        service.discard(blobPath);
+        assertThat(blobs.values()).singleElement().extracting(StorageBlob::getRefCount).isEqualTo(0);
+        assertThat(baseDirectory.resolve(blobPath)).exists();
+    }
+
+    // Seuls les blobs sans référence depuis plus que le délai de grâce sont supprimés
+    @Test
+    void garbageCollectionDeletesBlobsPastTheGracePeriod() throws IOException {
+        properties.getDedup().setGcGrace(Duration.ofHours(1));
+        String expired = blob("uploads/a.txt", "expired", 0, LocalDateTime.now().minusHours(2));
+        String recent = blob("uploads/b.txt", "recent", 0, LocalDateTime.now().minusMinutes(5));
+        String referenced = blob("uploads/c.txt", "referenced", 1, LocalDateTime.now().minusHours(2));
+
+        service.collectGarbage();
+
+        assertThat(baseDirectory.resolve(expired)).doesNotExist();
+        assertThat(baseDirectory.resolve(recent)).exists();
+        assertThat(baseDirectory.resolve(referenced)).exists();
+        assertThat(blobs.values()).extracting(StorageBlob::getStoredPath).containsExactlyInAnyOrder(recent, referenced);
+    }
+
+    // Référence reprise entre la sélection et la réservation : le blob est conservé
+    @Test
+    void garbageCollectionSkipsBlobsAcquiredMeanwhile() throws IOException {
+        String blobPath = blob("uploads/a.txt", "revived", 0, LocalDateTime.now().minusHours(2));
+        doAnswer(invocation -> {
+            service.retain(blobPath);
+            return compareAndSet(invocation.getArgument(0), 0, -1);
+        }).when(blobRepository).claimForDeletion(any());
+
+        service.collectGarbage();
+
+        assertThat(baseDirectory.resolve(blobPath)).exists();
+        assertThat(blobs.values()).singleElement().extracting(StorageBlob::getRefCount).isEqualTo(1);
+    }
+
+    // Suppression physique en échec : réservation annulée, nouvel essai au passage suivant
+    @Test
+    void failedDeletionUnclaimsTheBlob() throws IOException {
+        blob("uploads/a.txt", "stuck", 0, LocalDateTime.now().minusHours(2));
+        StorageProvider failing = mock(StorageProvider.class);
+        doThrow(new StorageException("local", "delete", "disk error")).when(failing).delete(anyString());
+        when(storageProviders.getActive()).thenReturn(failing);
+
+        service.collectGarbage();
+
+        assertThat(blobs.values()).singleElement().extracting(StorageBlob::getRefCount).isEqualTo(0);
+    }
+
+    @Test
+    void statsReportTheSpaceSavedByDedup() {
+        when(blobRepository.countReferenced()).thenReturn(2L);
+        when(blobRepository.sumStoredSize()).thenReturn(300L);
+        when(blobRepository.sumReferencedSize()).thenReturn(1_000L);
+
+        StorageStats stats = service.getStats();
+
+        assertThat(stats.getBlobCount()).isEqualTo(2);
+        assertThat(stats.getLogicalSize()).isEqualTo(1_000);
+        assertThat(stats.getSavedSpace()).isEqualTo(700);
+        assertThat(stats.getHumanReadableSaved()).isNotNull();
+    }
+
+    private String upload(String storedPath) throws IOException {
+        Path path = baseDirectory.resolve(storedPath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, CONTENT);
+        return storedPath;
+    }
+
+    // Blob d'un contenu distinct, avec son compteur et sa date de libération
+    private String blob(String storedPath, String content, int refCount, LocalDateTime releasedAt) throws IOException {
+        Path path = baseDirectory.resolve(storedPath);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        String contentChecksum = HexFormat.of().formatHex(content.getBytes(StandardCharsets.UTF_8));
+        String blobPath = service.adopt(storedPath, contentChecksum, content.length(), TENANT_ID);
+        StorageBlob blob = find(other -> other.getStoredPath().equals(blobPath)).orElseThrow();
+        blob.setRefCount(refCount);
+        blob.setReleasedAt(releasedAt);
+        return blobPath;
+    }
+
+    private Optional<StorageBlob> find(Predicate<StorageBlob> predicate) {
+        return blobs.values().stream().filter(predicate).findFirst();
+    }
+
+    private int acquire(StorageBlob blob) {
+        synchronized (blobs) {
+            if (blob == null || blob.getRefCount() < 0) {
+                return 0;
+            }
+            blob.setRefCount(blob.getRefCount() + 1);
+            return 1;
+        }
+    }
+
+    private int compareAndSet(UUID id, int expected, int refCount) {
+        synchronized (blobs) {
+            StorageBlob blob = blobs.get(id);
+            if (blob == null || blob.getRefCount() != expected) {
+                return 0;
+            }
+            blob.setRefCount(refCount);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.projectsaas.file.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentSnifferTest {
+
+    static Stream<Arguments> signatures() {
+        return Stream.of(
+                Arguments.of(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A), "image/png"),
+                Arguments.of(bytes(0xFF, 0xD8, 0xFF, 0xE0), "image/jpeg"),
+                Arguments.of(ascii("GIF89a"), "image/gif"),
+                Arguments.of(ascii("GIF87a"), "image/gif"),
+                Arguments.of(ascii("RIFF\0\0\0\0WEBPVP8 "), "image/webp"),
+                Arguments.of(ascii("BM\0\0\0\0\0\0\0\0\0\0\0\0"), "image/bmp"),
+                Arguments.of(ascii("%PDF-1.7"), "application/pdf"),
+                Arguments.of(bytes('P', 'K', 0x03, 0x04), "application/zip"),
+                Arguments.of(bytes(0x1F, 0x8B, 0x08), "application/gzip"),
+                Arguments.of(ascii("\0\0\0\u0018ftypisom"), "video/mp4"),
+                Arguments.of(ascii("MZ\u0090\0"), ContentSniffer.EXECUTABLE),
+                Arguments.of(bytes(0x7F, 'E', 'L', 'F', 2), ContentSniffer.EXECUTABLE),
+                Arguments.of(bytes(0xCF, 0xFA, 0xED, 0xFE), ContentSniffer.EXECUTABLE),
+                Arguments.of(bytes(0xFE, 0xED, 0xFA, 0xCE), ContentSniffer.EXECUTABLE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("signatures")
+    void detectsKnownSignatures(byte[] signature, String expectedType) {
+        assertThat(detect(signature)).isEqualTo(expectedType);
+    }
+
+    @Test
+    void unknownOrTextContentIsNotClassified() {
+        assertThat(detect(ascii("id,title\n1,Login"))).isNull();
+        assertThat(detect(ascii("<svg xmlns="))).isNull();
+        assertThat(detect(new byte[0])).isNull();
+    }
+
+    // Seuls les `length` premiers octets comptent, même si le tableau est plus grand
+    @Test
+    void truncatedHeadsDoNotMatch() {
+        byte[] head = Arrays.copyOf(ascii("%PDF-1.7"), ContentSniffer.HEAD_LENGTH);
+
+        assertThat(ContentSniffer.detect(head, 4)).isNull();
+        assertThat(ContentSniffer.detect(head, 5)).isEqualTo("application/pdf");
+        // RIFF sans WEBP (ex: WAV) et BMP de moins de 14 octets
+        assertThat(detect(ascii("RIFF\0\0\0\0WAVEfmt "))).isNull();
+        assertThat(detect(ascii("BM\0\0"))).isNull();
+    }
+
+    @Test
+    void declaredTypeMustMatchTheSignature() {
+        assertThat(ContentSniffer.isCompatible("image/png", "image/png")).isTrue();
+        assertThat(ContentSniffer.isCompatible("image/png", "image/jpeg")).isFalse();
+        assertThat(ContentSniffer.isCompatible("application/pdf", ContentSniffer.EXECUTABLE)).isFalse();
+    }
+
+    @Test
+    void containerFormatsAcceptTheirDerivedTypes() {
+        assertThat(ContentSniffer.isCompatible(
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "application/zip")).isTrue();
+        assertThat(ContentSniffer.isCompatible("application/vnd.oasis.opendocument.text", "application/zip")).isTrue();
+        assertThat(ContentSniffer.isCompatible("application/java-archive", "application/zip")).isTrue();
+        assertThat(ContentSniffer.isCompatible("image/png", "application/zip")).isFalse();
+        assertThat(ContentSniffer.isCompatible("video/quicktime", "video/mp4")).isTrue();
+        assertThat(ContentSniffer.isCompatible("image/heic", "video/mp4")).isTrue();
+        assertThat(ContentSniffer.isCompatible("application/pdf", "video/mp4")).isFalse();
+    }
+
+    private static String detect(byte[] signature) {
+        byte[] head = Arrays.copyOf(signature, ContentSniffer.HEAD_LENGTH);
+        return ContentSniffer.detect(head, Math.min(signature.length, ContentSniffer.HEAD_LENGTH));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
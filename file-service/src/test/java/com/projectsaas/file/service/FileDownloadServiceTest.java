@@ -0,0 +1,290 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.FileDownloadProperties;
+import com.projectsaas.file.dto.FileDownloadResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceTest {
+
+    private static final LocalDateTime LAST_MODIFIED = LocalDateTime.of(2024, 3, 1, 10, 0, 0);
+    private static final String ETAG = "\"abc123\"";
+
+    @TempDir
+    Path tempDir;
+
+    private final FileDownloadProperties properties = new FileDownloadProperties();
+    private final FileDownloadService service = new FileDownloadService(properties);
+
+    private String content;
+    private FileDownloadResponse file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        content = text.toString();
+        Path path = tempDir.resolve("report.txt");
+        Files.writeString(path, content, StandardCharsets.US_ASCII);
+
+        file = FileDownloadResponse.builder()
+                .fileId(UUID.randomUUID())
+                .filename("rapport été.txt")
+                .contentType("text/plain")
+                .checksum("abc123")
+                .lastModified(LAST_MODIFIED)
+                .path(path)
+                .build();
+    }
+
+    @Test
+    void servesTheWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = serve(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(content);
+        assertThat(response.getContentLengthLong()).isEqualTo(1000);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"=?UTF-8?Q?rapport_=C3=A9t=C3=A9.txt?=\"; "
+                        + "filename*=UTF-8''rapport%20%C3%A9t%C3%A9.txt");
+    }
+
+    @Test
+    void servesASingleRange() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/1000");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsString()).isEqualTo(content.substring(10, 20));
+    }
+
+    @Test
+    void servesASuffixRangeAndClampsTheEnd() throws IOException {
+        MockHttpServletRequest suffix = request();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-5");
+        MockHttpServletRequest pastEnd = request();
+        pastEnd.addHeader(HttpHeaders.RANGE, "bytes=990-5000");
+
+        assertThat(serve(suffix).getContentAsString()).isEqualTo(content.substring(995));
+        MockHttpServletResponse response = serve(pastEnd);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 990-999/1000");
+        assertThat(response.getContentAsString()).isEqualTo(content.substring(990));
+    }
+
+    @Test
+    void coalescesOverlappingAndAdjacentRanges() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=15-19,0-9,5-14");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-19/1000");
+        assertThat(response.getContentAsString()).isEqualTo(content.substring(0, 20));
+    }
+
+    @Test
+    void servesDisjointRangesAsMultipartWithExactLength() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-504,0-1");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String boundary = response.getContentType().substring("multipart/byteranges; boundary=".length());
+        String body = response.getContentAsString(StandardCharsets.ISO_8859_1);
+        assertThat(body).isEqualTo("\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-1/1000\r\n\r\n"
+                + content.substring(0, 2)
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 500-504/1000\r\n\r\n"
+                + content.substring(500, 505)
+                + "\r\n--" + boundary + "--\r\n");
+        assertThat(response.getContentLengthLong()).isEqualTo(response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void rangeStartingAfterTheEndIsNotSatisfiable() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */1000");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void invalidOrExcessiveRangesAreIgnored() throws IOException {
+        properties.setMaxRanges(2);
+        MockHttpServletRequest invalid = request();
+        invalid.addHeader(HttpHeaders.RANGE, "bytes=abc");
+        MockHttpServletRequest tooMany = request();
+        tooMany.addHeader(HttpHeaders.RANGE, "bytes=0-1,10-11,20-21");
+
+        assertThat(serve(invalid).getStatus()).isEqualTo(200);
+        MockHttpServletResponse response = serve(tooMany);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(content);
+    }
+
+    @Test
+    void ifRangeWithTheCurrentEtagOrDateServesTheRange() throws IOException {
+        MockHttpServletRequest byEtag = rangeRequest(ETAG);
+        MockHttpServletRequest byDate = rangeRequest(httpDate(LAST_MODIFIED));
+
+        assertThat(serve(byEtag).getStatus()).isEqualTo(206);
+        assertThat(serve(byDate).getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void ifRangeWithAStaleValidatorServesTheWholeFile() throws IOException {
+        MockHttpServletResponse staleEtag = serve(rangeRequest("\"old\""));
+        MockHttpServletResponse staleDate = serve(rangeRequest(httpDate(LAST_MODIFIED.minusSeconds(1))));
+        MockHttpServletResponse badDate = serve(rangeRequest("yesterday"));
+
+        assertThat(staleEtag.getStatus()).isEqualTo(200);
+        assertThat(staleEtag.getContentAsString()).isEqualTo(content);
+        assertThat(staleDate.getStatus()).isEqualTo(200);
+        assertThat(badDate.getStatus()).isEqualTo(200);
+    }
+
+    // Sans checksum, l'ETag est faible : il ne peut pas valider un If-Range
+    @Test
+    void weakEtagNeverMatchesIfRange() throws IOException {
+        file.setChecksum(null);
+        MockHttpServletResponse first = serve(request());
+        String weakEtag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = serve(rangeRequest(weakEtag));
+
+        assertThat(weakEtag).startsWith("W/\"" + file.getFileId() + "-1000-");
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void failedIfMatchReturnsPreconditionFailed() throws IOException {
+        MockHttpServletRequest other = request();
+        other.addHeader(HttpHeaders.IF_MATCH, "\"other\"");
+        MockHttpServletRequest current = request();
+        current.addHeader(HttpHeaders.IF_MATCH, "\"other\", " + ETAG);
+
+        MockHttpServletResponse response = serve(other);
+
+        assertThat(response.getStatus()).isEqualTo(412);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(serve(current).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void fileModifiedSinceIfUnmodifiedSinceReturnsPreconditionFailed() throws IOException {
+        MockHttpServletRequest before = request();
+        before.addHeader(HttpHeaders.IF_UNMODIFIED_SINCE, httpDate(LAST_MODIFIED.minusMinutes(1)));
+        MockHttpServletRequest same = request();
+        same.addHeader(HttpHeaders.IF_UNMODIFIED_SINCE, httpDate(LAST_MODIFIED));
+
+        assertThat(serve(before).getStatus()).isEqualTo(412);
+        assertThat(serve(same).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void largeBodiesAreHandedToTheConnector() throws IOException {
+        properties.setSendfileMinSize(100);
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-399");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(file.getPath().toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(400L);
+    }
+
+    @Test
+    void smallBodiesAreWrittenEvenWhenSendfileIsSupported() throws IOException {
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getContentAsString()).isEqualTo(content);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/files/x/download");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,10-11");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isPositive();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/files/x/download");
+    }
+
+    private MockHttpServletRequest rangeRequest(String ifRange) {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        return request;
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.serve(file, request, response);
+        return response;
+    }
+
+    private static String httpDate(LocalDateTime dateTime) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.entity.FileEntity;
+import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileServiceDeleteTest {
+
+    private static final String TOKEN = "token";
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final String BLOB_PATH = "blobs/global/ab/abcdef";
+
+    private final FileRepository fileRepository = mock(FileRepository.class);
+    private final AuthIntegrationService authService = mock(AuthIntegrationService.class);
+    private final ContentAddressedStorageService contentAddressedStorage = mock(ContentAddressedStorageService.class);
+    private final ThumbnailService thumbnailService = mock(ThumbnailService.class);
+    private final FileService fileService = new FileService(fileRepository, authService,
+            mock(StreamingUploadService.class), mock(StorageProviderRegistry.class),
+            contentAddressedStorage, thumbnailService);
+
+    private FileEntity file;
+
+    @BeforeEach
+    void setUp() {
+        file = FileEntity.builder()
+                .id(UUID.randomUUID())
+                .tenantId(TENANT_ID)
+                .filePath(BLOB_PATH)
+                .contentType("image/png")
+                .status(FileEntity.FileStatus.ACTIVE)
+                .build();
+        when(authService.extractTenantId(TOKEN)).thenReturn(TENANT_ID);
+        when(fileRepository.findByIdAndTenantId(file.getId(), TENANT_ID)).thenReturn(Optional.of(file));
+    }
+
+    @Test
+    void concurrentDeletesReleaseTheBlobOnce() throws Exception {
+        // Base simulée : seul le premier UPDATE ... WHERE status <> 'DELETED' touche la ligne
+        AtomicBoolean deleted = new AtomicBoolean();
+        when(fileRepository.markDeleted(eq(file.getId()), eq(TENANT_ID), any()))
+                .thenAnswer(invocation -> deleted.compareAndSet(false, true) ? 1 : 0);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    fileService.deleteFile(file.getId(), TOKEN);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(contentAddressedStorage, times(1)).release(BLOB_PATH);
+        verify(thumbnailService, times(1)).deleteThumbnails(file);
+    }
+
+    @Test
+    void deletingAnAlreadyDeletedFileReleasesNothing() {
+        when(fileRepository.markDeleted(eq(file.getId()), eq(TENANT_ID), any())).thenReturn(0);
+
+        fileService.deleteFile(file.getId(), TOKEN);
+
+        verify(contentAddressedStorage, never()).release(anyString());
+        verify(thumbnailService, never()).deleteThumbnails(any());
+    }
+}
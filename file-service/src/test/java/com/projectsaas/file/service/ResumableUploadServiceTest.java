@@ -0,0 +1,570 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.FileUploadProperties;
+import com.projectsaas.file.dto.CreateUploadSessionRequest;
+import com.projectsaas.file.dto.FileDto;
+import com.projectsaas.file.dto.UploadPartDto;
+import com.projectsaas.file.dto.UploadSessionDto;
+import com.projectsaas.file.entity.FileEntity;
+import com.projectsaas.file.entity.UploadSession;
+import com.projectsaas.file.entity.UploadSessionPart;
+import com.projectsaas.file.exception.FileNotFoundException;
+import com.projectsaas.file.exception.FileSecurityException;
+import com.projectsaas.file.exception.FileValidationException;
+import com.projectsaas.file.exception.UploadSessionConflictException;
+import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.repository.UploadSessionPartRepository;
+import com.projectsaas.file.repository.UploadSessionRepository;
+import com.projectsaas.file.storage.LocalStorageProvider;
+import com.projectsaas.file.storage.MultipartUpload;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumableUploadServiceTest {
+
+    private static final String TOKEN = "token";
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final long MB = 1024L * 1024;
+    private static final long CHUNK_SIZE = 5 * MB;
+
+    @TempDir
+    Path baseDirectory;
+
+    private final UploadSessionRepository sessionRepository = mock(UploadSessionRepository.class);
+    private final UploadSessionPartRepository partRepository = mock(UploadSessionPartRepository.class);
+    private final FileRepository fileRepository = mock(FileRepository.class);
+    private final FileService fileService = mock(FileService.class);
+    private final StorageProviderRegistry storageProviders = mock(StorageProviderRegistry.class);
+    private final AuthIntegrationService authService = mock(AuthIntegrationService.class);
+    private final FileUploadProperties properties = new FileUploadProperties();
+    private final LocalStorageProvider local = new LocalStorageProvider();
+    private final UploadScanner scanner = mock(UploadScanner.class);
+    private final ContentAddressedStorageService contentAddressedStorage = mock(ContentAddressedStorageService.class);
+
+    // Verdict de l'antivirus pour le prochain fichier analysé
+    private ScanResult scanResult = ScanResult.clean("OK");
+
+    // Base simulée : une session, ses parties indexées par numéro
+    private final Map<UUID, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Integer, UploadSessionPart> parts = new ConcurrentHashMap<>();
+
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(local, "basePath", baseDirectory.toString());
+        local.init();
+        properties.getResumable().setChunkSize("5MB");
+
+        FileUtilsService fileUtils = new FileUtilsService();
+        StreamingUploadService streamingUploadService = new StreamingUploadService(storageProviders,
+                scanner, properties, fileUtils, contentAddressedStorage);
+        service = new ResumableUploadService(sessionRepository, partRepository, fileRepository, fileService,
+                streamingUploadService, storageProviders, authService, properties, fileUtils, contentAddressedStorage);
+
+        when(scanner.begin(anyString())).thenAnswer(invocation -> {
+            UploadScanner.Session scan = mock(UploadScanner.Session.class);
+            when(scan.finish()).thenAnswer(finish -> scanResult);
+            return scan;
+        });
+        when(contentAddressedStorage.adopt(anyString(), anyString(), anyLong(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        when(authService.extractTenantId(TOKEN)).thenReturn(TENANT_ID);
+        when(authService.extractUserId(TOKEN)).thenReturn(USER_ID);
+        when(storageProviders.getActiveName()).thenReturn("local");
+        when(storageProviders.getActive()).thenReturn(local);
+        when(storageProviders.get("local")).thenReturn(local);
+
+        when(sessionRepository.save(any())).thenAnswer(invocation -> {
+            UploadSession session = invocation.getArgument(0);
+            sessions.put(session.getId(), session);
+            return session;
+        });
+        when(sessionRepository.findByIdAndTenantId(any(), any())).thenAnswer(invocation ->
+                Optional.ofNullable(sessions.get(invocation.<UUID>getArgument(0)))
+                        .filter(session -> session.getTenantId().equals(invocation.getArgument(1))));
+        when(sessionRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(sessions.get(invocation.<UUID>getArgument(0))));
+        when(sessionRepository.updateStatus(any(), any(), any())).thenAnswer(invocation -> {
+            UploadSession session = sessions.get(invocation.<UUID>getArgument(0));
+            synchronized (session) {
+                if (session.getStatus() != invocation.getArgument(1)) {
+                    return 0;
+                }
+                session.setStatus(invocation.getArgument(2));
+                return 1;
+            }
+        });
+        when(sessionRepository.markCompleted(any(), any())).thenAnswer(invocation -> {
+            UploadSession session = sessions.get(invocation.<UUID>getArgument(0));
+            session.setStatus(UploadSession.UploadStatus.COMPLETED);
+            session.setFileId(invocation.getArgument(1));
+            return 1;
+        });
+        when(sessionRepository.updateDetectedContentType(any(), anyString())).thenAnswer(invocation -> {
+            sessions.get(invocation.<UUID>getArgument(0)).setContentType(invocation.getArgument(1));
+            return 1;
+        });
+
+        when(partRepository.findBySessionIdAndPartNumber(any(), any())).thenAnswer(invocation ->
+                Optional.ofNullable(parts.get(invocation.<Integer>getArgument(1))));
+        when(partRepository.save(any())).thenAnswer(invocation -> {
+            UploadSessionPart part = invocation.getArgument(0);
+            parts.put(part.getPartNumber(), part);
+            return part;
+        });
+        when(partRepository.findBySessionIdOrderByPartNumber(any())).thenAnswer(invocation ->
+                parts.values().stream()
+                        .sorted(Comparator.comparing(UploadSessionPart::getPartNumber))
+                        .toList());
+
+        when(fileService.registerUploadedFile(any())).thenAnswer(invocation -> {
+            FileEntity file = invocation.getArgument(0);
+            return FileDto.builder().id(file.getId()).fileSize(file.getFileSize()).build();
+        });
+    }
+
+    @Test
+    void createSessionSplitsTheFileIntoChunks() {
+        UploadSessionDto session = service.createSession(request("video.mp4", 12 * MB + 1), TOKEN);
+
+        assertThat(session.getChunkSize()).isEqualTo(CHUNK_SIZE);
+        assertThat(session.getPartCount()).isEqualTo(3);
+        assertThat(session.getStatus()).isEqualTo(UploadSession.UploadStatus.ACTIVE);
+        assertThat(session.getReceivedParts()).isEmpty();
+        assertThat(sessions.get(session.getId()).getContentType()).isNull();
+    }
+
+    // Parties S3 : 5MB minimum, au plus 10 000 parties, taille arrondie au Mo
+    @Test
+    void chunkSizeStaysWithinStorageLimits() {
+        StorageProvider storage = mock(StorageProvider.class);
+        when(storage.initiateMultipartUpload(anyString(), anyString(), anyLong()))
+                .thenReturn(new MultipartUpload("tenant/big.bin", "upload-id"));
+        when(storageProviders.getActive()).thenReturn(storage);
+        properties.getResumable().setMaxSize("200GB");
+
+        properties.getResumable().setChunkSize("1MB");
+        UploadSessionDto small = service.createSession(request("small.bin", 20 * MB), TOKEN);
+        properties.getResumable().setChunkSize("8MB");
+        UploadSessionDto huge = service.createSession(request("huge.bin", 100L * 1024 * MB), TOKEN);
+
+        assertThat(small.getChunkSize()).isEqualTo(5 * MB);
+        assertThat(small.getPartCount()).isEqualTo(4);
+        assertThat(huge.getChunkSize()).isEqualTo(11 * MB);
+        assertThat(huge.getPartCount()).isEqualTo(9310);
+    }
+
+    @Test
+    void createSessionRejectsFilesAboveTheMaximum() throws Exception {
+        properties.getResumable().setMaxSize("10MB");
+
+        assertThatThrownBy(() -> service.createSession(request("big.bin", 10 * MB + 1), TOKEN))
+                .isInstanceOf(MaxUploadSizeExceededException.class);
+        try (Stream<Path> files = Files.list(baseDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    // Parties en parallèle et dans le désordre, puis complete : fichier identique octet par octet
+    @Test
+    void partsUploadedInParallelOutOfOrderAssembleTheOriginalFile() throws Exception {
+        byte[] content = png((int) (2 * CHUNK_SIZE + 777));
+        UploadSessionDto session = service.createSession(request("image.png", content.length), TOKEN);
+
+        List<Integer> order = new ArrayList<>(List.of(1, 2, 3));
+        Collections.shuffle(order, new Random(7));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<UploadPartDto>> futures = new ArrayList<>();
+            for (int partNumber : order) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.uploadPart(session.getId(), partNumber, part(content, partNumber),
+                            partLength(content, partNumber), TOKEN);
+                }));
+            }
+            start.countDown();
+            for (Future<UploadPartDto> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        UploadSessionDto state = service.getSession(session.getId(), TOKEN);
+        assertThat(state.getReceivedParts()).containsExactly(1, 2, 3);
+        assertThat(state.getReceivedRanges()).containsExactly("0-" + (content.length - 1));
+        assertThat(state.getReceivedBytes()).isEqualTo(content.length);
+
+        FileDto file = service.completeSession(session.getId(), TOKEN);
+
+        ArgumentCaptor<FileEntity> registered = ArgumentCaptor.forClass(FileEntity.class);
+        verify(fileService).registerUploadedFile(registered.capture());
+        FileEntity entity = registered.getValue();
+        assertThat(entity.getId()).isEqualTo(file.getId());
+        assertThat(entity.getContentType()).isEqualTo("image/png");
+        assertThat(entity.getFileSize()).isEqualTo(content.length);
+        assertThat(entity.getChecksum()).isEqualTo(sha256(content));
+        assertThat(entity.getVirusScanStatus()).isEqualTo(FileEntity.VirusScanStatus.CLEAN);
+
+        Path stored = local.localPath(entity.getFilePath());
+        assertThat(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(stored)))
+                .isEqualTo(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(sessions.get(session.getId()).getStatus()).isEqualTo(UploadSession.UploadStatus.COMPLETED);
+        verify(partRepository).deleteBySessionId(session.getId());
+    }
+
+    @Test
+    void getSessionReportsReceivedRanges() {
+        byte[] content = png((int) (2 * CHUNK_SIZE + 777));
+        UploadSessionDto session = service.createSession(request("image.png", content.length), TOKEN);
+
+        service.uploadPart(session.getId(), 3, part(content, 3), -1, TOKEN);
+        service.uploadPart(session.getId(), 1, part(content, 1), CHUNK_SIZE, TOKEN);
+
+        UploadSessionDto state = service.getSession(session.getId(), TOKEN);
+        assertThat(state.getReceivedParts()).containsExactly(1, 3);
+        assertThat(state.getReceivedRanges())
+                .containsExactly("0-" + (CHUNK_SIZE - 1), (2 * CHUNK_SIZE) + "-" + (content.length - 1));
+        assertThat(state.getReceivedBytes()).isEqualTo(CHUNK_SIZE + 777);
+    }
+
+    @Test
+    void partsMustMatchTheirExpectedSize() {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 3, part(content, 2), 100, TOKEN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Part number must be between 1 and 2");
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 2, part(content, 2), 99, TOKEN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Part 2 must be exactly 100 bytes");
+        // Sans Content-Length : la taille est vérifiée pendant la lecture
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 2, new ByteArrayInputStream(new byte[101]), -1, TOKEN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Part 2 larger than 100 bytes");
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 2, new ByteArrayInputStream(new byte[99]), -1, TOKEN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Part 2 shorter than 100 bytes");
+    }
+
+    @Test
+    void firstPartIsCheckedAgainstTheDeclaredType() {
+        byte[] executable = new byte[(int) CHUNK_SIZE];
+        executable[0] = 'M';
+        executable[1] = 'Z';
+        UUID sessionId = service.createSession(request("image.png", executable.length), TOKEN).getId();
+
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 1, new ByteArrayInputStream(executable),
+                executable.length, TOKEN))
+                .isInstanceOf(FileValidationException.class)
+                .hasMessage("Executable files are not allowed");
+        assertThat(service.getSession(sessionId, TOKEN).getReceivedParts()).isEmpty();
+    }
+
+    // Type non déclaré : celui détecté sur la partie 1 est conservé pour le fichier
+    @Test
+    void detectedTypeIsKeptWhenNoneWasDeclared() {
+        byte[] content = png(1000);
+        CreateUploadSessionRequest request = request("image", content.length);
+        request.setContentType("application/octet-stream");
+        UUID sessionId = service.createSession(request, TOKEN).getId();
+
+        service.uploadPart(sessionId, 1, new ByteArrayInputStream(content), content.length, TOKEN);
+        service.completeSession(sessionId, TOKEN);
+
+        ArgumentCaptor<FileEntity> registered = ArgumentCaptor.forClass(FileEntity.class);
+        verify(fileService).registerUploadedFile(registered.capture());
+        assertThat(registered.getValue().getContentType()).isEqualTo("image/png");
+    }
+
+    // Fichier assemblé analysé et dédupliqué comme un upload en flux
+    @Test
+    void assembledFileIsChecksummedScannedAndAdopted() {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 2, part(content, 2), 100, TOKEN);
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+        String storedPath = sessions.get(sessionId).getStoredPath();
+        when(contentAddressedStorage.adopt(storedPath, sha256(content), content.length, TENANT_ID))
+                .thenReturn("blobs/" + sha256(content));
+
+        service.completeSession(sessionId, TOKEN);
+
+        ArgumentCaptor<FileEntity> registered = ArgumentCaptor.forClass(FileEntity.class);
+        verify(fileService).registerUploadedFile(registered.capture());
+        assertThat(registered.getValue().getFilePath()).isEqualTo("blobs/" + sha256(content));
+        assertThat(registered.getValue().getStoredName()).isEqualTo(sha256(content));
+        assertThat(registered.getValue().getChecksum()).isEqualTo(sha256(content));
+        verify(scanner).begin("image.png");
+    }
+
+    @Test
+    void infectedAssembledFileIsDeletedAndRejected() throws Exception {
+        scanResult = ScanResult.infected("Eicar-Test-Signature");
+        byte[] content = png(1000);
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, new ByteArrayInputStream(content), content.length, TOKEN);
+
+        assertThatThrownBy(() -> service.completeSession(sessionId, TOKEN))
+                .isInstanceOf(FileSecurityException.class)
+                .hasMessage("File rejected by antivirus: Eicar-Test-Signature");
+
+        assertThat(sessions.get(sessionId).getStatus()).isEqualTo(UploadSession.UploadStatus.ABORTED);
+        verify(fileService, never()).registerUploadedFile(any());
+        verify(contentAddressedStorage, never()).adopt(anyString(), anyString(), anyLong(), any());
+        assertThat(Files.exists(local.localPath(sessions.get(sessionId).getStoredPath()))).isFalse();
+    }
+
+    // Partie renvoyée, encore en cours d'écriture : complete ne l'assemble pas
+    @Test
+    void completeDoesNotAssembleAPartStillBeingWritten() throws Exception {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+        service.uploadPart(sessionId, 2, part(content, 2), 100, TOKEN);
+
+        BlockingStream resent = new BlockingStream(part(content, 2));
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<UploadPartDto> write = writer.submit(() -> service.uploadPart(sessionId, 2, resent, 100, TOKEN));
+            assertThat(resent.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> service.completeSession(sessionId, TOKEN))
+                    .isInstanceOf(FileValidationException.class)
+                    .hasMessage("Upload incomplete: 1 of 2 parts received, missing [2]");
+            assertThat(sessions.get(sessionId).getStatus()).isEqualTo(UploadSession.UploadStatus.ACTIVE);
+
+            resent.release.countDown();
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            writer.shutdownNow();
+        }
+
+        service.completeSession(sessionId, TOKEN);
+        ArgumentCaptor<FileEntity> registered = ArgumentCaptor.forClass(FileEntity.class);
+        verify(fileService).registerUploadedFile(registered.capture());
+        assertThat(registered.getValue().getChecksum()).isEqualTo(sha256(content));
+    }
+
+    // Écriture commencée avant complete, terminée après : rejetée, la partie n'est pas reçue
+    @Test
+    void partWriteFinishingAfterCompleteStartedIsRejected() throws Exception {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+
+        BlockingStream slow = new BlockingStream(part(content, 2));
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<UploadPartDto> write = writer.submit(() -> service.uploadPart(sessionId, 2, slow, 100, TOKEN));
+            assertThat(slow.started.await(5, TimeUnit.SECONDS)).isTrue();
+            sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.ACTIVE,
+                    UploadSession.UploadStatus.COMPLETING);
+            slow.release.countDown();
+
+            assertThatThrownBy(() -> write.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(UploadSessionConflictException.class);
+        } finally {
+            writer.shutdownNow();
+        }
+        sessionRepository.updateStatus(sessionId, UploadSession.UploadStatus.COMPLETING,
+                UploadSession.UploadStatus.ACTIVE);
+        assertThat(service.getSession(sessionId, TOKEN).getReceivedParts()).containsExactly(1);
+    }
+
+    // Partie renvoyée pendant l'assemblage (après la lecture des parties) : le fichier est rejeté
+    @Test
+    void partResentWhileCompletingFailsTheComplete() {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+        service.uploadPart(sessionId, 2, part(content, 2), 100, TOKEN);
+        // Renvoi de la partie 2 par une requête qui a lu la session encore ACTIVE : la ligne est marquée
+        // pendant l'analyse du fichier assemblé (l'écriture elle-même sera refusée)
+        doAnswer(invocation -> {
+            parts.get(2).setWritingSince(LocalDateTime.now());
+            parts.get(2).setReceivedAt(parts.get(2).getWritingSince());
+            UploadScanner.Session scan = mock(UploadScanner.Session.class);
+            when(scan.finish()).thenReturn(ScanResult.clean("OK"));
+            return scan;
+        }).when(scanner).begin(anyString());
+
+        assertThatThrownBy(() -> service.completeSession(sessionId, TOKEN))
+                .isInstanceOf(UploadSessionConflictException.class)
+                .hasMessage("Parts were re-sent while the upload was completing: " + sessionId);
+
+        assertThat(sessions.get(sessionId).getStatus()).isEqualTo(UploadSession.UploadStatus.ABORTED);
+        verify(fileService, never()).registerUploadedFile(any());
+        assertThat(Files.exists(local.localPath(sessions.get(sessionId).getStoredPath()))).isFalse();
+    }
+
+    @Test
+    void completeWithMissingPartsReopensTheSession() {
+        byte[] content = png((int) (2 * CHUNK_SIZE + 777));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 2, part(content, 2), CHUNK_SIZE, TOKEN);
+
+        assertThatThrownBy(() -> service.completeSession(sessionId, TOKEN))
+                .isInstanceOf(FileValidationException.class)
+                .hasMessage("Upload incomplete: 1 of 3 parts received, missing [1, 3]");
+
+        assertThat(sessions.get(sessionId).getStatus()).isEqualTo(UploadSession.UploadStatus.ACTIVE);
+        verify(fileService, never()).registerUploadedFile(any());
+        // Reprise : la partie manquante est acceptée ensuite
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+        assertThat(parts).containsOnlyKeys(1, 2);
+    }
+
+    // Réponse perdue, complete rejoué : même fichier, sans nouvel assemblage
+    @Test
+    void replayedCompleteReturnsTheSameFile() {
+        byte[] content = png(1000);
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, new ByteArrayInputStream(content), content.length, TOKEN);
+        FileDto file = service.completeSession(sessionId, TOKEN);
+        when(fileService.getFileById(file.getId(), TOKEN)).thenReturn(file);
+
+        assertThat(service.completeSession(sessionId, TOKEN)).isSameAs(file);
+        verify(fileService).registerUploadedFile(any());
+        assertThatThrownBy(() -> service.uploadPart(sessionId, 1, new ByteArrayInputStream(content),
+                content.length, TOKEN))
+                .isInstanceOf(UploadSessionConflictException.class);
+    }
+
+    @Test
+    void abortReleasesTheStagingFileOnce() throws Exception {
+        byte[] content = png((int) (CHUNK_SIZE + 100));
+        UUID sessionId = service.createSession(request("image.png", content.length), TOKEN).getId();
+        service.uploadPart(sessionId, 1, part(content, 1), CHUNK_SIZE, TOKEN);
+
+        service.abortSession(sessionId, TOKEN);
+
+        assertThat(sessions.get(sessionId).getStatus()).isEqualTo(UploadSession.UploadStatus.ABORTED);
+        verify(partRepository).deleteBySessionId(sessionId);
+        try (Stream<Path> files = Files.list(baseDirectory)) {
+            assertThat(files).isEmpty();
+        }
+        assertThatThrownBy(() -> service.abortSession(sessionId, TOKEN))
+                .isInstanceOf(UploadSessionConflictException.class);
+        assertThatThrownBy(() -> service.completeSession(sessionId, TOKEN))
+                .isInstanceOf(UploadSessionConflictException.class);
+    }
+
+    @Test
+    void sessionsOfOtherTenantsAreNotFound() {
+        UUID sessionId = service.createSession(request("image.png", 1000), TOKEN).getId();
+        when(authService.extractTenantId("other")).thenReturn(UUID.randomUUID());
+
+        assertThatThrownBy(() -> service.getSession(sessionId, "other"))
+                .isInstanceOf(FileNotFoundException.class);
+    }
+
+    private static CreateUploadSessionRequest request(String filename, long size) {
+        return CreateUploadSessionRequest.builder()
+                .filename(filename)
+                .contentType(filename.endsWith(".png") ? "image/png" : null)
+                .size(size)
+                .isPublic(false)
+                .allowDuplicates(true)
+                .build();
+    }
+
+    private static ByteArrayInputStream part(byte[] content, int partNumber) {
+        int offset = (int) ((partNumber - 1) * CHUNK_SIZE);
+        return new ByteArrayInputStream(content, offset, (int) partLength(content, partNumber));
+    }
+
+    private static long partLength(byte[] content, int partNumber) {
+        return Math.min(CHUNK_SIZE, content.length - (partNumber - 1) * CHUNK_SIZE);
+    }
+
+    // Signature PNG suivie d'octets aléatoires
+    private static byte[] png(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        return content;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Partie qui s'arrête après ses premiers octets jusqu'à release
+    private static final class BlockingStream extends FilterInputStream {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private BlockingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, Math.min(length, 10));
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.projectsaas.file.service;
+
+import com.projectsaas.file.config.ThumbnailProperties;
+import com.projectsaas.file.entity.FileEntity;
+import com.projectsaas.file.repository.FileRepository;
+import com.projectsaas.file.storage.StorageProvider;
+import com.projectsaas.file.storage.StorageProviderRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ThumbnailServiceTest {
+
+    private final ThumbnailProperties properties = new ThumbnailProperties();
+    private final StorageProvider storage = mock(StorageProvider.class);
+    private final FileRepository fileRepository = mock(FileRepository.class);
+    private ThumbnailService thumbnailService;
+    private FileEntity file;
+
+    @BeforeEach
+    void setUp() {
+        StorageProviderRegistry registry = mock(StorageProviderRegistry.class);
+        when(registry.getActive()).thenReturn(storage);
+        properties.setGenerateAsync(false);
+        thumbnailService = new ThumbnailService(properties, registry, fileRepository);
+        thumbnailService.init();
+
+        file = FileEntity.builder()
+                .id(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .filePath("tenant/source.png")
+                .contentType("image/png")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void deletedFileLosesItsThumbnails() {
+        when(storage.exists(anyString())).thenReturn(true);
+
+        thumbnailService.deleteThumbnails(file);
+
+        for (String size : new String[]{"small", "medium", "large"}) {
+            verify(storage).delete(prefix() + "/" + size + ".jpg");
+        }
+    }
+
+    @Test
+    void nonImageFileHasNoThumbnailsToDelete() {
+        file.setContentType("application/pdf");
+
+        thumbnailService.deleteThumbnails(file);
+
+        verify(storage, never()).delete(anyString());
+    }
+
+    @Test
+    void thumbnailsOfAFileDeletedDuringGenerationAreRemoved() throws IOException {
+        when(storage.retrieve(file.getFilePath())).thenReturn(new ByteArrayInputStream(png(800, 600)));
+        when(storage.exists(anyString())).thenReturn(true);
+        when(fileRepository.updateThumbnailPath(eq(file.getId()), anyString())).thenReturn(0);
+
+        thumbnailService.submit(file);
+
+        verify(storage).storeAt(eq(prefix() + "/large.jpg"), any(), anyLong(), eq("image/jpeg"));
+        verify(storage).delete(prefix() + "/large.jpg");
+        verify(storage).delete(prefix() + "/small.jpg");
+    }
+
+    // Proportions conservées, la plus grande dimension ramenée à la taille demandée
+    @ParameterizedTest
+    @CsvSource({
+            "1600, 900, LARGE, 600, 338",
+            "1600, 900, MEDIUM, 300, 169",
+            "500, 2000, LARGE, 150, 600",
+            "1024, 1024, SMALL, 150, 150",
+            "3000, 2, LARGE, 600, 1",
+            "601, 600, LARGE, 600, 599"
+    })
+    void resizeKeepsTheAspectRatio(int width, int height, ThumbnailService.ThumbnailSize size,
+                                   int expectedWidth, int expectedHeight) {
+        BufferedImage resized = ThumbnailService.resize(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), size);
+
+        assertThat(resized.getWidth()).isEqualTo(expectedWidth);
+        assertThat(resized.getHeight()).isEqualTo(expectedHeight);
+        assertThat(resized.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test
+    void resizeNeverUpscalesSmallImages() {
+        BufferedImage resized = ThumbnailService.resize(
+                new BufferedImage(120, 40, BufferedImage.TYPE_INT_RGB), ThumbnailService.ThumbnailSize.LARGE);
+
+        assertThat(resized.getWidth()).isEqualTo(120);
+        assertThat(resized.getHeight()).isEqualTo(40);
+    }
+
+    // Le JPEG n'a pas de canal alpha : les zones transparentes deviennent blanches
+    @Test
+    void resizeFlattensTransparencyOnWhite() {
+        BufferedImage transparent = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage resized = ThumbnailService.resize(transparent, ThumbnailService.ThumbnailSize.SMALL);
+
+        assertThat(resized.getRGB(20, 20) & 0xFFFFFF).isEqualTo(0xFFFFFF);
+    }
+
+    // Chaque taille est réduite depuis la précédente, source décodée en sous-échantillonnage
+    @Test
+    void generatesEverySizeFromALargeImage() throws IOException {
+        when(storage.retrieve(file.getFilePath())).thenReturn(new ByteArrayInputStream(png(2400, 1800)));
+
+        Map<ThumbnailService.ThumbnailSize, String> paths = thumbnailService.generateThumbnails(file);
+
+        assertThat(paths).containsOnlyKeys(ThumbnailService.ThumbnailSize.values());
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<InputStream> jpegs = ArgumentCaptor.forClass(InputStream.class);
+        verify(storage, times(3)).storeAt(stored.capture(), jpegs.capture(), anyLong(), eq("image/jpeg"));
+        assertThat(stored.getAllValues())
+                .containsExactly(prefix() + "/large.jpg", prefix() + "/medium.jpg", prefix() + "/small.jpg");
+
+        List<InputStream> images = jpegs.getAllValues();
+        assertThat(dimensions(images.get(0))).containsExactly(600, 450);
+        assertThat(dimensions(images.get(1))).containsExactly(300, 225);
+        assertThat(dimensions(images.get(2))).containsExactly(150, 113);
+    }
+
+    @Test
+    void imagesAboveThePixelLimitAreSkipped() throws IOException {
+        properties.setMaxSourcePixels(1_000_000);
+        when(storage.retrieve(file.getFilePath())).thenReturn(new ByteArrayInputStream(png(2000, 1000)));
+
+        assertThat(thumbnailService.generateThumbnails(file)).isEmpty();
+        verify(storage, never()).storeAt(anyString(), any(), anyLong(), anyString());
+    }
+
+    private static int[] dimensions(InputStream jpeg) throws IOException {
+        BufferedImage image = ImageIO.read(jpeg);
+        return new int[]{image.getWidth(), image.getHeight()};
+    }
+
+    private String prefix() {
+        return "thumbnails/" + file.getTenantId() + "/" + file.getId();
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,194 @@
+package com.projectsaas.file.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadInspectingInputStreamTest {
+
+    private final RecordingScan scan = new RecordingScan();
+    private final List<String> headChecks = new ArrayList<>();
+    private final List<Long> headCheckPositions = new ArrayList<>();
+
+    @Test
+    void inspectsEveryByteOnceWhileTheProviderReads() throws Exception {
+        byte[] content = png(100_000);
+        UploadInspectingInputStream stream = inspect(content, 1_000_000);
+
+        byte[] stored = stream.readAllBytes();
+
+        assertThat(stored).isEqualTo(content);
+        assertThat(stream.getSize()).isEqualTo(content.length);
+        assertThat(stream.getChecksum()).isEqualTo(sha256(content));
+        // Calculé une fois : un second appel ne réinitialise pas le digest
+        assertThat(stream.getChecksum()).isEqualTo(sha256(content));
+        assertThat(scan.received.toByteArray()).isEqualTo(content);
+        assertThat(stream.getDetectedType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void checksTheTypeAsSoonAsTheHeadIsRead() throws IOException {
+        UploadInspectingInputStream stream = inspect(png(1000), 1_000_000);
+
+        byte[] buffer = new byte[10];
+        stream.read(buffer, 0, 10);
+        assertThat(headChecks).isEmpty();
+        stream.read(buffer, 0, 10);
+        stream.readAllBytes();
+
+        assertThat(headChecks).containsExactly("image/png");
+        assertThat(headCheckPositions).containsExactly(20L);
+    }
+
+    @Test
+    void shortFilesAreCheckedAtEndOfStream() throws IOException {
+        UploadInspectingInputStream stream = inspect("id,title\n".getBytes(), 1000);
+
+        stream.readAllBytes();
+        stream.read();
+
+        assertThat(headChecks).hasSize(1).containsOnlyNulls();
+        assertThat(stream.getSize()).isEqualTo(9);
+    }
+
+    @Test
+    void singleByteReadsAreInspectedToo() throws Exception {
+        byte[] content = png(40);
+        UploadInspectingInputStream stream = inspect(content, 1000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = stream.read()) != -1) {
+            out.write(b);
+        }
+
+        assertThat(out.toByteArray()).isEqualTo(content);
+        assertThat(stream.getChecksum()).isEqualTo(sha256(content));
+        assertThat(headChecks).containsExactly("image/png");
+    }
+
+    @Test
+    void skippedBytesAreStillInspected() throws Exception {
+        byte[] content = png(50_000);
+        UploadInspectingInputStream stream = inspect(content, 1_000_000);
+
+        assertThat(stream.skip(30_000)).isEqualTo(30_000);
+        stream.readAllBytes();
+
+        assertThat(stream.getChecksum()).isEqualTo(sha256(content));
+        assertThat(scan.received.size()).isEqualTo(content.length);
+        assertThat(stream.markSupported()).isFalse();
+    }
+
+    @Test
+    void stopsReadingOnceTheMaximumSizeIsExceeded() throws IOException {
+        byte[] content = png(10_001);
+        UploadInspectingInputStream exact = inspect(png(10_000), 10_000);
+        UploadInspectingInputStream tooLarge = inspect(content, 10_000);
+
+        exact.readAllBytes();
+        assertThat(exact.getSize()).isEqualTo(10_000);
+        assertThatThrownBy(tooLarge::readAllBytes)
+                .isInstanceOfSatisfying(UploadInspectingInputStream.UploadTooLargeException.class,
+                        e -> assertThat(e.getMaxSize()).isEqualTo(10_000))
+                .hasMessage("File size exceeds maximum allowed (10000 bytes)");
+    }
+
+    // Rejet à la lecture des premiers octets : le reste du flux n'est pas lu
+    @Test
+    void rejectedHeadAbortsTheRead() {
+        byte[] executable = new byte[100_000];
+        executable[0] = 'M';
+        executable[1] = 'Z';
+        CountingInputStream source = new CountingInputStream(new ByteArrayInputStream(executable));
+        UploadInspectingInputStream stream = new UploadInspectingInputStream(source, 1_000_000, scan, type -> {
+            throw new UploadInspectingInputStream.UploadRejectedException("Executable content is not allowed");
+        });
+
+        assertThatThrownBy(() -> {
+            byte[] buffer = new byte[16];
+            while (stream.read(buffer, 0, buffer.length) != -1) {
+                // lecture par blocs, comme un StorageProvider
+            }
+        }).isInstanceOf(UploadInspectingInputStream.UploadRejectedException.class)
+                .hasMessage("Executable content is not allowed");
+        assertThat(source.count).isEqualTo(16);
+    }
+
+    private UploadInspectingInputStream inspect(byte[] content, long maxSize) {
+        CountingInputStream source = new CountingInputStream(new ByteArrayInputStream(content));
+        return new UploadInspectingInputStream(source, maxSize, scan, type -> {
+            headChecks.add(type);
+            headCheckPositions.add(source.count);
+        });
+    }
+
+    // Signature PNG suivie d'octets aléatoires
+    private static byte[] png(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+        System.arraycopy(signature, 0, content, 0, Math.min(signature.length, length));
+        return content;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static final class RecordingScan implements UploadScanner.Session {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+        @Override
+        public void update(byte[] buffer, int offset, int length) {
+            received.write(buffer, offset, length);
+        }
+
+        @Override
+        public ScanResult finish() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream in;
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.projectsaas.file.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageProviderTest {
+
+    private static final String TENANT = "tenant";
+
+    @TempDir
+    Path baseDirectory;
+
+    private final LocalStorageProvider provider = new LocalStorageProvider();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(provider, "basePath", baseDirectory.toString());
+        provider.init();
+    }
+
+    @Test
+    void stagingFileIsPreallocatedToTheFinalSize() {
+        MultipartUpload upload = provider.initiateMultipartUpload("video.mp4", TENANT, 3_000_000);
+
+        Path staging = staging(upload);
+        assertThat(upload.getStoredPath()).startsWith(TENANT + "/").endsWith(".mp4");
+        assertThat(staging).exists().hasSize(3_000_000);
+        assertThat(provider.exists(upload.getStoredPath())).isFalse();
+    }
+
+    // Parties envoyées en parallèle et dans le désordre : fichier identique octet par octet
+    @Test
+    void partsWrittenInParallelOutOfOrderAssembleTheOriginalFile() throws Exception {
+        int chunkSize = 64 * 1024;
+        byte[] content = random(10 * chunkSize + 1234);
+        int partCount = (content.length + chunkSize - 1) / chunkSize;
+        MultipartUpload upload = provider.initiateMultipartUpload("archive.zip", TENANT, content.length);
+
+        List<Integer> order = new ArrayList<>();
+        for (int part = 1; part <= partCount; part++) {
+            order.add(part);
+        }
+        Collections.shuffle(order, new Random(42));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int part : order) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int offset = (part - 1) * chunkSize;
+                    int length = Math.min(chunkSize, content.length - offset);
+                    provider.uploadPart(upload, part, offset,
+                            new ByteArrayInputStream(content, offset, length), length);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        provider.completeMultipartUpload(upload, List.of());
+
+        Path stored = provider.localPath(upload.getStoredPath());
+        assertThat(staging(upload)).doesNotExist();
+        assertThat(stored).hasSize(content.length);
+        assertThat(sha256(Files.readAllBytes(stored))).isEqualTo(sha256(content));
+    }
+
+    // Partie réécrite après une coupure : seule la dernière version compte
+    @Test
+    void resentPartOverwritesItsRange() throws Exception {
+        byte[] content = random(200);
+        MultipartUpload upload = provider.initiateMultipartUpload("data.bin", TENANT, content.length);
+
+        provider.uploadPart(upload, 2, 100, new ByteArrayInputStream(new byte[100]), 100);
+        provider.uploadPart(upload, 2, 100, new ByteArrayInputStream(content, 100, 100), 100);
+        provider.uploadPart(upload, 1, 0, new ByteArrayInputStream(content, 0, 100), 100);
+        provider.completeMultipartUpload(upload, List.of());
+
+        assertThat(Files.readAllBytes(provider.localPath(upload.getStoredPath()))).isEqualTo(content);
+    }
+
+    @Test
+    void shortPartFailsWithEndOfFile() {
+        MultipartUpload upload = provider.initiateMultipartUpload("data.bin", TENANT, 1000);
+
+        assertThatThrownBy(() -> provider.uploadPart(upload, 1, 0, new ByteArrayInputStream(new byte[400]), 500))
+                .isInstanceOf(StorageException.class)
+                .hasCauseInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void partForUnknownUploadIsRejected() {
+        MultipartUpload upload = new MultipartUpload(TENANT + "/2024/01/01/missing.bin", null);
+
+        assertThatThrownBy(() -> provider.uploadPart(upload, 1, 0, new ByteArrayInputStream(new byte[10]), 10))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("Upload not found");
+    }
+
+    @Test
+    void abortRemovesTheStagingFileAndEmptyDirectories() throws Exception {
+        MultipartUpload upload = provider.initiateMultipartUpload("data.bin", TENANT, 1000);
+
+        provider.abortMultipartUpload(upload);
+
+        assertThat(staging(upload)).doesNotExist();
+        try (Stream<Path> files = Files.list(baseDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Path staging(MultipartUpload upload) {
+        Path stored = provider.localPath(upload.getStoredPath());
+        return stored.resolveSibling(stored.getFileName() + ".upload");
+    }
+
+    private static byte[] random(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] sha256(byte[] content) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(content);
+    }
+}
@@ -1,5 +1,9 @@
 package com.projectsaas.notification.config;
 
+import com.projectsaas.notification.dto.ProjectEventDto;
+import com.projectsaas.notification.dto.TaskBulkEventDto;
+import com.projectsaas.notification.dto.TaskEventDto;
+import com.projectsaas.notification.dto.UserEventDto;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -45,6 +49,12 @@ public class KafkaConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        // Types logiques (en-tête __TypeId__) envoyés par l'outbox de project-service
+        props.put(JsonDeserializer.TYPE_MAPPINGS, String.join(",",
+                "taskEvent:" + TaskEventDto.class.getName(),
+                "taskBulkEvent:" + TaskBulkEventDto.class.getName(),
+                "projectEvent:" + ProjectEventDto.class.getName(),
+                "userEvent:" + UserEventDto.class.getName()));
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -33,7 +34,7 @@ public class NotificationController {
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<NotificationResponse>> getUserNotifications(
-            @PathVariable Long userId,
+            @PathVariable UUID userId,
             Pageable pageable) {
         Page<Notification> notifications = notificationService.getUserNotifications(userId, pageable);
         Page<NotificationResponse> response = notifications.map(NotificationResponse::from);
@@ -41,7 +42,7 @@ public class NotificationController {
     }
 
     @GetMapping("/user/{userId}/unread-count")
-    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable UUID userId) {
         Long count = notificationService.getUnreadCount(userId);
         return ResponseEntity.ok(Map.of("unreadCount", count));
     }
@@ -49,13 +50,13 @@ public class NotificationController {
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(
             @PathVariable Long id,
-            @RequestParam Long userId) {
+            @RequestParam UUID userId) {
         notificationService.markAsRead(id, userId);
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/user/{userId}/mark-all-read")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable Long userId) {
+    public ResponseEntity<Void> markAllAsRead(@PathVariable UUID userId) {
         notificationService.markAllAsRead(userId);
         return ResponseEntity.ok().build();
     }
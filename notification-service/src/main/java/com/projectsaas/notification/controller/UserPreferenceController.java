@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/notifications/preferences")
 @RequiredArgsConstructor
@@ -15,14 +17,14 @@ public class UserPreferenceController {
     private final UserPreferenceService userPreferenceService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserPreference> getUserPreferences(@PathVariable Long userId) {
+    public ResponseEntity<UserPreference> getUserPreferences(@PathVariable UUID userId) {
         UserPreference preferences = userPreferenceService.getUserPreferences(userId);
         return ResponseEntity.ok(preferences);
     }
 
     @PutMapping("/{userId}")
     public ResponseEntity<UserPreference> updateUserPreferences(
-            @PathVariable Long userId,
+            @PathVariable UUID userId,
             @RequestBody UserPreference preferences) {
         preferences.setUserId(userId);
         UserPreference updated = userPreferenceService.updateUserPreferences(preferences);
@@ -30,7 +32,7 @@ public class UserPreferenceController {
     }
 
     @PostMapping("/{userId}/reset")
-    public ResponseEntity<UserPreference> resetToDefaults(@PathVariable Long userId) {
+    public ResponseEntity<UserPreference> resetToDefaults(@PathVariable UUID userId) {
         UserPreference defaults = userPreferenceService.resetToDefaults(userId);
         return ResponseEntity.ok(defaults);
     }
@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @Data
 @Builder
@@ -19,7 +20,7 @@ import java.util.Map;
 public class NotificationRequest {
 
     @NotNull(message = "User ID is required")
-    private Long userId;
+    private UUID userId;
 
     @NotBlank(message = "Title is required")
     private String title;
@@ -33,8 +34,8 @@ public class NotificationRequest {
     private DeliveryChannel channel;
 
     private Map<String, String> metadata;
-    private Long projectId;
-    private Long taskId;
+    private UUID projectId;
+    private UUID taskId;
     private String recipientEmail;
     private LocalDateTime scheduledFor;
 }
\ No newline at end of file
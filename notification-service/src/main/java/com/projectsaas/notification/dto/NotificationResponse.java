@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @Data
 @Builder
@@ -19,15 +20,15 @@ import java.util.Map;
 public class NotificationResponse {
 
     private Long id;
-    private Long userId;
+    private UUID userId;
     private String title;
     private String message;
     private NotificationType type;
     private NotificationStatus status;
     private DeliveryChannel channel;
     private Map<String, String> metadata;
-    private Long projectId;
-    private Long taskId;
+    private UUID projectId;
+    private UUID taskId;
     private LocalDateTime sentAt;
     private LocalDateTime readAt;
     private LocalDateTime createdAt;
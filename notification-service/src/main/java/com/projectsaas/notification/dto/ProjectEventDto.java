@@ -7,19 +7,23 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProjectEventDto {
-    private Long projectId;
+    private UUID tenantId;
+    private UUID projectId;
+    private String projectKey;
     private String projectName;
     private String projectDescription;
-    private Long ownerId;
+    private UUID ownerId;
     private String ownerName;
-    private List<Long> memberIds;
+    private List<UUID> memberIds;
     private List<String> memberEmails;
+    private String status;
     private String eventType; // CREATED, UPDATED, MEMBER_ADDED, MEMBER_REMOVED
     private LocalDateTime timestamp;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.projectsaas.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkEventDto {
+    private UUID tenantId;
+    private UUID assignedUserId;
+    private List<String> taskKeys;
+    private String eventType; // BULK_UPDATED, BULK_UNASSIGNED
+    private LocalDateTime timestamp;
+}
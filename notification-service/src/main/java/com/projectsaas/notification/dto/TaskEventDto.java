@@ -6,24 +6,30 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskEventDto {
-    private Long taskId;
+    private UUID tenantId;
+    private UUID taskId;
+    private String taskKey;
     private String taskTitle;
     private String taskDescription;
-    private Long projectId;
+    private UUID projectId;
     private String projectName;
-    private Long assignedUserId;
+    private UUID assignedUserId;
     private String assignedUserName;
     private String assignedUserEmail;
-    private Long assignedByUserId;
+    private UUID assignedByUserId;
     private String assignedByUserName;
     private String status;
+    private String previousStatus;
+    private UUID previousAssigneeId;
+    private String priority;
     private LocalDateTime deadline;
-    private String eventType; // CREATED, UPDATED, ASSIGNED, COMPLETED
+    private String eventType; // ASSIGNED, UPDATED, STATUS_CHANGED, REASSIGNED, UNASSIGNED, DELETED
     private LocalDateTime timestamp;
 }
\ No newline at end of file
@@ -7,18 +7,19 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserEventDto {
-    private Long userId;
+    private UUID userId;
     private String userName;
     private String userEmail;
-    private Long invitedByUserId;
+    private UUID invitedByUserId;
     private String invitedByUserName;
-    private Long projectId;
+    private UUID projectId;
     private String projectName;
     private String eventType; // INVITED, REGISTERED, PROFILE_UPDATED
     private LocalDateTime timestamp;
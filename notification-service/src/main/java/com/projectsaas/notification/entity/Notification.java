@@ -13,6 +13,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @Entity
 @Table(name = "notifications")
@@ -27,7 +28,7 @@ public class Notification {
     private Long id;
 
     @Column(nullable = false)
-    private Long userId;
+    private UUID userId;
 
     @Column(nullable = false)
     private String title;
@@ -53,8 +54,8 @@ public class Notification {
     @Column(name = "meta_value")
     private Map<String, String> metadata;
 
-    private Long projectId;
-    private Long taskId;
+    private UUID projectId;
+    private UUID taskId;
     private String recipientEmail;
     private LocalDateTime scheduledFor;
     private LocalDateTime sentAt;
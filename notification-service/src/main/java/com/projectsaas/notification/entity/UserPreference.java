@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "user_preferences")
@@ -23,7 +24,7 @@ public class UserPreference {
     private Long id;
 
     @Column(unique = true, nullable = false)
-    private Long userId;
+    private UUID userId;
 
     @Builder.Default
     private Boolean emailNotifications = true;
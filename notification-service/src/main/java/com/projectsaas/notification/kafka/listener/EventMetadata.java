@@ -0,0 +1,22 @@
+package com.projectsaas.notification.kafka.listener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Métadonnées d'une notification : les valeurs absentes de l'événement sont omises
+// (Map.of refuse les null)
+final class EventMetadata {
+
+    private EventMetadata() {
+    }
+
+    static Map<String, String> of(String... keysAndValues) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            if (keysAndValues[i + 1] != null) {
+                metadata.put(keysAndValues[i], keysAndValues[i + 1]);
+            }
+        }
+        return metadata;
+    }
+}
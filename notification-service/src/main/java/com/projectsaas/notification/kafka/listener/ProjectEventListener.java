@@ -10,7 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -23,21 +24,27 @@ public class ProjectEventListener {
     public void handleMemberAdded(ProjectEventDto projectEvent) {
         log.info("Received member added event: {}", projectEvent);
 
-        // Notifier chaque nouveau membre
-        for (int i = 0; i < projectEvent.getMemberIds().size(); i++) {
-            Long memberId = projectEvent.getMemberIds().get(i);
-            String memberEmail = projectEvent.getMemberEmails().get(i);
+        List<UUID> memberIds = projectEvent.getMemberIds() != null ? projectEvent.getMemberIds() : List.of();
+        List<String> memberEmails = projectEvent.getMemberEmails() != null ? projectEvent.getMemberEmails() : List.of();
+
+        // Notifier chaque nouveau membre (email si l'adresse est connue, sinon WebSocket)
+        for (int i = 0; i < memberIds.size(); i++) {
+            UUID memberId = memberIds.get(i);
+            String memberEmail = i < memberEmails.size() ? memberEmails.get(i) : null;
+            String message = projectEvent.getOwnerName() != null
+                    ? String.format("Vous avez été invité à rejoindre le projet \"%s\" par %s",
+                            projectEvent.getProjectName(), projectEvent.getOwnerName())
+                    : String.format("Vous avez été ajouté au projet \"%s\"", projectEvent.getProjectName());
 
             NotificationRequest request = NotificationRequest.builder()
                     .userId(memberId)
                     .title("Invitation au projet: " + projectEvent.getProjectName())
-                    .message(String.format("Vous avez été invité à rejoindre le projet \"%s\" par %s",
-                            projectEvent.getProjectName(), projectEvent.getOwnerName()))
+                    .message(message)
                     .type(NotificationType.PROJECT_INVITATION)
-                    .channel(DeliveryChannel.EMAIL)
+                    .channel(memberEmail != null ? DeliveryChannel.EMAIL : DeliveryChannel.WEBSOCKET)
                     .projectId(projectEvent.getProjectId())
                     .recipientEmail(memberEmail)
-                    .metadata(Map.of(
+                    .metadata(EventMetadata.of(
                             "projectName", projectEvent.getProjectName(),
                             "ownerName", projectEvent.getOwnerName(),
                             "memberEmail", memberEmail
@@ -51,9 +58,12 @@ public class ProjectEventListener {
     @KafkaListener(topics = "project.updated", groupId = "notification-service")
     public void handleProjectUpdated(ProjectEventDto projectEvent) {
         log.info("Received project updated event: {}", projectEvent);
+        if (projectEvent.getMemberIds() == null) {
+            return;
+        }
 
         // Notifier tous les membres du projet via WebSocket
-        for (Long memberId : projectEvent.getMemberIds()) {
+        for (UUID memberId : projectEvent.getMemberIds()) {
             NotificationRequest request = NotificationRequest.builder()
                     .userId(memberId)
                     .title("Projet mis à jour")
@@ -61,7 +71,7 @@ public class ProjectEventListener {
                     .type(NotificationType.PROJECT_UPDATED)
                     .channel(DeliveryChannel.WEBSOCKET)
                     .projectId(projectEvent.getProjectId())
-                    .metadata(Map.of(
+                    .metadata(EventMetadata.of(
                             "projectName", projectEvent.getProjectName(),
                             "updateType", "PROJECT_INFO"
                     ))
@@ -70,4 +80,4 @@ public class ProjectEventListener {
             notificationService.createNotification(request);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.projectsaas.notification.kafka.listener;
 
 import com.projectsaas.notification.dto.NotificationRequest;
+import com.projectsaas.notification.dto.TaskBulkEventDto;
 import com.projectsaas.notification.dto.TaskEventDto;
 import com.projectsaas.notification.enums.DeliveryChannel;
 import com.projectsaas.notification.enums.NotificationType;
@@ -10,30 +11,42 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventListener {
 
+    // Clés de tâches citées dans le message d'une mise à jour en masse
+    private static final int MAX_LISTED_KEYS = 10;
+
     private final NotificationService notificationService;
 
     @KafkaListener(topics = "task.assigned", groupId = "notification-service")
     public void handleTaskAssigned(TaskEventDto taskEvent) {
         log.info("Received task assigned event: {}", taskEvent);
+        if (taskEvent.getAssignedUserId() == null) {
+            return;
+        }
+
+        String message = taskEvent.getAssignedByUserName() != null
+                ? String.format("Vous avez été assigné à la tâche \"%s\" dans le projet %s par %s",
+                        taskEvent.getTaskTitle(), taskEvent.getProjectName(), taskEvent.getAssignedByUserName())
+                : String.format("Vous avez été assigné à la tâche \"%s\" dans le projet %s",
+                        taskEvent.getTaskTitle(), taskEvent.getProjectName());
 
         NotificationRequest request = NotificationRequest.builder()
                 .userId(taskEvent.getAssignedUserId())
                 .title("Nouvelle tâche assignée: " + taskEvent.getTaskTitle())
-                .message(String.format("Vous avez été assigné à la tâche \"%s\" dans le projet %s par %s",
-                        taskEvent.getTaskTitle(), taskEvent.getProjectName(), taskEvent.getAssignedByUserName()))
+                .message(message)
                 .type(NotificationType.TASK_ASSIGNED)
                 .channel(DeliveryChannel.EMAIL)
                 .projectId(taskEvent.getProjectId())
                 .taskId(taskEvent.getTaskId())
                 .recipientEmail(taskEvent.getAssignedUserEmail())
-                .metadata(Map.of(
+                .metadata(EventMetadata.of(
+                        "taskKey", taskEvent.getTaskKey(),
                         "taskTitle", taskEvent.getTaskTitle(),
                         "projectName", taskEvent.getProjectName(),
                         "assignedBy", taskEvent.getAssignedByUserName(),
@@ -41,7 +54,10 @@ public class TaskEventListener {
                 ))
                 .build();
 
-        notificationService.createNotification(request);
+        // Email seulement si l'événement porte l'adresse du destinataire
+        if (taskEvent.getAssignedUserEmail() != null) {
+            notificationService.createNotification(request);
+        }
 
         // Également envoyer via WebSocket
         NotificationRequest wsRequest = NotificationRequest.builder()
@@ -61,6 +77,10 @@ public class TaskEventListener {
     @KafkaListener(topics = "task.updated", groupId = "notification-service")
     public void handleTaskUpdated(TaskEventDto taskEvent) {
         log.info("Received task updated event: {}", taskEvent);
+        // Tâche sans assigné : personne à notifier
+        if (taskEvent.getAssignedUserId() == null) {
+            return;
+        }
 
         NotificationRequest request = NotificationRequest.builder()
                 .userId(taskEvent.getAssignedUserId())
@@ -71,10 +91,44 @@ public class TaskEventListener {
                 .channel(DeliveryChannel.WEBSOCKET)
                 .projectId(taskEvent.getProjectId())
                 .taskId(taskEvent.getTaskId())
-                .metadata(Map.of(
+                .metadata(EventMetadata.of(
+                        "taskKey", taskEvent.getTaskKey(),
                         "taskTitle", taskEvent.getTaskTitle(),
                         "projectName", taskEvent.getProjectName(),
-                        "status", taskEvent.getStatus()
+                        "status", taskEvent.getStatus(),
+                        "previousStatus", taskEvent.getPreviousStatus(),
+                        "updateType", taskEvent.getEventType()
+                ))
+                .build();
+
+        notificationService.createNotification(request);
+    }
+
+    // Mises à jour en masse (tâches de plusieurs projets) : une seule notification par utilisateur
+    @KafkaListener(topics = "task.bulk.updated", groupId = "notification-service")
+    public void handleTasksBulkUpdated(TaskBulkEventDto bulkEvent) {
+        log.info("Received bulk task event: {} ({} tasks)", bulkEvent.getEventType(),
+                bulkEvent.getTaskKeys() != null ? bulkEvent.getTaskKeys().size() : 0);
+        List<String> taskKeys = bulkEvent.getTaskKeys() != null ? bulkEvent.getTaskKeys() : List.of();
+        if (bulkEvent.getAssignedUserId() == null || taskKeys.isEmpty()) {
+            return;
+        }
+
+        boolean unassigned = "BULK_UNASSIGNED".equals(bulkEvent.getEventType());
+        String listed = String.join(", ", taskKeys.subList(0, Math.min(taskKeys.size(), MAX_LISTED_KEYS)))
+                + (taskKeys.size() > MAX_LISTED_KEYS ? "…" : "");
+
+        NotificationRequest request = NotificationRequest.builder()
+                .userId(bulkEvent.getAssignedUserId())
+                .title(unassigned
+                        ? taskKeys.size() + " tâches ne vous sont plus assignées"
+                        : taskKeys.size() + " tâches mises à jour")
+                .message(listed)
+                .type(NotificationType.TASK_UPDATED)
+                .channel(DeliveryChannel.WEBSOCKET)
+                .metadata(EventMetadata.of(
+                        "taskCount", String.valueOf(taskKeys.size()),
+                        "updateType", bulkEvent.getEventType()
                 ))
                 .build();
 
@@ -84,24 +138,27 @@ public class TaskEventListener {
     @KafkaListener(topics = "task.deadline.reminder", groupId = "notification-service")
     public void handleDeadlineReminder(TaskEventDto taskEvent) {
         log.info("Received deadline reminder event: {}", taskEvent);
+        if (taskEvent.getAssignedUserId() == null) {
+            return;
+        }
 
         NotificationRequest request = NotificationRequest.builder()
                 .userId(taskEvent.getAssignedUserId())
                 .title("Rappel d'échéance: " + taskEvent.getTaskTitle())
                 .message(String.format("La tâche \"%s\" arrive à échéance bientôt !", taskEvent.getTaskTitle()))
                 .type(NotificationType.DEADLINE_REMINDER)
-                .channel(DeliveryChannel.EMAIL)
+                .channel(taskEvent.getAssignedUserEmail() != null ? DeliveryChannel.EMAIL : DeliveryChannel.WEBSOCKET)
                 .projectId(taskEvent.getProjectId())
                 .taskId(taskEvent.getTaskId())
                 .recipientEmail(taskEvent.getAssignedUserEmail())
-                .metadata(Map.of(
+                .metadata(EventMetadata.of(
                         "taskTitle", taskEvent.getTaskTitle(),
                         "projectName", taskEvent.getProjectName(),
-                        "deadline", taskEvent.getDeadline().toString(),
+                        "deadline", taskEvent.getDeadline() != null ? taskEvent.getDeadline().toString() : null,
                         "userName", taskEvent.getAssignedUserName()
                 ))
                 .build();
 
         notificationService.createNotification(request);
     }
-}
\ No newline at end of file
+}
@@ -10,8 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -29,7 +27,7 @@ public class UserEventListener {
                 .message("Votre profil a été mis à jour avec succès")
                 .type(NotificationType.SYSTEM_ANNOUNCEMENT)
                 .channel(DeliveryChannel.WEBSOCKET)
-                .metadata(Map.of(
+                .metadata(EventMetadata.of(
                         "userName", userEvent.getUserName(),
                         "updateType", "PROFILE"
                 ))
@@ -49,7 +47,7 @@ public class UserEventListener {
                 .type(NotificationType.SYSTEM_ANNOUNCEMENT)
                 .channel(DeliveryChannel.EMAIL)
                 .recipientEmail(userEvent.getUserEmail())
-                .metadata(Map.of(
+                .metadata(EventMetadata.of(
                         "userName", userEvent.getUserName(),
                         "securityAlert", "true"
                 ))
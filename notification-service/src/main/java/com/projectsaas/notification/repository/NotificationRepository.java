@@ -12,20 +12,21 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    Page<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    Page<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
-    Optional<Notification> findByIdAndUserId(Long id, Long userId);
+    Optional<Notification> findByIdAndUserId(Long id, UUID userId);
 
     List<Notification> findByStatusAndScheduledForBefore(NotificationStatus status, LocalDateTime dateTime);
 
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.status != 'READ'")
-    Long countUnreadByUserId(@Param("userId") Long userId);
+    Long countUnreadByUserId(@Param("userId") UUID userId);
 
-    List<Notification> findByUserIdAndStatus(Long userId, NotificationStatus status);
+    List<Notification> findByUserIdAndStatus(UUID userId, NotificationStatus status);
 
     List<Notification> findByCreatedAtBefore(LocalDateTime dateTime);
 }
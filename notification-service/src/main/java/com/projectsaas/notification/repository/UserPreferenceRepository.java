@@ -5,9 +5,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long> {
 
-    Optional<UserPreference> findByUserId(Long userId);
+    Optional<UserPreference> findByUserId(UUID userId);
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -109,11 +110,11 @@ public class NotificationService {
         }
     }
 
-    public Page<Notification> getUserNotifications(Long userId, Pageable pageable) {
+    public Page<Notification> getUserNotifications(UUID userId, Pageable pageable) {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
 
-    public void markAsRead(Long notificationId, Long userId) {
+    public void markAsRead(Long notificationId, UUID userId) {
         notificationRepository.findByIdAndUserId(notificationId, userId)
                 .ifPresent(notification -> {
                     notification.setStatus(NotificationStatus.READ);
@@ -122,7 +123,7 @@ public class NotificationService {
                 });
     }
 
-    public Long getUnreadCount(Long userId) {
+    public Long getUnreadCount(UUID userId) {
         return notificationRepository.countUnreadByUserId(userId);
     }
 
@@ -131,7 +132,7 @@ public class NotificationService {
         log.info("Push notification sent to user: {}", notification.getUserId());
     }
 
-    public void markAllAsRead(Long userId) {
+    public void markAllAsRead(UUID userId) {
         List<Notification> unreadNotifications = notificationRepository
                 .findByUserIdAndStatus(userId, NotificationStatus.SENT);
 
@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -15,7 +17,7 @@ public class UserPreferenceService {
 
     private final UserPreferenceRepository userPreferenceRepository;
 
-    public UserPreference getUserPreferences(Long userId) {
+    public UserPreference getUserPreferences(UUID userId) {
         return userPreferenceRepository.findByUserId(userId)
                 .orElseGet(() -> createDefaultPreferences(userId));
     }
@@ -25,7 +27,7 @@ public class UserPreferenceService {
         return userPreferenceRepository.save(preferences);
     }
 
-    public UserPreference resetToDefaults(Long userId) {
+    public UserPreference resetToDefaults(UUID userId) {
         log.info("Resetting preferences to defaults for user: {}", userId);
 
         // Supprimer les préférences existantes
@@ -36,7 +38,7 @@ public class UserPreferenceService {
         return createDefaultPreferences(userId);
     }
 
-    private UserPreference createDefaultPreferences(Long userId) {
+    private UserPreference createDefaultPreferences(UUID userId) {
         UserPreference defaults = UserPreference.builder()
                 .userId(userId)
                 .emailNotifications(true)
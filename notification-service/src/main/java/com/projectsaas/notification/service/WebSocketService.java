@@ -7,6 +7,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -42,7 +43,7 @@ public class WebSocketService {
         }
     }
 
-    public void sendToProject(Long projectId, Map<String, Object> message) {
+    public void sendToProject(UUID projectId, Map<String, Object> message) {
         messagingTemplate.convertAndSend("/topic/project/" + projectId, message);
         log.info("WebSocket message sent to project: {}", projectId);
     }
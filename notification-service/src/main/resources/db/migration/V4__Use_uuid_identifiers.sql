@@ -0,0 +1,10 @@
+-- Identifiants des utilisateurs, projets et tâches : UUID comme dans les autres services
+-- (les anciennes valeurs numériques sont conservées sous forme d'UUID 00000000-…-<hex>)
+
+ALTER TABLE notifications
+    ALTER COLUMN user_id TYPE UUID USING lpad(to_hex(user_id), 32, '0')::uuid,
+    ALTER COLUMN project_id TYPE UUID USING lpad(to_hex(project_id), 32, '0')::uuid,
+    ALTER COLUMN task_id TYPE UUID USING lpad(to_hex(task_id), 32, '0')::uuid;
+
+ALTER TABLE user_preferences
+    ALTER COLUMN user_id TYPE UUID USING lpad(to_hex(user_id), 32, '0')::uuid;
@@ -0,0 +1,129 @@
+package com.projectsaas.notification.kafka.listener;
+
+import com.projectsaas.notification.config.KafkaConfig;
+import com.projectsaas.notification.dto.NotificationRequest;
+import com.projectsaas.notification.dto.ProjectEventDto;
+import com.projectsaas.notification.dto.TaskBulkEventDto;
+import com.projectsaas.notification.dto.TaskEventDto;
+import com.projectsaas.notification.enums.DeliveryChannel;
+import com.projectsaas.notification.service.NotificationService;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Événements tels que publiés par l'outbox de project-service (UUID, champs optionnels absents)
+class TaskEventListenerTest {
+
+    private static final UUID TASK_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final TaskEventListener taskListener = new TaskEventListener(notificationService);
+    private final ProjectEventListener projectListener = new ProjectEventListener(notificationService);
+    private JsonDeserializer<Object> deserializer;
+
+    @BeforeEach
+    void setUp() {
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        deserializer = new JsonDeserializer<>();
+        deserializer.configure(kafkaConfig.consumerFactory().getConfigurationProperties(), false);
+    }
+
+    @Test
+    void taskUpdateFromProjectServiceIsDelivered() {
+        Object event = deserialize("task.updated", "taskEvent", "{"
+                + "\"eventType\":\"STATUS_CHANGED\",\"taskId\":\"" + TASK_ID + "\",\"taskKey\":\"APP-7\","
+                + "\"taskTitle\":\"Fix login\",\"projectId\":\"" + PROJECT_ID + "\",\"projectName\":\"App\","
+                + "\"assignedUserId\":\"" + USER_ID + "\",\"status\":\"DONE\",\"priority\":null,"
+                + "\"deadline\":\"2026-11-02T18:00:00\",\"previousStatus\":\"TODO\","
+                + "\"tenantId\":\"" + UUID.randomUUID() + "\",\"timestamp\":\"2026-10-18T10:15:30.123\","
+                + "\"service\":\"project-service\"}");
+
+        assertThat(event).isInstanceOf(TaskEventDto.class);
+        taskListener.handleTaskUpdated((TaskEventDto) event);
+
+        NotificationRequest request = captured();
+        assertThat(request.getUserId()).isEqualTo(USER_ID);
+        assertThat(request.getTaskId()).isEqualTo(TASK_ID);
+        assertThat(request.getMetadata()).containsEntry("status", "DONE").containsEntry("previousStatus", "TODO");
+    }
+
+    @Test
+    void unassignedTaskNotifiesNobody() {
+        Object event = deserialize("task.updated", "taskEvent", "{"
+                + "\"eventType\":\"UNASSIGNED\",\"taskId\":\"" + TASK_ID + "\",\"taskTitle\":\"Fix login\","
+                + "\"assignedUserId\":null,\"previousAssigneeId\":\"" + USER_ID + "\"}");
+
+        taskListener.handleTaskUpdated((TaskEventDto) event);
+
+        verify(notificationService, never()).createNotification(any());
+    }
+
+    @Test
+    void assignmentWithoutEmailIsSentOverWebSocketOnly() {
+        Object event = deserialize("task.assigned", "taskEvent", "{"
+                + "\"eventType\":\"ASSIGNED\",\"taskId\":\"" + TASK_ID + "\",\"taskTitle\":\"Fix login\","
+                + "\"projectName\":\"App\",\"assignedUserId\":\"" + USER_ID + "\"}");
+
+        taskListener.handleTaskAssigned((TaskEventDto) event);
+
+        NotificationRequest request = captured();
+        assertThat(request.getChannel()).isEqualTo(DeliveryChannel.WEBSOCKET);
+        assertThat(request.getMetadata()).doesNotContainKeys("assignedBy", "userName");
+    }
+
+    @Test
+    void bulkUpdateIsOneNotification() {
+        Object event = deserialize("task.bulk.updated", "taskBulkEvent", "{"
+                + "\"eventType\":\"BULK_UNASSIGNED\",\"assignedUserId\":\"" + USER_ID + "\","
+                + "\"taskKeys\":[\"APP-1\",\"APP-2\",\"WEB-3\"],\"tenantId\":\"" + UUID.randomUUID() + "\"}");
+
+        assertThat(event).isInstanceOf(TaskBulkEventDto.class);
+        taskListener.handleTasksBulkUpdated((TaskBulkEventDto) event);
+
+        NotificationRequest request = captured();
+        assertThat(request.getUserId()).isEqualTo(USER_ID);
+        assertThat(request.getMessage()).isEqualTo("APP-1, APP-2, WEB-3");
+        assertThat(request.getMetadata()).containsEntry("taskCount", "3");
+    }
+
+    @Test
+    void memberAddedWithoutEmailFallsBackToWebSocket() {
+        Object event = deserialize("project.member.added", "projectEvent", "{"
+                + "\"eventType\":\"MEMBER_ADDED\",\"projectId\":\"" + PROJECT_ID + "\",\"projectKey\":\"APP\","
+                + "\"projectName\":\"App\",\"memberIds\":[\"" + USER_ID + "\"]}");
+
+        assertThat(event).isInstanceOf(ProjectEventDto.class);
+        projectListener.handleMemberAdded((ProjectEventDto) event);
+
+        NotificationRequest request = captured();
+        assertThat(request.getUserId()).isEqualTo(USER_ID);
+        assertThat(request.getChannel()).isEqualTo(DeliveryChannel.WEBSOCKET);
+    }
+
+    private Object deserialize(String topic, String typeId, String json) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("__TypeId__", typeId.getBytes(StandardCharsets.UTF_8));
+        return deserializer.deserialize(topic, headers, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private NotificationRequest captured() {
+        ArgumentCaptor<NotificationRequest> request = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationService).createNotification(request.capture());
+        return request.getValue();
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.projectsaas.project.repository")
 @EntityScan(basePackages = "com.projectsaas.project.entity")
+@EnableScheduling
 public class ProjectServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,30 @@
+// ===========================================
+// DashboardProperties.java - Chargement parallèle et cache du tableau de bord
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+
+    // Threads partagés par toutes les requêtes dashboard
+    private int threads = 8;
+
+    // Sections en attente au-delà desquelles l'appelant exécute lui-même (backpressure)
+    private int queueCapacity = 200;
+
+    // Durée de vie des sections communes au tenant
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    private long maxTenants = 1_000;
+
+    // Nombre de tâches en retard affichées
+    private int overdueLimit = 10;
+}
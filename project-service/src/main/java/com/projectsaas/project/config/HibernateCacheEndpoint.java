@@ -0,0 +1,64 @@
+// ===========================================
+// HibernateCacheEndpoint.java - /actuator/hibernatecache : taux de succès du cache de second niveau
+// ===========================================
+package com.projectsaas.project.config;
+
+import com.projectsaas.project.dto.CacheStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Les mêmes compteurs sont publiés en métriques (hibernate.second.level.cache.requests) ;
+// cet endpoint donne directement les ratios par région
+@Component
+@Endpoint(id = "hibernatecache")
+@RequiredArgsConstructor
+public class HibernateCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public CacheStatsDto cacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheStatsDto.RegionStats> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(stats(regionName, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        region.getElementCountInMemory()));
+            }
+        }
+
+        return CacheStatsDto.builder()
+                .entities(stats("entities", statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), null))
+                .queries(stats("queries", statistics.getQueryCacheHitCount(),
+                        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), null))
+                .regions(regions)
+                .build();
+    }
+
+    private CacheStatsDto.RegionStats stats(String region, long hits, long misses, long puts, Long elements) {
+        long reads = hits + misses;
+        return CacheStatsDto.RegionStats.builder()
+                .region(region)
+                .hits(hits)
+                .misses(misses)
+                .puts(puts)
+                .hitRatio(reads > 0 ? (double) hits / reads : null)
+                .elementsInMemory(elements)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+// ===========================================
+// JwtProperties.java - Vérification locale des JWT
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    // Clé HS256 partagée avec auth-service (vide = pas de vérification locale)
+    private String secret;
+
+    // Anciennes clés encore acceptées pendant une rotation
+    private List<String> previousSecrets = new ArrayList<>();
+
+    // Si la vérification locale échoue, demander à auth-service (/api/auth/me)
+    private boolean remoteFallback = true;
+
+    private TokenCache cache = new TokenCache();
+
+    @Data
+    public static class TokenCache {
+        private long maxSize = 10_000;
+        // Durée de vie des tokens validés par auth-service (pas de exp vérifié localement)
+        private Duration remoteTtl = Duration.ofSeconds(60);
+    }
+
+    public List<String> getSigningSecrets() {
+        List<String> secrets = new ArrayList<>();
+        if (secret != null && !secret.isBlank()) {
+            secrets.add(secret);
+        }
+        previousSecrets.stream()
+                .filter(s -> s != null && !s.isBlank())
+                .forEach(secrets::add);
+        return secrets;
+    }
+}
@@ -0,0 +1,31 @@
+// ===========================================
+// OutboxProperties.java - Outbox transactionnelle et relais Kafka
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    // Désactivé : les notifications restent de simples logs (pas de broker requis)
+    private boolean enabled = false;
+
+    // Délai entre deux passages du relais, en millisecondes (lu par @Scheduled)
+    private long relayInterval = 500;
+
+    // Événements lus et publiés par transaction du relais
+    private int batchSize = 500;
+
+    // Lots enchaînés au maximum par passage du relais
+    private int maxBatchesPerRun = 20;
+
+    // Attente maximale des acquittements du broker pour un lot
+    private Duration sendTimeout = Duration.ofSeconds(30);
+}
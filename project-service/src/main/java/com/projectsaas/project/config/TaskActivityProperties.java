@@ -0,0 +1,44 @@
+// ===========================================
+// TaskActivityProperties.java - Historique des tâches (tampon, écriture par lots, partitions)
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.task-activity")
+public class TaskActivityProperties {
+
+    private boolean enabled = true;
+
+    // Entrées en attente d'écriture ; au-delà elles sont abandonnées (jamais d'attente côté requête)
+    private int bufferCapacity = 20_000;
+
+    // Lignes par INSERT
+    private int batchSize = 500;
+
+    // Délai entre deux vidages du tampon, en millisecondes (lu par @Scheduled)
+    private long flushInterval = 1000;
+
+    // Vidages en échec (base indisponible) avant abandon d'une entrée
+    private int maxAttempts = 10;
+
+    // Texte au-delà duquel le diff ne garde qu'un marqueur "modifié"
+    private int maxValueLength = 200;
+
+    // Partitions mensuelles créées à l'avance
+    private int partitionsAhead = 2;
+
+    // Mois conservés (0 : pas de purge)
+    private int retentionMonths = 0;
+
+    // Création anticipée / purge des partitions (lu par @Scheduled)
+    private String partitionCron = "0 0 4 * * *";
+
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 200;
+}
@@ -0,0 +1,33 @@
+// ===========================================
+// UserDirectoryProperties.java - Cache des utilisateurs par tenant
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.user-directory")
+public class UserDirectoryProperties {
+
+    // Nombre maximum de tenants gardés en mémoire
+    private long maxTenants = 1_000;
+
+    // Rafraîchissement asynchrone après ce délai (la valeur actuelle reste servie)
+    private Duration refreshAfter = Duration.ofMinutes(5);
+
+    // Suppression complète si le tenant n'a pas été rechargé entre-temps
+    private Duration expireAfter = Duration.ofMinutes(30);
+
+    // Délai minimum entre deux rechargements forcés (utilisateur introuvable)
+    private Duration minReloadInterval = Duration.ofSeconds(10);
+
+    private int refreshThreads = 2;
+
+    // Durée de vie des tokens de service utilisés pour charger l'annuaire
+    private Duration serviceTokenTtl = Duration.ofMinutes(2);
+}
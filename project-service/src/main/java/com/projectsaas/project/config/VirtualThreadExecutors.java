@@ -0,0 +1,73 @@
+// ===========================================
+// VirtualThreadExecutors.java - Exécuteurs internes en mode threads virtuels
+// ===========================================
+package com.projectsaas.project.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+// spring.threads.virtual.enabled (Java 21+) ne couvre que Tomcat, @Async et @Scheduled :
+// les pools créés par les services passent par ici pour suivre le même mode.
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadExecutors {
+
+    private final Environment environment;
+
+    // true seulement si la propriété est active ET la JVM en version 21 ou plus
+    public boolean isEnabled() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    // Un thread virtuel par tâche, au plus `concurrencyLimit` en parallèle : au-delà,
+    // l'appelant attend (même borne que le pool de threads qu'il remplace)
+    public SimpleAsyncTaskExecutor bounded(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
+    // Tâches de fond soumises depuis un thread de requête (rafraîchissement de cache) : la soumission
+    // ne bloque jamais, chaque tâche démarre sur son thread virtuel et attend son tour à l'intérieur
+    // (au plus `concurrencyLimit` en cours)
+    public SimpleAsyncTaskExecutor queued(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        limitRunningTasks(executor, concurrencyLimit);
+        return executor;
+    }
+
+    static void limitRunningTasks(SimpleAsyncTaskExecutor executor, int concurrencyLimit) {
+        Semaphore permits = new Semaphore(concurrencyLimit);
+        executor.setTaskDecorator(task -> () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Exécuteur fermé pendant l'attente : la tâche est abandonnée
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    public static void shutdown(Executor executor) {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor) {
+            ((SimpleAsyncTaskExecutor) executor).close();
+        }
+    }
+}
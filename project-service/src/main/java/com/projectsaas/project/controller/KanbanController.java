@@ -28,8 +28,27 @@ public class KanbanController {
         String token = authHeader.substring(7);
         KanbanBoardDto board = kanbanService.getKanbanBoard(projectId, token);
 
+        // ETag = version du snapshot : Spring répond 304 si If-None-Match correspond
+        return ResponseEntity.ok()
+                .eTag(board.getVersion())
+                .body(ApiResponse.success("Kanban board retrieved successfully", board));
+    }
+
+    @GetMapping("/projects/{projectId}/columns/{status}")
+    public ResponseEntity<ApiResponse<KanbanBoardDto.KanbanColumn>> getKanbanColumn(
+            @PathVariable UUID projectId,
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Loading Kanban column {} for project: {}", status, projectId);
+
+        String token = authHeader.substring(7);
+        KanbanBoardDto.KanbanColumn column = kanbanService.getKanbanColumn(projectId, status, cursor, size, token);
+
         return ResponseEntity.ok(
-                ApiResponse.success("Kanban board retrieved successfully", board)
+                ApiResponse.success("Kanban column retrieved successfully", column)
         );
     }
 
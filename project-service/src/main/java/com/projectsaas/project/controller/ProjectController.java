@@ -1,16 +1,24 @@
 package com.projectsaas.project.controller;
 
 import com.projectsaas.project.dto.*;
+import com.projectsaas.project.entity.Project;
 import com.projectsaas.project.entity.ProjectMember;
 import com.projectsaas.project.service.ProjectService;
+import com.projectsaas.project.service.SearchService;
+import com.projectsaas.project.service.TaskExportService;
+import com.projectsaas.project.service.TaskImportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +29,9 @@ import java.util.UUID;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final SearchService searchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProjectDto>> createProject(
@@ -143,18 +154,57 @@ public class ProjectController {
         );
     }
 
+    @GetMapping("/{projectId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportProjectTasks(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Exporting tasks of project {} as {}", projectId, format);
+
+        TaskExportService.ExportFormat exportFormat = TaskExportService.ExportFormat.parse(format);
+        Project project = taskExportService.getExportableProject(projectId);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(project.getKey() + "-tasks." + exportFormat.getExtension())
+                        .build().toString())
+                .body(taskExportService.exportProjectTasks(project, exportFormat));
+    }
+
+    // Corps brut (fichier CSV ou JSON, ex: export Jira) lu en flux
+    @PostMapping("/{projectId}/tasks/import")
+    public ResponseEntity<ApiResponse<TaskImportResultDto>> importProjectTasks(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Importing tasks into project {} from {}", projectId, format);
+
+        String token = authHeader.substring(7);
+        TaskImportService.ImportFormat importFormat = TaskImportService.ImportFormat.parse(format);
+        TaskImportResultDto result = taskImportService.importTasks(projectId, importFormat, body, token);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(result.isCompleted() ? "Tasks imported successfully" : "Task import stopped", result)
+        );
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<ProjectDto>>> searchProjects(
+    public ResponseEntity<ApiResponse<SearchResultsDto<ProjectSearchHitDto>>> searchProjects(
             @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Searching projects with term: {}", q);
 
-        String token = authHeader.substring(7);
-        List<ProjectDto> projects = projectService.searchProjects(q, token);
+        SearchResultsDto<ProjectSearchHitDto> results = searchService.searchProjects(q, page, size);
 
         return ResponseEntity.ok(
-                ApiResponse.success("Search results", projects)
+                ApiResponse.success("Search results", results)
         );
     }
 }
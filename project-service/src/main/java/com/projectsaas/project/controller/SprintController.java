@@ -0,0 +1,135 @@
+package com.projectsaas.project.controller;
+
+import com.projectsaas.project.dto.*;
+import com.projectsaas.project.service.SprintService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sprints")
+@RequiredArgsConstructor
+@Slf4j
+public class SprintController {
+
+    private final SprintService sprintService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SprintDto>> createSprint(
+            @Valid @RequestBody CreateSprintRequest request,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Creating new sprint: {}", request.getName());
+
+        String token = authHeader.substring(7);
+        SprintDto sprint = sprintService.createSprint(request, token);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Sprint created successfully", sprint));
+    }
+
+    @GetMapping("/project/{projectId}")
+    public ResponseEntity<ApiResponse<List<SprintDto>>> getProjectSprints(
+            @PathVariable UUID projectId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting sprints for project: {}", projectId);
+
+        List<SprintDto> sprints = sprintService.getProjectSprints(projectId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Sprints retrieved successfully", sprints)
+        );
+    }
+
+    @GetMapping("/{sprintId}")
+    public ResponseEntity<ApiResponse<SprintDto>> getSprint(
+            @PathVariable UUID sprintId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting sprint: {}", sprintId);
+
+        SprintDto sprint = sprintService.getSprint(sprintId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Sprint retrieved successfully", sprint)
+        );
+    }
+
+    @PutMapping("/{sprintId}/start")
+    public ResponseEntity<ApiResponse<SprintDto>> startSprint(
+            @PathVariable UUID sprintId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Starting sprint: {}", sprintId);
+
+        SprintDto sprint = sprintService.startSprint(sprintId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Sprint started successfully", sprint)
+        );
+    }
+
+    @PutMapping("/{sprintId}/complete")
+    public ResponseEntity<ApiResponse<SprintDto>> completeSprint(
+            @PathVariable UUID sprintId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Completing sprint: {}", sprintId);
+
+        SprintDto sprint = sprintService.completeSprint(sprintId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Sprint completed successfully", sprint)
+        );
+    }
+
+    @GetMapping("/{sprintId}/board")
+    public ResponseEntity<ApiResponse<SprintBoardDto>> getSprintBoard(
+            @PathVariable UUID sprintId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting board for sprint: {}", sprintId);
+
+        SprintBoardDto board = sprintService.getSprintBoard(sprintId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Sprint board retrieved successfully", board)
+        );
+    }
+
+    @GetMapping("/{sprintId}/burndown")
+    public ResponseEntity<ApiResponse<BurndownDto>> getBurndown(
+            @PathVariable UUID sprintId,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting burndown for sprint: {}", sprintId);
+
+        BurndownDto burndown = sprintService.getBurndown(sprintId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Burndown retrieved successfully", burndown)
+        );
+    }
+
+    @GetMapping("/project/{projectId}/velocity")
+    public ResponseEntity<ApiResponse<VelocityDto>> getVelocity(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "5") int sprints,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting velocity for project: {}", projectId);
+
+        VelocityDto velocity = sprintService.getVelocity(projectId, sprints);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Velocity retrieved successfully", velocity)
+        );
+    }
+}
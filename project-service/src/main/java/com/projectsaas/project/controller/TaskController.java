@@ -2,17 +2,18 @@ package com.projectsaas.project.controller;
 
 import com.projectsaas.project.dto.*;
 import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.service.SearchService;
+import com.projectsaas.project.service.TaskActivityService;
+import com.projectsaas.project.service.TaskBulkUpdateService;
+import com.projectsaas.project.service.TaskFilterService;
 import com.projectsaas.project.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,6 +23,10 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkUpdateService taskBulkUpdateService;
+    private final SearchService searchService;
+    private final TaskFilterService taskFilterService;
+    private final TaskActivityService taskActivityService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<TaskDto>> createTask(
@@ -38,15 +43,17 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<TaskDto>>> getAllTasks(
-            @RequestParam(required = false) UUID projectId,
-            Pageable pageable,
+    public ResponseEntity<ApiResponse<CursorPageDto<TaskDto>>> getAllTasks(
+            @RequestParam UUID projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Getting tasks for project: {}", projectId);
 
         String token = authHeader.substring(7);
-        Page<TaskDto> tasks = taskService.getProjectTasksPaginated(projectId, pageable, token);
+        CursorPageDto<TaskDto> tasks = taskService.getProjectTasksPage(projectId, cursor, size, count, token);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Tasks retrieved successfully", tasks)
@@ -68,6 +75,22 @@ public class TaskController {
         );
     }
 
+    @GetMapping("/{taskId}/activity")
+    public ResponseEntity<ApiResponse<CursorPageDto<TaskActivityDto>>> getTaskActivity(
+            @PathVariable UUID taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Getting activity of task: {}", taskId);
+
+        CursorPageDto<TaskActivityDto> activity = taskActivityService.getTaskActivity(taskId, cursor, size);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Task activity retrieved successfully", activity)
+        );
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<ApiResponse<TaskDto>> updateTask(
             @PathVariable UUID taskId,
@@ -132,15 +155,16 @@ public class TaskController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> getMyTasks(
+    public ResponseEntity<ApiResponse<CursorPageDto<TaskDto>>> getMyTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Getting current user tasks");
 
         String token = authHeader.substring(7);
-        // Pour obtenir l'ID utilisateur actuel, on pourrait faire un appel à Auth Service
-        // Ici, simplifié pour l'exemple
-        List<TaskDto> tasks = taskService.getUserTasks(null, token); // TODO: obtenir user ID
+        CursorPageDto<TaskDto> tasks = taskService.getMyTasks(cursor, size, count, token);
 
         return ResponseEntity.ok(
                 ApiResponse.success("User tasks retrieved successfully", tasks)
@@ -148,13 +172,16 @@ public class TaskController {
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> getOverdueTasks(
+    public ResponseEntity<ApiResponse<CursorPageDto<TaskDto>>> getOverdueTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Getting overdue tasks");
 
         String token = authHeader.substring(7);
-        List<TaskDto> tasks = taskService.getOverdueTasks(token);
+        CursorPageDto<TaskDto> tasks = taskService.getOverdueTasks(cursor, size, count, token);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Overdue tasks retrieved successfully", tasks)
@@ -162,32 +189,50 @@ public class TaskController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> searchTasks(
+    public ResponseEntity<ApiResponse<SearchResultsDto<TaskSearchHitDto>>> searchTasks(
             @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Searching tasks with term: {}", q);
 
-        String token = authHeader.substring(7);
-        List<TaskDto> tasks = taskService.searchTasks(q, token);
+        SearchResultsDto<TaskSearchHitDto> results = searchService.searchTasks(q, page, size);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Search results", results)
+        );
+    }
+
+    @PostMapping("/filter")
+    public ResponseEntity<ApiResponse<TaskFilterResultDto>> filterTasks(
+            @RequestBody TaskFilterRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "true") boolean facets,
+            @RequestHeader("Authorization") String authHeader) {
+
+        log.info("Filtering tasks");
+
+        TaskFilterResultDto result = taskFilterService.filterTasks(request, cursor, size, facets);
 
         return ResponseEntity.ok(
-                ApiResponse.success("Search results", tasks)
+                ApiResponse.success("Tasks retrieved successfully", result)
         );
     }
 
     @PutMapping("/bulk")
-    public ResponseEntity<ApiResponse<Void>> bulkUpdateTasks(
+    public ResponseEntity<ApiResponse<BulkTaskUpdateResultDto>> bulkUpdateTasks(
             @Valid @RequestBody BulkTaskUpdateRequest request,
             @RequestHeader("Authorization") String authHeader) {
 
         log.info("Bulk updating {} tasks", request.getTaskIds().size());
 
         String token = authHeader.substring(7);
-        // TODO: Implémenter le service de mise à jour en masse
+        BulkTaskUpdateResultDto result = taskBulkUpdateService.bulkUpdate(request, token);
 
         return ResponseEntity.ok(
-                ApiResponse.success("Tasks updated successfully", null)
+                ApiResponse.success("Tasks updated successfully", result)
         );
     }
 }
\ No newline at end of file
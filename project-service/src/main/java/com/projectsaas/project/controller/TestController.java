@@ -5,6 +5,8 @@ import com.projectsaas.project.entity.Task;
 import com.projectsaas.project.repository.ProjectRepository;
 import com.projectsaas.project.repository.TaskRepository;
 import com.projectsaas.project.security.TenantContext;
+import com.projectsaas.project.service.KanbanBoardCache;
+import com.projectsaas.project.service.TaskKeyAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,8 @@ public class TestController {
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final TaskKeyAllocator taskKeyAllocator;
+    private final KanbanBoardCache boardCache;
 
     // Test basique - vérifier que l'API fonctionne
     @GetMapping("/ping")
@@ -130,8 +134,7 @@ public class TestController {
                     .orElseThrow(() -> new RuntimeException("Project not found"));
 
             // Générer la clé de tâche
-            Integer nextNumber = taskRepository.getNextTaskNumber(testTenantId, project.getKey());
-            String taskKey = project.getKey() + "-" + nextNumber;
+            String taskKey = taskKeyAllocator.nextTaskKey(project);
 
             Task task = Task.builder()
                     .tenantId(testTenantId)
@@ -147,6 +150,7 @@ public class TestController {
                     .build();
 
             task = taskRepository.save(task);
+            boardCache.taskSaved(task, null);
 
             log.info("Created test task: {} in project: {}", task.getTaskKey(), project.getKey());
 
@@ -174,6 +178,7 @@ public class TestController {
             task.setStatus(request.getNewStatus());
 
             task = taskRepository.save(task);
+            boardCache.taskSaved(task, oldStatus);
 
             log.info("Updated task {} status: {} → {}", task.getTaskKey(), oldStatus, task.getStatus());
 
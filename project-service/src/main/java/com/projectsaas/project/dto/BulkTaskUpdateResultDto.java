@@ -0,0 +1,39 @@
+// ===========================================
+// BulkTaskUpdateResultDto.java - Résultat d'une mise à jour en masse
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskUpdateResultDto {
+
+    private Integer requestedCount;
+    private Integer updatedCount;
+    private Integer failedCount;
+    private List<TaskResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TaskResult {
+        private UUID taskId;
+        private String taskKey;
+        private ResultStatus status;
+        private String message;
+    }
+
+    public enum ResultStatus {
+        UPDATED, NOT_FOUND
+    }
+}
@@ -0,0 +1,41 @@
+// ===========================================
+// BurndownDto.java - Burndown d'un sprint (un point par jour)
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BurndownDto {
+
+    private UUID sprintId;
+    private String sprintName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer committedPoints; // Points au démarrage du sprint
+    private Integer totalScopeChange;
+    private List<BurndownPoint> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BurndownPoint {
+        private LocalDate date;
+        private Integer totalPoints;
+        private Integer completedPoints;
+        private Integer remainingPoints;
+        private Integer scopeChange;
+        private Double idealRemaining;
+    }
+}
@@ -0,0 +1,35 @@
+// ===========================================
+// CacheStatsDto.java - Statistiques du cache de second niveau Hibernate
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDto {
+
+    private RegionStats entities; // Toutes les régions d'entités
+    private RegionStats queries; // Cache de requêtes
+    private List<RegionStats> regions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RegionStats {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private Double hitRatio; // null tant qu'aucune lecture
+        private Long elementsInMemory; // Par région uniquement (-1 si inconnu)
+    }
+}
@@ -0,0 +1,24 @@
+// ===========================================
+// CursorPageDto.java - Page d'une liste paginée par curseur
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private Integer size;
+    private boolean hasMore;
+    private String nextCursor; // À renvoyer tel quel pour obtenir la page suivante
+    private Long totalEstimate; // Uniquement si demandé (count=true), sur la première page
+}
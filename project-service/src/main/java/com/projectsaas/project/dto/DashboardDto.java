@@ -37,7 +37,7 @@ public class DashboardDto {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class DashboardStats {
         private Integer totalProjects;
         private Integer totalTasks;
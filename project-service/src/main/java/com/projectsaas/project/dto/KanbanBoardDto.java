@@ -15,7 +15,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class KanbanBoardDto {
 
     private UUID projectId;
@@ -23,16 +23,23 @@ public class KanbanBoardDto {
     private List<KanbanColumn> columns;
     private Map<String, Integer> statusCounts;
 
+    // Version du snapshot, renvoyée aussi dans l'en-tête ETag
+    private String version;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class KanbanColumn {
         private String id;
         private String name;
         private String status;
         private Integer wipLimit;
-        private List<TaskDto> tasks;
+        private List<KanbanCardDto> tasks;
         private Integer taskCount;
+
+        // Curseur pour charger les cartes suivantes (null si la colonne est complète)
+        private String nextCursor;
+        private boolean hasMore;
     }
 }
@@ -0,0 +1,34 @@
+// ===========================================
+// KanbanCardDto.java - Carte Kanban (projection légère d'une tâche)
+// ===========================================
+package com.projectsaas.project.dto;
+
+import com.projectsaas.project.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Pas de description : seules les colonnes affichées sur une carte sont lues.
+// L'ordre des champs est celui du constructeur utilisé par TaskRepository.findKanbanCards.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KanbanCardDto {
+
+    private UUID id;
+    private String taskKey;
+    private String title;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    private Task.TaskType taskType;
+    private Integer storyPoints;
+    private UUID assigneeId;
+    private LocalDateTime dueDate;
+    private UUID sprintId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+// ===========================================
+// ProjectSearchHitDto.java - Résultat de recherche de projet
+// ===========================================
+package com.projectsaas.project.dto;
+
+import com.projectsaas.project.entity.Project;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectSearchHitDto {
+
+    private UUID id;
+    private String key;
+    private String name;
+    private Project.ProjectStatus status;
+    private Double rank;
+
+    // Extraits HTML échappés, termes trouvés entourés de <mark>
+    private String nameHighlight;
+    private String descriptionHighlight;
+}
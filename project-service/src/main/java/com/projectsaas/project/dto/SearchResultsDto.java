@@ -0,0 +1,24 @@
+// ===========================================
+// SearchResultsDto.java - Page de résultats de recherche
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultsDto<T> {
+
+    private String query;
+    private Integer page;
+    private Integer size;
+    private boolean hasMore;
+    private List<T> results;
+}
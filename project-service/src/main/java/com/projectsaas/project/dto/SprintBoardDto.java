@@ -0,0 +1,23 @@
+// ===========================================
+// SprintBoardDto.java - Tableau d'un sprint
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintBoardDto {
+
+    private SprintDto sprint;
+    private List<KanbanBoardDto.KanbanColumn> columns;
+    private Integer remainingPoints;
+    private Integer daysRemaining;
+}
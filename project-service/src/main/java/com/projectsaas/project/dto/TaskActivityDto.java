@@ -0,0 +1,38 @@
+// ===========================================
+// TaskActivityDto.java - Entrée de l'historique d'une tâche
+// ===========================================
+package com.projectsaas.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskActivityDto {
+
+    private UUID id;
+
+    @JsonIgnore
+    private UUID tenantId;
+
+    private UUID taskId;
+    private UUID projectId;
+    private UUID actorId;
+    private Action action;
+    private Map<String, Object> changes; // Champ -> [ancienne valeur, nouvelle valeur], ou true (texte long)
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public enum Action {
+        CREATED, UPDATED, BULK_UPDATED, DELETED
+    }
+}
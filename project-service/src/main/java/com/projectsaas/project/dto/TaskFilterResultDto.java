@@ -0,0 +1,28 @@
+// ===========================================
+// TaskFilterResultDto.java - Page de tâches filtrées et facettes
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TaskFilterResultDto {
+
+    private List<TaskDto> items;
+    private Integer size;
+    private boolean hasMore;
+    private String nextCursor; // À renvoyer avec le même filtre pour la page suivante
+
+    // Nombre de tâches correspondant au filtre (toutes pages), première page uniquement
+    private Map<String, Long> statusCounts;
+    private Map<String, Long> priorityCounts;
+}
@@ -0,0 +1,40 @@
+// ===========================================
+// TaskImportResultDto.java - Résultat d'un import de tâches
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResultDto {
+
+    private UUID projectId;
+    private String format;
+    private boolean completed; // false : import interrompu, les paquets déjà validés restent en base
+    private Integer importedCount;
+    private Integer skippedCount;
+    private Integer chunkCount;
+    private String firstTaskKey;
+    private String lastTaskKey;
+    private Long durationMs;
+    private Double rowsPerSecond;
+    private List<RowError> errors; // Limitées à app.task-import.max-errors
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private Integer row; // Numéro de ligne (CSV, en-tête = 1) ou d'objet (JSON, à partir de 1)
+        private String message;
+    }
+}
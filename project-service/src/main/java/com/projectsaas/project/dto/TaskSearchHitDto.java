@@ -0,0 +1,32 @@
+// ===========================================
+// TaskSearchHitDto.java - Résultat de recherche de tâche
+// ===========================================
+package com.projectsaas.project.dto;
+
+import com.projectsaas.project.entity.Task;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchHitDto {
+
+    private UUID id;
+    private UUID projectId;
+    private String taskKey;
+    private String title;
+    private Task.TaskStatus status;
+    private Task.Priority priority;
+    private UUID assigneeId;
+    private Double rank;
+
+    // Extraits HTML échappés, termes trouvés entourés de <mark>
+    private String titleHighlight;
+    private String descriptionHighlight;
+}
@@ -0,0 +1,37 @@
+// ===========================================
+// VelocityDto.java - Vélocité des derniers sprints d'un projet
+// ===========================================
+package com.projectsaas.project.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VelocityDto {
+
+    private UUID projectId;
+    private List<SprintVelocity> sprints; // Du plus ancien au plus récent
+    private Double averageVelocity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SprintVelocity {
+        private UUID sprintId;
+        private String name;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Integer committedPoints;
+        private Integer completedPoints;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,6 +18,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @IdClass(ProjectMemberId.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-members")
 public class ProjectMember {
 
     @Id
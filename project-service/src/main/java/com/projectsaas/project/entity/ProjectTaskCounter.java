@@ -0,0 +1,31 @@
+// ===========================================
+// ProjectTaskCounter.java - Compteur de numéros de tâches par projet
+// ===========================================
+package com.projectsaas.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "project_task_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTaskCounter {
+
+    @Id
+    @Column(name = "project_id", columnDefinition = "UUID")
+    private UUID projectId;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "next_number", nullable = false)
+    private Long nextNumber; // Prochain numéro non réservé
+}
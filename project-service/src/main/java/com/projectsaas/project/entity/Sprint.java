@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDate;
@@ -18,6 +20,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sprints")
 public class Sprint {
 
     @Id
@@ -58,6 +61,11 @@ public class Sprint {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Verrou optimiste : une copie périmée (cache d'une autre instance) ne peut pas écraser la ligne
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relations
     @OneToMany(mappedBy = "sprint", fetch = FetchType.LAZY)
     private List<Task> tasks;
@@ -0,0 +1,50 @@
+// ===========================================
+// SprintBurndownSnapshot.java - Totaux d'un sprint en fin de journée
+// ===========================================
+package com.projectsaas.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Maintenu par le trigger trg_tasks_sprint_burndown : lecture seule côté application
+@Entity
+@Table(name = "sprint_burndown_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(SprintBurndownSnapshotId.class)
+public class SprintBurndownSnapshot {
+
+    @Id
+    @Column(name = "sprint_id")
+    private UUID sprintId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "total_points", nullable = false)
+    private Integer totalPoints;
+
+    @Column(name = "completed_points", nullable = false)
+    private Integer completedPoints;
+
+    @Column(name = "total_tasks", nullable = false)
+    private Integer totalTasks;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private Integer completedTasks;
+
+    @Column(name = "scope_change", nullable = false)
+    private Integer scopeChange; // Points ajoutés (+) ou retirés (-) ce jour-là, sprint actif
+}
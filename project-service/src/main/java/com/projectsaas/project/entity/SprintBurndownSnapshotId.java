@@ -0,0 +1,20 @@
+package com.projectsaas.project.entity;
+
+// ===========================================
+// SprintBurndownSnapshotId.java - Clé composite
+// ===========================================
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintBurndownSnapshotId implements Serializable {
+    private UUID sprintId;
+    private LocalDate snapshotDate;
+}
@@ -70,6 +70,11 @@ public class Task {
     @JoinColumn(name = "sprint_id")
     private Sprint sprint;
 
+    // Maintenu par le trigger trg_task_comments_count : jamais écrit par Hibernate
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    private Integer commentCount;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,39 @@
+// ===========================================
+// TaskStatusCounter.java - Nombre de tâches par (tenant, projet, statut)
+// ===========================================
+package com.projectsaas.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.UUID;
+
+// Maintenu par le trigger trg_tasks_status_counters : lecture seule côté application
+@Entity
+@Table(name = "task_status_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(TaskStatusCounterId.class)
+public class TaskStatusCounter {
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private Task.TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount;
+}
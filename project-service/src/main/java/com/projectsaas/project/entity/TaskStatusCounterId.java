@@ -0,0 +1,20 @@
+package com.projectsaas.project.entity;
+
+// ===========================================
+// TaskStatusCounterId.java - Clé composite
+// ===========================================
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCounterId implements Serializable {
+    private UUID tenantId;
+    private UUID projectId;
+    private Task.TaskStatus status;
+}
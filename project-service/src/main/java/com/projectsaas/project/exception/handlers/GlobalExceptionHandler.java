@@ -1,11 +1,14 @@
 package com.projectsaas.project.exception.handlers;
 
 import com.projectsaas.project.dto.ApiResponse;
+import com.projectsaas.project.exception.InvalidOperationException;
 import com.projectsaas.project.exception.ProjectAlreadyExistsException;
 import com.projectsaas.project.exception.ProjectNotFoundException;
+import com.projectsaas.project.exception.SprintNotFoundException;
 import com.projectsaas.project.exception.TaskNotFoundException;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -42,6 +45,29 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(e.getMessage()));
     }
 
+    @ExceptionHandler(SprintNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleSprintNotFoundException(SprintNotFoundException e) {
+        log.error("Sprint not found: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidOperationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidOperationException(InvalidOperationException e) {
+        log.error("Invalid operation: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    // Projet ou sprint modifié entre-temps (autre requête, autre instance)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException e) {
+        log.error("Concurrent modification: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("The resource was modified concurrently, please retry"));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccessDeniedException(AccessDeniedException e) {
         log.error("Access denied: {}", e.getMessage());
@@ -0,0 +1,123 @@
+// ===========================================
+// OutboxRelay.java - Publication par lots de l'outbox vers Kafka
+// ===========================================
+package com.projectsaas.project.kafka.producer;
+
+import com.projectsaas.project.config.OutboxProperties;
+import com.projectsaas.project.entity.OutboxEvent;
+import com.projectsaas.project.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Livraison au moins une fois : un lot n'est supprimé qu'après l'acquittement
+// de tous ses messages. Un échec laisse le lot en place pour le passage suivant.
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    // Verrou consultatif PostgreSQL partagé par toutes les instances du service
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L; // "outbox"
+
+    // En-tête lu par le JsonDeserializer des consommateurs : type logique, associé à leur DTO
+    // par spring.json.type.mapping (taskEvent, taskBulkEvent, projectEvent)
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate batchTransaction;
+    private Counter publishedCounter;
+    private Counter failedBatchCounter;
+
+    @PostConstruct
+    public void init() {
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.publishedCounter = meterRegistry.counter("outbox.events.published");
+        this.failedBatchCounter = meterRegistry.counter("outbox.batches.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:500}")
+    public void relay() {
+        try {
+            // Lot plein : il reste probablement des événements, enchaîner
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                Integer published = batchTransaction.execute(status -> publishBatch());
+                if (published == null || published < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            failedBatchCounter.increment();
+            log.error("Outbox relay failed, batch will be retried: {}", e.getMessage());
+        }
+    }
+
+    // Publier un lot dans la transaction qui le supprime ; -1 si une autre instance relaie
+    private int publishBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return -1;
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(properties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Envois asynchrones : le producteur regroupe les messages (linger, compression)
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> record =
+                    new ProducerRecord<>(event.getTopic(), event.getEventKey(), event.getPayload());
+            record.headers()
+                    .add(TYPE_ID_HEADER, typeId(event.getTopic()).getBytes(StandardCharsets.UTF_8))
+                    .add("eventId", String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8))
+                    .add("tenantId", event.getTenantId().toString().getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+            ids.add(event.getId());
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Rollback : les événements déjà envoyés seront republiés (consommateurs idempotents via eventId)
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        outboxEventRepository.deleteByIds(ids);
+        publishedCounter.increment(events.size());
+        log.debug("Outbox batch published: {} events", events.size());
+        return events.size();
+    }
+
+    static String typeId(String topic) {
+        if (topic.startsWith("task.bulk.")) {
+            return "taskBulkEvent";
+        }
+        return topic.startsWith("project.") ? "projectEvent" : "taskEvent";
+    }
+}
@@ -0,0 +1,41 @@
+// ===========================================
+// OutboxEventRepository.java
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Un seul relais actif à la fois (verrou libéré au commit) : ordre global préservé
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    // Plus anciens événements en attente, dans l'ordre des id, sans jamais dépasser un id attribué
+    // par une transaction non terminée avant la plus ancienne encore en cours (V21) : un id plus
+    // petit validé plus tard ne peut pas passer derrière un id plus grand déjà publié
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE txid < pg_snapshot_xmin(pg_current_snapshot()) " +
+            "AND id < COALESCE((SELECT MIN(h.id) FROM outbox_events h " +
+            "WHERE h.txid >= pg_snapshot_xmin(pg_current_snapshot())), 9223372036854775807) " +
+            "ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+
+    // Événements publiés
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    // Événements en attente (métrique de retard)
+    @Query(value = "SELECT COUNT(*) FROM outbox_events", nativeQuery = true)
+    long countPending();
+}
@@ -5,8 +5,11 @@ package com.projectsaas.project.repository;
 
 import com.projectsaas.project.entity.ProjectMember;
 import com.projectsaas.project.entity.ProjectMemberId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,7 +24,9 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
     @Query("SELECT pm FROM ProjectMember pm WHERE pm.project.id = :projectId")
     List<ProjectMember> findByProjectId(@Param("projectId") UUID projectId);
 
-    // Membre spécifique d'un projet
+    // Membre spécifique d'un projet (contrôle d'accès) : toujours lu en base, le cache
+    // de second niveau est local à l'instance et pourrait garder un membre retiré ailleurs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
     @Query("SELECT pm FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.userId = :userId")
     Optional<ProjectMember> findByProjectIdAndUserId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
 
@@ -29,7 +34,7 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
     @Query("SELECT pm FROM ProjectMember pm WHERE pm.userId = :userId")
     List<ProjectMember> findByUserId(@Param("userId") UUID userId);
 
-    // Vérifier si utilisateur est membre du projet
+    // Vérifier si utilisateur est membre du projet (en base, comme ci-dessus)
     @Query("SELECT COUNT(pm) > 0 FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.userId = :userId")
     boolean existsByProjectIdAndUserId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
 
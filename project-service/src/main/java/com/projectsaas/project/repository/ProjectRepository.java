@@ -4,8 +4,11 @@
 package com.projectsaas.project.repository;
 
 import com.projectsaas.project.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,11 +19,24 @@ import java.util.UUID;
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
 
-    // Tous les projets d'un tenant
+    // Tous les projets d'un tenant (cache de requêtes : le tenant fait partie de la clé)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Project> findByTenantIdOrderByCreatedAtDesc(UUID tenantId);
 
-    // Projet par ID et tenant (sécurité)
-    Optional<Project> findByIdAndTenantId(UUID id, UUID tenantId);
+    // Projets les plus récents d'un tenant
+    List<Project> findTop5ByTenantIdOrderByCreatedAtDesc(UUID tenantId);
+
+    // Projet par ID et tenant (sécurité) : chargé par ID pour passer par le cache
+    // de second niveau, le tenant est vérifié sur l'entité
+    default Optional<Project> findByIdAndTenantId(UUID id, UUID tenantId) {
+        return findById(id).filter(project -> tenantId.equals(project.getTenantId()));
+    }
+
+    // Projet à modifier ou supprimer : relu en base (le cache local peut ignorer une modification
+    // ou une suppression faite sur une autre instance), l'entrée du cache est remplacée par la ligne lue
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.tenantId = :tenantId")
+    Optional<Project> findCurrentByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
 
     // Projet par clé et tenant
     Optional<Project> findByKeyAndTenantId(String key, UUID tenantId);
@@ -28,26 +44,36 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     // Vérifier si clé existe dans tenant
     boolean existsByKeyAndTenantId(String key, UUID tenantId);
 
+    // Nombre de projets du tenant
+    long countByTenantId(UUID tenantId);
+
+    // Vérifier si le projet existe dans le tenant
+    default boolean existsByIdAndTenantId(UUID id, UUID tenantId) {
+        return findByIdAndTenantId(id, tenantId).isPresent();
+    }
+
     // Projets par statut
     List<Project> findByTenantIdAndStatusOrderByCreatedAtDesc(UUID tenantId, Project.ProjectStatus status);
 
     // Projets où l'utilisateur est créateur
     List<Project> findByTenantIdAndCreatedByOrderByCreatedAtDesc(UUID tenantId, UUID createdBy);
 
-    // Projets où l'utilisateur est membre
+    // Projets où l'utilisateur est membre (pas de cache de requête : l'appartenance est
+    // lue en base, un retrait fait sur une autre instance est visible immédiatement)
     @Query("SELECT DISTINCT p FROM Project p " +
             "JOIN p.members m " +
             "WHERE p.tenantId = :tenantId AND m.userId = :userId " +
             "ORDER BY p.createdAt DESC")
     List<Project> findProjectsByMember(@Param("tenantId") UUID tenantId, @Param("userId") UUID userId);
 
-    // Recherche par nom ou description
-    @Query("SELECT p FROM Project p " +
-            "WHERE p.tenantId = :tenantId " +
-            "AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
-            "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-            "ORDER BY p.createdAt DESC")
-    List<Project> searchProjects(@Param("tenantId") UUID tenantId, @Param("search") String search);
+    // Nombre de membres et de tâches par projet, en une requête pour toute la liste
+    @Query("SELECT p.id, " +
+            "(SELECT COUNT(m) FROM ProjectMember m WHERE m.project.id = p.id), " +
+            "(SELECT COALESCE(SUM(c.taskCount), 0) FROM TaskStatusCounter c " +
+            "WHERE c.projectId = p.id AND c.tenantId = :tenantId) " +
+            "FROM Project p " +
+            "WHERE p.tenantId = :tenantId AND p.id IN :projectIds")
+    List<Object[]> countMembersAndTasks(@Param("tenantId") UUID tenantId, @Param("projectIds") List<UUID> projectIds);
 
     // Compter projets par statut
     @Query("SELECT p.status, COUNT(p) FROM Project p " +
@@ -0,0 +1,50 @@
+// ===========================================
+// ProjectTaskCounterRepository.java
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.entity.ProjectTaskCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Repository
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter, UUID> {
+
+    // Avancer le compteur d'un bloc (verrouille la ligne jusqu'au commit) ; 0 : projet sans compteur.
+    // Entité hors cache de second niveau : la mise à jour JPQL n'invalide aucune autre région.
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("UPDATE ProjectTaskCounter c SET c.nextNumber = c.nextNumber + :blockSize WHERE c.projectId = :projectId")
+    int advance(@Param("projectId") UUID projectId, @Param("blockSize") long blockSize);
+
+    // Fin du bloc qui vient d'être réservé (même transaction : ligne encore verrouillée)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("SELECT c.nextNumber FROM ProjectTaskCounter c WHERE c.projectId = :projectId")
+    Long findNextNumber(@Param("projectId") UUID projectId);
+
+    // Initialiser le compteur d'un projet à partir des clés existantes
+    // (table déclarée : sans elle, Hibernate vide tout le cache de second niveau)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_counters"))
+    @Query(value = "INSERT INTO project_task_counters (project_id, tenant_id, next_number) " +
+            "SELECT :projectId, :tenantId, " +
+            "COALESCE(MAX(CAST(SUBSTRING(t.task_key FROM LENGTH(:projectKey) + 2) AS BIGINT)), 0) + 1 " +
+            "FROM tasks t " +
+            "WHERE t.tenant_id = :tenantId " +
+            "AND t.task_key ~ ('^' || :projectKey || '-[0-9]+$') " +
+            "ON CONFLICT (project_id) DO NOTHING",
+            nativeQuery = true)
+    int seedCounter(@Param("projectId") UUID projectId,
+                    @Param("tenantId") UUID tenantId,
+                    @Param("projectKey") String projectKey);
+}
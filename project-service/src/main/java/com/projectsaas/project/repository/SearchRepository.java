@@ -0,0 +1,140 @@
+// ===========================================
+// SearchRepository.java - Recherche plein texte (tsvector + index GIN)
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.dto.ProjectSearchHitDto;
+import com.projectsaas.project.dto.TaskSearchHitDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    // Mêmes expressions que les index de V14 : sinon l'index GIN n'est pas utilisé
+    // (TASK_VECTOR est aussi utilisé par TaskFilterRepository)
+    static final String TASK_VECTOR =
+            "(setweight(to_tsvector('simple', COALESCE(t.task_key, '')), 'A') || " +
+            "setweight(to_tsvector('simple', COALESCE(t.title, '')), 'A') || " +
+            "setweight(to_tsvector('simple', COALESCE(t.description, '')), 'B'))";
+
+    private static final String PROJECT_VECTOR =
+            "(setweight(to_tsvector('simple', COALESCE(p.key, '')), 'A') || " +
+            "setweight(to_tsvector('simple', COALESCE(p.name, '')), 'A') || " +
+            "setweight(to_tsvector('simple', COALESCE(p.description, '')), 'B'))";
+
+    // Délimiteurs neutres : le texte est échappé avant de poser les <mark>
+    private static final String START_SEL = "\u0002";
+    private static final String STOP_SEL = "\u0003";
+    private static final String TITLE_HEADLINE =
+            "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL + ", HighlightAll=true";
+    private static final String TEXT_HEADLINE =
+            "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL + ", MaxFragments=2, MaxWords=20, MinWords=5";
+
+    // ts_rank et ts_headline ne sont calculés que pour la page retenue
+    private static final String TASK_SEARCH_SQL =
+            "SELECT s.id, s.project_id, s.task_key, s.title, s.status, s.priority, s.assignee_id, s.rank, " +
+            "ts_headline('simple', s.title, s.query, :titleOptions) AS title_highlight, " +
+            "ts_headline('simple', COALESCE(s.description, ''), s.query, :textOptions) AS description_highlight " +
+            "FROM (" +
+            "  SELECT t.id, t.project_id, t.task_key, t.title, t.description, t.status, t.priority, " +
+            "         t.assignee_id, t.created_at, q.query, ts_rank(" + TASK_VECTOR + ", q.query) AS rank " +
+            "  FROM tasks t, to_tsquery('simple', :query) AS q(query) " +
+            "  WHERE t.tenant_id = :tenantId AND " + TASK_VECTOR + " @@ q.query " +
+            "  ORDER BY rank DESC, t.created_at DESC, t.id " +
+            "  LIMIT :limit OFFSET :offset" +
+            ") s " +
+            "ORDER BY s.rank DESC, s.created_at DESC, s.id";
+
+    private static final String PROJECT_SEARCH_SQL =
+            "SELECT s.id, s.key, s.name, s.status, s.rank, " +
+            "ts_headline('simple', s.name, s.query, :titleOptions) AS name_highlight, " +
+            "ts_headline('simple', COALESCE(s.description, ''), s.query, :textOptions) AS description_highlight " +
+            "FROM (" +
+            "  SELECT p.id, p.key, p.name, p.description, p.status, p.created_at, q.query, " +
+            "         ts_rank(" + PROJECT_VECTOR + ", q.query) AS rank " +
+            "  FROM projects p, to_tsquery('simple', :query) AS q(query) " +
+            "  WHERE p.tenant_id = :tenantId AND " + PROJECT_VECTOR + " @@ q.query " +
+            "  ORDER BY rank DESC, p.created_at DESC, p.id " +
+            "  LIMIT :limit OFFSET :offset" +
+            ") s " +
+            "ORDER BY s.rank DESC, s.created_at DESC, s.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Tâches du tenant correspondant à la requête, par pertinence
+    public List<TaskSearchHitDto> searchTasks(UUID tenantId, String tsQuery, int offset, int limit) {
+        return jdbcTemplate.query(TASK_SEARCH_SQL, params(tenantId, tsQuery, offset, limit), (rs, rowNum) ->
+                TaskSearchHitDto.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .projectId(rs.getObject("project_id", UUID.class))
+                        .taskKey(rs.getString("task_key"))
+                        .title(rs.getString("title"))
+                        .status(rs.getString("status") != null ? Task.TaskStatus.valueOf(rs.getString("status")) : null)
+                        .priority(rs.getString("priority") != null ? Task.Priority.valueOf(rs.getString("priority")) : null)
+                        .assigneeId(rs.getObject("assignee_id", UUID.class))
+                        .rank(rs.getDouble("rank"))
+                        .titleHighlight(highlight(rs.getString("title_highlight")))
+                        .descriptionHighlight(highlight(rs.getString("description_highlight")))
+                        .build());
+    }
+
+    // Projets du tenant correspondant à la requête, par pertinence
+    public List<ProjectSearchHitDto> searchProjects(UUID tenantId, String tsQuery, int offset, int limit) {
+        return jdbcTemplate.query(PROJECT_SEARCH_SQL, params(tenantId, tsQuery, offset, limit), (rs, rowNum) ->
+                ProjectSearchHitDto.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .key(rs.getString("key"))
+                        .name(rs.getString("name"))
+                        .status(rs.getString("status") != null ? Project.ProjectStatus.valueOf(rs.getString("status")) : null)
+                        .rank(rs.getDouble("rank"))
+                        .nameHighlight(highlight(rs.getString("name_highlight")))
+                        .descriptionHighlight(highlight(rs.getString("description_highlight")))
+                        .build());
+    }
+
+    // Saisie utilisateur -> tsquery "mot1:* & mot2:*" (préfixes, tous les mots requis).
+    // Seuls lettres et chiffres sont conservés : aucun opérateur tsquery ne passe.
+    public static String toPrefixQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : searchTerm.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token + ":*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    private MapSqlParameterSource params(UUID tenantId, String tsQuery, int offset, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("query", tsQuery)
+                .addValue("offset", offset)
+                .addValue("limit", limit)
+                .addValue("titleOptions", TITLE_HEADLINE)
+                .addValue("textOptions", TEXT_HEADLINE);
+    }
+
+    private String highlight(String headline) {
+        if (headline == null || headline.isEmpty()) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(START_SEL, "<mark>")
+                .replace(STOP_SEL, "</mark>");
+    }
+}
@@ -0,0 +1,67 @@
+// ===========================================
+// SprintBurndownSnapshotRepository.java
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.entity.SprintBurndownSnapshot;
+import com.projectsaas.project.entity.SprintBurndownSnapshotId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SprintBurndownSnapshotRepository extends JpaRepository<SprintBurndownSnapshot, SprintBurndownSnapshotId> {
+
+    // Historique d'un sprint : une ligne par jour modifié
+    List<SprintBurndownSnapshot> findBySprintIdOrderBySnapshotDateAsc(UUID sprintId);
+
+    // Historique de plusieurs sprints (vélocité)
+    List<SprintBurndownSnapshot> findBySprintIdInOrderBySprintIdAscSnapshotDateAsc(Collection<UUID> sprintIds);
+
+    // Totaux actuels de plusieurs sprints (dernière ligne de chacun)
+    @Query(value = "SELECT DISTINCT ON (sprint_id) * FROM sprint_burndown_snapshots " +
+            "WHERE sprint_id IN (:sprintIds) " +
+            "ORDER BY sprint_id, snapshot_date DESC",
+            nativeQuery = true)
+    List<SprintBurndownSnapshot> findLatestBySprintIds(@Param("sprintIds") Collection<UUID> sprintIds);
+
+    // ===== Réconciliation =====
+    // Tables déclarées sur les requêtes natives : sans elles, Hibernate vide tout le cache de second niveau
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sprint_burndown_snapshots"))
+    @Query(value = "LOCK TABLE sprint_burndown_snapshots IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockSnapshots();
+
+    // Recaler la ligne du jour des sprints actifs sur les tâches (scope_change conservé),
+    // retourne le nombre de lignes créées ou corrigées
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sprint_burndown_snapshots"))
+    @Query(value = "INSERT INTO sprint_burndown_snapshots (sprint_id, snapshot_date, tenant_id, total_points, " +
+            "completed_points, total_tasks, completed_tasks) " +
+            "SELECT s.id, CURRENT_DATE, s.tenant_id, " +
+            "COALESCE(SUM(COALESCE(t.story_points, 0)), 0), " +
+            "COALESCE(SUM(COALESCE(t.story_points, 0)) FILTER (WHERE t.status = 'DONE'), 0), " +
+            "COUNT(t.id), COUNT(t.id) FILTER (WHERE t.status = 'DONE') " +
+            "FROM sprints s LEFT JOIN tasks t ON t.sprint_id = s.id " +
+            "WHERE s.status = 'ACTIVE' " +
+            "GROUP BY s.id, s.tenant_id " +
+            "ON CONFLICT (sprint_id, snapshot_date) DO UPDATE " +
+            "SET total_points = EXCLUDED.total_points, completed_points = EXCLUDED.completed_points, " +
+            "total_tasks = EXCLUDED.total_tasks, completed_tasks = EXCLUDED.completed_tasks " +
+            "WHERE (sprint_burndown_snapshots.total_points, sprint_burndown_snapshots.completed_points, " +
+            "sprint_burndown_snapshots.total_tasks, sprint_burndown_snapshots.completed_tasks) " +
+            "IS DISTINCT FROM (EXCLUDED.total_points, EXCLUDED.completed_points, " +
+            "EXCLUDED.total_tasks, EXCLUDED.completed_tasks)",
+            nativeQuery = true)
+    int reconcileActiveSprints();
+}
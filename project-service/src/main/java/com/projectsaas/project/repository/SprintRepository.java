@@ -4,8 +4,12 @@
 package com.projectsaas.project.repository;
 
 import com.projectsaas.project.entity.Sprint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,18 +21,36 @@ import java.util.UUID;
 @Repository
 public interface SprintRepository extends JpaRepository<Sprint, UUID> {
 
-    // Sprint par ID et tenant
-    Optional<Sprint> findByIdAndTenantId(UUID id, UUID tenantId);
+    // Sprint par ID et tenant (par ID pour passer par le cache de second niveau)
+    default Optional<Sprint> findByIdAndTenantId(UUID id, UUID tenantId) {
+        return findById(id).filter(sprint -> tenantId.equals(sprint.getTenantId()));
+    }
+
+    // Sprint à modifier : relu en base, les contrôles de statut ne portent pas sur une copie périmée
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT s FROM Sprint s WHERE s.id = :id AND s.tenantId = :tenantId")
+    Optional<Sprint> findCurrentByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
 
     // Tous les sprints d'un projet
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Sprint> findByProjectIdAndTenantIdOrderByCreatedAtDesc(UUID projectId, UUID tenantId);
 
     // Sprints par statut
     List<Sprint> findByTenantIdAndStatusOrderByCreatedAtDesc(UUID tenantId, Sprint.SprintStatus status);
 
+    // Nombre de sprints par statut dans le tenant
+    long countByTenantIdAndStatus(UUID tenantId, Sprint.SprintStatus status);
+
     // Sprint actif d'un projet
     Optional<Sprint> findByProjectIdAndTenantIdAndStatus(UUID projectId, UUID tenantId, Sprint.SprintStatus status);
 
+    // Un sprint actif au plus par projet
+    boolean existsByProjectIdAndTenantIdAndStatus(UUID projectId, UUID tenantId, Sprint.SprintStatus status);
+
+    // Derniers sprints d'un statut (vélocité : sprints terminés, index idx_sprints_project_status_end)
+    List<Sprint> findByTenantIdAndProjectIdAndStatusOrderByEndDateDesc(UUID tenantId, UUID projectId,
+                                                                       Sprint.SprintStatus status, Pageable pageable);
+
     // Sprints créés par un utilisateur
     List<Sprint> findByTenantIdAndCreatedByOrderByCreatedAtDesc(UUID tenantId, UUID createdBy);
 
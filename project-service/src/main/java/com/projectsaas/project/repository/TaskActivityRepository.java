@@ -0,0 +1,138 @@
+// ===========================================
+// TaskActivityRepository.java - Historique des tâches (table partitionnée par mois, V20)
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.dto.TaskActivityDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskActivityRepository {
+
+    private static final TypeReference<Map<String, Object>> CHANGES_TYPE = new TypeReference<>() {};
+
+    // Lots JDBC : réécrits en INSERT multi-lignes par le driver (reWriteBatchedInserts)
+    private static final String INSERT_SQL =
+            "INSERT INTO task_activity (id, tenant_id, task_id, project_id, actor_id, action, changes, comment, created_at) " +
+            "VALUES (:id, :tenantId, :taskId, :projectId, :actorId, :action, CAST(:changes AS JSONB), :comment, :createdAt)";
+
+    // since (création de la tâche) : les partitions des mois antérieurs sont écartées
+    private static final String TASK_ACTIVITY_SQL =
+            "SELECT a.id, a.task_id, a.project_id, a.actor_id, a.action, a.changes, a.comment, a.created_at " +
+            "FROM task_activity a " +
+            "WHERE a.task_id = :taskId AND a.tenant_id = :tenantId AND a.created_at >= :since " +
+            "%s" +
+            "ORDER BY a.created_at DESC, a.id DESC " +
+            "LIMIT :limit";
+
+    private static final String AFTER_CURSOR = "AND (a.created_at, a.id) < (:position, :cursorId) ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void insertBatch(List<TaskActivityDto> entries) {
+        SqlParameterSource[] batch = new SqlParameterSource[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TaskActivityDto entry = entries.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", entry.getId())
+                    .addValue("tenantId", entry.getTenantId())
+                    .addValue("taskId", entry.getTaskId())
+                    .addValue("projectId", entry.getProjectId())
+                    .addValue("actorId", entry.getActorId())
+                    .addValue("action", entry.getAction().name())
+                    .addValue("changes", entry.getChanges() != null ? toJson(entry.getChanges()) : null)
+                    .addValue("comment", entry.getComment())
+                    .addValue("createdAt", Timestamp.valueOf(entry.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    // Entrées d'une tâche, plus récentes d'abord, après le curseur (position, cursorId) s'il est fourni
+    public List<TaskActivityDto> findByTask(UUID tenantId, UUID taskId, LocalDateTime since,
+                                            LocalDateTime position, UUID cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("taskId", taskId)
+                .addValue("since", Timestamp.valueOf(since))
+                .addValue("limit", limit);
+        if (position != null) {
+            params.addValue("position", Timestamp.valueOf(position)).addValue("cursorId", cursorId);
+        }
+
+        String sql = String.format(TASK_ACTIVITY_SQL, position != null ? AFTER_CURSOR : "");
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> TaskActivityDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .tenantId(tenantId)
+                .taskId(rs.getObject("task_id", UUID.class))
+                .projectId(rs.getObject("project_id", UUID.class))
+                .actorId(rs.getObject("actor_id", UUID.class))
+                .action(TaskActivityDto.Action.valueOf(rs.getString("action")))
+                .changes(rs.getString("changes") != null ? fromJson(rs.getString("changes")) : null)
+                .comment(rs.getString("comment"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build());
+    }
+
+    // ===== Partitions =====
+
+    // Créer la partition du mois (fonction de V20, sans effet si elle existe)
+    public String createPartition(LocalDate month) {
+        return jdbcTemplate.queryForObject("SELECT create_task_activity_partition(:month)",
+                new MapSqlParameterSource("month", month), String.class);
+    }
+
+    // Partitions mensuelles existantes (task_activity_AAAA_MM)
+    public List<String> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'task_activity'::regclass AND c.relname ~ '^task_activity_[0-9]{4}_[0-9]{2}$' " +
+                "ORDER BY c.relname",
+                new MapSqlParameterSource(), String.class);
+    }
+
+    public void dropPartition(String partitionName) {
+        if (!partitionName.matches("task_activity_[0-9]{4}_[0-9]{2}")) {
+            throw new IllegalArgumentException("Not a task activity partition: " + partitionName);
+        }
+        jdbcTemplate.getJdbcTemplate().execute("DROP TABLE IF EXISTS " + partitionName);
+    }
+
+    // Lignes tombées dans la partition par défaut : elles empêchent de créer la partition de leur mois
+    public boolean hasDefaultPartitionRows() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM task_activity_default)", new MapSqlParameterSource(), Boolean.class));
+    }
+
+    private String toJson(Map<String, Object> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String changes) {
+        try {
+            return objectMapper.readValue(changes, CHANGES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+// ===========================================
+// TaskExportRepository.java - Lecture en flux des tâches d'un projet (export)
+// ===========================================
+package com.projectsaas.project.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class TaskExportRepository {
+
+    private static final String EXPORT_SQL =
+            "SELECT t.id, t.task_key, t.title, t.description, t.status, t.priority, t.task_type, " +
+            "t.story_points, t.assignee_id, t.reporter_id, t.due_date, t.sprint_id, t.created_at, " +
+            "t.updated_at, t.comment_count " +
+            "FROM tasks t " +
+            "WHERE t.tenant_id = ? AND t.project_id = ? " +
+            "ORDER BY t.created_at DESC, t.id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Curseur côté serveur : PostgreSQL ne lit par paquets de fetchSize lignes
+    // que dans une transaction (autocommit désactivé), sinon tout le résultat est chargé
+    public void streamProjectTasks(UUID tenantId, UUID projectId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, tenantId);
+            statement.setObject(2, projectId);
+            return statement;
+        }, handler);
+    }
+}
@@ -0,0 +1,200 @@
+// ===========================================
+// TaskFilterRepository.java - Filtrage dynamique des tâches (SQL paramétré)
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.dto.TaskFilterRequest;
+import com.projectsaas.project.dto.TaskFilterResultDto;
+import com.projectsaas.project.entity.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Les prédicats reprennent la forme exacte des index (V9, V14, V17) pour que
+// le planificateur puisse les utiliser, y compris les index partiels.
+@Repository
+@RequiredArgsConstructor
+public class TaskFilterRepository {
+
+    private static final String COLUMNS =
+            "t.id, t.project_id, t.title, t.description, t.task_key, t.status, t.priority, t.task_type, " +
+            "t.story_points, t.assignee_id, t.reporter_id, t.due_date, t.sprint_id, t.created_at, " +
+            "t.updated_at, t.comment_count";
+
+    // Lignes de facettes : mêmes colonnes que les tâches, à NULL
+    private static final String NULL_COLUMNS = Collections.nCopies(16, "NULL").stream()
+            .collect(Collectors.joining(", "));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Les tâches en retard sont listées par échéance (index idx_tasks_overdue_keyset),
+    // les autres par date de création
+    public static boolean ordersByDueDate(TaskFilterRequest filter) {
+        return Boolean.TRUE.equals(filter.getOverdue());
+    }
+
+    // Une page de tâches après le curseur (null : première page), et les facettes
+    // statut / priorité du filtre complet dans la même requête si demandé
+    public TaskFilterResultDto filter(UUID tenantId, TaskFilterRequest filter, String tsQuery,
+                                      LocalDateTime afterPosition, UUID afterId,
+                                      int limit, boolean withFacets) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId)
+                .addValue("limit", limit);
+        String where = buildWhere(filter, tsQuery, params);
+
+        boolean byDueDate = ordersByDueDate(filter);
+        String keyset = "";
+        if (afterPosition != null) {
+            keyset = byDueDate
+                    ? " AND (t.due_date, t.id) > (:afterPosition, :afterId)"
+                    : " AND (t.created_at, t.id) < (:afterPosition, :afterId)";
+            params.addValue("afterPosition", Timestamp.valueOf(afterPosition))
+                    .addValue("afterId", afterId);
+        }
+        String order = byDueDate ? "due_date ASC, id ASC" : "created_at DESC, id DESC";
+        String taskOrder = byDueDate ? "t.due_date ASC, t.id ASC" : "t.created_at DESC, t.id DESC";
+
+        String page = "SELECT 0 AS row_kind, CAST(NULL AS VARCHAR) AS facet, CAST(NULL AS VARCHAR) AS facet_value, " +
+                "CAST(NULL AS BIGINT) AS facet_count, " + COLUMNS +
+                " FROM tasks t WHERE " + where + keyset +
+                " ORDER BY " + taskOrder + " LIMIT :limit";
+
+        String sql;
+        if (withFacets) {
+            // GROUPING SETS : les deux facettes en un seul parcours des tâches filtrées
+            String facets = "SELECT 1, CASE WHEN GROUPING(t.status) = 0 THEN 'status' ELSE 'priority' END, " +
+                    "CASE WHEN GROUPING(t.status) = 0 THEN t.status ELSE t.priority END, COUNT(*), " + NULL_COLUMNS +
+                    " FROM tasks t WHERE " + where +
+                    " GROUP BY GROUPING SETS ((t.status), (t.priority))";
+            sql = "SELECT * FROM ((" + page + ") UNION ALL (" + facets + ")) r ORDER BY row_kind, " + order;
+        } else {
+            sql = page;
+        }
+
+        List<TaskDto> tasks = new ArrayList<>();
+        Map<String, Long> statusCounts = withFacets ? new LinkedHashMap<>() : null;
+        Map<String, Long> priorityCounts = withFacets ? new LinkedHashMap<>() : null;
+
+        jdbcTemplate.query(sql, params, rs -> {
+            if (rs.getInt("row_kind") == 0) {
+                tasks.add(toTask(rs));
+                return;
+            }
+            String value = rs.getString("facet_value");
+            if (value == null) {
+                return;
+            }
+            Map<String, Long> counts = "status".equals(rs.getString("facet")) ? statusCounts : priorityCounts;
+            counts.put(value, rs.getLong("facet_count"));
+        });
+
+        return TaskFilterResultDto.builder()
+                .items(tasks)
+                .statusCounts(statusCounts)
+                .priorityCounts(priorityCounts)
+                .build();
+    }
+
+    private String buildWhere(TaskFilterRequest filter, String tsQuery, MapSqlParameterSource params) {
+        // tenant_id en tête de tous les index composites
+        List<String> predicates = new ArrayList<>();
+        predicates.add("t.tenant_id = :tenantId");
+
+        addIn(predicates, params, "t.project_id", "projectIds", filter.getProjectIds());
+        addIn(predicates, params, "t.status", "statuses", names(filter.getStatuses()));
+        addIn(predicates, params, "t.priority", "priorities", names(filter.getPriorities()));
+        addIn(predicates, params, "t.task_type", "taskTypes", names(filter.getTaskTypes()));
+        addIn(predicates, params, "t.assignee_id", "assigneeIds", filter.getAssigneeIds());
+        addIn(predicates, params, "t.reporter_id", "reporterIds", filter.getReporterIds());
+
+        if (filter.getSprintId() != null) {
+            predicates.add("t.sprint_id = :sprintId");
+            params.addValue("sprintId", filter.getSprintId());
+        }
+        if (filter.getDueDateFrom() != null) {
+            predicates.add("t.due_date >= :dueDateFrom");
+            params.addValue("dueDateFrom", Timestamp.valueOf(filter.getDueDateFrom()));
+        }
+        if (filter.getDueDateTo() != null) {
+            predicates.add("t.due_date <= :dueDateTo");
+            params.addValue("dueDateTo", Timestamp.valueOf(filter.getDueDateTo()));
+        }
+
+        if (filter.getOverdue() != null) {
+            params.addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+            // Prédicat de l'index partiel idx_tasks_overdue_keyset, à l'identique
+            predicates.add(filter.getOverdue()
+                    ? "t.due_date IS NOT NULL AND t.due_date < :now AND t.status NOT IN ('DONE')"
+                    : "(t.due_date IS NULL OR t.due_date >= :now OR t.status = 'DONE')");
+        }
+
+        // Index GIN idx_tasks_search (même expression que SearchRepository)
+        if (tsQuery != null) {
+            predicates.add(SearchRepository.TASK_VECTOR + " @@ to_tsquery('simple', :query)");
+            params.addValue("query", tsQuery);
+        }
+
+        return String.join(" AND ", predicates);
+    }
+
+    // Une seule valeur : égalité simple, sinon IN ; liste vide : pas de filtre
+    private void addIn(List<String> predicates, MapSqlParameterSource params,
+                       String column, String name, List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            predicates.add(column + " = :" + name);
+            params.addValue(name, values.get(0));
+        } else {
+            predicates.add(column + " IN (:" + name + ")");
+            params.addValue(name, values.stream().distinct().collect(Collectors.toList()));
+        }
+    }
+
+    private List<String> names(List<? extends Enum<?>> values) {
+        return values == null ? null : values.stream().map(Enum::name).collect(Collectors.toList());
+    }
+
+    private TaskDto toTask(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        String priority = rs.getString("priority");
+        String taskType = rs.getString("task_type");
+        Timestamp dueDate = rs.getTimestamp("due_date");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+
+        return TaskDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .projectId(rs.getObject("project_id", UUID.class))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .taskKey(rs.getString("task_key"))
+                .status(status != null ? Task.TaskStatus.valueOf(status) : null)
+                .priority(priority != null ? Task.Priority.valueOf(priority) : null)
+                .taskType(taskType != null ? Task.TaskType.valueOf(taskType) : null)
+                .storyPoints(rs.getObject("story_points", Integer.class))
+                .assigneeId(rs.getObject("assignee_id", UUID.class))
+                .reporterId(rs.getObject("reporter_id", UUID.class))
+                .dueDate(dueDate != null ? dueDate.toLocalDateTime() : null)
+                .sprintId(rs.getObject("sprint_id", UUID.class))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .commentCount(rs.getInt("comment_count"))
+                .build();
+    }
+}
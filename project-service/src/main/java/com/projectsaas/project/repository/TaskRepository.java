@@ -3,8 +3,8 @@
 // ===========================================
 package com.projectsaas.project.repository;
 
+import com.projectsaas.project.dto.KanbanCardDto;
 import com.projectsaas.project.entity.Task;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -31,11 +31,62 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     // Toutes les tâches d'un projet
     List<Task> findByProjectIdAndTenantIdOrderByCreatedAtDesc(UUID projectId, UUID tenantId);
 
-    // Tâches d'un projet avec pagination
-    Page<Task> findByProjectIdAndTenantId(UUID projectId, UUID tenantId, Pageable pageable);
+    // ===== Pagination par clé : (created_at, id) ou (due_date, id), sans OFFSET ni COUNT =====
+    // La comparaison de tuples devient une borne d'index : coût constant quelle que soit la page
 
-    // Tâches assignées à un utilisateur
-    List<Task> findByTenantIdAndAssigneeIdOrderByCreatedAtDesc(UUID tenantId, UUID assigneeId);
+    // Tâches d'un projet (première page, index idx_tasks_project_created)
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.project.id = :projectId " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findProjectTasks(@Param("tenantId") UUID tenantId,
+                                @Param("projectId") UUID projectId,
+                                Pageable pageable);
+
+    // Tâches d'un projet après le curseur
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.project.id = :projectId " +
+            "AND (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findProjectTasksAfter(@Param("tenantId") UUID tenantId,
+                                     @Param("projectId") UUID projectId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    // Tâches assignées à un utilisateur (première page, index idx_tasks_assignee_created)
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.assigneeId = :assigneeId " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findAssignedTasks(@Param("tenantId") UUID tenantId,
+                                 @Param("assigneeId") UUID assigneeId,
+                                 Pageable pageable);
+
+    // Tâches assignées à un utilisateur après le curseur
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.assigneeId = :assigneeId " +
+            "AND (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findAssignedTasksAfter(@Param("tenantId") UUID tenantId,
+                                      @Param("assigneeId") UUID assigneeId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    // Tâches en retard après le curseur (due_date, id), index partiel idx_tasks_overdue_keyset
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.tenantId = :tenantId " +
+            "AND t.dueDate < :now " +
+            "AND t.status NOT IN ('DONE') " +
+            "AND (t.dueDate, t.id) > (:dueDate, :id) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findOverdueTasksAfter(@Param("tenantId") UUID tenantId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("dueDate") LocalDateTime dueDate,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    // Nombre de tâches assignées à un utilisateur
+    long countByTenantIdAndAssigneeId(UUID tenantId, UUID assigneeId);
 
     // Tâches créées par un utilisateur
     List<Task> findByTenantIdAndReporterIdOrderByCreatedAtDesc(UUID tenantId, UUID reporterId);
@@ -49,22 +100,26 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     // Tâches sans sprint (backlog)
     List<Task> findByProjectIdAndTenantIdAndSprintIsNullOrderByCreatedAtDesc(UUID projectId, UUID tenantId);
 
-    // Tâches en retard
+    // Tâches en retard les plus anciennes (top-N / première page, index partiel idx_tasks_overdue_keyset)
     @Query("SELECT t FROM Task t " +
             "WHERE t.tenantId = :tenantId " +
             "AND t.dueDate < :now " +
             "AND t.status NOT IN ('DONE') " +
-            "ORDER BY t.dueDate ASC")
-    List<Task> findOverdueTasks(@Param("tenantId") UUID tenantId, @Param("now") LocalDateTime now);
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findOverdueTasks(@Param("tenantId") UUID tenantId, @Param("now") LocalDateTime now, Pageable pageable);
 
-    // Recherche de tâches
-    @Query("SELECT t FROM Task t " +
+    // Nombre de tâches en retard
+    @Query("SELECT COUNT(t) FROM Task t " +
             "WHERE t.tenantId = :tenantId " +
-            "AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')) " +
-            "OR LOWER(t.taskKey) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-            "ORDER BY t.createdAt DESC")
-    List<Task> searchTasks(@Param("tenantId") UUID tenantId, @Param("search") String search);
+            "AND t.dueDate < :now " +
+            "AND t.status NOT IN ('DONE')")
+    long countOverdueTasks(@Param("tenantId") UUID tenantId, @Param("now") LocalDateTime now);
+
+    // Tâches ouvertes assignées à un utilisateur
+    long countByTenantIdAndAssigneeIdAndStatusNot(UUID tenantId, UUID assigneeId, Task.TaskStatus status);
+
+    // Tâches passées dans un statut depuis une date (index partiel idx_tasks_done_recent pour DONE)
+    long countByTenantIdAndStatusAndUpdatedAtGreaterThanEqual(UUID tenantId, Task.TaskStatus status, LocalDateTime since);
 
     // Statistiques par statut
     @Query("SELECT t.status, COUNT(t) FROM Task t " +
@@ -72,14 +127,42 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             "GROUP BY t.status")
     List<Object[]> countTasksByStatus(@Param("tenantId") UUID tenantId, @Param("projectId") UUID projectId);
 
+    // Cartes Kanban d'une colonne (première page)
+    @Query("SELECT new com.projectsaas.project.dto.KanbanCardDto(" +
+            "t.id, t.taskKey, t.title, t.status, t.priority, t.taskType, t.storyPoints, " +
+            "t.assigneeId, t.dueDate, t.sprint.id, t.createdAt) " +
+            "FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.project.id = :projectId AND t.status = :status " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<KanbanCardDto> findKanbanCards(@Param("tenantId") UUID tenantId,
+                                        @Param("projectId") UUID projectId,
+                                        @Param("status") Task.TaskStatus status,
+                                        Pageable pageable);
+
+    // Cartes Kanban d'une colonne après le curseur (createdAt, id)
+    @Query("SELECT new com.projectsaas.project.dto.KanbanCardDto(" +
+            "t.id, t.taskKey, t.title, t.status, t.priority, t.taskType, t.storyPoints, " +
+            "t.assigneeId, t.dueDate, t.sprint.id, t.createdAt) " +
+            "FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.project.id = :projectId AND t.status = :status " +
+            "AND (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<KanbanCardDto> findKanbanCardsAfter(@Param("tenantId") UUID tenantId,
+                                             @Param("projectId") UUID projectId,
+                                             @Param("status") Task.TaskStatus status,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+    // Cartes d'un sprint (index idx_tasks_sprint_status)
+    @Query("SELECT new com.projectsaas.project.dto.KanbanCardDto(" +
+            "t.id, t.taskKey, t.title, t.status, t.priority, t.taskType, t.storyPoints, " +
+            "t.assigneeId, t.dueDate, t.sprint.id, t.createdAt) " +
+            "FROM Task t " +
+            "WHERE t.tenantId = :tenantId AND t.sprint.id = :sprintId " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<KanbanCardDto> findSprintCards(@Param("tenantId") UUID tenantId, @Param("sprintId") UUID sprintId);
+
     // Tâches récemment mises à jour
     List<Task> findTop10ByTenantIdOrderByUpdatedAtDesc(UUID tenantId);
-
-    // Prochain numéro de tâche pour un projet
-    @Query("SELECT COALESCE(MAX(CAST(SUBSTRING(t.taskKey, LENGTH(:projectKey) + 2) AS integer)), 0) + 1 " +
-            "FROM Task t " +
-            "WHERE t.tenantId = :tenantId " +
-            "AND t.project.key = :projectKey " +
-            "AND t.taskKey LIKE CONCAT(:projectKey, '-%')")
-    Integer getNextTaskNumber(@Param("tenantId") UUID tenantId, @Param("projectKey") String projectKey);
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+// ===========================================
+// TaskStatusCounterRepository.java
+// ===========================================
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.entity.TaskStatusCounter;
+import com.projectsaas.project.entity.TaskStatusCounterId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskStatusCounterRepository extends JpaRepository<TaskStatusCounter, TaskStatusCounterId> {
+
+    // Nombre de tâches par statut dans un projet
+    @Query("SELECT c.status, c.taskCount FROM TaskStatusCounter c " +
+            "WHERE c.tenantId = :tenantId AND c.projectId = :projectId AND c.taskCount > 0")
+    List<Object[]> countByStatus(@Param("tenantId") UUID tenantId, @Param("projectId") UUID projectId);
+
+    // Nombre de tâches par statut dans le tenant
+    @Query("SELECT c.status, SUM(c.taskCount) FROM TaskStatusCounter c " +
+            "WHERE c.tenantId = :tenantId " +
+            "GROUP BY c.status")
+    List<Object[]> countByStatusForTenant(@Param("tenantId") UUID tenantId);
+
+    // Nombre de tâches d'un statut dans un projet
+    @Query("SELECT COALESCE(SUM(c.taskCount), 0) FROM TaskStatusCounter c " +
+            "WHERE c.tenantId = :tenantId AND c.projectId = :projectId AND c.status = :status")
+    Long countTasks(@Param("tenantId") UUID tenantId,
+                    @Param("projectId") UUID projectId,
+                    @Param("status") Task.TaskStatus status);
+
+    // Nombre total de tâches d'un projet
+    @Query("SELECT COALESCE(SUM(c.taskCount), 0) FROM TaskStatusCounter c " +
+            "WHERE c.tenantId = :tenantId AND c.projectId = :projectId")
+    Long countProjectTasks(@Param("tenantId") UUID tenantId, @Param("projectId") UUID projectId);
+
+    // Nombre total de tâches du tenant
+    @Query("SELECT COALESCE(SUM(c.taskCount), 0) FROM TaskStatusCounter c WHERE c.tenantId = :tenantId")
+    Long countTasksForTenant(@Param("tenantId") UUID tenantId);
+
+    // ===== Réconciliation (écrivains bloqués par verrou pendant le recalcul) =====
+    // Tables déclarées sur les requêtes natives : sans elles, Hibernate vide tout le cache de second niveau
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_status_counters"))
+    @Query(value = "LOCK TABLE task_status_counters IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockStatusCounters();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_comments"))
+    @Query(value = "LOCK TABLE task_comments IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockTaskComments();
+
+    // Recaler les compteurs existants ou manquants, retourne le nombre de lignes corrigées
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_status_counters"))
+    @Query(value = "INSERT INTO task_status_counters (tenant_id, project_id, status, task_count) " +
+            "SELECT tenant_id, project_id, status, COUNT(*) FROM tasks " +
+            "WHERE status IS NOT NULL " +
+            "GROUP BY tenant_id, project_id, status " +
+            "ON CONFLICT (tenant_id, project_id, status) DO UPDATE " +
+            "SET task_count = EXCLUDED.task_count " +
+            "WHERE task_status_counters.task_count <> EXCLUDED.task_count",
+            nativeQuery = true)
+    int reconcileStatusCounters();
+
+    // Remettre à zéro les compteurs sans tâche correspondante
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_status_counters"))
+    @Query(value = "UPDATE task_status_counters c SET task_count = 0 " +
+            "WHERE c.task_count <> 0 AND NOT EXISTS (" +
+            "SELECT 1 FROM tasks t WHERE t.tenant_id = c.tenant_id " +
+            "AND t.project_id = c.project_id AND t.status = c.status)",
+            nativeQuery = true)
+    int resetOrphanStatusCounters();
+
+    // Recaler tasks.comment_count
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "UPDATE tasks t SET comment_count = COALESCE(c.total, 0) " +
+            "FROM tasks x LEFT JOIN (SELECT task_id, COUNT(*) AS total FROM task_comments GROUP BY task_id) c " +
+            "ON c.task_id = x.id " +
+            "WHERE x.id = t.id AND t.comment_count <> COALESCE(c.total, 0)",
+            nativeQuery = true)
+    int reconcileCommentCounts();
+}
@@ -0,0 +1,57 @@
+package com.projectsaas.project.scheduler;
+
+import com.projectsaas.project.repository.SprintBurndownSnapshotRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Répare la dérive des compteurs maintenus par triggers (V13, V19) :
+// base restaurée, triggers absents (ddl-auto sans Flyway), écritures SQL manuelles...
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CounterReconciliationScheduler {
+
+    private final TaskStatusCounterRepository counterRepository;
+    private final SprintBurndownSnapshotRepository snapshotRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 30 3 * * *}") // Every day at 3:30 AM
+    public void reconcileCounters() {
+        log.info("Starting counters reconciliation");
+
+        // Une transaction et un verrou par table : pas de cycle de verrous avec les écrivains
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try {
+            Integer statusRows = transaction.execute(status -> {
+                counterRepository.lockStatusCounters();
+                return counterRepository.reconcileStatusCounters() + counterRepository.resetOrphanStatusCounters();
+            });
+
+            Integer commentRows = transaction.execute(status -> {
+                counterRepository.lockTaskComments();
+                return counterRepository.reconcileCommentCounts();
+            });
+
+            // Sprints actifs : ligne du jour recalée (et créée sans trigger)
+            Integer burndownRows = transaction.execute(status -> {
+                snapshotRepository.lockSnapshots();
+                return snapshotRepository.reconcileActiveSprints();
+            });
+
+            if (statusRows > 0 || commentRows > 0 || burndownRows > 0) {
+                log.warn("Counters drift repaired: {} status counters, {} task comment counts, {} sprint snapshots",
+                        statusRows, commentRows, burndownRows);
+            } else {
+                log.info("Counters reconciliation completed: no drift");
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile counters", e);
+        }
+    }
+}
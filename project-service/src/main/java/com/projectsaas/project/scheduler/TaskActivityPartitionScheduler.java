@@ -0,0 +1,53 @@
+package com.projectsaas.project.scheduler;
+
+import com.projectsaas.project.config.TaskActivityProperties;
+import com.projectsaas.project.repository.TaskActivityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+// Partitions mensuelles de task_activity (V20) : créées à l'avance, purgées au-delà de la rétention.
+// Aussi au démarrage : une instance arrêtée plusieurs mois ne doit pas écrire dans la partition par défaut.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskActivityPartitionScheduler {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'task_activity_'yyyy_MM");
+
+    private final TaskActivityRepository activityRepository;
+    private final TaskActivityProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.task-activity.partition-cron:0 0 4 * * *}") // Every day at 4:00 AM
+    public void maintainPartitions() {
+        try {
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= properties.getPartitionsAhead(); i++) {
+                activityRepository.createPartition(current.plusMonths(i).atDay(1));
+            }
+
+            if (properties.getRetentionMonths() > 0) {
+                YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+                for (String partition : activityRepository.findMonthlyPartitions()) {
+                    if (YearMonth.parse(partition, PARTITION_MONTH).isBefore(oldestKept)) {
+                        activityRepository.dropPartition(partition);
+                        log.info("Task activity partition dropped: {}", partition);
+                    }
+                }
+            }
+
+            if (activityRepository.hasDefaultPartitionRows()) {
+                log.warn("Rows found in task_activity_default: move them before creating the partitions of their months");
+            }
+        } catch (Exception e) {
+            log.error("Failed to maintain task activity partitions", e);
+        }
+    }
+}
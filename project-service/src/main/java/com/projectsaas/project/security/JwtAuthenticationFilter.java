@@ -3,7 +3,6 @@
 // ===========================================
 package com.projectsaas.project.security;
 
-import com.projectsaas.project.service.AuthIntegrationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -30,7 +30,7 @@ import java.util.UUID;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final AuthIntegrationService authService;
+    private final JwtTokenVerifier tokenVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -42,9 +42,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (bearer != null && bearer.startsWith("Bearer ")) {
                 String token = bearer.substring(7);
 
-                if (authService.validateToken(token)) {
+                // Vérification locale (signature + cache), sans appel à auth-service
+                Optional<VerifiedToken> verified = tokenVerifier.verify(token);
+                if (verified.isPresent()) {
                     UsernamePasswordAuthenticationToken auth =
-                            buildAuthentication(token, req);
+                            buildAuthentication(token, verified.get(), req);
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             }
@@ -55,13 +57,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private UsernamePasswordAuthenticationToken buildAuthentication(String token,
+                                                                    VerifiedToken verified,
                                                                     HttpServletRequest req) {
-        String username  = authService.extractUsername(token);
-        UUID tenantId    = authService.extractTenantId(token);
+        String username  = verified.getUsername();
+        UUID tenantId    = verified.getTenantId();
 
         TenantContext.setTenantId(tenantId);
         req.setAttribute("tenantId", tenantId);
         req.setAttribute("username", username);
+        req.setAttribute("userId", verified.getUserId());
         req.setAttribute("token", token);
 
         return new UsernamePasswordAuthenticationToken(
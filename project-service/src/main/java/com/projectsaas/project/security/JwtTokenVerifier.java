@@ -0,0 +1,192 @@
+// ===========================================
+// JwtTokenVerifier.java - Vérification locale HS256 + cache des tokens validés
+// ===========================================
+package com.projectsaas.project.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.projectsaas.project.config.JwtProperties;
+import com.projectsaas.project.service.AuthIntegrationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtTokenVerifier {
+
+    private final JwtProperties jwtProperties;
+    private final AuthIntegrationService authService;
+    private final MeterRegistry meterRegistry;
+
+    private List<JwtParser> parsers;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Timer verificationTimer;
+
+    @PostConstruct
+    public void init() {
+        // Un parser par clé : la clé courante d'abord, puis les clés en rotation
+        this.parsers = jwtProperties.getSigningSecrets().stream()
+                .map(secret -> Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .map(key -> Jwts.parser().verifyWith(key).build())
+                .toList();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCache().getMaxSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-verified-tokens");
+        this.verificationTimer = Timer.builder("project.jwt.verification")
+                .description("Temps de vérification d'un JWT dans le filtre")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        if (parsers.isEmpty() && !jwtProperties.isRemoteFallback()) {
+            log.warn("No JWT signing key configured and remote fallback disabled: every token will be rejected");
+        }
+        log.info("JwtTokenVerifier initialized with {} signing key(s), remote fallback: {}",
+                parsers.size(), jwtProperties.isRemoteFallback());
+    }
+
+    // Vérifier un token : cache -> signature locale -> auth-service (optionnel)
+    public Optional<VerifiedToken> verify(String token) {
+        return verificationTimer.record(() -> doVerify(token));
+    }
+
+    private Optional<VerifiedToken> doVerify(String token) {
+        String cacheKey = hash(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        VerifiedToken verified = verifyLocally(token);
+        if (verified == null && jwtProperties.isRemoteFallback()) {
+            verified = verifyRemotely(token);
+        }
+
+        if (verified == null || !verified.getExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+
+        verifiedTokens.put(cacheKey, verified);
+        return Optional.of(verified);
+    }
+
+    // Invalider un token (ex: logout propagé)
+    public void invalidate(String token) {
+        verifiedTokens.invalidate(hash(token));
+    }
+
+    private VerifiedToken verifyLocally(String token) {
+        for (JwtParser parser : parsers) {
+            try {
+                Claims claims = parser.parseSignedClaims(token).getPayload();
+                return toVerifiedToken(claims);
+            } catch (SignatureException e) {
+                // Signé avec une autre clé : essayer la suivante
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Local JWT verification failed: {}", e.getMessage());
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private VerifiedToken verifyRemotely(String token) {
+        if (!authService.validateToken(token)) {
+            return null;
+        }
+
+        String username = authService.extractUsername(token);
+        return VerifiedToken.builder()
+                .subject(username)
+                .username(username)
+                .tenantId(authService.extractTenantId(token))
+                .expiresAt(Instant.now().plus(jwtProperties.getCache().getRemoteTtl()))
+                .build();
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        if (Boolean.TRUE.equals(claims.get("isRefreshToken", Boolean.class))) {
+            log.debug("Refresh token rejected for API access");
+            return null;
+        }
+        if (claims.get(ServiceTokenIssuer.SERVICE_CLAIM) != null) {
+            log.debug("Service token rejected for API access");
+            return null;
+        }
+
+        String tenantId = claims.get("tenantId", String.class);
+        String subject = claims.getSubject();
+        if (tenantId == null || subject == null || claims.getExpiration() == null) {
+            log.debug("JWT missing required claims (sub, tenantId, exp)");
+            return null;
+        }
+
+        String userId = claims.get("userId", String.class);
+        return VerifiedToken.builder()
+                .subject(subject)
+                .username(subject.split("@")[0])
+                .tenantId(UUID.fromString(tenantId))
+                .userId(userId != null ? UUID.fromString(userId) : null)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
+    }
+
+    // Clé de cache : SHA-256 du token (on ne garde pas le token en clair)
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Chaque entrée expire exactement au "exp" du token
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
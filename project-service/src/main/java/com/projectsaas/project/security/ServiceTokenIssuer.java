@@ -0,0 +1,50 @@
+// ===========================================
+// ServiceTokenIssuer.java - Tokens de service pour les appels vers auth-service
+// ===========================================
+package com.projectsaas.project.security;
+
+import com.projectsaas.project.config.JwtProperties;
+import com.projectsaas.project.config.UserDirectoryProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Token court signé avec la clé HS256 partagée : auth-service le reconnaît au claim
+// "service" (ROLE_SERVICE), sans utilisateur derrière. Jamais accepté par ce service.
+@Component
+@RequiredArgsConstructor
+public class ServiceTokenIssuer {
+
+    public static final String SERVICE_CLAIM = "service";
+    static final String SERVICE_NAME = "project-service";
+
+    private final JwtProperties jwtProperties;
+    private final UserDirectoryProperties directoryProperties;
+
+    // Vide si aucune clé n'est configurée (développement)
+    public Optional<String> issue(UUID tenantId) {
+        List<String> secrets = jwtProperties.getSigningSecrets();
+        if (secrets.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        return Optional.of(Jwts.builder()
+                .subject(SERVICE_NAME)
+                .claim(SERVICE_CLAIM, SERVICE_NAME)
+                .claim("tenantId", tenantId.toString())
+                .claim("isRefreshToken", false)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(directoryProperties.getServiceTokenTtl())))
+                .signWith(Keys.hmacShaKeyFor(secrets.get(0).getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact());
+    }
+}
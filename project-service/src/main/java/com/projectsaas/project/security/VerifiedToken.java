@@ -0,0 +1,25 @@
+// ===========================================
+// VerifiedToken.java - Claims d'un JWT déjà vérifié
+// ===========================================
+package com.projectsaas.project.security;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VerifiedToken {
+
+    private String subject;   // Email complet (claim "sub")
+    private String username;  // Partie avant @, comme AuthIntegrationService.extractUsername
+    private UUID tenantId;
+    private UUID userId;      // Peut être null pour les anciens tokens
+    private Instant expiresAt;
+}
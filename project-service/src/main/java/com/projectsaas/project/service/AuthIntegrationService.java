@@ -14,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -134,24 +133,7 @@ public class AuthIntegrationService {
                 );
             }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(token);
-            headers.set("X-Tenant-ID", tenantId);
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<ApiResponse<List<UserDto>>> response = restTemplate.exchange(
-                    authServiceUrl + "/api/users",
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<ApiResponse<List<UserDto>>>() {}
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return response.getBody().getData();
-            }
-
-            return Collections.emptyList();
+            return fetchTeamMembers(token, tenantId);
 
         } catch (HttpClientErrorException e) {
             log.error("Failed to get team members: {}", e.getMessage());
@@ -180,6 +162,28 @@ public class AuthIntegrationService {
         }
     }
 
+    // Membres d'un tenant, sans fallback : toute erreur est levée (résultat mis en cache)
+    public List<UserDto> fetchTeamMembers(String token, String tenantId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.set("X-Tenant-ID", tenantId);
+
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+
+        ResponseEntity<ApiResponse<List<UserDto>>> response = restTemplate.exchange(
+                authServiceUrl + "/api/users",
+                HttpMethod.GET,
+                entity,
+                new ParameterizedTypeReference<ApiResponse<List<UserDto>>>() {}
+        );
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+                || response.getBody().getData() == null) {
+            throw new IllegalStateException("Unexpected team members response: " + response.getStatusCode());
+        }
+        return response.getBody().getData();
+    }
+
     // Extraire tenant ID depuis JWT token - AVEC FALLBACK
     public UUID extractTenantId(String token) {
         try {
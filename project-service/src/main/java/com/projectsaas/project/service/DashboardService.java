@@ -1,22 +1,44 @@
 package com.projectsaas.project.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectsaas.project.config.DashboardProperties;
+import com.projectsaas.project.config.VirtualThreadExecutors;
 import com.projectsaas.project.dto.DashboardDto;
 import com.projectsaas.project.dto.ProjectDto;
 import com.projectsaas.project.dto.ProjectStatsDto;
 import com.projectsaas.project.dto.TaskDto;
 import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
 import com.projectsaas.project.entity.Task;
 import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintRepository;
 import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
 import com.projectsaas.project.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,40 +48,111 @@ public class DashboardService {
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
-    private final ProjectService projectService;
-    private final TaskService taskService;
+    private final SprintRepository sprintRepository;
+    private final TaskStatusCounterRepository counterRepository;
+    private final UserService userService;
+    private final DashboardProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TaskDtoAssembler taskDtoAssembler;
+    private final VirtualThreadExecutors virtualThreads;
+
+    private Executor sectionExecutor;
+
+    // Sections communes à tout le tenant, recalculées au plus une fois par TTL
+    private Cache<UUID, TenantSections> tenantSections;
+
+    @PostConstruct
+    public void init() {
+        this.sectionExecutor = virtualThreads.isEnabled()
+                ? virtualThreads.bounded("dashboard-section-", properties.getThreads())
+                : sectionThreadPool();
+
+        this.tenantSections = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTenants())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tenantSections, "dashboard-sections");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        VirtualThreadExecutors.shutdown(sectionExecutor);
+    }
+
+    // Threads partagés par toutes les requêtes dashboard (mode par défaut)
+    private ExecutorService sectionThreadPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-section-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // File pleine : la section s'exécute dans le thread de la requête
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
     // Obtenir les données du tableau de bord
     public DashboardDto getDashboardData(String token) {
         UUID tenantId = TenantContext.getTenantId();
 
+        // Seule section propre à l'utilisateur : lancée pendant le chargement des autres
+        UUID userId = currentUserId(token);
+        CompletableFuture<Integer> myOpenTasks = userId == null
+                ? CompletableFuture.completedFuture(0)
+                : supply(() -> (int) taskRepository.countByTenantIdAndAssigneeIdAndStatusNot(
+                        tenantId, userId, Task.TaskStatus.DONE));
+
+        TenantSections sections = tenantSections.get(tenantId, this::loadTenantSections);
+
+        DashboardDto.DashboardStats stats = sections.stats.toBuilder()
+                .myOpenTasks(join(myOpenTasks))
+                .build();
+
+        return DashboardDto.builder()
+                .recentProjects(sections.recentProjects)
+                .overdueTasks(sections.overdueTasks)
+                .recentlyUpdatedTasks(sections.recentlyUpdatedTasks)
+                .stats(stats)
+                .build();
+    }
+
+    // Charger les sections du tenant en parallèle (TenantContext n'est pas propagé : tenantId explicite)
+    private TenantSections loadTenantSections(UUID tenantId) {
+        LocalDateTime now = LocalDateTime.now();
+
         // Projets récents
-        List<ProjectDto> recentProjects = projectRepository
-                .findByTenantIdOrderByCreatedAtDesc(tenantId)
+        CompletableFuture<List<ProjectDto>> recentProjects = supply(() -> projectRepository
+                .findTop5ByTenantIdOrderByCreatedAtDesc(tenantId)
                 .stream()
-                .limit(5)
-                .map(project -> convertProjectToDto(project, token))
-                .collect(Collectors.toList());
+                .map(this::convertProjectToDto)
+                .toList());
 
-        // Tâches en retard
-        List<TaskDto> overdueTasks = taskService.getOverdueTasks(token);
+        // Tâches en retard : top-N seulement, le total vient du COUNT des statistiques
+        CompletableFuture<List<TaskDto>> overdueTasks = supply(() -> taskRepository
+                .findOverdueTasks(tenantId, now, PageRequest.of(0, properties.getOverdueLimit()))
+                .stream()
+                .map(taskDtoAssembler::toDto)
+                .toList());
 
         // Tâches récemment mises à jour
-        List<TaskDto> recentlyUpdatedTasks = taskRepository
+        CompletableFuture<List<TaskDto>> recentlyUpdatedTasks = supply(() -> taskRepository
                 .findTop10ByTenantIdOrderByUpdatedAtDesc(tenantId)
                 .stream()
-                .map(task -> convertTaskToDto(task, token))
-                .collect(Collectors.toList());
+                .map(taskDtoAssembler::toDto)
+                .toList());
 
         // Statistiques
-        DashboardDto.DashboardStats stats = calculateDashboardStats(tenantId);
+        CompletableFuture<DashboardDto.DashboardStats> stats = supply(() -> calculateDashboardStats(tenantId, now));
 
-        return DashboardDto.builder()
-                .recentProjects(recentProjects)
-                .overdueTasks(overdueTasks)
-                .recentlyUpdatedTasks(recentlyUpdatedTasks)
-                .stats(stats)
-                .build();
+        return new TenantSections(join(recentProjects), join(overdueTasks), join(recentlyUpdatedTasks), join(stats));
     }
 
     // Obtenir les statistiques d'un projet
@@ -70,11 +163,11 @@ public class DashboardService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
         // Statistiques des tâches par statut
-        List<Object[]> statusStats = taskRepository.countTasksByStatus(tenantId, projectId);
+        List<Object[]> statusStats = counterRepository.countByStatus(tenantId, projectId);
         Map<String, Integer> tasksByStatus = statusStats.stream()
                 .collect(Collectors.toMap(
                         row -> ((Task.TaskStatus) row[0]).name(),
-                        row -> ((Long) row[1]).intValue()
+                        row -> ((Number) row[1]).intValue()
                 ));
 
         // Calculer les totaux
@@ -99,24 +192,55 @@ public class DashboardService {
                 .build();
     }
 
-    // Calculer les statistiques du dashboard
-    private DashboardDto.DashboardStats calculateDashboardStats(UUID tenantId) {
-        int totalProjects = (int) projectRepository.count();
-        int totalTasks = (int) taskRepository.count();
-        int overdueTasksCount = taskRepository.findOverdueTasks(tenantId, LocalDateTime.now()).size();
+    // Calculer les statistiques du dashboard (hors myOpenTasks, propre à l'utilisateur)
+    private DashboardDto.DashboardStats calculateDashboardStats(UUID tenantId, LocalDateTime now) {
+        int totalProjects = (int) projectRepository.countByTenantId(tenantId);
+        int totalTasks = counterRepository.countTasksForTenant(tenantId).intValue();
+        int overdueTasksCount = (int) taskRepository.countOverdueTasks(tenantId, now);
+        int activeSprints = (int) sprintRepository.countByTenantIdAndStatus(tenantId, Sprint.SprintStatus.ACTIVE);
+
+        // Pas de date de complétion : une tâche DONE modifiée depuis lundi compte pour la semaine
+        LocalDateTime startOfWeek = now.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay();
+        int completedTasksThisWeek = (int) taskRepository.countByTenantIdAndStatusAndUpdatedAtGreaterThanEqual(
+                tenantId, Task.TaskStatus.DONE, startOfWeek);
 
         return DashboardDto.DashboardStats.builder()
                 .totalProjects(totalProjects)
                 .totalTasks(totalTasks)
                 .overdueTasksCount(overdueTasksCount)
-                .myOpenTasks(0) // TODO: implémenter
-                .activeSprints(0) // TODO: implémenter
-                .completedTasksThisWeek(0) // TODO: implémenter
+                .myOpenTasks(0)
+                .activeSprints(activeSprints)
+                .completedTasksThisWeek(completedTasksThisWeek)
                 .build();
     }
 
+    private UUID currentUserId(String token) {
+        try {
+            return userService.getCurrentUserId(token);
+        } catch (RuntimeException e) {
+            log.warn("Current user not resolved for dashboard: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, sectionExecutor);
+    }
+
+    // Attendre une section et remonter son exception d'origine
+    private <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     // Méthodes de conversion
-    private ProjectDto convertProjectToDto(Project project, String token) {
+    private ProjectDto convertProjectToDto(Project project) {
         return ProjectDto.builder()
                 .id(project.getId())
                 .name(project.getName())
@@ -128,16 +252,19 @@ public class DashboardService {
                 .build();
     }
 
-    private TaskDto convertTaskToDto(Task task, String token) {
-        return TaskDto.builder()
-                .id(task.getId())
-                .title(task.getTitle())
-                .taskKey(task.getTaskKey())
-                .status(task.getStatus())
-                .priority(task.getPriority())
-                .assigneeId(task.getAssigneeId())
-                .dueDate(task.getDueDate())
-                .updatedAt(task.getUpdatedAt())
-                .build();
+    // Sections partagées par les utilisateurs du tenant (listes immuables)
+    private static class TenantSections {
+        private final List<ProjectDto> recentProjects;
+        private final List<TaskDto> overdueTasks;
+        private final List<TaskDto> recentlyUpdatedTasks;
+        private final DashboardDto.DashboardStats stats;
+
+        TenantSections(List<ProjectDto> recentProjects, List<TaskDto> overdueTasks,
+                       List<TaskDto> recentlyUpdatedTasks, DashboardDto.DashboardStats stats) {
+            this.recentProjects = recentProjects;
+            this.overdueTasks = overdueTasks;
+            this.recentlyUpdatedTasks = recentlyUpdatedTasks;
+            this.stats = stats;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,346 @@
+// ===========================================
+// KanbanBoardCache.java - Snapshots des tableaux Kanban par (tenant, projet)
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.projectsaas.project.dto.KanbanBoardDto;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.entity.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Les modifications de tâches sont appliquées au snapshot après le commit,
+// sans relire la base. Chaque modification produit une nouvelle version (ETag).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KanbanBoardCache {
+
+    // Ordre d'affichage des cartes dans une colonne
+    private static final Comparator<KanbanCardDto> CARD_ORDER = Comparator
+            .comparing(KanbanCardDto::getCreatedAt)
+            .thenComparing(KanbanCardDto::getId)
+            .reversed();
+
+    private final MeterRegistry meterRegistry;
+    private final TaskDtoAssembler taskDtoAssembler;
+
+    @Value("${app.kanban.cache.max-boards:500}")
+    private long maxBoards;
+
+    // Les patchs ne voient que les commits de cette instance : au-delà de cet âge,
+    // le snapshot est relu pour reprendre les modifications faites ailleurs
+    @Value("${app.kanban.cache.max-age:45s}")
+    private Duration maxAge;
+
+    @Value("${app.kanban.column-page-size:50}")
+    private int columnPageSize;
+
+    // Horloge logique partagée par les chargements et les commits
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Préfixe des versions : deux instances ou deux démarrages ne produisent pas le même ETag
+    private final String instanceId = Long.toHexString(System.currentTimeMillis());
+
+    // Dernière invalidation globale par tenant (mise à jour en masse)
+    private final Map<UUID, Long> tenantInvalidations = new ConcurrentHashMap<>();
+
+    private Cache<BoardKey, BoardSnapshot> boards;
+
+    @PostConstruct
+    public void init() {
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .expireAfter(new LoadAgeExpiry(maxAge.toNanos()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "kanban-boards");
+    }
+
+    // Tableau en cache, ou construit par le loader puis mis en cache
+    public KanbanBoardDto get(UUID tenantId, UUID projectId, Supplier<KanbanBoardDto> loader) {
+        BoardKey key = new BoardKey(tenantId, projectId);
+
+        BoardSnapshot snapshot = boards.get(key, k -> load(loader));
+        if (snapshot.isOlderThan(tenantInvalidations.get(tenantId))) {
+            boards.asMap().remove(key, snapshot);
+            snapshot = boards.get(key, k -> load(loader));
+        }
+        return snapshot.toDto();
+    }
+
+    // Tâche créée (oldStatus null) ou modifiée : patcher la carte après le commit
+    public void taskSaved(Task task, Task.TaskStatus oldStatus) {
+        BoardKey key = new BoardKey(task.getTenantId(), TaskDtoAssembler.projectId(task));
+        KanbanCardDto card = taskDtoAssembler.toCard(task);
+        afterCommit((before, after) -> patch(key, before, after, board -> board.upsert(card, oldStatus)));
+    }
+
+    // Tâche supprimée : retirer la carte après le commit
+    public void taskDeleted(Task task) {
+        BoardKey key = new BoardKey(task.getTenantId(), TaskDtoAssembler.projectId(task));
+        UUID taskId = task.getId();
+        Task.TaskStatus status = task.getStatus();
+        afterCommit((before, after) -> patch(key, before, after, board -> board.remove(taskId, status)));
+    }
+
+    // Projet modifié ou supprimé
+    public void invalidateProject(UUID tenantId, UUID projectId) {
+        BoardKey key = new BoardKey(tenantId, projectId);
+        afterCommit((before, after) -> boards.asMap().computeIfPresent(key, (k, snapshot) -> null));
+    }
+
+    // Modifications hors des services de tâches (ex: mise à jour en masse)
+    public void invalidateTenant(UUID tenantId) {
+        afterCommit((before, after) -> {
+            tenantInvalidations.merge(tenantId, after, Math::max);
+            boards.asMap().keySet().removeIf(key -> key.tenantId.equals(tenantId));
+        });
+    }
+
+    private BoardSnapshot load(Supplier<KanbanBoardDto> loader) {
+        long loadStart = sequence.incrementAndGet();
+        KanbanBoardDto board = loader.get();
+        long loadEnd = sequence.incrementAndGet();
+        return new BoardSnapshot(nextVersion(loadEnd), loadStart, loadEnd, board);
+    }
+
+    // Le commit a eu lieu entre beforeCommit et afterCommit
+    private void patch(BoardKey key, long beforeCommit, long afterCommit, BoardPatch change) {
+        boards.asMap().computeIfPresent(key, (k, snapshot) -> {
+            // Commit antérieur à la lecture : déjà visible dans le snapshot
+            if (afterCommit < snapshot.loadStart) {
+                return snapshot;
+            }
+            // Commit pendant la lecture : impossible de savoir s'il a été vu
+            if (beforeCommit < snapshot.loadEnd) {
+                log.debug("Kanban board {} dropped: commit during load", k.projectId);
+                return null;
+            }
+
+            MutableBoard board = new MutableBoard(snapshot.board, columnPageSize);
+            if (!change.apply(board)) {
+                return null;
+            }
+            return new BoardSnapshot(nextVersion(afterCommit), snapshot.loadStart, snapshot.loadEnd, board.toDto());
+        });
+    }
+
+    // Exécuter l'action après le commit, en bornant l'instant du commit.
+    // Hors transaction la modification est déjà validée : borne basse inconnue.
+    private void afterCommit(CommitAction action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run(0, sequence.incrementAndGet());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long beforeCommit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommit = sequence.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run(beforeCommit, sequence.incrementAndGet());
+            }
+        });
+    }
+
+    private String nextVersion(long seq) {
+        return instanceId + "-" + seq;
+    }
+
+    private interface CommitAction {
+        void run(long beforeCommit, long afterCommit);
+    }
+
+    private interface BoardPatch {
+        // false : le snapshot ne peut plus être patché, il sera reconstruit
+        boolean apply(MutableBoard board);
+    }
+
+    // Âge compté depuis le chargement : un patch remplace l'entrée sans la prolonger
+    @RequiredArgsConstructor
+    private static class LoadAgeExpiry implements Expiry<BoardKey, BoardSnapshot> {
+        private final long maxAgeNanos;
+
+        @Override
+        public long expireAfterCreate(BoardKey key, BoardSnapshot snapshot, long currentTime) {
+            return maxAgeNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(BoardKey key, BoardSnapshot snapshot, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(BoardKey key, BoardSnapshot snapshot, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class BoardKey {
+        private final UUID tenantId;
+        private final UUID projectId;
+    }
+
+    // Snapshot immuable : un patch produit toujours une nouvelle instance
+    private static class BoardSnapshot {
+        private final String version;
+        private final long loadStart;
+        private final long loadEnd;
+        private final KanbanBoardDto board;
+
+        BoardSnapshot(String version, long loadStart, long loadEnd, KanbanBoardDto board) {
+            this.version = version;
+            this.loadStart = loadStart;
+            this.loadEnd = loadEnd;
+            this.board = board;
+        }
+
+        boolean isOlderThan(Long invalidationSeq) {
+            return invalidationSeq != null && loadStart < invalidationSeq;
+        }
+
+        // Copie remise à l'appelant : le snapshot en cache n'est jamais exposé
+        KanbanBoardDto toDto() {
+            KanbanBoardDto copy = MutableBoard.copy(board);
+            copy.setVersion(version);
+            return copy;
+        }
+    }
+
+    // Copie de travail d'un tableau pendant un patch
+    private static class MutableBoard {
+        private final KanbanBoardDto board;
+        private final int pageSize;
+
+        MutableBoard(KanbanBoardDto source, int pageSize) {
+            this.board = copy(source);
+            this.pageSize = pageSize;
+        }
+
+        static KanbanBoardDto copy(KanbanBoardDto source) {
+            List<KanbanBoardDto.KanbanColumn> columns = new ArrayList<>();
+            for (KanbanBoardDto.KanbanColumn column : source.getColumns()) {
+                columns.add(column.toBuilder().tasks(new ArrayList<>(column.getTasks())).build());
+            }
+            return source.toBuilder()
+                    .columns(columns)
+                    .statusCounts(new HashMap<>(source.getStatusCounts()))
+                    .build();
+        }
+
+        boolean upsert(KanbanCardDto card, Task.TaskStatus oldStatus) {
+            if (!removeCard(card.getId(), oldStatus)) {
+                return false;
+            }
+            incrementCount(card.getStatus(), 1);
+
+            KanbanBoardDto.KanbanColumn column = column(card.getStatus());
+            if (column == null) {
+                return true;
+            }
+            column.setTaskCount(column.getTaskCount() + 1);
+
+            List<KanbanCardDto> cards = column.getTasks();
+            // Au-delà de la dernière carte chargée : la carte viendra avec "load more"
+            if (column.isHasMore() && !cards.isEmpty()
+                    && CARD_ORDER.compare(card, cards.get(cards.size() - 1)) > 0) {
+                return true;
+            }
+
+            int index = 0;
+            while (index < cards.size() && CARD_ORDER.compare(cards.get(index), card) < 0) {
+                index++;
+            }
+            cards.add(index, card);
+            if (cards.size() > pageSize) {
+                cards.remove(cards.size() - 1);
+                column.setHasMore(true);
+            }
+            updateCursor(column);
+            return true;
+        }
+
+        boolean remove(UUID taskId, Task.TaskStatus status) {
+            return removeCard(taskId, status);
+        }
+
+        // Retirer la carte de sa colonne actuelle (status null : nouvelle tâche)
+        private boolean removeCard(UUID taskId, Task.TaskStatus status) {
+            if (status == null) {
+                return true;
+            }
+            incrementCount(status, -1);
+
+            KanbanBoardDto.KanbanColumn column = column(status);
+            if (column == null) {
+                return true;
+            }
+            column.setTaskCount(Math.max(0, column.getTaskCount() - 1));
+            column.getTasks().removeIf(existing -> existing.getId().equals(taskId));
+
+            // Page vide mais cartes restantes en base : plus de curseur valide
+            if (column.getTasks().isEmpty() && column.isHasMore()) {
+                return false;
+            }
+            updateCursor(column);
+            return true;
+        }
+
+        private void incrementCount(Task.TaskStatus status, int delta) {
+            board.getStatusCounts().merge(status.name(), delta, Integer::sum);
+            board.getStatusCounts().remove(status.name(), 0);
+        }
+
+        private KanbanBoardDto.KanbanColumn column(Task.TaskStatus status) {
+            return board.getColumns().stream()
+                    .filter(column -> status.name().equals(column.getStatus()))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private void updateCursor(KanbanBoardDto.KanbanColumn column) {
+            List<KanbanCardDto> cards = column.getTasks();
+            if (!column.isHasMore() || cards.isEmpty()) {
+                column.setNextCursor(null);
+                return;
+            }
+            KanbanCardDto last = cards.get(cards.size() - 1);
+            column.setNextCursor(KeysetCursor.encode(last.getCreatedAt(), last.getId()));
+        }
+
+        KanbanBoardDto toDto() {
+            return board;
+        }
+    }
+}
@@ -1,21 +1,25 @@
 package com.projectsaas.project.service;
 
 import com.projectsaas.project.dto.KanbanBoardDto;
-import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.dto.KanbanCardDto;
 import com.projectsaas.project.entity.Task;
 import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.exception.InvalidOperationException;
 import com.projectsaas.project.exception.ProjectNotFoundException;
 import com.projectsaas.project.exception.TaskNotFoundException;
 import com.projectsaas.project.repository.ProjectRepository;
 import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
 import com.projectsaas.project.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,38 +29,50 @@ public class KanbanService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final TaskStatusCounterRepository counterRepository;
     private final TaskService taskService;
     private final NotificationService notificationService;
+    private final KanbanBoardCache boardCache;
 
-    // Obtenir le tableau Kanban d'un projet
+    // Ordre et libellés des colonnes du tableau (aussi utilisés par le tableau de sprint)
+    static final List<Task.TaskStatus> COLUMN_STATUSES = List.of(
+            Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.IN_REVIEW, Task.TaskStatus.DONE);
+    static final Map<Task.TaskStatus, String> COLUMN_NAMES = Map.of(
+            Task.TaskStatus.TODO, "To Do",
+            Task.TaskStatus.IN_PROGRESS, "In Progress",
+            Task.TaskStatus.IN_REVIEW, "In Review",
+            Task.TaskStatus.DONE, "Done");
+
+    @Value("${app.kanban.column-page-size:50}")
+    private int columnPageSize;
+
+    @Value("${app.kanban.max-column-page-size:200}")
+    private int maxColumnPageSize;
+
+    // Obtenir le tableau Kanban d'un projet (première page de chaque colonne)
+    @Transactional(readOnly = true)
     public KanbanBoardDto getKanbanBoard(UUID projectId, String token) {
         UUID tenantId = TenantContext.getTenantId();
+        return boardCache.get(tenantId, projectId, () -> loadKanbanBoard(tenantId, projectId));
+    }
 
+    private KanbanBoardDto loadKanbanBoard(UUID tenantId, UUID projectId) {
         // Vérifier que le projet existe
         Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
-        // Obtenir toutes les tâches du projet
-        List<Task> tasks = taskRepository.findByProjectIdAndTenantIdOrderByCreatedAtDesc(projectId, tenantId);
-
-        // Grouper les tâches par statut
-        Map<Task.TaskStatus, List<Task>> tasksByStatus = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus));
+        // Compteurs maintenus par trigger : pas de COUNT sur tasks
+        Map<String, Integer> statusCounts = new HashMap<>();
+        for (Object[] row : counterRepository.countByStatus(tenantId, projectId)) {
+            statusCounts.put(((Task.TaskStatus) row[0]).name(), ((Number) row[1]).intValue());
+        }
 
         // Créer les colonnes Kanban
-        List<KanbanBoardDto.KanbanColumn> columns = Arrays.asList(
-                createKanbanColumn("todo", "To Do", Task.TaskStatus.TODO, tasksByStatus, token),
-                createKanbanColumn("in-progress", "In Progress", Task.TaskStatus.IN_PROGRESS, tasksByStatus, token),
-                createKanbanColumn("in-review", "In Review", Task.TaskStatus.IN_REVIEW, tasksByStatus, token),
-                createKanbanColumn("done", "Done", Task.TaskStatus.DONE, tasksByStatus, token)
-        );
-
-        // Calculer les statistiques par statut
-        Map<String, Integer> statusCounts = tasksByStatus.entrySet().stream()
-                .collect(Collectors.toMap(
-                        entry -> entry.getKey().name(),
-                        entry -> entry.getValue().size()
-                ));
+        List<KanbanBoardDto.KanbanColumn> columns = new ArrayList<>();
+        for (Task.TaskStatus status : COLUMN_STATUSES) {
+            columns.add(createKanbanColumn(tenantId, projectId, status, null,
+                    columnPageSize, statusCounts.getOrDefault(status.name(), 0)));
+        }
 
         return KanbanBoardDto.builder()
                 .projectId(projectId)
@@ -66,6 +82,23 @@ public class KanbanService {
                 .build();
     }
 
+    // Charger les cartes suivantes d'une colonne
+    @Transactional(readOnly = true)
+    public KanbanBoardDto.KanbanColumn getKanbanColumn(UUID projectId, String statusStr, String cursor,
+                                                       Integer size, String token) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        if (!projectRepository.existsByIdAndTenantId(projectId, tenantId)) {
+            throw new ProjectNotFoundException("Project not found");
+        }
+
+        Task.TaskStatus status = parseStatus(statusStr);
+        int pageSize = size != null ? Math.max(1, Math.min(size, maxColumnPageSize)) : columnPageSize;
+        int taskCount = counterRepository.countTasks(tenantId, projectId, status).intValue();
+
+        return createKanbanColumn(tenantId, projectId, status, cursor, pageSize, taskCount);
+    }
+
     // Déplacer une tâche dans le Kanban
     public void moveTask(UUID taskId, String newStatusStr, Integer position, String token) {
         UUID tenantId = TenantContext.getTenantId();
@@ -73,12 +106,13 @@ public class KanbanService {
         Task task = taskRepository.findByIdAndTenantId(taskId, tenantId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        Task.TaskStatus newStatus = Task.TaskStatus.valueOf(newStatusStr.toUpperCase().replace("-", "_"));
+        Task.TaskStatus newStatus = parseStatus(newStatusStr);
         Task.TaskStatus oldStatus = task.getStatus();
 
         // Mettre à jour le statut
         task.setStatus(newStatus);
         taskRepository.save(task);
+        boardCache.taskSaved(task, oldStatus);
 
         log.info("Task {} moved from {} to {} at position {}",
                 task.getTaskKey(), oldStatus, newStatus, position);
@@ -87,29 +121,42 @@ public class KanbanService {
         notificationService.notifyTaskStatusChanged(task, oldStatus, token);
     }
 
-    // Créer une colonne Kanban
+    // Créer une colonne Kanban : une page de cartes + curseur vers la suivante
     private KanbanBoardDto.KanbanColumn createKanbanColumn(
-            String id,
-            String name,
+            UUID tenantId,
+            UUID projectId,
             Task.TaskStatus status,
-            Map<Task.TaskStatus, List<Task>> tasksByStatus,
-            String token) {
-
-        List<Task> columnTasks = tasksByStatus.getOrDefault(status, Collections.emptyList());
-
-        List<TaskDto> taskDtos = columnTasks.stream()
-                .map(task -> convertTaskToDto(task, token))
-                .collect(Collectors.toList());
-
-        Integer wipLimit = getWipLimitForStatus(status);
+            String cursor,
+            int pageSize,
+            int taskCount) {
+
+        // Une carte de plus que demandé pour savoir s'il reste une page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<KanbanCardDto> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = taskRepository.findKanbanCards(tenantId, projectId, status, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            cards = taskRepository.findKanbanCardsAfter(tenantId, projectId, status,
+                    after.getPosition(), after.getId(), limit);
+        }
+
+        boolean hasMore = cards.size() > pageSize;
+        if (hasMore) {
+            cards = new ArrayList<>(cards.subList(0, pageSize));
+        }
+
+        KanbanCardDto last = cards.isEmpty() ? null : cards.get(cards.size() - 1);
 
         return KanbanBoardDto.KanbanColumn.builder()
-                .id(id)
-                .name(name)
+                .id(status.name().toLowerCase().replace("_", "-"))
+                .name(COLUMN_NAMES.getOrDefault(status, status.name()))
                 .status(status.name())
-                .tasks(taskDtos)
-                .taskCount(taskDtos.size())
-                .wipLimit(wipLimit)
+                .tasks(cards)
+                .taskCount(taskCount)
+                .wipLimit(getWipLimitForStatus(status))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? KeysetCursor.encode(last.getCreatedAt(), last.getId()) : null)
                 .build();
     }
 
@@ -122,24 +169,11 @@ public class KanbanService {
         };
     }
 
-    // Convertir Task vers TaskDto (simplifié)
-    private TaskDto convertTaskToDto(Task task, String token) {
-        return TaskDto.builder()
-                .id(task.getId())
-                .projectId(task.getProject().getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .taskKey(task.getTaskKey())
-                .status(task.getStatus())
-                .priority(task.getPriority())
-                .taskType(task.getTaskType())
-                .storyPoints(task.getStoryPoints())
-                .assigneeId(task.getAssigneeId())
-                .reporterId(task.getReporterId())
-                .dueDate(task.getDueDate())
-                .sprintId(task.getSprint() != null ? task.getSprint().getId() : null)
-                .createdAt(task.getCreatedAt())
-                .updatedAt(task.getUpdatedAt())
-                .build();
+    private Task.TaskStatus parseStatus(String status) {
+        try {
+            return Task.TaskStatus.valueOf(status.toUpperCase().replace("-", "_"));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Unknown task status: " + status);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+// ===========================================
+// KeysetCursor.java - Curseur opaque de pagination par clé (date, id)
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.exception.InvalidOperationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position du dernier élément renvoyé : la page suivante reprend juste après,
+// sans OFFSET, quelle que soit sa profondeur.
+final class KeysetCursor {
+
+    private final LocalDateTime position;
+    private final UUID id;
+
+    private KeysetCursor(LocalDateTime position, UUID id) {
+        this.position = position;
+        this.id = id;
+    }
+
+    LocalDateTime getPosition() {
+        return position;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    static String encode(LocalDateTime position, UUID id) {
+        String raw = position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null : première page
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidOperationException("Invalid cursor");
+        }
+    }
+}
@@ -4,57 +4,149 @@
 package com.projectsaas.project.service;
 
 import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.ProjectMember;
 import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    // Pour l'instant, juste des logs. Plus tard: WebSockets
+    static final String BULK_TOPIC = "task.bulk.updated";
+
+    // Logs + événements Kafka via l'outbox (même transaction que la mutation)
+    private final OutboxService outboxService;
 
     public void notifyProjectCreated(Project project, String token) {
         log.info("📢 Project created: {} by user", project.getName());
+        outboxService.enqueue("project.created", project.getTenantId(), project.getId(),
+                projectEvent(project, "CREATED"));
     }
 
     public void notifyProjectUpdated(Project project, String token) {
         log.info("📢 Project updated: {}", project.getName());
+        // Destinataires : les membres du projet
+        Map<String, Object> event = projectEvent(project, "UPDATED");
+        event.put("memberIds", project.getMembers() != null
+                ? project.getMembers().stream().map(ProjectMember::getUserId).collect(Collectors.toList())
+                : List.of());
+        outboxService.enqueue("project.updated", project.getTenantId(), project.getId(), event);
     }
 
     public void notifyProjectDeleted(Project project, String token) {
         log.info("📢 Project deleted: {}", project.getName());
+        outboxService.enqueue("project.deleted", project.getTenantId(), project.getId(),
+                projectEvent(project, "DELETED"));
     }
 
     public void notifyMemberAdded(Project project, UUID userId, String token) {
         log.info("📢 Member {} added to project {}", userId, project.getKey());
+        Map<String, Object> event = projectEvent(project, "MEMBER_ADDED");
+        event.put("memberIds", List.of(userId));
+        outboxService.enqueue("project.member.added", project.getTenantId(), project.getId(), event);
     }
 
     public void notifyTaskAssigned(Task task, String token) {
         log.info("📢 Task {} assigned to {}", task.getTaskKey(), task.getAssigneeId());
+        outboxService.enqueue("task.assigned", task.getTenantId(), TaskDtoAssembler.projectId(task),
+                taskEvent(task, "ASSIGNED"));
     }
 
     public void notifyTaskUpdated(Task task, String token) {
         log.info("📢 Task {} updated", task.getTaskKey());
+        outboxService.enqueue("task.updated", task.getTenantId(), TaskDtoAssembler.projectId(task),
+                taskEvent(task, "UPDATED"));
     }
 
     public void notifyTaskStatusChanged(Task task, Task.TaskStatus oldStatus, String token) {
         log.info("📢 Task {} status: {} → {}", task.getTaskKey(), oldStatus, task.getStatus());
+        Map<String, Object> event = taskEvent(task, "STATUS_CHANGED");
+        event.put("previousStatus", oldStatus != null ? oldStatus.name() : null);
+        outboxService.enqueue("task.updated", task.getTenantId(), TaskDtoAssembler.projectId(task), event);
     }
 
     public void notifyTaskReassigned(Task task, UUID oldAssigneeId, String token) {
         log.info("📢 Task {} reassigned: {} → {}", task.getTaskKey(), oldAssigneeId, task.getAssigneeId());
+        Map<String, Object> event = taskEvent(task, "REASSIGNED");
+        event.put("previousAssigneeId", oldAssigneeId);
+        outboxService.enqueue("task.updated", task.getTenantId(), TaskDtoAssembler.projectId(task), event);
     }
 
     public void notifyTaskUnassigned(Task task, UUID oldAssigneeId, String token) {
         log.info("📢 Task {} unassigned from {}", task.getTaskKey(), oldAssigneeId);
+        Map<String, Object> event = taskEvent(task, "UNASSIGNED");
+        event.put("previousAssigneeId", oldAssigneeId);
+        outboxService.enqueue("task.updated", task.getTenantId(), TaskDtoAssembler.projectId(task), event);
     }
 
     public void notifyTaskDeleted(Task task, String token) {
         log.info("📢 Task {} deleted", task.getTaskKey());
+        outboxService.enqueue("task.deleted", task.getTenantId(), TaskDtoAssembler.projectId(task),
+                taskEvent(task, "DELETED"));
+    }
+
+    // Tâches de plusieurs projets, forme propre (TaskBulkEventDto) : topic séparé, clé de partition = tenant
+    public void notifyTasksBulkUpdated(UUID assigneeId, List<String> taskKeys, String token) {
+        log.info("📢 {} tasks updated for {}: {}", taskKeys.size(), assigneeId, taskKeys);
+        UUID tenantId = TenantContext.getTenantId();
+        outboxService.enqueue(BULK_TOPIC, tenantId, tenantId, bulkEvent(tenantId, assigneeId, taskKeys, "BULK_UPDATED"));
+    }
+
+    public void notifyTasksBulkUnassigned(UUID oldAssigneeId, List<String> taskKeys, String token) {
+        log.info("📢 {} tasks unassigned from {}: {}", taskKeys.size(), oldAssigneeId, taskKeys);
+        UUID tenantId = TenantContext.getTenantId();
+        outboxService.enqueue(BULK_TOPIC, tenantId, tenantId, bulkEvent(tenantId, oldAssigneeId, taskKeys, "BULK_UNASSIGNED"));
+    }
+
+    // Champs et types (UUID, dates ISO) alignés sur TaskEventDto / ProjectEventDto de notification-service
+    private Map<String, Object> taskEvent(Task task, String eventType) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventType", eventType);
+        event.put("taskId", task.getId());
+        event.put("taskKey", task.getTaskKey());
+        event.put("taskTitle", task.getTitle());
+        event.put("projectId", TaskDtoAssembler.projectId(task));
+        event.put("projectName", task.getProject().getName());
+        event.put("assignedUserId", task.getAssigneeId());
+        event.put("status", task.getStatus() != null ? task.getStatus().name() : null);
+        event.put("priority", task.getPriority() != null ? task.getPriority().name() : null);
+        event.put("deadline", task.getDueDate());
+        return withEnvelope(event, task.getTenantId());
+    }
+
+    private Map<String, Object> projectEvent(Project project, String eventType) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventType", eventType);
+        event.put("projectId", project.getId());
+        event.put("projectKey", project.getKey());
+        event.put("projectName", project.getName());
+        event.put("status", project.getStatus() != null ? project.getStatus().name() : null);
+        return withEnvelope(event, project.getTenantId());
+    }
+
+    private Map<String, Object> bulkEvent(UUID tenantId, UUID userId, List<String> taskKeys, String eventType) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventType", eventType);
+        event.put("assignedUserId", userId);
+        event.put("taskKeys", taskKeys);
+        return withEnvelope(event, tenantId);
+    }
+
+    private Map<String, Object> withEnvelope(Map<String, Object> event, UUID tenantId) {
+        event.put("tenantId", tenantId);
+        event.put("timestamp", LocalDateTime.now());
+        event.put("service", "project-service");
+        return event;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+// ===========================================
+// OutboxService.java - Écriture des événements de domaine dans l'outbox
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.config.OutboxProperties;
+import com.projectsaas.project.entity.OutboxEvent;
+import com.projectsaas.project.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+// L'événement est validé ou annulé avec la mutation qui le produit ;
+// la publication vers Kafka est faite plus tard par OutboxRelay.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // key : clé de partition Kafka (projectId pour garder l'ordre par projet)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, UUID tenantId, UUID key, Map<String, Object> payload) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .tenantId(tenantId)
+                .topic(topic)
+                .eventKey(key.toString())
+                .payload(toJson(payload))
+                .build());
+        log.debug("Outbox event queued on {} for key {}", topic, key);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event", e);
+        }
+    }
+}
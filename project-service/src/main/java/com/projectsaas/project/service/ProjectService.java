@@ -6,7 +6,6 @@ package com.projectsaas.project.service;
 import com.projectsaas.project.dto.CreateProjectRequest;
 import com.projectsaas.project.dto.ProjectDto;
 import com.projectsaas.project.dto.UpdateProjectRequest;
-import com.projectsaas.project.dto.UserDto;
 import com.projectsaas.project.entity.Project;
 import com.projectsaas.project.entity.ProjectMember;
 import com.projectsaas.project.exception.ProjectAlreadyExistsException;
@@ -19,7 +18,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,7 +32,9 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
-    private final AuthIntegrationService authService;
+    private final UserService userService;
+    private final TaskKeyAllocator taskKeyAllocator;
+    private final KanbanBoardCache boardCache;
     private final NotificationService notificationService;
 
     // Créer un nouveau projet
@@ -44,6 +47,7 @@ public class ProjectService {
         }
 
         // 2. Créer le projet
+        UUID currentUserId = userService.getCurrentUserId(token);
         Project project = Project.builder()
                 .tenantId(tenantId)
                 .name(request.getName())
@@ -53,26 +57,26 @@ public class ProjectService {
                 .priority(request.getPriority() != null ? request.getPriority() : Project.Priority.MEDIUM)
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
-                .createdBy(getCurrentUserId(token))
+                .createdBy(currentUserId)
                 .build();
 
         project = projectRepository.save(project);
         log.info("Project created: {} ({}) in tenant: {}", project.getName(), project.getKey(), tenantId);
 
         // 3. Ajouter le créateur comme owner du projet
-        addProjectOwner(project, getCurrentUserId(token));
+        addProjectOwner(project, currentUserId);
 
         // 4. Notification
         notificationService.notifyProjectCreated(project, token);
 
-        return convertToDto(project, token);
+        return convertToDtos(List.of(project)).get(0);
     }
 
     // Mettre à jour un projet - MÉTHODE CORRIGÉE
     public ProjectDto updateProject(UUID projectId, UpdateProjectRequest request, String token) {
         UUID tenantId = TenantContext.getTenantId();
 
-        Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
+        Project project = projectRepository.findCurrentByIdAndTenantId(projectId, tenantId)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
         // Mettre à jour les champs - CORRIGÉ : utiliser 'request' au lieu de 'updateDto'
@@ -96,12 +100,13 @@ public class ProjectService {
         }
 
         project = projectRepository.save(project);
+        boardCache.invalidateProject(tenantId, projectId);
         log.info("Project updated: {} in tenant: {}", project.getName(), tenantId);
 
         // Notification
         notificationService.notifyProjectUpdated(project, token);
 
-        return convertToDto(project, token);
+        return convertToDtos(List.of(project)).get(0);
     }
 
     // Obtenir tous les projets du tenant
@@ -110,9 +115,7 @@ public class ProjectService {
 
         List<Project> projects = projectRepository.findByTenantIdOrderByCreatedAtDesc(tenantId);
 
-        return projects.stream()
-                .map(project -> convertToDto(project, token))
-                .collect(Collectors.toList());
+        return convertToDtos(projects);
     }
 
     // Obtenir un projet par ID
@@ -122,17 +125,19 @@ public class ProjectService {
         Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
-        return convertToDto(project, token);
+        return convertToDtos(List.of(project)).get(0);
     }
 
     // Supprimer un projet
     public void deleteProject(UUID projectId, String token) {
         UUID tenantId = TenantContext.getTenantId();
 
-        Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
+        Project project = projectRepository.findCurrentByIdAndTenantId(projectId, tenantId)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
         projectRepository.delete(project);
+        taskKeyAllocator.forget(projectId);
+        boardCache.invalidateProject(tenantId, projectId);
         log.info("Project deleted: {} in tenant: {}", project.getName(), tenantId);
 
         // Notification
@@ -143,7 +148,7 @@ public class ProjectService {
     public void addProjectMember(UUID projectId, UUID userId, ProjectMember.MemberRole role, String token) {
         UUID tenantId = TenantContext.getTenantId();
 
-        Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
+        Project project = projectRepository.findCurrentByIdAndTenantId(projectId, tenantId)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
         // Vérifier si l'utilisateur n'est pas déjà membre
@@ -176,24 +181,11 @@ public class ProjectService {
     // Obtenir les projets d'un utilisateur
     public List<ProjectDto> getUserProjects(String token) {
         UUID tenantId = TenantContext.getTenantId();
-        UUID userId = getCurrentUserId(token);
+        UUID userId = userService.getCurrentUserId(token);
 
         List<Project> projects = projectRepository.findProjectsByMember(tenantId, userId);
 
-        return projects.stream()
-                .map(project -> convertToDto(project, token))
-                .collect(Collectors.toList());
-    }
-
-    // Rechercher des projets
-    public List<ProjectDto> searchProjects(String searchTerm, String token) {
-        UUID tenantId = TenantContext.getTenantId();
-
-        List<Project> projects = projectRepository.searchProjects(tenantId, searchTerm);
-
-        return projects.stream()
-                .map(project -> convertToDto(project, token))
-                .collect(Collectors.toList());
+        return convertToDtos(projects);
     }
 
     // Ajouter le créateur comme owner
@@ -207,24 +199,25 @@ public class ProjectService {
         projectMemberRepository.save(owner);
     }
 
-    // Obtenir l'ID de l'utilisateur actuel
-    private UUID getCurrentUserId(String token) {
-        String username = authService.extractUsername(token);
-        UUID tenantId = TenantContext.getTenantId();
+    // Convertir des entités vers DTOs : compteurs membres/tâches en une seule requête
+    private List<ProjectDto> convertToDtos(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
 
-        List<UserDto> users = authService.getTeamMembers(token, tenantId.toString());
-        return users.stream()
-                .filter(user -> user.getEmail().startsWith(username))
-                .map(UserDto::getId)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-    }
+        List<UUID> projectIds = projects.stream().map(Project::getId).toList();
+        Map<UUID, Object[]> counts = new HashMap<>();
+        for (Object[] row : projectRepository.countMembersAndTasks(TenantContext.getTenantId(), projectIds)) {
+            counts.put((UUID) row[0], row);
+        }
 
-    // Convertir entité vers DTO
-    private ProjectDto convertToDto(Project project, String token) {
-        // Obtenir les membres du projet
-        List<ProjectMember> members = projectMemberRepository.findByProjectId(project.getId());
+        return projects.stream()
+                .map(project -> convertToDto(project, counts.get(project.getId())))
+                .collect(Collectors.toList());
+    }
 
+    // Convertir entité vers DTO (row : id, nombre de membres, nombre de tâches)
+    private ProjectDto convertToDto(Project project, Object[] counts) {
         return ProjectDto.builder()
                 .id(project.getId())
                 .name(project.getName())
@@ -237,8 +230,8 @@ public class ProjectService {
                 .createdBy(project.getCreatedBy())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
-                .memberCount(members.size())
-                .taskCount(project.getTasks() != null ? project.getTasks().size() : 0)
+                .memberCount(counts != null ? ((Number) counts[1]).intValue() : 0)
+                .taskCount(counts != null ? ((Number) counts[2]).intValue() : 0)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+// ===========================================
+// SearchService.java - Recherche plein texte des tâches et projets
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.ProjectSearchHitDto;
+import com.projectsaas.project.dto.SearchResultsDto;
+import com.projectsaas.project.dto.TaskSearchHitDto;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.repository.SearchRepository;
+import com.projectsaas.project.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private final SearchRepository searchRepository;
+
+    @Value("${app.search.max-page-size:100}")
+    private int maxPageSize;
+
+    // Top-K : au-delà, affiner la recherche plutôt que paginer
+    @Value("${app.search.max-results:1000}")
+    private int maxResults;
+
+    // Rechercher des tâches
+    public SearchResultsDto<TaskSearchHitDto> searchTasks(String searchTerm, int page, int size) {
+        return search(searchTerm, page, size, searchRepository::searchTasks);
+    }
+
+    // Rechercher des projets
+    public SearchResultsDto<ProjectSearchHitDto> searchProjects(String searchTerm, int page, int size) {
+        return search(searchTerm, page, size, searchRepository::searchProjects);
+    }
+
+    private <T> SearchResultsDto<T> search(String searchTerm, int page, int size, SearchQuery<T> query) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int offset = Math.max(0, page) * pageSize;
+        if (offset >= maxResults) {
+            throw new InvalidOperationException("Search is limited to the first " + maxResults + " results");
+        }
+
+        String tsQuery = SearchRepository.toPrefixQuery(searchTerm);
+        List<T> results = new ArrayList<>();
+        boolean hasMore = false;
+
+        if (tsQuery != null) {
+            // Un résultat de plus pour savoir s'il reste une page, sans COUNT
+            int limit = Math.min(pageSize + 1, maxResults - offset);
+            results = query.find(tenantId, tsQuery, offset, limit);
+            hasMore = results.size() > pageSize;
+            if (hasMore) {
+                results = new ArrayList<>(results.subList(0, pageSize));
+            }
+        }
+
+        log.debug("Search '{}' in tenant {}: {} results (page {})", tsQuery, tenantId, results.size(), page);
+
+        return SearchResultsDto.<T>builder()
+                .query(searchTerm)
+                .page(Math.max(0, page))
+                .size(pageSize)
+                .hasMore(hasMore)
+                .results(results)
+                .build();
+    }
+
+    private interface SearchQuery<T> {
+        List<T> find(UUID tenantId, String tsQuery, int offset, int limit);
+    }
+}
@@ -0,0 +1,346 @@
+// ===========================================
+// SprintService.java - Sprints, tableau de sprint, burndown et vélocité
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.BurndownDto;
+import com.projectsaas.project.dto.CreateSprintRequest;
+import com.projectsaas.project.dto.KanbanBoardDto;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.dto.SprintBoardDto;
+import com.projectsaas.project.dto.SprintDto;
+import com.projectsaas.project.dto.VelocityDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.SprintBurndownSnapshot;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.ProjectNotFoundException;
+import com.projectsaas.project.exception.SprintNotFoundException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintBurndownSnapshotRepository;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Les graphiques sont construits à partir des lignes journalières de
+// sprint_burndown_snapshots (trigger V19) : O(jours), jamais O(tâches).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SprintService {
+
+    private final SprintRepository sprintRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final SprintBurndownSnapshotRepository snapshotRepository;
+    private final UserService userService;
+
+    @Value("${app.sprints.max-velocity-sprints:20}")
+    private int maxVelocitySprints;
+
+    // Créer un sprint (statut PLANNING)
+    public SprintDto createSprint(CreateSprintRequest request, String token) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        Project project = projectRepository.findCurrentByIdAndTenantId(request.getProjectId(), tenantId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidOperationException("Sprint end date must not be before its start date");
+        }
+
+        Sprint sprint = Sprint.builder()
+                .tenantId(tenantId)
+                .project(project)
+                .name(request.getName())
+                .goal(request.getGoal())
+                .status(Sprint.SprintStatus.PLANNING)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .createdBy(userService.getCurrentUserId(token))
+                .build();
+
+        sprint = sprintRepository.save(sprint);
+        log.info("Sprint created: {} in project: {}", sprint.getName(), project.getKey());
+
+        return convertToDtos(List.of(sprint)).get(0);
+    }
+
+    // Sprints d'un projet (plus récents d'abord)
+    @Transactional(readOnly = true)
+    public List<SprintDto> getProjectSprints(UUID projectId) {
+        UUID tenantId = TenantContext.getTenantId();
+        return convertToDtos(sprintRepository.findByProjectIdAndTenantIdOrderByCreatedAtDesc(projectId, tenantId));
+    }
+
+    @Transactional(readOnly = true)
+    public SprintDto getSprint(UUID sprintId) {
+        return convertToDtos(List.of(findSprint(sprintId))).get(0);
+    }
+
+    // Démarrer un sprint : un seul sprint actif par projet
+    public SprintDto startSprint(UUID sprintId) {
+        UUID tenantId = TenantContext.getTenantId();
+        Sprint sprint = findSprintForUpdate(sprintId);
+
+        if (sprint.getStatus() != Sprint.SprintStatus.PLANNING) {
+            throw new InvalidOperationException("Only a sprint in planning can be started");
+        }
+        if (sprintRepository.existsByProjectIdAndTenantIdAndStatus(
+                sprint.getProject().getId(), tenantId, Sprint.SprintStatus.ACTIVE)) {
+            throw new InvalidOperationException("Another sprint is already active in this project");
+        }
+
+        sprint.setStatus(Sprint.SprintStatus.ACTIVE);
+        if (sprint.getStartDate() == null || sprint.getStartDate().isAfter(LocalDate.now())) {
+            sprint.setStartDate(LocalDate.now());
+        }
+        sprint = sprintRepository.save(sprint);
+        log.info("Sprint started: {}", sprint.getName());
+
+        return convertToDtos(List.of(sprint)).get(0);
+    }
+
+    // Terminer un sprint : les tâches non terminées restent rattachées
+    public SprintDto completeSprint(UUID sprintId) {
+        Sprint sprint = findSprintForUpdate(sprintId);
+
+        if (sprint.getStatus() != Sprint.SprintStatus.ACTIVE) {
+            throw new InvalidOperationException("Only an active sprint can be completed");
+        }
+
+        sprint.setStatus(Sprint.SprintStatus.COMPLETED);
+        if (sprint.getEndDate() == null || sprint.getEndDate().isAfter(LocalDate.now())) {
+            sprint.setEndDate(LocalDate.now());
+        }
+        sprint = sprintRepository.save(sprint);
+        log.info("Sprint completed: {}", sprint.getName());
+
+        return convertToDtos(List.of(sprint)).get(0);
+    }
+
+    // Tableau du sprint : cartes par colonne, totaux depuis le dernier snapshot
+    @Transactional(readOnly = true)
+    public SprintBoardDto getSprintBoard(UUID sprintId) {
+        UUID tenantId = TenantContext.getTenantId();
+        Sprint sprint = findSprint(sprintId);
+        SprintDto sprintDto = convertToDtos(List.of(sprint)).get(0);
+
+        Map<Task.TaskStatus, List<KanbanCardDto>> cardsByStatus = new EnumMap<>(Task.TaskStatus.class);
+        for (KanbanCardDto card : taskRepository.findSprintCards(tenantId, sprintId)) {
+            cardsByStatus.computeIfAbsent(card.getStatus(), status -> new ArrayList<>()).add(card);
+        }
+
+        List<KanbanBoardDto.KanbanColumn> columns = new ArrayList<>();
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            List<KanbanCardDto> cards = cardsByStatus.getOrDefault(status, Collections.emptyList());
+            // Colonnes du Kanban toujours affichées, les autres (BLOCKED) seulement si non vides
+            if (!KanbanService.COLUMN_STATUSES.contains(status) && cards.isEmpty()) {
+                continue;
+            }
+            columns.add(KanbanBoardDto.KanbanColumn.builder()
+                    .id(status.name().toLowerCase().replace("_", "-"))
+                    .name(KanbanService.COLUMN_NAMES.getOrDefault(status, status.name()))
+                    .status(status.name())
+                    .tasks(cards)
+                    .taskCount(cards.size())
+                    .hasMore(false)
+                    .build());
+        }
+
+        Integer daysRemaining = sprint.getEndDate() != null && sprint.getStatus() == Sprint.SprintStatus.ACTIVE
+                ? (int) Math.max(0, ChronoUnit.DAYS.between(LocalDate.now(), sprint.getEndDate()))
+                : null;
+
+        return SprintBoardDto.builder()
+                .sprint(sprintDto)
+                .columns(columns)
+                .remainingPoints(sprintDto.getTotalStoryPoints() - sprintDto.getCompletedStoryPoints())
+                .daysRemaining(daysRemaining)
+                .build();
+    }
+
+    // Burndown : un point par jour du sprint, jours sans changement reportés
+    @Transactional(readOnly = true)
+    public BurndownDto getBurndown(UUID sprintId) {
+        Sprint sprint = findSprint(sprintId);
+        List<SprintBurndownSnapshot> snapshots = snapshotRepository.findBySprintIdOrderBySnapshotDateAsc(sprintId);
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = sprint.getStartDate() != null ? sprint.getStartDate()
+                : snapshots.isEmpty() ? today : snapshots.get(0).getSnapshotDate();
+        LocalDate end = sprint.getEndDate() != null && !sprint.getEndDate().isBefore(start) ? sprint.getEndDate() : start;
+        // Sprint en cours : pas de points dans le futur
+        LocalDate lastDay = end.isAfter(today) ? today : end;
+
+        int committed = committedPoints(snapshots, start);
+        long sprintDays = ChronoUnit.DAYS.between(start, end);
+
+        List<BurndownDto.BurndownPoint> points = new ArrayList<>();
+        int scopeTotal = 0;
+        int index = -1;
+        for (LocalDate day = start; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            while (index + 1 < snapshots.size() && !snapshots.get(index + 1).getSnapshotDate().isAfter(day)) {
+                index++;
+            }
+            SprintBurndownSnapshot current = index >= 0 ? snapshots.get(index) : null;
+            int total = current != null ? current.getTotalPoints() : 0;
+            int completed = current != null ? current.getCompletedPoints() : 0;
+            int scope = current != null && current.getSnapshotDate().equals(day) && day.isAfter(start)
+                    ? current.getScopeChange() : 0;
+            scopeTotal += scope;
+
+            long elapsed = ChronoUnit.DAYS.between(start, day);
+            double ideal = sprintDays == 0 ? 0 : committed * (1 - (double) elapsed / sprintDays);
+
+            points.add(BurndownDto.BurndownPoint.builder()
+                    .date(day)
+                    .totalPoints(total)
+                    .completedPoints(completed)
+                    .remainingPoints(total - completed)
+                    .scopeChange(scope)
+                    .idealRemaining(Math.max(0, ideal))
+                    .build());
+        }
+
+        return BurndownDto.builder()
+                .sprintId(sprint.getId())
+                .sprintName(sprint.getName())
+                .startDate(start)
+                .endDate(end)
+                .committedPoints(committed)
+                .totalScopeChange(scopeTotal)
+                .points(points)
+                .build();
+    }
+
+    // Vélocité : points engagés et terminés des derniers sprints terminés
+    @Transactional(readOnly = true)
+    public VelocityDto getVelocity(UUID projectId, int limit) {
+        UUID tenantId = TenantContext.getTenantId();
+        int sprintCount = Math.max(1, Math.min(limit, maxVelocitySprints));
+
+        List<Sprint> sprints = new ArrayList<>(sprintRepository.findByTenantIdAndProjectIdAndStatusOrderByEndDateDesc(
+                tenantId, projectId, Sprint.SprintStatus.COMPLETED, PageRequest.of(0, sprintCount)));
+        Collections.reverse(sprints);
+
+        Map<UUID, List<SprintBurndownSnapshot>> snapshotsBySprint = sprints.isEmpty()
+                ? Collections.emptyMap()
+                : snapshotRepository.findBySprintIdInOrderBySprintIdAscSnapshotDateAsc(
+                        sprints.stream().map(Sprint::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(SprintBurndownSnapshot::getSprintId));
+
+        List<VelocityDto.SprintVelocity> velocities = new ArrayList<>();
+        for (Sprint sprint : sprints) {
+            List<SprintBurndownSnapshot> snapshots = snapshotsBySprint.getOrDefault(sprint.getId(), Collections.emptyList());
+            SprintBurndownSnapshot atEnd = sprint.getEndDate() != null ? valueAt(snapshots, sprint.getEndDate())
+                    : snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+
+            velocities.add(VelocityDto.SprintVelocity.builder()
+                    .sprintId(sprint.getId())
+                    .name(sprint.getName())
+                    .startDate(sprint.getStartDate())
+                    .endDate(sprint.getEndDate())
+                    .committedPoints(sprint.getStartDate() != null ? committedPoints(snapshots, sprint.getStartDate()) : 0)
+                    .completedPoints(atEnd != null ? atEnd.getCompletedPoints() : 0)
+                    .build());
+        }
+
+        double average = velocities.stream()
+                .mapToInt(VelocityDto.SprintVelocity::getCompletedPoints)
+                .average()
+                .orElse(0);
+
+        return VelocityDto.builder()
+                .projectId(projectId)
+                .sprints(velocities)
+                .averageVelocity(average)
+                .build();
+    }
+
+    private Sprint findSprint(UUID sprintId) {
+        return sprintRepository.findByIdAndTenantId(sprintId, TenantContext.getTenantId())
+                .orElseThrow(() -> new SprintNotFoundException("Sprint not found"));
+    }
+
+    private Sprint findSprintForUpdate(UUID sprintId) {
+        return sprintRepository.findCurrentByIdAndTenantId(sprintId, TenantContext.getTenantId())
+                .orElseThrow(() -> new SprintNotFoundException("Sprint not found"));
+    }
+
+    // Points au démarrage : fin du premier jour, hors changements de périmètre de ce jour
+    private int committedPoints(List<SprintBurndownSnapshot> snapshots, LocalDate start) {
+        SprintBurndownSnapshot atStart = valueAt(snapshots, start);
+        if (atStart == null) {
+            return 0;
+        }
+        int scopeOnStartDay = atStart.getSnapshotDate().equals(start) ? atStart.getScopeChange() : 0;
+        return atStart.getTotalPoints() - scopeOnStartDay;
+    }
+
+    // Dernière ligne au plus tard à cette date (lignes triées par date)
+    private SprintBurndownSnapshot valueAt(List<SprintBurndownSnapshot> snapshots, LocalDate day) {
+        SprintBurndownSnapshot value = null;
+        for (SprintBurndownSnapshot snapshot : snapshots) {
+            if (snapshot.getSnapshotDate().isAfter(day)) {
+                break;
+            }
+            value = snapshot;
+        }
+        return value;
+    }
+
+    // Totaux depuis la dernière ligne de chaque sprint : une requête pour toute la liste
+    private List<SprintDto> convertToDtos(List<Sprint> sprints) {
+        if (sprints.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<UUID, SprintBurndownSnapshot> latest = snapshotRepository.findLatestBySprintIds(
+                        sprints.stream().map(Sprint::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(SprintBurndownSnapshot::getSprintId, Function.identity()));
+
+        return sprints.stream()
+                .map(sprint -> convertToDto(sprint, latest.get(sprint.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private SprintDto convertToDto(Sprint sprint, SprintBurndownSnapshot totals) {
+        return SprintDto.builder()
+                .id(sprint.getId())
+                .projectId(sprint.getProject().getId())
+                .name(sprint.getName())
+                .goal(sprint.getGoal())
+                .status(sprint.getStatus())
+                .startDate(sprint.getStartDate())
+                .endDate(sprint.getEndDate())
+                .createdBy(sprint.getCreatedBy())
+                .createdAt(sprint.getCreatedAt())
+                .updatedAt(sprint.getUpdatedAt())
+                .taskCount(totals != null ? totals.getTotalTasks() : 0)
+                .completedTasks(totals != null ? totals.getCompletedTasks() : 0)
+                .totalStoryPoints(totals != null ? totals.getTotalPoints() : 0)
+                .completedStoryPoints(totals != null ? totals.getCompletedPoints() : 0)
+                .build();
+    }
+}
@@ -0,0 +1,331 @@
+// ===========================================
+// TaskActivityService.java - Historique des tâches (journal en ajout seul)
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.config.TaskActivityProperties;
+import com.projectsaas.project.dto.CursorPageDto;
+import com.projectsaas.project.dto.TaskActivityDto;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.TaskNotFoundException;
+import com.projectsaas.project.repository.TaskActivityRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.security.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Le chemin de modification d'une tâche ne fait qu'un diff des champs suivis et une mise
+// en tampon après le commit : aucune écriture supplémentaire dans la transaction métier.
+// Le tampon est vidé par lots (un INSERT multi-lignes) ; un arrêt brutal perd au plus
+// les entrées du dernier intervalle. Un lot refusé pour ses données est coupé en deux
+// jusqu'à isoler les lignes fautives ; un lot en échec pour une autre raison (base
+// indisponible) est retenté au plus maxAttempts fois.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskActivityService {
+
+    // Borne basse si la date de création de la tâche est inconnue
+    private static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TaskActivityRepository activityRepository;
+    private final TaskRepository taskRepository;
+    private final TaskActivityProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingEntry> buffer;
+    private Counter writtenCounter;
+    private Counter droppedFullCounter;
+    private Counter droppedFailedCounter;
+    private Counter droppedInvalidCounter;
+
+    // Dernier vidage en échec : une seule erreur loggée jusqu'au retour à la normale
+    private volatile boolean failing;
+
+    @PostConstruct
+    public void init() {
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+
+        Gauge.builder("task.activity.buffer.size", buffer, BlockingQueue::size)
+                .description("Task activity entries waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("task.activity.written")
+                .description("Task activity entries written")
+                .register(meterRegistry);
+        this.droppedFullCounter = Counter.builder("task.activity.dropped")
+                .tag("reason", "buffer_full")
+                .register(meterRegistry);
+        this.droppedFailedCounter = Counter.builder("task.activity.dropped")
+                .tag("reason", "write_failed")
+                .register(meterRegistry);
+        this.droppedInvalidCounter = Counter.builder("task.activity.dropped")
+                .tag("reason", "rejected")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // ===== Enregistrement (dans la transaction métier) =====
+
+    // Champs suivis d'une tâche, à capturer avant modification
+    public static Map<String, Object> snapshot(Task task) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("status", task.getStatus());
+        fields.put("priority", task.getPriority());
+        fields.put("storyPoints", task.getStoryPoints());
+        fields.put("assigneeId", task.getAssigneeId());
+        fields.put("dueDate", task.getDueDate());
+        fields.put("sprintId", TaskDtoAssembler.sprintId(task));
+        return fields;
+    }
+
+    public void taskCreated(Task task, UUID actorId) {
+        record(List.of(entry(task, actorId, TaskActivityDto.Action.CREATED, null, null)));
+    }
+
+    // Rien n'est enregistré si aucun champ suivi n'a changé
+    public void taskUpdated(Task task, Map<String, Object> before, UUID actorId) {
+        Map<String, Object> changes = diff(before, snapshot(task));
+        if (!changes.isEmpty()) {
+            record(List.of(entry(task, actorId, TaskActivityDto.Action.UPDATED, changes, null)));
+        }
+    }
+
+    public void taskDeleted(Task task, UUID actorId) {
+        record(List.of(entry(task, actorId, TaskActivityDto.Action.DELETED, null, null)));
+    }
+
+    // Mise à jour en masse (SQL) : valeurs avant / après lues par RETURNING
+    public TaskActivityDto bulkEntry(UUID tenantId, UUID taskId, UUID projectId, UUID actorId,
+                                     Map<String, Object> before, Map<String, Object> after, String comment) {
+        Map<String, Object> changes = diff(before, after);
+        if (changes.isEmpty() && comment == null) {
+            return null;
+        }
+        return TaskActivityDto.builder()
+                .id(UUID.randomUUID())
+                .tenantId(tenantId)
+                .taskId(taskId)
+                .projectId(projectId)
+                .actorId(actorId)
+                .action(TaskActivityDto.Action.BULK_UPDATED)
+                .changes(changes.isEmpty() ? null : changes)
+                .comment(comment)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Entrées mises en tampon après le commit ; rien en cas de rollback
+    public void record(List<TaskActivityDto> entries) {
+        if (!properties.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(entries);
+            }
+        });
+    }
+
+    // ===== Écriture par lots =====
+
+    @Scheduled(fixedDelayString = "${app.task-activity.flush-interval:1000}")
+    public synchronized void flush() {
+        List<PendingEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                write(batch);
+                if (failing) {
+                    failing = false;
+                    log.info("Task activity writes recovered");
+                }
+            } catch (DataAccessException e) {
+                if (!failing) {
+                    failing = true;
+                    log.error("Failed to write task activity, entries kept in buffer until the next flush", e);
+                }
+                // Lignes non écrites remises en tampon, nouvel essai au prochain passage
+                requeue(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    // Lot refusé pour ses données (contrainte, partition absente, valeur invalide) :
+    // coupé en deux jusqu'à la ligne fautive, seule abandonnée
+    private void write(List<PendingEntry> batch) {
+        List<TaskActivityDto> entries = new ArrayList<>(batch.size());
+        for (PendingEntry pending : batch) {
+            if (!pending.written) {
+                entries.add(pending.entry);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            activityRepository.insertBatch(entries);
+            batch.forEach(pending -> pending.written = true);
+            writtenCounter.increment(entries.size());
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                batch.get(0).written = true;
+                droppedInvalidCounter.increment();
+                log.warn("Task activity entry for task {} rejected and dropped: {}",
+                        batch.get(0).entry.getTaskId(), e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int middle = batch.size() / 2;
+            write(batch.subList(0, middle));
+            write(batch.subList(middle, batch.size()));
+        }
+    }
+
+    // ===== Lecture =====
+
+    // Historique d'une tâche, plus récent d'abord, page par curseur
+    public CursorPageDto<TaskActivityDto> getTaskActivity(UUID taskId, String cursor, Integer size) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        Task task = taskRepository.findByIdAndTenantId(taskId, tenantId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found"));
+
+        // Début du mois de création : mêmes bornes que les partitions
+        LocalDateTime since = task.getCreatedAt() != null
+                ? task.getCreatedAt().toLocalDate().withDayOfMonth(1).atStartOfDay()
+                : NO_LOWER_BOUND;
+
+        int pageSize = size == null
+                ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(size, properties.getMaxPageSize()));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<TaskActivityDto> entries = activityRepository.findByTask(tenantId, taskId, since,
+                after != null ? after.getPosition() : null, after != null ? after.getId() : null, pageSize + 1);
+
+        boolean hasMore = entries.size() > pageSize;
+        List<TaskActivityDto> page = hasMore ? entries.subList(0, pageSize) : entries;
+        TaskActivityDto last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDto.<TaskActivityDto>builder()
+                .items(page)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? KeysetCursor.encode(last.getCreatedAt(), last.getId()) : null)
+                .build();
+    }
+
+    private TaskActivityDto entry(Task task, UUID actorId, TaskActivityDto.Action action,
+                                  Map<String, Object> changes, String comment) {
+        return TaskActivityDto.builder()
+                .id(UUID.randomUUID())
+                .tenantId(task.getTenantId())
+                .taskId(task.getId())
+                .projectId(TaskDtoAssembler.projectId(task))
+                .actorId(actorId)
+                .action(action)
+                .changes(changes)
+                .comment(comment)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Champs modifiés uniquement : [avant, après], ou true pour un texte long (pas de copie)
+    Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        after.forEach((field, newValue) -> {
+            Object oldValue = before.get(field);
+            if (Objects.equals(oldValue, newValue)) {
+                return;
+            }
+            if (isLong(oldValue) || isLong(newValue)) {
+                changes.put(field, true);
+            } else {
+                changes.put(field, Arrays.asList(value(oldValue), value(newValue)));
+            }
+        });
+        return changes;
+    }
+
+    private boolean isLong(Object value) {
+        return value instanceof String && ((String) value).length() > properties.getMaxValueLength();
+    }
+
+    // Valeurs JSON simples : enums et identifiants en texte
+    private Object value(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+
+    // Jamais d'attente côté requête : tampon plein = entrées abandonnées (métrique)
+    private void offer(List<TaskActivityDto> entries) {
+        for (TaskActivityDto entry : entries) {
+            if (!buffer.offer(new PendingEntry(entry))) {
+                droppedFullCounter.increment();
+            }
+        }
+    }
+
+    // Abandon après maxAttempts vidages en échec, ou si le tampon s'est rempli entre-temps
+    private void requeue(List<PendingEntry> batch) {
+        int dropped = 0;
+        for (PendingEntry pending : batch) {
+            if (pending.written) {
+                continue;
+            }
+            if (++pending.attempts >= properties.getMaxAttempts() || !buffer.offer(pending)) {
+                droppedFailedCounter.increment();
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.warn("{} task activity entries dropped after failed writes", dropped);
+        }
+    }
+
+    // Entrée en attente et ses tentatives d'écriture (manipulée par le seul thread de vidage)
+    private static final class PendingEntry {
+        private final TaskActivityDto entry;
+        private int attempts;
+        private boolean written;
+
+        private PendingEntry(TaskActivityDto entry) {
+            this.entry = entry;
+        }
+    }
+}
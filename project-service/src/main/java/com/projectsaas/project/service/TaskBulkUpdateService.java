@@ -0,0 +1,220 @@
+// ===========================================
+// TaskBulkUpdateService.java - Mise à jour en masse des tâches
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.BulkTaskUpdateRequest;
+import com.projectsaas.project.dto.BulkTaskUpdateResultDto;
+import com.projectsaas.project.dto.TaskActivityDto;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.SprintNotFoundException;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.security.TenantContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TaskBulkUpdateService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SprintRepository sprintRepository;
+    private final NotificationService notificationService;
+    private final KanbanBoardCache boardCache;
+    private final TaskActivityService activityService;
+    private final UserService userService;
+
+    @Value("${app.bulk-update.chunk-size:500}")
+    private int chunkSize;
+
+    // Appliquer les mêmes changements à un ensemble de tâches du tenant
+    public BulkTaskUpdateResultDto bulkUpdate(BulkTaskUpdateRequest request, String token) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        String sql = buildUpdateSql(request, tenantId, params);
+
+        List<UUID> taskIds = new ArrayList<>(new LinkedHashSet<>(request.getTaskIds()));
+        Map<UUID, UpdatedTask> updated = new LinkedHashMap<>();
+
+        // Historique : valeurs avant / après des seuls champs demandés, lues par RETURNING
+        UUID actorId = userService.getCurrentUserId(token);
+        String comment = request.getComment() != null && !request.getComment().isBlank()
+                ? request.getComment().trim()
+                : null;
+        List<TaskActivityDto> activity = new ArrayList<>();
+
+        // Un UPDATE ensembliste par paquet de chunkSize identifiants
+        for (int from = 0; from < taskIds.size(); from += chunkSize) {
+            List<UUID> chunk = taskIds.subList(from, Math.min(from + chunkSize, taskIds.size()));
+            params.addValue("taskIds", chunk);
+
+            jdbcTemplate.query(sql, params, rs -> {
+                UUID taskId = rs.getObject("id", UUID.class);
+                updated.put(taskId, new UpdatedTask(
+                        rs.getString("task_key"),
+                        rs.getObject("assignee_id", UUID.class),
+                        rs.getObject("old_assignee_id", UUID.class)));
+
+                TaskActivityDto entry = activityService.bulkEntry(tenantId, taskId,
+                        rs.getObject("project_id", UUID.class), actorId,
+                        trackedValues(request, rs, "old_"), trackedValues(request, rs, ""), comment);
+                if (entry != null) {
+                    activity.add(entry);
+                }
+            });
+        }
+        activityService.record(activity);
+
+        log.info("Bulk update in tenant {}: {} of {} tasks updated", tenantId, updated.size(), taskIds.size());
+
+        // Les tâches peuvent toucher plusieurs projets : reconstruire les tableaux du tenant
+        if (!updated.isEmpty()) {
+            boardCache.invalidateTenant(tenantId);
+        }
+
+        notifyAssignees(updated, token);
+
+        return buildResult(taskIds, updated, request.getSprintId() != null);
+    }
+
+    private String buildUpdateSql(BulkTaskUpdateRequest request, UUID tenantId, MapSqlParameterSource params) {
+        List<String> assignments = new ArrayList<>();
+
+        if (request.getStatus() != null) {
+            assignments.add("status = :status");
+            params.addValue("status", request.getStatus().name());
+        }
+        if (request.getPriority() != null) {
+            assignments.add("priority = :priority");
+            params.addValue("priority", request.getPriority().name());
+        }
+        if (request.getAssigneeId() != null) {
+            assignments.add("assignee_id = :assigneeId");
+            params.addValue("assigneeId", request.getAssigneeId());
+        }
+        if (request.getSprintId() != null) {
+            assignments.add("sprint_id = :sprintId");
+            params.addValue("sprintId", request.getSprintId());
+        }
+
+        if (assignments.isEmpty()) {
+            throw new InvalidOperationException("No field to update");
+        }
+        assignments.add("updated_at = NOW()");
+
+        StringBuilder sql = new StringBuilder("UPDATE tasks t SET ")
+                .append(String.join(", ", assignments))
+                .append(" FROM tasks o")
+                .append(" WHERE o.id = t.id")
+                .append(" AND t.tenant_id = :tenantId")
+                .append(" AND t.id IN (:taskIds)");
+
+        // Un sprint ne peut recevoir que des tâches de son projet
+        if (request.getSprintId() != null) {
+            Sprint sprint = sprintRepository.findByIdAndTenantId(request.getSprintId(), tenantId)
+                    .orElseThrow(() -> new SprintNotFoundException("Sprint not found"));
+            sql.append(" AND t.project_id = :sprintProjectId");
+            params.addValue("sprintProjectId", sprint.getProject().getId());
+        }
+
+        return sql.append(" RETURNING t.id, t.task_key, t.project_id, t.assignee_id, o.assignee_id AS old_assignee_id,")
+                .append(" t.status, o.status AS old_status, t.priority, o.priority AS old_priority,")
+                .append(" t.sprint_id, o.sprint_id AS old_sprint_id")
+                .toString();
+    }
+
+    // Valeurs des champs demandés, avant (préfixe "old_") ou après la mise à jour
+    private static Map<String, Object> trackedValues(BulkTaskUpdateRequest request, ResultSet rs, String prefix)
+            throws SQLException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (request.getStatus() != null) {
+            values.put("status", rs.getString(prefix + "status"));
+        }
+        if (request.getPriority() != null) {
+            values.put("priority", rs.getString(prefix + "priority"));
+        }
+        if (request.getAssigneeId() != null) {
+            values.put("assigneeId", rs.getObject(prefix + "assignee_id", UUID.class));
+        }
+        if (request.getSprintId() != null) {
+            values.put("sprintId", rs.getObject(prefix + "sprint_id", UUID.class));
+        }
+        return values;
+    }
+
+    // Une notification agrégée par assigné concerné, pas une par tâche
+    private void notifyAssignees(Map<UUID, UpdatedTask> updated, String token) {
+        Map<UUID, List<String>> tasksByAssignee = new LinkedHashMap<>();
+        Map<UUID, List<String>> removedByAssignee = new LinkedHashMap<>();
+
+        for (UpdatedTask task : updated.values()) {
+            if (task.getAssigneeId() != null) {
+                tasksByAssignee.computeIfAbsent(task.getAssigneeId(), id -> new ArrayList<>()).add(task.getTaskKey());
+            }
+            if (task.getOldAssigneeId() != null && !Objects.equals(task.getOldAssigneeId(), task.getAssigneeId())) {
+                removedByAssignee.computeIfAbsent(task.getOldAssigneeId(), id -> new ArrayList<>()).add(task.getTaskKey());
+            }
+        }
+
+        tasksByAssignee.forEach((assigneeId, taskKeys) ->
+                notificationService.notifyTasksBulkUpdated(assigneeId, taskKeys, token));
+        removedByAssignee.forEach((assigneeId, taskKeys) ->
+                notificationService.notifyTasksBulkUnassigned(assigneeId, taskKeys, token));
+    }
+
+    private BulkTaskUpdateResultDto buildResult(List<UUID> taskIds, Map<UUID, UpdatedTask> updated,
+                                                boolean sprintChange) {
+        String notFoundMessage = sprintChange
+                ? "Task not found or not in the sprint's project"
+                : "Task not found";
+
+        List<BulkTaskUpdateResultDto.TaskResult> results = new ArrayList<>(taskIds.size());
+        for (UUID taskId : taskIds) {
+            UpdatedTask task = updated.get(taskId);
+            results.add(BulkTaskUpdateResultDto.TaskResult.builder()
+                    .taskId(taskId)
+                    .taskKey(task != null ? task.getTaskKey() : null)
+                    .status(task != null
+                            ? BulkTaskUpdateResultDto.ResultStatus.UPDATED
+                            : BulkTaskUpdateResultDto.ResultStatus.NOT_FOUND)
+                    .message(task != null ? null : notFoundMessage)
+                    .build());
+        }
+
+        return BulkTaskUpdateResultDto.builder()
+                .requestedCount(taskIds.size())
+                .updatedCount(updated.size())
+                .failedCount(taskIds.size() - updated.size())
+                .results(results)
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class UpdatedTask {
+        private final String taskKey;
+        private final UUID assigneeId;
+        private final UUID oldAssigneeId;
+    }
+}
@@ -0,0 +1,87 @@
+// ===========================================
+// TaskDtoAssembler.java - Conversion Task -> DTO partagée par les services
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// Aucune requête par ligne : les identifiants de projet et de sprint sont lus sur le
+// proxy sans l'initialiser (valable aussi hors session, ex. sections du dashboard),
+// le nombre de commentaires vient de la colonne dénormalisée tasks.comment_count.
+@Component
+public class TaskDtoAssembler {
+
+    public TaskDto toDto(Task task) {
+        return TaskDto.builder()
+                .id(task.getId())
+                .projectId(projectId(task))
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .taskKey(task.getTaskKey())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .taskType(task.getTaskType())
+                .storyPoints(task.getStoryPoints())
+                .assigneeId(task.getAssigneeId())
+                .reporterId(task.getReporterId())
+                .dueDate(task.getDueDate())
+                .sprintId(sprintId(task))
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .commentCount(task.getCommentCount() != null ? task.getCommentCount() : 0)
+                .build();
+    }
+
+    public List<TaskDto> toDtos(List<Task> tasks) {
+        return tasks.stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    public KanbanCardDto toCard(Task task) {
+        return KanbanCardDto.builder()
+                .id(task.getId())
+                .taskKey(task.getTaskKey())
+                .title(task.getTitle())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .taskType(task.getTaskType())
+                .storyPoints(task.getStoryPoints())
+                .assigneeId(task.getAssigneeId())
+                .dueDate(task.getDueDate())
+                .sprintId(sprintId(task))
+                .createdAt(task.getCreatedAt())
+                .build();
+    }
+
+    public static UUID projectId(Task task) {
+        Project project = task.getProject();
+        if (project instanceof HibernateProxy) {
+            return proxyId(project);
+        }
+        return project != null ? project.getId() : null;
+    }
+
+    public static UUID sprintId(Task task) {
+        Sprint sprint = task.getSprint();
+        if (sprint instanceof HibernateProxy) {
+            return proxyId(sprint);
+        }
+        return sprint != null ? sprint.getId() : null;
+    }
+
+    // Proxy non initialisé : identifiant porté par le proxy, pas de SELECT ni de
+    // LazyInitializationException (même avec hibernate.jpa.compliance.proxy)
+    private static UUID proxyId(Object proxy) {
+        return (UUID) ((HibernateProxy) proxy).getHibernateLazyInitializer().getIdentifier();
+    }
+}
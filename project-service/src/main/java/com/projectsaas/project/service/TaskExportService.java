@@ -0,0 +1,227 @@
+// ===========================================
+// TaskExportService.java - Export CSV / NDJSON des tâches d'un projet
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.ProjectNotFoundException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.TaskExportRepository;
+import com.projectsaas.project.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Chaque ligne lue est écrite aussitôt dans la réponse : la mémoire utilisée
+// ne dépend pas de la taille du projet.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    // Colonnes exportées (en-tête CSV / clés JSON), dans l'ordre de TaskExportRepository
+    private static final List<String> COLUMNS = List.of(
+            "id", "taskKey", "title", "description", "status", "priority", "taskType", "storyPoints",
+            "assigneeId", "reporterId", "dueDate", "sprintId", "createdAt", "updatedAt", "commentCount");
+
+    private final ProjectRepository projectRepository;
+    private final TaskExportRepository taskExportRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private TransactionTemplate exportTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+    }
+
+    public enum ExportFormat {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", new MediaType("application", "x-ndjson", StandardCharsets.UTF_8));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static ExportFormat parse(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidOperationException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    // Vérifier le projet maintenant (thread de la requête), écrire plus tard (thread asynchrone)
+    public Project getExportableProject(UUID projectId) {
+        UUID tenantId = TenantContext.getTenantId();
+        return projectRepository.findByIdAndTenantId(projectId, tenantId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
+    }
+
+    // TenantContext n'existe pas dans le thread d'écriture : le tenant est capturé ici
+    public StreamingResponseBody exportProjectTasks(Project project, ExportFormat format) {
+        UUID tenantId = project.getTenantId();
+        UUID projectId = project.getId();
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            long[] rows = {0};
+
+            rowWriter.writeHeader();
+            try {
+                exportTransaction.executeWithoutResult(status ->
+                        taskExportRepository.streamProjectTasks(tenantId, projectId, rs -> {
+                            try {
+                                rowWriter.writeRow(rs);
+                            } catch (IOException e) {
+                                // Client déconnecté : interrompre la lecture
+                                throw new UncheckedIOException(e);
+                            }
+                            rows[0]++;
+                        }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+
+            log.info("Exported {} tasks of project {} as {}", rows[0], project.getKey(), format);
+        };
+    }
+
+    private interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void writeRow(ResultSet rs) throws IOException, SQLException;
+    }
+
+    // RFC 4180 : champs entre guillemets si nécessaire, guillemets doublés
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws IOException, SQLException {
+            for (int column = 1; column <= COLUMNS.size(); column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                writeField(value(rs, column));
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    // Un objet JSON par ligne, écrit champ par champ sans objet intermédiaire
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            // Le flush de chaque ligne reste dans le BufferedWriter ; séparateur de ligne écrit à la main
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader() {
+            // Pas d'en-tête en NDJSON
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int column = 1; column <= COLUMNS.size(); column++) {
+                String name = COLUMNS.get(column - 1);
+                if (name.equals("storyPoints") || name.equals("commentCount")) {
+                    int number = rs.getInt(column);
+                    if (rs.wasNull()) {
+                        generator.writeNullField(name);
+                    } else {
+                        generator.writeNumberField(name, number);
+                    }
+                } else {
+                    generator.writeStringField(name, value(rs, column));
+                }
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    // Valeur texte d'une colonne (dates au format ISO, comme dans les DTO)
+    private static String value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,74 @@
+// ===========================================
+// TaskFilterService.java - Filtrage des tâches, pagination par curseur et facettes
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.dto.TaskFilterRequest;
+import com.projectsaas.project.dto.TaskFilterResultDto;
+import com.projectsaas.project.repository.SearchRepository;
+import com.projectsaas.project.repository.TaskFilterRepository;
+import com.projectsaas.project.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TaskFilterService {
+
+    private final TaskFilterRepository taskFilterRepository;
+
+    @Value("${app.task-list.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.task-list.max-page-size:200}")
+    private int maxPageSize;
+
+    // Tâches du tenant correspondant au filtre ; facettes calculées sur la première page
+    public TaskFilterResultDto filterTasks(TaskFilterRequest filter, String cursor, Integer size, boolean withFacets) {
+        UUID tenantId = TenantContext.getTenantId();
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        String tsQuery = SearchRepository.toPrefixQuery(filter.getSearchTerm());
+
+        // Une tâche de plus que demandé pour savoir s'il reste une page
+        TaskFilterResultDto result = taskFilterRepository.filter(tenantId, filter, tsQuery,
+                after != null ? after.getPosition() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1,
+                withFacets && after == null);
+
+        List<TaskDto> tasks = result.getItems();
+        boolean hasMore = tasks.size() > pageSize;
+        if (hasMore) {
+            tasks = new ArrayList<>(tasks.subList(0, pageSize));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TaskDto last = tasks.get(tasks.size() - 1);
+            nextCursor = KeysetCursor.encode(
+                    TaskFilterRepository.ordersByDueDate(filter) ? last.getDueDate() : last.getCreatedAt(),
+                    last.getId());
+        }
+
+        log.debug("Task filter in tenant {}: {} tasks (hasMore={})", tenantId, tasks.size(), hasMore);
+
+        return result.toBuilder()
+                .items(tasks)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,574 @@
+// ===========================================
+// TaskImportService.java - Import de tâches en masse (CSV / JSON, ex: export Jira)
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.dto.TaskImportResultDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.ProjectNotFoundException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// Les lignes sont lues en flux et écrites par paquets de chunkSize tâches, un paquet
+// par transaction : les INSERT d'un paquet partent par lots JDBC (hibernate.jdbc.batch_size).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+
+    // En-têtes reconnus, normalisés (minuscules, sans séparateurs) : colonnes de l'export et d'un export Jira
+    private static final Map<String, Field> COLUMNS = Map.ofEntries(
+            Map.entry("title", Field.TITLE),
+            Map.entry("summary", Field.TITLE),
+            Map.entry("description", Field.DESCRIPTION),
+            Map.entry("status", Field.STATUS),
+            Map.entry("priority", Field.PRIORITY),
+            Map.entry("tasktype", Field.TASK_TYPE),
+            Map.entry("issuetype", Field.TASK_TYPE),
+            Map.entry("type", Field.TASK_TYPE),
+            Map.entry("storypoints", Field.STORY_POINTS),
+            Map.entry("storypointestimate", Field.STORY_POINTS),
+            Map.entry("customfieldstorypoints", Field.STORY_POINTS),
+            Map.entry("customfieldstorypointestimate", Field.STORY_POINTS),
+            Map.entry("assigneeid", Field.ASSIGNEE_ID),
+            Map.entry("assignee", Field.ASSIGNEE_ID),
+            Map.entry("duedate", Field.DUE_DATE),
+            Map.entry("due", Field.DUE_DATE));
+
+    // Valeurs Jira courantes -> valeurs de l'application
+    private static final Map<String, Task.TaskStatus> STATUS_ALIASES = Map.of(
+            "TO_DO", Task.TaskStatus.TODO,
+            "OPEN", Task.TaskStatus.TODO,
+            "BACKLOG", Task.TaskStatus.TODO,
+            "REOPENED", Task.TaskStatus.TODO,
+            "SELECTED_FOR_DEVELOPMENT", Task.TaskStatus.TODO,
+            "REVIEW", Task.TaskStatus.IN_REVIEW,
+            "CODE_REVIEW", Task.TaskStatus.IN_REVIEW,
+            "CLOSED", Task.TaskStatus.DONE,
+            "RESOLVED", Task.TaskStatus.DONE);
+
+    private static final Map<String, Task.Priority> PRIORITY_ALIASES = Map.of(
+            "HIGHEST", Task.Priority.CRITICAL,
+            "BLOCKER", Task.Priority.CRITICAL,
+            "MAJOR", Task.Priority.HIGH,
+            "NORMAL", Task.Priority.MEDIUM,
+            "MINOR", Task.Priority.LOW,
+            "LOWEST", Task.Priority.LOW,
+            "TRIVIAL", Task.Priority.LOW);
+
+    private static final Map<String, Task.TaskType> TYPE_ALIASES = Map.of(
+            "SUB_TASK", Task.TaskType.SUBTASK,
+            "IMPROVEMENT", Task.TaskType.TASK,
+            "NEW_FEATURE", Task.TaskType.STORY);
+
+    // ISO (export de l'application) puis formats Jira (12/Mar/24 5:00 PM)
+    private static final DateTimeFormatter JIRA_DATE_TIME = DateTimeFormatter.ofPattern("d/MMM/yy h:mm a", Locale.ENGLISH);
+    private static final DateTimeFormatter JIRA_DATE = DateTimeFormatter.ofPattern("d/MMM/yy", Locale.ENGLISH);
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskKeyAllocator taskKeyAllocator;
+    private final KanbanBoardCache boardCache;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.task-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.task-import.max-rows:50000}")
+    private int maxRows;
+
+    @Value("${app.task-import.max-errors:100}")
+    private int maxErrors;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public enum ImportFormat {
+        CSV, JSON;
+
+        // "ndjson" accepté : même lecteur que JSON (objets à la racine ou tableau)
+        public static ImportFormat parse(String format) {
+            String name = format.toUpperCase(Locale.ROOT);
+            if ("NDJSON".equals(name)) {
+                return JSON;
+            }
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidOperationException("Unsupported import format: " + format);
+            }
+        }
+    }
+
+    // Importer les tâches d'un fichier dans un projet du tenant
+    public TaskImportResultDto importTasks(UUID projectId, ImportFormat format, InputStream input, String token) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        Project project = projectRepository.findByIdAndTenantId(projectId, tenantId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
+        UUID reporterId = userService.getCurrentUserId(token);
+
+        ImportRun run = new ImportRun();
+        long start = System.nanoTime();
+
+        try (RowReader reader = format == ImportFormat.CSV ? new CsvRowReader(input) : new JsonRowReader(input)) {
+            List<Task> chunk = new ArrayList<>(chunkSize);
+            int chunkFirstRow = 0;
+
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                if (run.rows == maxRows) {
+                    run.stop(row.number, "Row limit reached: " + maxRows);
+                    break;
+                }
+                run.rows++;
+
+                Task task;
+                try {
+                    task = toTask(row, tenantId, reporterId);
+                } catch (InvalidRowException e) {
+                    run.skip(row.number, e.getMessage());
+                    continue;
+                }
+
+                if (chunk.isEmpty()) {
+                    chunkFirstRow = row.number;
+                }
+                chunk.add(task);
+                if (chunk.size() == chunkSize) {
+                    boolean written = writeChunk(project, chunk, chunkFirstRow, run);
+                    chunk = new ArrayList<>(chunkSize);
+                    if (!written) {
+                        break;
+                    }
+                }
+            }
+
+            // Limite de lignes atteinte : les lignes déjà lues sont écrites
+            if (!chunk.isEmpty()) {
+                writeChunk(project, chunk, chunkFirstRow, run);
+            }
+        } catch (IOException e) {
+            // Fichier illisible : rien n'est écrit s'il l'est dès le début
+            if (run.imported == 0) {
+                throw new InvalidOperationException("Unreadable " + format + " file: " + e.getMessage());
+            }
+            run.stop(null, "Unreadable " + format + " file: " + e.getMessage());
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        double rowsPerSecond = run.imported * 1000.0 / durationMs;
+
+        log.info("Imported {} tasks ({} skipped) into project {} in {} ms ({} rows/s)",
+                run.imported, run.skipped, project.getKey(), durationMs, Math.round(rowsPerSecond));
+
+        return TaskImportResultDto.builder()
+                .projectId(projectId)
+                .format(format.name())
+                .completed(!run.stopped)
+                .importedCount(run.imported)
+                .skippedCount(run.skipped)
+                .chunkCount(run.chunks)
+                .firstTaskKey(run.firstTaskKey)
+                .lastTaskKey(run.lastTaskKey)
+                .durationMs(durationMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(run.errors)
+                .build();
+    }
+
+    // Un paquet = une transaction : numéros réservés en une fois, INSERT par lots JDBC
+    private boolean writeChunk(Project project, List<Task> tasks, int firstRow, ImportRun run) {
+        try {
+            long firstNumber = chunkTransaction.execute(status -> {
+                long first = taskKeyAllocator.reserveNumbers(project, tasks.size());
+                for (int i = 0; i < tasks.size(); i++) {
+                    Task task = tasks.get(i);
+                    task.setProject(project);
+                    task.setTaskKey(project.getKey() + "-" + (first + i));
+                }
+                taskRepository.saveAll(tasks);
+
+                // Tableau Kanban reconstruit à la prochaine lecture, une fois par paquet
+                boardCache.invalidateProject(project.getTenantId(), project.getId());
+                return first;
+            });
+
+            if (run.firstTaskKey == null) {
+                run.firstTaskKey = project.getKey() + "-" + firstNumber;
+            }
+            run.lastTaskKey = project.getKey() + "-" + (firstNumber + tasks.size() - 1);
+            run.imported += tasks.size();
+            run.chunks++;
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Task import into project {} stopped at row {}: {}", project.getKey(), firstRow, e.getMessage());
+            run.stop(firstRow, "Chunk starting at row " + firstRow + " could not be saved");
+            return false;
+        }
+    }
+
+    private Task toTask(ImportRow row, UUID tenantId, UUID reporterId) {
+        if (row.error != null) {
+            throw new InvalidRowException(row.error);
+        }
+        Map<Field, String> values = row.values;
+
+        String title = values.get(Field.TITLE);
+        if (title == null) {
+            throw new InvalidRowException("Title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new InvalidRowException("Title exceeds " + MAX_TITLE_LENGTH + " characters");
+        }
+
+        Task.TaskStatus status = enumValue(Task.TaskStatus.class, STATUS_ALIASES, values.get(Field.STATUS), "status");
+        Task.Priority priority = enumValue(Task.Priority.class, PRIORITY_ALIASES, values.get(Field.PRIORITY), "priority");
+        Task.TaskType taskType = enumValue(Task.TaskType.class, TYPE_ALIASES, values.get(Field.TASK_TYPE), "task type");
+
+        return Task.builder()
+                .tenantId(tenantId)
+                .title(title)
+                .description(values.get(Field.DESCRIPTION))
+                .status(status != null ? status : Task.TaskStatus.TODO)
+                .priority(priority != null ? priority : Task.Priority.MEDIUM)
+                .taskType(taskType != null ? taskType : Task.TaskType.TASK)
+                .storyPoints(storyPoints(values.get(Field.STORY_POINTS)))
+                .assigneeId(assigneeId(values.get(Field.ASSIGNEE_ID)))
+                .reporterId(reporterId)
+                .dueDate(dueDate(values.get(Field.DUE_DATE)))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Map<String, E> aliases, String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        // "In Progress", "in-progress" -> IN_PROGRESS
+        String name = value.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_").replaceAll("^_|_$", "");
+        E alias = aliases.get(name);
+        if (alias != null) {
+            return alias;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRowException("Unknown " + label + ": " + value);
+        }
+    }
+
+    // Jira exporte des décimales ("3.0")
+    private static Integer storyPoints(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal points = new BigDecimal(value);
+            if (points.signum() < 0) {
+                throw new InvalidRowException("Story points must not be negative");
+            }
+            return points.setScale(0, RoundingMode.HALF_UP).intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new InvalidRowException("Invalid story points: " + value);
+        }
+    }
+
+    // Seuls les identifiants sont retenus : un export Jira contient des noms, la tâche reste non assignée
+    private static UUID assigneeId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime dueDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 && value.indexOf('/') < 0
+                    ? LocalDate.parse(value).atStartOfDay()
+                    : LocalDateTime.parse(value);
+        } catch (DateTimeParseException ignored) {
+            // Format Jira
+        }
+        try {
+            return value.indexOf(' ') > 0
+                    ? LocalDateTime.parse(value, JIRA_DATE_TIME)
+                    : LocalDate.parse(value, JIRA_DATE).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new InvalidRowException("Invalid due date: " + value);
+        }
+    }
+
+    // Nom de colonne ou clé JSON -> champ de la tâche
+    private static Field field(String name) {
+        return COLUMNS.get(name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""));
+    }
+
+    // Valeur vide ou blanche : absente
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private enum Field {
+        TITLE, DESCRIPTION, STATUS, PRIORITY, TASK_TYPE, STORY_POINTS, ASSIGNEE_ID, DUE_DATE
+    }
+
+    // Ligne lue : valeurs reconnues, ou erreur de structure
+    private static class ImportRow {
+        private final int number;
+        private final Map<Field, String> values;
+        private final String error;
+
+        ImportRow(int number, Map<Field, String> values, String error) {
+            this.number = number;
+            this.values = values;
+            this.error = error;
+        }
+    }
+
+    private static class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+
+    // Compteurs d'un import en cours
+    private class ImportRun {
+        private int rows;
+        private int imported;
+        private int skipped;
+        private int chunks;
+        private boolean stopped;
+        private String firstTaskKey;
+        private String lastTaskKey;
+        private final List<TaskImportResultDto.RowError> errors = new ArrayList<>();
+
+        void skip(int row, String message) {
+            skipped++;
+            addError(row, message);
+        }
+
+        void stop(Integer row, String message) {
+            stopped = true;
+            addError(row, message);
+        }
+
+        private void addError(Integer row, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(TaskImportResultDto.RowError.builder().row(row).message(message).build());
+            }
+        }
+    }
+
+    private interface RowReader extends Closeable {
+        // null en fin de fichier
+        ImportRow next() throws IOException;
+    }
+
+    // RFC 4180 : champs entre guillemets (éventuellement sur plusieurs lignes), guillemets doublés
+    private static class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final Field[] columns;
+        private int recordNumber = 1;
+
+        CsvRowReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+
+            // BOM UTF-8 des exports Excel / Jira
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset();
+            }
+
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new InvalidOperationException("Empty CSV file");
+            }
+            // Colonne répétée (ex: plusieurs "Sprint" chez Jira) : la première est retenue
+            this.columns = new Field[header.size()];
+            List<Field> seen = new ArrayList<>();
+            for (int i = 0; i < header.size(); i++) {
+                Field field = field(header.get(i));
+                if (field != null && !seen.contains(field)) {
+                    columns[i] = field;
+                    seen.add(field);
+                }
+            }
+            if (!seen.contains(Field.TITLE)) {
+                throw new InvalidOperationException("CSV header must contain a title or summary column");
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                recordNumber++;
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            for (int i = 0; i < Math.min(record.size(), columns.length); i++) {
+                String value = clean(record.get(i));
+                if (columns[i] != null && value != null) {
+                    values.put(columns[i], value);
+                }
+            }
+            return new ImportRow(recordNumber, values, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("unterminated quoted field in record " + (recordNumber + 1));
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                    value.append((char) c);
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // Objets JSON à la racine (NDJSON de l'export) ou tableau d'objets.
+    // Issues Jira (API REST) : champs lus sous "fields", objets {"name": ...} réduits à leur nom.
+    private class JsonRowReader implements RowReader {
+        private final MappingIterator<JsonNode> nodes;
+        private int count;
+
+        JsonRowReader(InputStream input) throws IOException {
+            this.nodes = objectMapper.readerFor(JsonNode.class).readValues(input);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            count++;
+
+            if (!node.isObject()) {
+                return new ImportRow(count, Map.of(), "Expected a JSON object");
+            }
+            JsonNode source = node.path("fields").isObject() ? node.get("fields") : node;
+
+            Map<Field, String> values = new EnumMap<>(Field.class);
+            Iterator<Map.Entry<String, JsonNode>> entries = source.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                Field field = field(entry.getKey());
+                String value = clean(text(entry.getValue()));
+                if (field != null && value != null) {
+                    values.putIfAbsent(field, value);
+                }
+            }
+            return new ImportRow(count, values, null);
+        }
+
+        private String text(JsonNode value) {
+            if (value.isObject()) {
+                JsonNode name = value.has("name") ? value.get("name") : value.get("value");
+                return name != null && name.isValueNode() ? name.asText() : null;
+            }
+            return value.isValueNode() && !value.isNull() ? value.asText() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            nodes.close();
+        }
+    }
+}
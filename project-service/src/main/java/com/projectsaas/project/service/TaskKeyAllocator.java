@@ -0,0 +1,107 @@
+// ===========================================
+// TaskKeyAllocator.java - Attribution des clés de tâches (PROJ-N)
+// ===========================================
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.repository.ProjectTaskCounterRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskKeyAllocator {
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.task-keys.block-size:10}")
+    private int blockSize;
+
+    // Numéros réservés par cette JVM, par projet
+    private final Map<UUID, NumberBlock> blocks = new ConcurrentHashMap<>();
+
+    private TransactionTemplate reservationTransaction;
+
+    @PostConstruct
+    public void init() {
+        // Réservation validée seule, en une courte transaction : la ligne du compteur n'est
+        // verrouillée que le temps de l'UPDATE, pas jusqu'au commit de la création de tâche.
+        // Un rollback de l'appelant laisse un trou dans la numérotation (accepté).
+        // Seconde connexion le temps de la réservation : une fois par bloc et par projet au plus.
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Prochaine clé de tâche pour un projet (ex: PROJ-124)
+    public String nextTaskKey(Project project) {
+        return project.getKey() + "-" + nextNumber(project);
+    }
+
+    // Numéros servis depuis le bloc de la JVM ; le compteur n'est touché qu'une fois par bloc
+    public long nextNumber(Project project) {
+        NumberBlock block = blocks.computeIfAbsent(project.getId(), id -> new NumberBlock());
+        synchronized (block) {
+            if (!block.hasNext()) {
+                long end = reserveBlock(project, blockSize);
+                block.reset(end - blockSize, end);
+            }
+            return block.next();
+        }
+    }
+
+    // Plage de count numéros consécutifs (import) : une seule réservation, premier numéro retourné
+    public long reserveNumbers(Project project, int count) {
+        return reserveBlock(project, count) - count;
+    }
+
+    // Oublier les numéros réservés (projet supprimé)
+    public void forget(UUID projectId) {
+        blocks.remove(projectId);
+    }
+
+    // Réserver [end - size, end) et retourner end
+    private long reserveBlock(Project project, long size) {
+        Long end = reservationTransaction.execute(status -> {
+            if (counterRepository.advance(project.getId(), size) == 0) {
+                // Projet sans compteur (créé après la migration) : l'initialiser
+                counterRepository.seedCounter(project.getId(), project.getTenantId(), project.getKey());
+                counterRepository.advance(project.getId(), size);
+            }
+            return counterRepository.findNextNumber(project.getId());
+        });
+
+        log.debug("Reserved task numbers [{}, {}) for project {}", end - size, end, project.getKey());
+        return end;
+    }
+
+    // Plage de numéros [next, end) déjà réservée en base
+    private static class NumberBlock {
+        private long next;
+        private long end;
+
+        boolean hasNext() {
+            return next < end;
+        }
+
+        long next() {
+            return next++;
+        }
+
+        void reset(long start, long end) {
+            this.next = start;
+            this.end = end;
+        }
+    }
+}
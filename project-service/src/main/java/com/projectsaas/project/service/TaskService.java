@@ -4,27 +4,30 @@
 package com.projectsaas.project.service;
 
 import com.projectsaas.project.dto.CreateTaskRequest;
+import com.projectsaas.project.dto.CursorPageDto;
 import com.projectsaas.project.dto.TaskDto;
 import com.projectsaas.project.dto.UpdateTaskRequest;
-import com.projectsaas.project.dto.UserDto;
 import com.projectsaas.project.entity.Project;
 import com.projectsaas.project.entity.Task;
 import com.projectsaas.project.exception.ProjectNotFoundException;
 import com.projectsaas.project.exception.TaskNotFoundException;
 import com.projectsaas.project.repository.ProjectRepository;
 import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
 import com.projectsaas.project.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -34,8 +37,19 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final AuthIntegrationService authService;
+    private final UserService userService;
+    private final TaskKeyAllocator taskKeyAllocator;
     private final NotificationService notificationService;
+    private final KanbanBoardCache boardCache;
+    private final TaskStatusCounterRepository counterRepository;
+    private final TaskActivityService activityService;
+    private final TaskDtoAssembler taskDtoAssembler;
+
+    @Value("${app.task-list.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.task-list.max-page-size:200}")
+    private int maxPageSize;
 
     // Créer une nouvelle tâche
     public TaskDto createTask(CreateTaskRequest request, String token) {
@@ -46,8 +60,7 @@ public class TaskService {
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
 
         // 2. Générer la clé de tâche (ex: PROJ-123)
-        Integer nextNumber = taskRepository.getNextTaskNumber(tenantId, project.getKey());
-        String taskKey = project.getKey() + "-" + nextNumber;
+        String taskKey = taskKeyAllocator.nextTaskKey(project);
 
         // 3. Créer la tâche
         Task task = Task.builder()
@@ -61,11 +74,13 @@ public class TaskService {
                 .taskType(request.getTaskType() != null ? request.getTaskType() : Task.TaskType.TASK)
                 .storyPoints(request.getStoryPoints())
                 .assigneeId(request.getAssigneeId())
-                .reporterId(getCurrentUserId(token))
+                .reporterId(userService.getCurrentUserId(token))
                 .dueDate(request.getDueDate())
                 .build();
 
         task = taskRepository.save(task);
+        boardCache.taskSaved(task, null);
+        activityService.taskCreated(task, task.getReporterId());
         log.info("Task created: {} in project: {}", task.getTaskKey(), project.getKey());
 
         // 4. Notification si tâche assignée
@@ -73,7 +88,7 @@ public class TaskService {
             notificationService.notifyTaskAssigned(task, token);
         }
 
-        return convertToDto(task, token);
+        return taskDtoAssembler.toDto(task);
     }
 
     // Obtenir toutes les tâches d'un projet
@@ -82,18 +97,26 @@ public class TaskService {
 
         List<Task> tasks = taskRepository.findByProjectIdAndTenantIdOrderByCreatedAtDesc(projectId, tenantId);
 
-        return tasks.stream()
-                .map(task -> convertToDto(task, token))
-                .collect(Collectors.toList());
+        return taskDtoAssembler.toDtos(tasks);
     }
 
-    // Obtenir tâches avec pagination
-    public Page<TaskDto> getProjectTasksPaginated(UUID projectId, Pageable pageable, String token) {
+    // Tâches d'un projet, page par curseur (plus récentes d'abord)
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getProjectTasksPage(UUID projectId, String cursor, Integer size,
+                                                      boolean withCount, String token) {
         UUID tenantId = TenantContext.getTenantId();
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Task> tasks = after == null
+                ? taskRepository.findProjectTasks(tenantId, projectId, limit)
+                : taskRepository.findProjectTasksAfter(tenantId, projectId, after.getPosition(), after.getId(), limit);
 
-        Page<Task> tasks = taskRepository.findByProjectIdAndTenantId(projectId, tenantId, pageable);
+        // Compteurs dénormalisés (V13) : pas de COUNT(*) sur tasks
+        Long total = withCount && after == null ? counterRepository.countProjectTasks(tenantId, projectId) : null;
 
-        return tasks.map(task -> convertToDto(task, token));
+        return toCursorPage(tasks, pageSize, Task::getCreatedAt, total, token);
     }
 
     // Obtenir une tâche par ID
@@ -103,7 +126,7 @@ public class TaskService {
         Task task = taskRepository.findByIdAndTenantId(taskId, tenantId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
-        return convertToDto(task, token);
+        return taskDtoAssembler.toDto(task);
     }
 
     // Mettre à jour une tâche
@@ -115,6 +138,8 @@ public class TaskService {
 
         // Sauvegarder l'ancien assigné pour notification
         UUID oldAssigneeId = task.getAssigneeId();
+        Task.TaskStatus oldStatus = task.getStatus();
+        Map<String, Object> before = TaskActivityService.snapshot(task);
 
         // Mettre à jour les champs
         if (request.getTitle() != null) {
@@ -140,6 +165,8 @@ public class TaskService {
         }
 
         task = taskRepository.save(task);
+        boardCache.taskSaved(task, oldStatus);
+        activityService.taskUpdated(task, before, userService.getCurrentUserId(token));
         log.info("Task updated: {}", task.getTaskKey());
 
         // Notifications
@@ -148,7 +175,7 @@ public class TaskService {
         }
         notificationService.notifyTaskUpdated(task, token);
 
-        return convertToDto(task, token);
+        return taskDtoAssembler.toDto(task);
     }
 
     // Changer le statut d'une tâche
@@ -159,15 +186,18 @@ public class TaskService {
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
         Task.TaskStatus oldStatus = task.getStatus();
+        Map<String, Object> before = TaskActivityService.snapshot(task);
         task.setStatus(newStatus);
 
         task = taskRepository.save(task);
+        boardCache.taskSaved(task, oldStatus);
+        activityService.taskUpdated(task, before, userService.getCurrentUserId(token));
         log.info("Task status changed: {} from {} to {}", task.getTaskKey(), oldStatus, newStatus);
 
         // Notification
         notificationService.notifyTaskStatusChanged(task, oldStatus, token);
 
-        return convertToDto(task, token);
+        return taskDtoAssembler.toDto(task);
     }
 
     // Assigner une tâche
@@ -178,9 +208,12 @@ public class TaskService {
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
         UUID oldAssigneeId = task.getAssigneeId();
+        Map<String, Object> before = TaskActivityService.snapshot(task);
         task.setAssigneeId(assigneeId);
 
         task = taskRepository.save(task);
+        boardCache.taskSaved(task, task.getStatus());
+        activityService.taskUpdated(task, before, userService.getCurrentUserId(token));
         log.info("Task assigned: {} to user: {}", task.getTaskKey(), assigneeId);
 
         // Notification
@@ -189,40 +222,43 @@ public class TaskService {
             notificationService.notifyTaskUnassigned(task, oldAssigneeId, token);
         }
 
-        return convertToDto(task, token);
+        return taskDtoAssembler.toDto(task);
     }
 
-    // Obtenir les tâches assignées à un utilisateur
-    public List<TaskDto> getUserTasks(UUID userId, String token) {
+    // Tâches assignées à l'utilisateur courant, page par curseur (plus récentes d'abord)
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getMyTasks(String cursor, Integer size, boolean withCount, String token) {
         UUID tenantId = TenantContext.getTenantId();
+        UUID userId = userService.getCurrentUserId(token);
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-        List<Task> tasks = taskRepository.findByTenantIdAndAssigneeIdOrderByCreatedAtDesc(tenantId, userId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Task> tasks = after == null
+                ? taskRepository.findAssignedTasks(tenantId, userId, limit)
+                : taskRepository.findAssignedTasksAfter(tenantId, userId, after.getPosition(), after.getId(), limit);
 
-        return tasks.stream()
-                .map(task -> convertToDto(task, token))
-                .collect(Collectors.toList());
-    }
+        Long total = withCount && after == null ? taskRepository.countByTenantIdAndAssigneeId(tenantId, userId) : null;
 
-    // Obtenir les tâches en retard
-    public List<TaskDto> getOverdueTasks(String token) {
-        UUID tenantId = TenantContext.getTenantId();
-
-        List<Task> tasks = taskRepository.findOverdueTasks(tenantId, LocalDateTime.now());
-
-        return tasks.stream()
-                .map(task -> convertToDto(task, token))
-                .collect(Collectors.toList());
+        return toCursorPage(tasks, pageSize, Task::getCreatedAt, total, token);
     }
 
-    // Rechercher des tâches
-    public List<TaskDto> searchTasks(String searchTerm, String token) {
+    // Tâches en retard, page par curseur (échéance la plus ancienne d'abord)
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskDto> getOverdueTasks(String cursor, Integer size, boolean withCount, String token) {
         UUID tenantId = TenantContext.getTenantId();
+        LocalDateTime now = LocalDateTime.now();
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Task> tasks = after == null
+                ? taskRepository.findOverdueTasks(tenantId, now, limit)
+                : taskRepository.findOverdueTasksAfter(tenantId, now, after.getPosition(), after.getId(), limit);
 
-        List<Task> tasks = taskRepository.searchTasks(tenantId, searchTerm);
+        Long total = withCount && after == null ? taskRepository.countOverdueTasks(tenantId, now) : null;
 
-        return tasks.stream()
-                .map(task -> convertToDto(task, token))
-                .collect(Collectors.toList());
+        return toCursorPage(tasks, pageSize, Task::getDueDate, total, token);
     }
 
     // Supprimer une tâche
@@ -233,44 +269,32 @@ public class TaskService {
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
         taskRepository.delete(task);
+        boardCache.taskDeleted(task);
+        activityService.taskDeleted(task, userService.getCurrentUserId(token));
         log.info("Task deleted: {}", task.getTaskKey());
 
         // Notification
         notificationService.notifyTaskDeleted(task, token);
     }
 
-    // Obtenir l'ID de l'utilisateur actuel
-    private UUID getCurrentUserId(String token) {
-        String username = authService.extractUsername(token);
-        UUID tenantId = TenantContext.getTenantId();
-
-        List<UserDto> users = authService.getTeamMembers(token, tenantId.toString());
-        return users.stream()
-                .filter(user -> user.getEmail().startsWith(username))
-                .map(UserDto::getId)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
     }
 
-    // Convertir entité vers DTO
-    private TaskDto convertToDto(Task task, String token) {
-        return TaskDto.builder()
-                .id(task.getId())
-                .projectId(task.getProject().getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .taskKey(task.getTaskKey())
-                .status(task.getStatus())
-                .priority(task.getPriority())
-                .taskType(task.getTaskType())
-                .storyPoints(task.getStoryPoints())
-                .assigneeId(task.getAssigneeId())
-                .reporterId(task.getReporterId())
-                .dueDate(task.getDueDate())
-                .sprintId(task.getSprint() != null ? task.getSprint().getId() : null)
-                .createdAt(task.getCreatedAt())
-                .updatedAt(task.getUpdatedAt())
-                .commentCount(task.getComments() != null ? task.getComments().size() : 0)
+    // Une tâche de plus que demandé a été lue : elle indique s'il reste une page
+    private CursorPageDto<TaskDto> toCursorPage(List<Task> tasks, int pageSize,
+                                                Function<Task, LocalDateTime> position,
+                                                Long totalEstimate, String token) {
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        Task last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDto.<TaskDto>builder()
+                .items(taskDtoAssembler.toDtos(page))
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? KeysetCursor.encode(position.apply(last), last.getId()) : null)
+                .totalEstimate(totalEstimate)
                 .build();
     }
 }
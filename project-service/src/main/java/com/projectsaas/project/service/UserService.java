@@ -1,13 +1,35 @@
 package com.projectsaas.project.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.projectsaas.project.config.UserDirectoryProperties;
+import com.projectsaas.project.config.VirtualThreadExecutors;
 import com.projectsaas.project.dto.UserDto;
+import com.projectsaas.project.security.JwtTokenVerifier;
+import com.projectsaas.project.security.ServiceTokenIssuer;
 import com.projectsaas.project.security.TenantContext;
+import com.projectsaas.project.security.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -15,17 +37,80 @@ import java.util.UUID;
 public class UserService {
 
     private final AuthIntegrationService authService;
+    private final JwtTokenVerifier tokenVerifier;
+    private final ServiceTokenIssuer serviceTokens;
+    private final UserDirectoryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final VirtualThreadExecutors virtualThreads;
+
+    // Dernier token vu par tenant : rechargements sans clé de service (développement)
+    private final Map<UUID, String> refreshTokens = new ConcurrentHashMap<>();
+
+    private Executor refreshExecutor;
+    private LoadingCache<UUID, TenantDirectory> directories;
+
+    @PostConstruct
+    public void init() {
+        // Rafraîchissement déclenché par une lecture : le thread de requête ne doit jamais attendre
+        this.refreshExecutor = virtualThreads.isEnabled()
+                ? virtualThreads.queued("user-directory-refresh-", properties.getRefreshThreads())
+                : refreshThreadPool();
+
+        this.directories = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTenants())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .expireAfterWrite(properties.getExpireAfter())
+                .executor(refreshExecutor)
+                .removalListener((UUID tenantId, TenantDirectory directory, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && tenantId != null) {
+                        refreshTokens.remove(tenantId);
+                    }
+                })
+                .recordStats()
+                .build(this::loadDirectory);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, directories, "user-directory");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        VirtualThreadExecutors.shutdown(refreshExecutor);
+    }
+
+    private ExecutorService refreshThreadPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getRefreshThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "user-directory-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     // Obtenir l'utilisateur actuel
     public UserDto getCurrentUser(String token) {
         UUID tenantId = TenantContext.getTenantId();
-        String username = authService.extractUsername(token);
+        String login = currentLogin(token);
+
+        refreshTokens.put(tenantId, token);
+        TenantDirectory directory = directories.get(tenantId);
+        UserDto user = directory.find(login);
 
-        List<UserDto> users = authService.getTeamMembers(token, tenantId.toString());
-        return users.stream()
-                .filter(user -> user.getEmail().startsWith(username))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        // Utilisateur créé depuis le dernier chargement : recharger une fois
+        if (user == null && directory.isOlderThan(properties.getMinReloadInterval().toMillis())) {
+            try {
+                directory = loadDirectory(tenantId);
+                directories.put(tenantId, directory);
+                user = directory.find(login);
+            } catch (RuntimeException e) {
+                // L'annuaire en cache reste en place
+                log.warn("User directory reload failed for tenant {}: {}", tenantId, e.getMessage());
+            }
+        }
+
+        if (user == null) {
+            throw new RuntimeException("Current user not found");
+        }
+        return user;
     }
 
     // Obtenir un utilisateur par ID
@@ -34,16 +119,75 @@ public class UserService {
         return authService.getUserInfo(userId, token, tenantId.toString());
     }
 
-    // Obtenir l'ID de l'utilisateur actuel
+    // Obtenir l'ID de l'utilisateur actuel (claim userId du JWT, sinon annuaire du tenant)
     public UUID getCurrentUserId(String token) {
-        String username = authService.extractUsername(token);
-        UUID tenantId = TenantContext.getTenantId();
+        Optional<UUID> fromToken = tokenVerifier.verify(token).map(VerifiedToken::getUserId);
+        return fromToken.orElseGet(() -> getCurrentUser(token).getId());
+    }
+
+    // Invalider l'annuaire d'un tenant (utilisateur ajouté, modifié ou supprimé)
+    public void invalidateTenant(UUID tenantId) {
+        directories.invalidate(tenantId);
+        log.debug("User directory invalidated for tenant: {}", tenantId);
+    }
+
+    private String currentLogin(String token) {
+        return tokenVerifier.verify(token)
+                .map(VerifiedToken::getSubject)
+                .orElseGet(() -> authService.extractUsername(token));
+    }
+
+    // Une erreur est levée, jamais mise en cache : un rafraîchissement en échec garde
+    // l'annuaire précédent, un premier chargement en échec sera retenté à la requête suivante
+    private TenantDirectory loadDirectory(UUID tenantId) {
+        List<UserDto> members = fetchMembers(tenantId);
+        log.debug("User directory loaded for tenant {}: {} users", tenantId, members.size());
+        return new TenantDirectory(members);
+    }
+
+    // Token de service : ne dépend pas de la session d'un utilisateur qui a pu expirer
+    private List<UserDto> fetchMembers(UUID tenantId) {
+        Optional<String> serviceToken = serviceTokens.issue(tenantId);
+        if (serviceToken.isPresent()) {
+            return authService.fetchTeamMembers(serviceToken.get(), tenantId.toString());
+        }
+
+        String token = refreshTokens.get(tenantId);
+        if (token == null) {
+            throw new IllegalStateException("No token available to load users of tenant " + tenantId);
+        }
+        // Tokens de test : utilisateurs factices d'AuthIntegrationService
+        return token.contains("test")
+                ? authService.getTeamMembers(token, tenantId.toString())
+                : authService.fetchTeamMembers(token, tenantId.toString());
+    }
+
+    // Index email -> utilisateur d'un tenant
+    private static class TenantDirectory {
+
+        private final Map<String, UserDto> byEmail = new HashMap<>();
+        private final Map<String, UserDto> byLocalPart = new HashMap<>();
+        private final long loadedAt = Instant.now().toEpochMilli();
+
+        TenantDirectory(List<UserDto> members) {
+            for (UserDto member : members) {
+                if (member.getEmail() == null) {
+                    continue;
+                }
+                String email = member.getEmail().toLowerCase(Locale.ROOT);
+                byEmail.putIfAbsent(email, member);
+                byLocalPart.putIfAbsent(email.split("@")[0], member);
+            }
+        }
+
+        // Email complet (claim "sub") ou partie avant @ (tokens de test)
+        UserDto find(String login) {
+            String key = login.toLowerCase(Locale.ROOT);
+            return key.contains("@") ? byEmail.get(key) : byLocalPart.get(key);
+        }
 
-        List<UserDto> users = authService.getTeamMembers(token, tenantId.toString());
-        return users.stream()
-                .filter(user -> user.getEmail().startsWith(username))
-                .map(UserDto::getId)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        boolean isOlderThan(long millis) {
+            return Instant.now().toEpochMilli() - loadedAt >= millis;
+        }
     }
 }
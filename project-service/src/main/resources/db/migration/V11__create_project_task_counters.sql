@@ -0,0 +1,17 @@
+
+CREATE TABLE project_task_counters (
+    project_id UUID PRIMARY KEY REFERENCES projects(id) ON DELETE CASCADE,
+    tenant_id UUID NOT NULL,
+    next_number BIGINT NOT NULL DEFAULT 1
+);
+
+INSERT INTO project_task_counters (project_id, tenant_id, next_number)
+SELECT
+    p.id,
+    p.tenant_id,
+    COALESCE(MAX(CAST(SUBSTRING(t.task_key FROM LENGTH(p.key) + 2) AS BIGINT)), 0) + 1
+FROM projects p
+LEFT JOIN tasks t
+    ON t.tenant_id = p.tenant_id
+    AND t.task_key ~ ('^' || p.key || '-[0-9]+$')
+GROUP BY p.id, p.tenant_id;
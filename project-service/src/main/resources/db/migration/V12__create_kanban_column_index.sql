@@ -0,0 +1,3 @@
+-- Pagination des colonnes Kanban : (projet, statut) puis curseur (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_kanban_column
+    ON tasks(tenant_id, project_id, status, created_at DESC, id DESC);
@@ -0,0 +1,85 @@
+-- Compteurs dénormalisés maintenus par triggers (dans la transaction d'écriture)
+
+-- Nombre de commentaires par tâche
+ALTER TABLE tasks ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE tasks t
+SET comment_count = c.total
+FROM (SELECT task_id, COUNT(*) AS total FROM task_comments GROUP BY task_id) c
+WHERE c.task_id = t.id;
+
+-- Nombre de tâches par (tenant, projet, statut) ; les totaux tenant/projet en sont des sommes
+CREATE TABLE task_status_counters (
+    tenant_id UUID NOT NULL,
+    project_id UUID NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    status VARCHAR(50) NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, project_id, status)
+);
+
+CREATE INDEX idx_task_status_counters_project ON task_status_counters(project_id);
+
+INSERT INTO task_status_counters (tenant_id, project_id, status, task_count)
+SELECT tenant_id, project_id, status, COUNT(*)
+FROM tasks
+WHERE status IS NOT NULL
+GROUP BY tenant_id, project_id, status;
+
+-- Incrément : crée la ligne au besoin
+CREATE OR REPLACE FUNCTION increment_task_status_counter(p_tenant_id UUID, p_project_id UUID, p_status VARCHAR)
+RETURNS VOID AS $$
+BEGIN
+    IF p_status IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO task_status_counters (tenant_id, project_id, status, task_count)
+    VALUES (p_tenant_id, p_project_id, p_status, 1)
+    ON CONFLICT (tenant_id, project_id, status)
+    DO UPDATE SET task_count = task_status_counters.task_count + 1;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Décrément : jamais d'insertion (la ligne a pu disparaître avec le projet)
+CREATE OR REPLACE FUNCTION decrement_task_status_counter(p_tenant_id UUID, p_project_id UUID, p_status VARCHAR)
+RETURNS VOID AS $$
+BEGIN
+    UPDATE task_status_counters
+    SET task_count = GREATEST(task_count - 1, 0)
+    WHERE tenant_id = p_tenant_id AND project_id = p_project_id AND status = p_status;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION update_task_status_counters()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM increment_task_status_counter(NEW.tenant_id, NEW.project_id, NEW.status);
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM decrement_task_status_counter(OLD.tenant_id, OLD.project_id, OLD.status);
+    ELSIF OLD.status IS DISTINCT FROM NEW.status OR OLD.project_id IS DISTINCT FROM NEW.project_id THEN
+        PERFORM decrement_task_status_counter(OLD.tenant_id, OLD.project_id, OLD.status);
+        PERFORM increment_task_status_counter(NEW.tenant_id, NEW.project_id, NEW.status);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tasks_status_counters
+    AFTER INSERT OR DELETE OR UPDATE OF status, project_id ON tasks
+    FOR EACH ROW EXECUTE FUNCTION update_task_status_counters();
+
+CREATE OR REPLACE FUNCTION update_task_comment_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE tasks SET comment_count = comment_count + 1 WHERE id = NEW.task_id;
+    ELSE
+        UPDATE tasks SET comment_count = GREATEST(comment_count - 1, 0) WHERE id = OLD.task_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_comments_count
+    AFTER INSERT OR DELETE ON task_comments
+    FOR EACH ROW EXECUTE FUNCTION update_task_comment_count();
@@ -0,0 +1,14 @@
+-- Recherche plein texte : index GIN sur expression (pas de colonne à synchroniser).
+-- Les expressions doivent rester identiques à celles de SearchRepository.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search ON tasks USING GIN ((
+    setweight(to_tsvector('simple', COALESCE(task_key, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(title, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(description, '')), 'B')
+));
+
+CREATE INDEX IF NOT EXISTS idx_projects_search ON projects USING GIN ((
+    setweight(to_tsvector('simple', COALESCE(key, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(name, '')), 'A') ||
+    setweight(to_tsvector('simple', COALESCE(description, '')), 'B')
+));
@@ -0,0 +1,3 @@
+-- Tableau de bord : tâches terminées récemment (completedTasksThisWeek)
+CREATE INDEX IF NOT EXISTS idx_tasks_done_recent ON tasks(tenant_id, updated_at)
+    WHERE status = 'DONE';
@@ -0,0 +1,13 @@
+-- Pagination par curseur des listes de tâches : l'ordre de l'index suit celui des requêtes
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created
+    ON tasks(tenant_id, project_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created
+    ON tasks(tenant_id, assignee_id, created_at DESC, id DESC)
+    WHERE assignee_id IS NOT NULL;
+
+-- Remplace idx_tasks_overdue : même prédicat, id ajouté pour départager les échéances égales
+CREATE INDEX IF NOT EXISTS idx_tasks_overdue_keyset ON tasks(tenant_id, due_date, id)
+    WHERE due_date IS NOT NULL AND status NOT IN ('DONE');
+
+DROP INDEX IF EXISTS idx_tasks_overdue;
@@ -0,0 +1,3 @@
+-- Filtre de tâches sans projet ni assigné : tri par création dans le tenant
+CREATE INDEX IF NOT EXISTS idx_tasks_tenant_created
+    ON tasks(tenant_id, created_at DESC, id DESC);
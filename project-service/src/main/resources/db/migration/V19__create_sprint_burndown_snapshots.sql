@@ -0,0 +1,124 @@
+-- Burndown des sprints : une ligne par (sprint, jour) avec les totaux en fin de journée.
+-- Maintenue par trigger à chaque changement de statut, de points ou de sprint d'une tâche ;
+-- les jours sans changement n'ont pas de ligne (valeurs de la veille).
+CREATE TABLE sprint_burndown_snapshots (
+    sprint_id UUID NOT NULL REFERENCES sprints(id) ON DELETE CASCADE,
+    snapshot_date DATE NOT NULL,
+    tenant_id UUID NOT NULL,
+    total_points INTEGER NOT NULL DEFAULT 0,
+    completed_points INTEGER NOT NULL DEFAULT 0,
+    total_tasks INTEGER NOT NULL DEFAULT 0,
+    completed_tasks INTEGER NOT NULL DEFAULT 0,
+    scope_change INTEGER NOT NULL DEFAULT 0, -- Points ajoutés (+) ou retirés (-) ce jour-là, sprint actif
+    PRIMARY KEY (sprint_id, snapshot_date)
+);
+
+-- État actuel des sprints existants
+INSERT INTO sprint_burndown_snapshots (sprint_id, snapshot_date, tenant_id, total_points, completed_points,
+                                       total_tasks, completed_tasks)
+SELECT s.id, CURRENT_DATE, s.tenant_id,
+       COALESCE(SUM(COALESCE(t.story_points, 0)), 0),
+       COALESCE(SUM(COALESCE(t.story_points, 0)) FILTER (WHERE t.status = 'DONE'), 0),
+       COUNT(t.id),
+       COUNT(t.id) FILTER (WHERE t.status = 'DONE')
+FROM sprints s
+LEFT JOIN tasks t ON t.sprint_id = s.id
+GROUP BY s.id, s.tenant_id;
+
+-- Appliquer une variation à la ligne du jour (créée à partir de la dernière ligne connue)
+CREATE OR REPLACE FUNCTION apply_sprint_burndown_delta(p_sprint_id UUID, p_tenant_id UUID,
+                                                       p_points INTEGER, p_completed_points INTEGER,
+                                                       p_tasks INTEGER, p_completed_tasks INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    sprint_status VARCHAR(50);
+BEGIN
+    IF p_points = 0 AND p_completed_points = 0 AND p_tasks = 0 AND p_completed_tasks = 0 THEN
+        RETURN;
+    END IF;
+
+    -- Sprint en cours de suppression (tasks.sprint_id passe à NULL) : rien à suivre
+    SELECT status INTO sprint_status FROM sprints WHERE id = p_sprint_id;
+    IF NOT FOUND THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO sprint_burndown_snapshots (sprint_id, snapshot_date, tenant_id, total_points, completed_points,
+                                           total_tasks, completed_tasks)
+    SELECT p_sprint_id, CURRENT_DATE, p_tenant_id,
+           COALESCE(prev.total_points, 0), COALESCE(prev.completed_points, 0),
+           COALESCE(prev.total_tasks, 0), COALESCE(prev.completed_tasks, 0)
+    FROM (SELECT 1) AS one
+    LEFT JOIN LATERAL (
+        SELECT * FROM sprint_burndown_snapshots
+        WHERE sprint_id = p_sprint_id AND snapshot_date < CURRENT_DATE
+        ORDER BY snapshot_date DESC
+        LIMIT 1
+    ) prev ON TRUE
+    ON CONFLICT (sprint_id, snapshot_date) DO NOTHING;
+
+    UPDATE sprint_burndown_snapshots
+    SET total_points = total_points + p_points,
+        completed_points = completed_points + p_completed_points,
+        total_tasks = total_tasks + p_tasks,
+        completed_tasks = completed_tasks + p_completed_tasks,
+        -- Changement de périmètre : points ajoutés ou retirés une fois le sprint démarré
+        scope_change = scope_change + CASE WHEN sprint_status = 'ACTIVE' THEN p_points ELSE 0 END
+    WHERE sprint_id = p_sprint_id AND snapshot_date = CURRENT_DATE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION update_sprint_burndown()
+RETURNS TRIGGER AS $$
+DECLARE
+    old_points INTEGER := 0;
+    old_done BOOLEAN := FALSE;
+    new_points INTEGER := 0;
+    new_done BOOLEAN := FALSE;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        old_points := COALESCE(OLD.story_points, 0);
+        old_done := OLD.status = 'DONE';
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        new_points := COALESCE(NEW.story_points, 0);
+        new_done := NEW.status = 'DONE';
+    END IF;
+
+    -- Même sprint : statut et/ou points modifiés
+    IF TG_OP = 'UPDATE' AND OLD.sprint_id IS NOT DISTINCT FROM NEW.sprint_id THEN
+        IF NEW.sprint_id IS NOT NULL THEN
+            PERFORM apply_sprint_burndown_delta(NEW.sprint_id, NEW.tenant_id,
+                    new_points - old_points,
+                    CASE WHEN new_done THEN new_points ELSE 0 END - CASE WHEN old_done THEN old_points ELSE 0 END,
+                    0,
+                    CASE WHEN new_done THEN 1 ELSE 0 END - CASE WHEN old_done THEN 1 ELSE 0 END);
+        END IF;
+        RETURN NULL;
+    END IF;
+
+    -- Tâche sortie d'un sprint (ou supprimée)
+    IF TG_OP <> 'INSERT' AND OLD.sprint_id IS NOT NULL THEN
+        PERFORM apply_sprint_burndown_delta(OLD.sprint_id, OLD.tenant_id,
+                -old_points, CASE WHEN old_done THEN -old_points ELSE 0 END,
+                -1, CASE WHEN old_done THEN -1 ELSE 0 END);
+    END IF;
+
+    -- Tâche entrée dans un sprint (ou créée dans un sprint)
+    IF TG_OP <> 'DELETE' AND NEW.sprint_id IS NOT NULL THEN
+        PERFORM apply_sprint_burndown_delta(NEW.sprint_id, NEW.tenant_id,
+                new_points, CASE WHEN new_done THEN new_points ELSE 0 END,
+                1, CASE WHEN new_done THEN 1 ELSE 0 END);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tasks_sprint_burndown
+    AFTER INSERT OR DELETE OR UPDATE OF status, story_points, sprint_id ON tasks
+    FOR EACH ROW EXECUTE FUNCTION update_sprint_burndown();
+
+-- Vélocité : derniers sprints terminés d'un projet
+CREATE INDEX IF NOT EXISTS idx_sprints_project_status_end
+    ON sprints(tenant_id, project_id, status, end_date DESC);
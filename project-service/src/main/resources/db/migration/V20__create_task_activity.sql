@@ -0,0 +1,39 @@
+-- Historique des tâches : journal en ajout seul, une ligne par modification avec
+-- le diff des seuls champs modifiés. Partitionné par mois : la purge d'un mois est
+-- un DROP de partition et la lecture d'une tâche ignore les mois antérieurs à sa création.
+-- Pas de clé étrangère vers tasks : l'historique survit à la suppression de la tâche.
+CREATE TABLE task_activity (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    task_id UUID NOT NULL,
+    project_id UUID NOT NULL,
+    actor_id UUID,
+    action VARCHAR(20) NOT NULL,
+    changes JSONB, -- {"status": ["TODO", "DONE"], "description": true} (texte long : marqueur seul)
+    comment TEXT,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (created_at, id)
+) PARTITION BY RANGE (created_at);
+
+-- Lecture par tâche, page par curseur (created_at DESC, id DESC) ; créé sur chaque partition
+CREATE INDEX idx_task_activity_task ON task_activity (task_id, created_at DESC, id DESC);
+
+-- Créer la partition du mois contenant p_month (sans effet si elle existe)
+CREATE OR REPLACE FUNCTION create_task_activity_partition(p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', p_month)::DATE;
+    partition_name TEXT := 'task_activity_' || to_char(start_date, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_activity FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, (start_date + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Mois courant et deux mois d'avance ; les suivants sont créés par TaskActivityPartitionScheduler
+SELECT create_task_activity_partition((CURRENT_DATE + make_interval(months => n))::DATE)
+FROM generate_series(0, 2) AS n;
+
+-- Filet de sécurité si la création anticipée n'a pas tourné : aucune écriture rejetée
+CREATE TABLE task_activity_default PARTITION OF task_activity DEFAULT;
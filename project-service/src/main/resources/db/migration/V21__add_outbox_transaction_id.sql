@@ -0,0 +1,7 @@
+-- Outbox : transaction d'écriture de chaque événement (xid8, PostgreSQL 13+).
+-- L'id BIGSERIAL est attribué à l'insertion, pas au commit : une transaction qui tient l'id N
+-- peut valider après que N+1 a été publié. Le relais ne lit que les événements des transactions
+-- antérieures à la plus ancienne encore en cours (pg_snapshot_xmin), et s'arrête au premier id
+-- retenu : un événement plus ancien ne peut plus apparaître derrière ceux qu'il publie.
+ALTER TABLE outbox_events
+    ADD COLUMN txid xid8 NOT NULL DEFAULT pg_current_xact_id();
@@ -0,0 +1,8 @@
+-- Verrou optimiste sur les projets et les sprints (cache de second niveau propre à chaque instance).
+-- Une modification préparée à partir d'une copie périmée ne met à jour aucune ligne et est rejetée
+-- au lieu d'écraser silencieusement une modification faite sur une autre instance.
+ALTER TABLE projects
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE sprints
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,147 @@
+package com.projectsaas.project.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadExecutorsTest {
+
+    @Test
+    void disabledByDefault() {
+        assertThat(new VirtualThreadExecutors(new MockEnvironment()).isEnabled()).isFalse();
+    }
+
+    // La propriété seule ne suffit pas : une JVM 17 reste sur les pools de threads
+    @Test
+    void propertyOnlyTakesEffectOnJava21() {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        assertThat(new VirtualThreadExecutors(environment).isEnabled())
+                .isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void boundedExecutorRunsVirtualThreadsUpToTheLimit() throws Exception {
+        SimpleAsyncTaskExecutor executor = new VirtualThreadExecutors(new MockEnvironment()).bounded("test-", 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger virtual = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (isVirtual(Thread.currentThread())) {
+                    virtual.incrementAndGet();
+                }
+                sleep(20);
+                running.decrementAndGet();
+            }, executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        VirtualThreadExecutors.shutdown(executor);
+
+        assertThat(maxRunning.get()).isBetween(1, 3);
+        assertThat(virtual.get()).isEqualTo(20);
+    }
+
+    // Soumission depuis un thread de requête : rend la main tout de suite, même au-delà de la limite
+    @Test
+    void limitedExecutorNeverBlocksTheSubmitter() throws Exception {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("test-");
+        VirtualThreadExecutors.limitRunningTasks(executor, 2);
+        assertLimitedWithoutBlocking(executor, 2);
+        VirtualThreadExecutors.shutdown(executor);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void queuedExecutorRunsVirtualThreadsWithoutBlockingTheSubmitter() throws Exception {
+        SimpleAsyncTaskExecutor executor = new VirtualThreadExecutors(new MockEnvironment()).queued("test-", 2);
+        AtomicInteger virtual = new AtomicInteger();
+        executor.execute(() -> {
+            if (isVirtual(Thread.currentThread())) {
+                virtual.incrementAndGet();
+            }
+        });
+        assertLimitedWithoutBlocking(executor, 2);
+        VirtualThreadExecutors.shutdown(executor);
+
+        assertThat(virtual.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdownStopsBothKindsOfExecutor() {
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        VirtualThreadExecutors.shutdown(pool);
+        assertThat(pool.isShutdown()).isTrue();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("test-");
+        VirtualThreadExecutors.shutdown(executor);
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(TaskRejectedException.class);
+    }
+
+    // 20 tâches bloquées sur un verrou : toutes soumises sans attendre, au plus `limit` démarrées
+    private static void assertLimitedWithoutBlocking(Executor executor, int limit) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(20);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }).get(2, TimeUnit.SECONDS);
+
+        sleep(50);
+        assertThat(running.get()).isEqualTo(limit);
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(limit);
+    }
+
+    // Thread.isVirtual() n'existe qu'à partir de Java 21 : le module compile en 17
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.projectsaas.project.kafka.producer;
+
+import com.projectsaas.project.config.OutboxProperties;
+import com.projectsaas.project.entity.OutboxEvent;
+import com.projectsaas.project.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Relais de l'outbox face à un broker en mémoire (MockProducer de kafka-clients)
+class OutboxRelayTest {
+
+    private final TreeMap<Long, OutboxEvent> table = new TreeMap<>();
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final OutboxProperties properties = new OutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Colonne txid (V21) et transactions PostgreSQL encore en cours
+    private final Map<Long, Long> txids = new HashMap<>();
+    private final Set<Long> running = new HashSet<>();
+    private long nextXid = 100;
+
+    OutboxRelayTest() {
+        when(repository.tryRelayLock(anyLong())).thenReturn(true);
+        when(repository.findNextBatch(anyInt())).thenAnswer(invocation -> nextBatch(invocation.getArgument(0)));
+        when(repository.deleteByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            ids.forEach(table::remove);
+            return ids.size();
+        });
+    }
+
+    @Test
+    void relaysEveryEventInOrderPerProjectWithConsumerTypeHeaders() {
+        InMemoryBroker broker = new InMemoryBroker(true);
+        OutboxRelay relay = relay(broker);
+        List<UUID> projects = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < 1_200; i++) {
+            String topic = i % 10 == 0 ? "task.bulk.updated" : i % 7 == 0 ? "project.updated" : "task.updated";
+            insert(topic, projects.get(i % projects.size()));
+        }
+
+        relay.relay();
+
+        assertThat(table).isEmpty();
+        List<ProducerRecord<String, String>> sent = broker.history();
+        assertThat(sent).hasSize(1_200);
+
+        // Ordre de l'outbox conservé pour chaque clé (projet)
+        Map<String, List<Long>> idsByKey = new HashMap<>();
+        for (ProducerRecord<String, String> record : sent) {
+            idsByKey.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(eventId(record));
+        }
+        idsByKey.values().forEach(ids -> assertThat(ids).isSorted());
+
+        assertThat(sent).allSatisfy(record -> assertThat(typeId(record)).isEqualTo(switch (record.topic()) {
+            case "task.bulk.updated" -> "taskBulkEvent";
+            case "project.updated" -> "projectEvent";
+            default -> "taskEvent";
+        }));
+    }
+
+    @Test
+    void unacknowledgedBatchStaysInTheOutbox() {
+        OutboxRelay relay = relay(new InMemoryBroker(false));
+        insert("task.updated", UUID.randomUUID());
+        insert("task.updated", UUID.randomUUID());
+
+        relay.relay();
+
+        assertThat(table).hasSize(2);
+        assertThat(meterRegistry.counter("outbox.batches.failed").count()).isEqualTo(1);
+    }
+
+    // La requête du relais filtre sur la transaction d'écriture : sans ce filtre, le scénario
+    // ci-dessous publierait l'id 2 avant l'id 1
+    @Test
+    void batchQueryWaitsForOlderTransactions() throws Exception {
+        String sql = OutboxEventRepository.class.getMethod("findNextBatch", int.class)
+                .getAnnotation(Query.class).value();
+
+        assertThat(sql).contains(
+                "WHERE txid < pg_snapshot_xmin(pg_current_snapshot())",
+                "id < COALESCE((SELECT MIN(h.id) FROM outbox_events h " +
+                        "WHERE h.txid >= pg_snapshot_xmin(pg_current_snapshot()))",
+                "ORDER BY id");
+    }
+
+    // Id attribué avant un id déjà validé, transaction validée après : rien ne passe devant lui
+    @Test
+    void laterCommitWaitsForAnOlderTransactionStillRunning() {
+        InMemoryBroker broker = new InMemoryBroker(true);
+        OutboxRelay relay = relay(broker);
+        UUID project = UUID.randomUUID();
+
+        long slow = begin();
+        insert(slow, "task.created", project);
+        long fast = begin();
+        insert(fast, "task.updated", project);
+        commit(fast);
+
+        relay.relay();
+        assertThat(broker.history()).isEmpty();
+
+        commit(slow);
+        relay.relay();
+        assertThat(broker.history()).extracting(OutboxRelayTest::eventId).containsExactly(1L, 2L);
+        assertThat(table).isEmpty();
+    }
+
+    // Id plus petit d'une transaction plus récente, retenu par une transaction plus ancienne en cours :
+    // les id suivants, même d'une transaction plus ancienne, attendent derrière lui
+    @Test
+    void heldBackEventBlocksEveryLaterId() {
+        InMemoryBroker broker = new InMemoryBroker(true);
+        OutboxRelay relay = relay(broker);
+        UUID project = UUID.randomUUID();
+
+        long older = begin();
+        long running = begin();
+        long younger = begin();
+        insert(younger, "task.created", project);
+        commit(younger);
+        insert(older, "task.updated", project);
+        commit(older);
+        // running n'a rien écrit dans l'outbox mais reste ouverte : xmin = running
+
+        relay.relay();
+        assertThat(broker.history()).isEmpty();
+
+        commit(running);
+        relay.relay();
+        assertThat(broker.history()).extracting(OutboxRelayTest::eventId).containsExactly(1L, 2L);
+    }
+
+    // Débit du relais seul (lecture, envoi, acquittement, suppression) sur un broker en mémoire
+    @Test
+    void throughputBenchmark() {
+        int events = 50_000;
+        properties.setMaxBatchesPerRun(Integer.MAX_VALUE);
+        InMemoryBroker broker = new InMemoryBroker(true);
+        OutboxRelay relay = relay(broker);
+        List<UUID> projects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            projects.add(UUID.randomUUID());
+        }
+        for (int i = 0; i < events; i++) {
+            insert("task.updated", projects.get(i % projects.size()));
+        }
+
+        long start = System.nanoTime();
+        relay.relay();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(broker.history()).hasSize(events);
+        assertThat(table).isEmpty();
+        System.out.printf("Outbox relay: %d events in %.0f ms (%.0f events/s, batch %d)%n",
+                events, seconds * 1000, events / seconds, properties.getBatchSize());
+    }
+
+    private OutboxRelay relay(InMemoryBroker broker) {
+        ProducerFactory<String, String> producerFactory = () -> broker;
+        OutboxRelay relay = new OutboxRelay(repository, new KafkaTemplate<>(producerFactory), properties,
+                mock(PlatformTransactionManager.class), meterRegistry);
+        relay.init();
+        return relay;
+    }
+
+    // Événement déjà validé
+    private void insert(String topic, UUID projectId) {
+        insert(nextXid++, topic, projectId);
+    }
+
+    private void insert(long txid, String topic, UUID projectId) {
+        long id = table.isEmpty() ? 1 : table.lastKey() + 1;
+        txids.put(id, txid);
+        table.put(id, OutboxEvent.builder()
+                .id(id)
+                .tenantId(UUID.randomUUID())
+                .topic(topic)
+                .eventKey(projectId.toString())
+                .payload("{\"eventType\":\"UPDATED\",\"taskId\":\"" + UUID.randomUUID() + "\"}")
+                .build());
+    }
+
+    private long begin() {
+        long xid = nextXid++;
+        running.add(xid);
+        return xid;
+    }
+
+    private void commit(long xid) {
+        running.remove(xid);
+    }
+
+    // findNextBatch tel que PostgreSQL l'exécute : lignes des transactions validées seulement,
+    // txid < xmin, et id inférieur au premier id retenu
+    private List<OutboxEvent> nextBatch(int limit) {
+        long xmin = running.stream().min(Long::compare).orElse(nextXid);
+        List<OutboxEvent> visible = table.values().stream()
+                .filter(event -> !running.contains(txids.get(event.getId())))
+                .collect(Collectors.toList());
+        long cutoff = visible.stream()
+                .filter(event -> txids.get(event.getId()) >= xmin)
+                .mapToLong(OutboxEvent::getId)
+                .min()
+                .orElse(Long.MAX_VALUE);
+        return visible.stream()
+                .filter(event -> txids.get(event.getId()) < xmin && event.getId() < cutoff)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static long eventId(ProducerRecord<String, String> record) {
+        return Long.parseLong(new String(record.headers().lastHeader("eventId").value(), StandardCharsets.UTF_8));
+    }
+
+    private static String typeId(ProducerRecord<String, String> record) {
+        return new String(record.headers().lastHeader("__TypeId__").value(), StandardCharsets.UTF_8);
+    }
+
+    // KafkaTemplate ferme le producteur après chaque envoi : fermeture ignorée.
+    // Broker indisponible : chaque envoi en attente échoue au flush
+    private static final class InMemoryBroker extends MockProducer<String, String> implements Producer<String, String> {
+
+        private final boolean available;
+
+        private InMemoryBroker(boolean available) {
+            super(available, new StringSerializer(), new StringSerializer());
+            this.available = available;
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (available) {
+                super.flush();
+                return;
+            }
+            while (errorNext(new IllegalStateException("broker unavailable"))) {
+                // envoi suivant
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.ProjectMember;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Nombre de requêtes SQL des contrôles d'appartenance, cache de second niveau actif.
+// Une transaction par appel : une session ne lit pas les entrées mises en cache après son début.
+@H2JpaTest
+class ProjectMemberRepositoryTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Project project;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        project = projectRepository.save(Project.builder()
+                .tenantId(UUID.randomUUID())
+                .name("App")
+                .key("APP")
+                .status(Project.ProjectStatus.ACTIVE)
+                .priority(Project.Priority.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .build());
+        userId = UUID.randomUUID();
+        memberRepository.save(ProjectMember.builder()
+                .project(project)
+                .userId(userId)
+                .role(ProjectMember.MemberRole.MEMBER)
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void everyMembershipCheckQueriesTheDatabase() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(memberRepository.existsByProjectIdAndUserId(project.getId(), userId)).isTrue();
+            assertThat(memberRepository.findByProjectIdAndUserId(project.getId(), userId)).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(statistics.getDomainDataRegionStatistics("project-members").getHitCount()).isZero();
+    }
+
+    @Test
+    void projectLookupsAreStillServedByTheCache() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(projectRepository.findByIdAndTenantId(project.getId(), project.getTenantId())).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("projects").getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void memberRemovedBehindHibernateIsDeniedAtOnce() {
+        assertThat(memberRepository.findByProjectIdAndUserId(project.getId(), userId)).isPresent();
+
+        // Retrait fait par une autre instance : le cache local n'est pas invalidé
+        jdbcTemplate.update("DELETE FROM project_db.project_members WHERE user_id = ?", userId);
+
+        assertThat(memberRepository.existsByProjectIdAndUserId(project.getId(), userId)).isFalse();
+        assertThat(memberRepository.findByProjectIdAndUserId(project.getId(), userId)).isEmpty();
+    }
+}
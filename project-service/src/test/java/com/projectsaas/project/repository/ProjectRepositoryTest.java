@@ -0,0 +1,183 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.ProjectMember;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.entity.TaskStatusCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Compteurs de la liste des projets : une seule requête quel que soit le nombre de projets.
+// Chemins d'écriture : lecture en base et verrou optimiste malgré le cache de second niveau.
+// Les lignes de task_status_counters sont insérées à la main (le trigger V13 n'existe pas sous H2).
+@H2JpaTest
+class ProjectRepositoryTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository memberRepository;
+
+    @Autowired
+    private TaskStatusCounterRepository counterRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tenantId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+        memberRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void countsEveryProjectInOneStatement() {
+        Project first = project(tenantId, "ONE", 3);
+        Project second = project(tenantId, "TWO", 1);
+        Project third = project(tenantId, "THREE", 0);
+        counter(tenantId, first, Task.TaskStatus.TODO, 4);
+        counter(tenantId, first, Task.TaskStatus.DONE, 2);
+        counter(tenantId, second, Task.TaskStatus.IN_PROGRESS, 7);
+        statistics.clear();
+
+        Map<UUID, long[]> counts = counts(List.of(first.getId(), second.getId(), third.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(counts).hasSize(3);
+        assertThat(counts.get(first.getId())).containsExactly(3, 6);
+        assertThat(counts.get(second.getId())).containsExactly(1, 7);
+        assertThat(counts.get(third.getId())).containsExactly(0, 0);
+    }
+
+    @Test
+    void ignoresProjectsAndCountersOfOtherTenants() {
+        UUID otherTenant = UUID.randomUUID();
+        Project own = project(tenantId, "OWN", 1);
+        Project foreign = project(otherTenant, "OWN", 2);
+        counter(tenantId, own, Task.TaskStatus.TODO, 5);
+        // Compteur incohérent d'un autre tenant sur le même projet : ne doit pas être additionné
+        counter(otherTenant, own, Task.TaskStatus.TODO, 100);
+        counter(otherTenant, foreign, Task.TaskStatus.TODO, 9);
+
+        Map<UUID, long[]> counts = counts(List.of(own.getId(), foreign.getId()));
+
+        assertThat(counts).containsOnlyKeys(own.getId());
+        assertThat(counts.get(own.getId())).containsExactly(1, 5);
+    }
+
+    // Modification faite par une autre instance : le cache local garde l'ancienne ligne,
+    // la lecture des chemins d'écriture relit la base et remplace l'entrée du cache
+    @Test
+    void writeLookupReadsTheDatabaseAndRefreshesTheCache() {
+        Project project = project(tenantId, "APP", 0);
+        assertThat(projectRepository.findByIdAndTenantId(project.getId(), tenantId)).isPresent();
+
+        jdbcTemplate.update("UPDATE project_db.projects SET name = 'Renamed', version = version + 1 WHERE id = ?",
+                project.getId());
+
+        assertThat(projectRepository.findByIdAndTenantId(project.getId(), tenantId))
+                .hasValueSatisfying(cached -> assertThat(cached.getName()).isEqualTo("APP"));
+        assertThat(projectRepository.findCurrentByIdAndTenantId(project.getId(), tenantId))
+                .hasValueSatisfying(current -> assertThat(current.getVersion()).isEqualTo(1));
+        assertThat(projectRepository.findByIdAndTenantId(project.getId(), tenantId))
+                .hasValueSatisfying(cached -> assertThat(cached.getName()).isEqualTo("Renamed"));
+        assertThat(projectRepository.findCurrentByIdAndTenantId(project.getId(), UUID.randomUUID())).isEmpty();
+    }
+
+    // Copie périmée enregistrée : rejetée au lieu d'écraser la modification de l'autre instance
+    @Test
+    void staleCopyCannotOverwriteANewerVersion() {
+        Project project = project(tenantId, "APP", 0);
+        Project stale = projectRepository.findByIdAndTenantId(project.getId(), tenantId).orElseThrow();
+
+        jdbcTemplate.update("UPDATE project_db.projects SET status = 'ARCHIVED', version = version + 1 WHERE id = ?",
+                project.getId());
+        stale.setName("Mine");
+
+        assertThatThrownBy(() -> projectRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(projectRepository.findCurrentByIdAndTenantId(project.getId(), tenantId))
+                .hasValueSatisfying(current -> {
+                    assertThat(current.getName()).isEqualTo("APP");
+                    assertThat(current.getStatus()).isEqualTo(Project.ProjectStatus.ARCHIVED);
+                });
+    }
+
+    // Projet supprimé par une autre instance : encore dans le cache local (jusqu'à l'expiration de la région),
+    // mais introuvable pour une modification ou une suppression
+    @Test
+    void projectDeletedElsewhereIsNotFoundForWrites() {
+        Project project = project(tenantId, "APP", 0);
+        assertThat(projectRepository.findByIdAndTenantId(project.getId(), tenantId)).isPresent();
+
+        jdbcTemplate.update("DELETE FROM project_db.projects WHERE id = ?", project.getId());
+
+        assertThat(projectRepository.findCurrentByIdAndTenantId(project.getId(), tenantId)).isEmpty();
+    }
+
+    private Map<UUID, long[]> counts(List<UUID> projectIds) {
+        Map<UUID, long[]> counts = new HashMap<>();
+        for (Object[] row : projectRepository.countMembersAndTasks(tenantId, projectIds)) {
+            counts.put((UUID) row[0], new long[]{((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+        }
+        return counts;
+    }
+
+    private Project project(UUID tenant, String key, int members) {
+        Project project = projectRepository.save(Project.builder()
+                .tenantId(tenant)
+                .name(key)
+                .key(key)
+                .status(Project.ProjectStatus.ACTIVE)
+                .priority(Project.Priority.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .build());
+        for (int i = 0; i < members; i++) {
+            memberRepository.save(ProjectMember.builder()
+                    .project(project)
+                    .userId(UUID.randomUUID())
+                    .role(ProjectMember.MemberRole.MEMBER)
+                    .build());
+        }
+        return project;
+    }
+
+    private void counter(UUID tenant, Project project, Task.TaskStatus status, long taskCount) {
+        counterRepository.save(TaskStatusCounter.builder()
+                .tenantId(tenant)
+                .projectId(project.getId())
+                .status(status)
+                .taskCount(taskCount)
+                .build());
+    }
+}
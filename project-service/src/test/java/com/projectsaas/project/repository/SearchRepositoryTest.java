@@ -0,0 +1,170 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.dto.ProjectSearchHitDto;
+import com.projectsaas.project.dto.TaskSearchHitDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Requêtes plein texte (expressions identiques aux index GIN de V14), tsquery et surlignage
+class SearchRepositoryTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final SearchRepository repository = new SearchRepository(jdbcTemplate);
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private String sql;
+    private SqlParameterSource params;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            sql = invocation.getArgument(0);
+            params = invocation.getArgument(1);
+            RowMapper<?> mapper = invocation.getArgument(2);
+            List<Object> results = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                results.add(mapper.mapRow(resultSet(rows.get(i)), i));
+            }
+            return results;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowMapper.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Login bug|login:* & bug:*",
+            "APP-12|app:* & 12:*",
+            "  Équipe   données |équipe:* & données:*",
+            // Opérateurs tsquery de la saisie ignorés
+            "a & !b (c:*) <-> d|a:* & b:* & c:* & d:*",
+            "x); DROP TABLE tasks; --|x:* & drop:* & table:* & tasks:*"
+    })
+    void userInputBecomesAPrefixQuery(String input, String expected) {
+        assertThat(SearchRepository.toPrefixQuery(input)).isEqualTo(expected);
+    }
+
+    @Test
+    void inputWithoutWordsHasNoQuery() {
+        assertThat(SearchRepository.toPrefixQuery(null)).isNull();
+        assertThat(SearchRepository.toPrefixQuery("")).isNull();
+        assertThat(SearchRepository.toPrefixQuery(" &|!:*() ")).isNull();
+    }
+
+    // Expression différente de celle de l'index : PostgreSQL repasse en parcours complet
+    @Test
+    void queriesUseTheIndexedExpressions() throws IOException {
+        List<String> indexes = indexExpressions();
+        assertThat(indexes).hasSize(2);
+
+        repository.searchTasks(TENANT_ID, "bug:*", 0, 10);
+        assertThat(normalize(sql)).contains(normalize(indexes.get(0)));
+        assertThat(normalize(SearchRepository.TASK_VECTOR)).contains(normalize(indexes.get(0)));
+
+        repository.searchProjects(TENANT_ID, "bug:*", 0, 10);
+        assertThat(normalize(sql)).contains(normalize(indexes.get(1)));
+    }
+
+    @Test
+    void taskHitsAreMappedWithTheirPageParameters() {
+        UUID id = UUID.randomUUID();
+        rows.add(Map.of(
+                "id", id,
+                "task_key", "APP-12",
+                "title", "Login bug",
+                "status", "IN_PROGRESS",
+                "priority", "HIGH",
+                "rank", 0.6f,
+                "title_highlight", "\u0002Login\u0003 \u0002bug\u0003"));
+
+        List<TaskSearchHitDto> hits = repository.searchTasks(TENANT_ID, "login:* & bug:*", 20, 11);
+
+        assertThat(sql).contains("WHERE t.tenant_id = :tenantId", "LIMIT :limit OFFSET :offset");
+        assertThat(params.getValue("tenantId")).isEqualTo(TENANT_ID);
+        assertThat(params.getValue("query")).isEqualTo("login:* & bug:*");
+        assertThat(params.getValue("offset")).isEqualTo(20);
+        assertThat(params.getValue("limit")).isEqualTo(11);
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getId()).isEqualTo(id);
+            assertThat(hit.getStatus()).isEqualTo(Task.TaskStatus.IN_PROGRESS);
+            assertThat(hit.getPriority()).isEqualTo(Task.Priority.HIGH);
+            assertThat(hit.getRank()).isCloseTo(0.6, within(1e-6));
+            assertThat(hit.getTitleHighlight()).isEqualTo("<mark>Login</mark> <mark>bug</mark>");
+            assertThat(hit.getDescriptionHighlight()).isNull();
+        });
+    }
+
+    // Texte utilisateur échappé avant la pose des <mark> : pas d'injection HTML par le titre
+    @Test
+    void highlightsAreHtmlEscaped() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", UUID.randomUUID());
+        row.put("status", "ACTIVE");
+        row.put("name_highlight", "<script>\u0002alert\u0003</script> & co");
+        row.put("description_highlight", "");
+        rows.add(row);
+
+        List<ProjectSearchHitDto> hits = repository.searchProjects(TENANT_ID, "alert:*", 0, 10);
+
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getStatus()).isEqualTo(Project.ProjectStatus.ACTIVE);
+            assertThat(hit.getNameHighlight())
+                    .isEqualTo("&lt;script&gt;<mark>alert</mark>&lt;/script&gt; &amp; co");
+            assertThat(hit.getDescriptionHighlight()).isNull();
+        });
+    }
+
+    // Expressions des index GIN de la migration, dans l'ordre (tâches puis projets)
+    private static List<String> indexExpressions() throws IOException {
+        String migration = new ClassPathResource("db/migration/V14__create_search_indexes.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("USING GIN \\(\\((.*?)\\)\\);", Pattern.DOTALL).matcher(migration);
+        List<String> expressions = new ArrayList<>();
+        while (matcher.find()) {
+            expressions.add(matcher.group(1));
+        }
+        return expressions;
+    }
+
+    // Sans espaces ni alias de table : PostgreSQL compare les expressions résolues
+    private static String normalize(String expression) {
+        return expression.replaceAll("\\s+", "").replaceAll("\\b[tp]\\.", "");
+    }
+
+    // Colonnes absentes : NULL (0 pour les types primitifs), comme JDBC
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = row.get(invocation.<String>getArgument(0));
+            return switch (invocation.getMethod().getName()) {
+                case "getDouble" -> value == null ? 0.0 : ((Number) value).doubleValue();
+                default -> value;
+            };
+        });
+    }
+}
@@ -0,0 +1,192 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.dto.TaskFilterRequest;
+import com.projectsaas.project.dto.TaskFilterResultDto;
+import com.projectsaas.project.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// SQL produit par le filtre (forme des prédicats, ordre, facettes) et lecture des lignes.
+// GROUPING SETS et to_tsquery n'existent pas sous H2 : le SQL est vérifié sans base.
+class TaskFilterRepositoryTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final TaskFilterRepository repository = new TaskFilterRepository(jdbcTemplate);
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private String sql;
+    private SqlParameterSource params;
+
+    {
+        doAnswer(invocation -> {
+            sql = invocation.getArgument(0);
+            params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Map<String, Object> row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void emptyFilterOnlyRestrictsTheTenantAndOrdersByCreation() {
+        repository.filter(TENANT_ID, new TaskFilterRequest(), null, null, null, 51, false);
+
+        assertThat(sql).isEqualTo("SELECT 0 AS row_kind, CAST(NULL AS VARCHAR) AS facet, " +
+                "CAST(NULL AS VARCHAR) AS facet_value, CAST(NULL AS BIGINT) AS facet_count, " +
+                "t.id, t.project_id, t.title, t.description, t.task_key, t.status, t.priority, t.task_type, " +
+                "t.story_points, t.assignee_id, t.reporter_id, t.due_date, t.sprint_id, t.created_at, " +
+                "t.updated_at, t.comment_count FROM tasks t WHERE t.tenant_id = :tenantId " +
+                "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit");
+        assertThat(params.getValue("tenantId")).isEqualTo(TENANT_ID);
+        assertThat(params.getValue("limit")).isEqualTo(51);
+    }
+
+    @Test
+    void singleValuesUseEqualityAndListsUseDistinctIn() {
+        UUID projectId = UUID.randomUUID();
+        UUID assigneeId = UUID.randomUUID();
+        TaskFilterRequest filter = TaskFilterRequest.builder()
+                .projectIds(List.of(projectId))
+                .statuses(List.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.TODO))
+                .assigneeIds(List.of(assigneeId, assigneeId))
+                .priorities(List.of())
+                .build();
+
+        repository.filter(TENANT_ID, filter, null, null, null, 10, false);
+
+        assertThat(sql).contains("WHERE t.tenant_id = :tenantId AND t.project_id = :projectIds " +
+                "AND t.status IN (:statuses) AND t.assignee_id IN (:assigneeIds) ORDER BY");
+        assertThat(sql).doesNotContain("t.priority =", "t.priority IN");
+        assertThat(params.getValue("projectIds")).isEqualTo(projectId);
+        assertThat(params.getValue("statuses")).isEqualTo(List.of("TODO", "IN_PROGRESS"));
+        assertThat(params.getValue("assigneeIds")).isEqualTo(List.of(assigneeId));
+    }
+
+    @Test
+    void overdueRepeatsThePartialIndexPredicateAndPagesByDueDate() {
+        TaskFilterRequest filter = TaskFilterRequest.builder().overdue(true).build();
+        LocalDateTime position = LocalDateTime.of(2024, 3, 1, 12, 0);
+        UUID afterId = UUID.randomUUID();
+
+        repository.filter(TENANT_ID, filter, null, position, afterId, 10, false);
+
+        assertThat(sql).contains("t.due_date IS NOT NULL AND t.due_date < :now AND t.status NOT IN ('DONE')" +
+                " AND (t.due_date, t.id) > (:afterPosition, :afterId) ORDER BY t.due_date ASC, t.id ASC");
+        assertThat(params.getValue("afterPosition")).isEqualTo(Timestamp.valueOf(position));
+        assertThat(params.getValue("afterId")).isEqualTo(afterId);
+    }
+
+    @Test
+    void otherFiltersPageBackwardsByCreation() {
+        TaskFilterRequest filter = TaskFilterRequest.builder().overdue(false).build();
+
+        repository.filter(TENANT_ID, filter, null, LocalDateTime.now(), UUID.randomUUID(), 10, false);
+
+        assertThat(sql).contains("(t.due_date IS NULL OR t.due_date >= :now OR t.status = 'DONE')" +
+                " AND (t.created_at, t.id) < (:afterPosition, :afterId)");
+    }
+
+    @Test
+    void searchTermUsesTheGinExpression() {
+        repository.filter(TENANT_ID, new TaskFilterRequest(), "login:*", null, null, 10, false);
+
+        assertThat(sql).contains(SearchRepository.TASK_VECTOR + " @@ to_tsquery('simple', :query)");
+        assertThat(params.getValue("query")).isEqualTo("login:*");
+    }
+
+    @Test
+    void facetsComeBackInTheSameStatement() {
+        UUID taskId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4);
+        rows.add(taskRow(taskId, createdAt));
+        rows.add(facetRow("status", "TODO", 3));
+        rows.add(facetRow("status", "DONE", 1));
+        rows.add(facetRow("priority", "HIGH", 4));
+        // Tâches sans priorité : valeur NULL, ignorée
+        rows.add(facetRow("priority", null, 2));
+
+        TaskFilterResultDto result = repository.filter(TENANT_ID, new TaskFilterRequest(), null, null, null, 10, true);
+
+        assertThat(sql).startsWith("SELECT * FROM ((SELECT 0 AS row_kind")
+                .contains(") UNION ALL (SELECT 1, ")
+                .contains("GROUP BY GROUPING SETS ((t.status), (t.priority))")
+                .endsWith(") r ORDER BY row_kind, created_at DESC, id DESC");
+        assertThat(result.getStatusCounts()).containsExactly(Map.entry("TODO", 3L), Map.entry("DONE", 1L));
+        assertThat(result.getPriorityCounts()).containsExactly(Map.entry("HIGH", 4L));
+
+        assertThat(result.getItems()).hasSize(1);
+        TaskDto task = result.getItems().get(0);
+        assertThat(task.getId()).isEqualTo(taskId);
+        assertThat(task.getTaskKey()).isEqualTo("APP-1");
+        assertThat(task.getStatus()).isEqualTo(Task.TaskStatus.TODO);
+        assertThat(task.getPriority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(task.getTaskType()).isNull();
+        assertThat(task.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(task.getDueDate()).isNull();
+        assertThat(task.getCommentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void noFacetsLeavesCountsNull() {
+        TaskFilterResultDto result = repository.filter(TENANT_ID, new TaskFilterRequest(), null, null, null, 10, false);
+
+        assertThat(sql).doesNotContain("UNION ALL");
+        assertThat(result.getStatusCounts()).isNull();
+        assertThat(result.getPriorityCounts()).isNull();
+    }
+
+    private static Map<String, Object> taskRow(UUID id, LocalDateTime createdAt) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("row_kind", 0);
+        row.put("id", id);
+        row.put("task_key", "APP-1");
+        row.put("status", "TODO");
+        row.put("priority", "HIGH");
+        row.put("created_at", Timestamp.valueOf(createdAt));
+        row.put("comment_count", 2);
+        return row;
+    }
+
+    private static Map<String, Object> facetRow(String facet, String value, long count) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("row_kind", 1);
+        row.put("facet", facet);
+        row.put("facet_value", value);
+        row.put("facet_count", count);
+        return row;
+    }
+
+    // Colonnes absentes : NULL (0 pour les types primitifs), comme JDBC
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = row.get(invocation.<String>getArgument(0));
+            return switch (invocation.getMethod().getName()) {
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                default -> value;
+            };
+        });
+    }
+}
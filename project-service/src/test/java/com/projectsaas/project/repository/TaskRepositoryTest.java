@@ -0,0 +1,223 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cartes Kanban lues en projection : une requête, aucune entité chargée, pages par curseur (createdAt, id).
+// Requêtes du tableau de bord : tâches en retard et tâches terminées depuis une date.
+@H2JpaTest
+class TaskRepositoryTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SprintRepository sprintRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project project;
+    private Sprint sprint;
+    private int taskNumber;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        project = project(UUID.randomUUID(), "APP");
+        sprint = sprintRepository.save(Sprint.builder()
+                .tenantId(project.getTenantId())
+                .project(project)
+                .name("Sprint 1")
+                .status(Sprint.SprintStatus.ACTIVE)
+                .createdBy(UUID.randomUUID())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        sprintRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void cardsAreReadAsProjectionsInOneStatement() {
+        List<UUID> todo = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            todo.add(task(project, Task.TaskStatus.TODO, i % 2 == 0 ? sprint : null, BASE_TIME.plusMinutes(i)));
+        }
+        task(project, Task.TaskStatus.DONE, null, BASE_TIME);
+        task(project(project.getTenantId(), "WEB"), Task.TaskStatus.TODO, null, BASE_TIME);
+        task(project(UUID.randomUUID(), "APP"), Task.TaskStatus.TODO, null, BASE_TIME);
+        statistics.clear();
+
+        List<KanbanCardDto> cards = taskRepository.findKanbanCards(project.getTenantId(), project.getId(),
+                Task.TaskStatus.TODO, PageRequest.of(0, 10));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // Plus récentes d'abord
+        Collections.reverse(todo);
+        assertThat(cards).extracting(KanbanCardDto::getId).containsExactlyElementsOf(todo);
+        assertThat(cards).filteredOn(card -> card.getSprintId() != null).hasSize(3)
+                .allSatisfy(card -> assertThat(card.getSprintId()).isEqualTo(sprint.getId()));
+        assertThat(cards.get(0)).satisfies(card -> {
+            assertThat(card.getTaskKey()).isEqualTo("APP-5");
+            assertThat(card.getStatus()).isEqualTo(Task.TaskStatus.TODO);
+            assertThat(card.getPriority()).isEqualTo(Task.Priority.MEDIUM);
+            assertThat(card.getStoryPoints()).isEqualTo(3);
+            assertThat(card.getCreatedAt()).isEqualTo(BASE_TIME.plusMinutes(4));
+        });
+    }
+
+    // Dates de création identiques : l'identifiant départage, aucune carte perdue ni répétée
+    @Test
+    void keysetPagesWalkTheColumnWithoutGapsOrDuplicates() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(task(project, Task.TaskStatus.IN_PROGRESS, null, BASE_TIME.plusMinutes(i / 3)));
+        }
+        // Ordre de la base pour les ex aequo (UUID comparés octet par octet, pas comme UUID.compareTo)
+        List<UUID> expected = taskRepository.findKanbanCards(project.getTenantId(), project.getId(),
+                        Task.TaskStatus.IN_PROGRESS, PageRequest.of(0, 100)).stream()
+                .map(KanbanCardDto::getId)
+                .toList();
+
+        List<UUID> walked = new ArrayList<>();
+        List<KanbanCardDto> page = taskRepository.findKanbanCards(project.getTenantId(), project.getId(),
+                Task.TaskStatus.IN_PROGRESS, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(card -> walked.add(card.getId()));
+            KanbanCardDto last = page.get(page.size() - 1);
+            page = taskRepository.findKanbanCardsAfter(project.getTenantId(), project.getId(),
+                    Task.TaskStatus.IN_PROGRESS, last.getCreatedAt(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    // comment_count appartient au trigger : Hibernate ne l'écrit ni à l'insertion ni à la mise à jour
+    @Test
+    void commentCountIsNeverWrittenByHibernate() {
+        UUID id = task(project, Task.TaskStatus.TODO, null, BASE_TIME);
+        Task task = taskRepository.findById(id).orElseThrow();
+        task.setCommentCount(42);
+        task.setTitle("Renamed");
+        taskRepository.save(task);
+
+        Task reloaded = taskRepository.findById(id).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Renamed");
+        assertThat(reloaded.getCommentCount()).isZero();
+    }
+
+    // Top-N du tableau de bord et total du retard : mêmes critères, tâches DONE et autres tenants exclues
+    @Test
+    void overdueTopNAndCountAgree() {
+        LocalDateTime now = BASE_TIME.plusDays(10);
+        UUID oldest = task(project, Task.TaskStatus.TODO, now.minusDays(5));
+        UUID older = task(project, Task.TaskStatus.IN_PROGRESS, now.minusDays(3));
+        UUID recent = task(project, Task.TaskStatus.BLOCKED, now.minusHours(1));
+        task(project, Task.TaskStatus.DONE, now.minusDays(4));
+        task(project, Task.TaskStatus.TODO, now.plusDays(1));
+        task(project(UUID.randomUUID(), "APP"), Task.TaskStatus.TODO, now.minusDays(6));
+
+        assertThat(taskRepository.countOverdueTasks(project.getTenantId(), now)).isEqualTo(3);
+        assertThat(taskRepository.findOverdueTasks(project.getTenantId(), now, PageRequest.of(0, 2)))
+                .extracting(Task::getId)
+                .containsExactly(oldest, older);
+        assertThat(taskRepository.findOverdueTasks(project.getTenantId(), now, PageRequest.of(0, 10)))
+                .extracting(Task::getId)
+                .containsExactly(oldest, older, recent);
+    }
+
+    // Tâches terminées de la semaine : DONE modifiées depuis la date, borne incluse
+    @Test
+    void completedTasksAreCountedFromTheGivenDate() {
+        LocalDateTime monday = BASE_TIME.plusDays(3).toLocalDate().atStartOfDay();
+        setTimestamp(task(project, Task.TaskStatus.DONE, null, BASE_TIME), "updatedAt", monday);
+        setTimestamp(task(project, Task.TaskStatus.DONE, null, BASE_TIME), "updatedAt", monday.plusDays(2));
+        setTimestamp(task(project, Task.TaskStatus.DONE, null, BASE_TIME), "updatedAt", monday.minusSeconds(1));
+        setTimestamp(task(project, Task.TaskStatus.IN_REVIEW, null, BASE_TIME), "updatedAt", monday.plusDays(1));
+
+        assertThat(taskRepository.countByTenantIdAndStatusAndUpdatedAtGreaterThanEqual(
+                project.getTenantId(), Task.TaskStatus.DONE, monday)).isEqualTo(2);
+    }
+
+    private Project project(UUID tenantId, String key) {
+        return projectRepository.save(Project.builder()
+                .tenantId(tenantId)
+                .name(key)
+                .key(key)
+                .status(Project.ProjectStatus.ACTIVE)
+                .priority(Project.Priority.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .build());
+    }
+
+    // createdAt est posé par @PrePersist : la date voulue est écrite ensuite
+    private UUID task(Project owner, Task.TaskStatus status, Sprint taskSprint, LocalDateTime createdAt) {
+        taskNumber++;
+        Task task = taskRepository.save(Task.builder()
+                .tenantId(owner.getTenantId())
+                .project(owner)
+                .sprint(taskSprint)
+                .title("Task " + taskNumber)
+                .taskKey(owner.getKey() + "-" + taskNumber)
+                .status(status)
+                .priority(Task.Priority.MEDIUM)
+                .taskType(Task.TaskType.TASK)
+                .storyPoints(3)
+                .reporterId(UUID.randomUUID())
+                .build());
+        setTimestamp(task.getId(), "createdAt", createdAt);
+        return task.getId();
+    }
+
+    private UUID task(Project owner, Task.TaskStatus status, LocalDateTime dueDate) {
+        UUID id = task(owner, status, null, BASE_TIME);
+        setTimestamp(id, "dueDate", dueDate);
+        return id;
+    }
+
+    // JPQL : @PreUpdate ne s'applique pas, la date écrite est celle passée
+    private void setTimestamp(UUID id, String field, LocalDateTime value) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.createQuery("UPDATE Task t SET t." + field + " = :value WHERE t.id = :id")
+                    .setParameter("value", value)
+                    .setParameter("id", id)
+                    .executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
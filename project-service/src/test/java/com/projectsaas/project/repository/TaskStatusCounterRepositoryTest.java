@@ -0,0 +1,88 @@
+package com.projectsaas.project.repository;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.entity.TaskStatusCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+// Lectures des compteurs : sommes par projet et par tenant, zéro plutôt que NULL.
+// Les lignes sont insérées à la main (le trigger V13 n'existe pas sous H2).
+@H2JpaTest
+class TaskStatusCounterRepositoryTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final UUID OTHER_PROJECT_ID = UUID.randomUUID();
+
+    @Autowired
+    private TaskStatusCounterRepository counterRepository;
+
+    @BeforeEach
+    void setUp() {
+        counter(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO, 4);
+        counter(TENANT_ID, PROJECT_ID, Task.TaskStatus.IN_PROGRESS, 2);
+        // Dernière tâche DONE supprimée : la ligne reste, à zéro
+        counter(TENANT_ID, PROJECT_ID, Task.TaskStatus.DONE, 0);
+        counter(TENANT_ID, OTHER_PROJECT_ID, Task.TaskStatus.TODO, 5);
+        counter(UUID.randomUUID(), PROJECT_ID, Task.TaskStatus.TODO, 9);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    void projectCountsSkipEmptyStatuses() {
+        assertThat(toMap(counterRepository.countByStatus(TENANT_ID, PROJECT_ID)))
+                .containsOnly(entry(Task.TaskStatus.TODO, 4L), entry(Task.TaskStatus.IN_PROGRESS, 2L));
+        assertThat(counterRepository.countTasks(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO)).isEqualTo(4);
+        assertThat(counterRepository.countProjectTasks(TENANT_ID, PROJECT_ID)).isEqualTo(6);
+    }
+
+    @Test
+    void tenantCountsSumEveryProject() {
+        assertThat(toMap(counterRepository.countByStatusForTenant(TENANT_ID))).containsOnly(
+                entry(Task.TaskStatus.TODO, 9L),
+                entry(Task.TaskStatus.IN_PROGRESS, 2L),
+                entry(Task.TaskStatus.DONE, 0L));
+        assertThat(counterRepository.countTasksForTenant(TENANT_ID)).isEqualTo(11);
+    }
+
+    // Aucune ligne : 0, pas NULL (les appelants font .intValue())
+    @Test
+    void missingCountersReadAsZero() {
+        assertThat(counterRepository.countTasks(TENANT_ID, PROJECT_ID, Task.TaskStatus.IN_REVIEW)).isZero();
+        assertThat(counterRepository.countProjectTasks(TENANT_ID, UUID.randomUUID())).isZero();
+        assertThat(counterRepository.countTasksForTenant(UUID.randomUUID())).isZero();
+        assertThat(counterRepository.countByStatus(TENANT_ID, UUID.randomUUID())).isEmpty();
+    }
+
+    private void counter(UUID tenantId, UUID projectId, Task.TaskStatus status, long taskCount) {
+        counterRepository.save(TaskStatusCounter.builder()
+                .tenantId(tenantId)
+                .projectId(projectId)
+                .status(status)
+                .taskCount(taskCount)
+                .build());
+    }
+
+    private static Map<Task.TaskStatus, Long> toMap(List<Object[]> rows) {
+        Map<Task.TaskStatus, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Task.TaskStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
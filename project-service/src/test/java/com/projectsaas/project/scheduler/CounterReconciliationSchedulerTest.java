@@ -0,0 +1,70 @@
+package com.projectsaas.project.scheduler;
+
+import com.projectsaas.project.repository.SprintBurndownSnapshotRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CounterReconciliationSchedulerTest {
+
+    private final TaskStatusCounterRepository counterRepository = mock(TaskStatusCounterRepository.class);
+    private final SprintBurndownSnapshotRepository snapshotRepository = mock(SprintBurndownSnapshotRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus transaction = mock(TransactionStatus.class);
+    private final CounterReconciliationScheduler scheduler =
+            new CounterReconciliationScheduler(counterRepository, snapshotRepository, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+
+    // Un verrou puis son recalcul par transaction : jamais deux tables verrouillées à la fois
+    @Test
+    void eachTableIsLockedAndRepairedInItsOwnTransaction() {
+        when(counterRepository.reconcileStatusCounters()).thenReturn(2);
+        when(counterRepository.resetOrphanStatusCounters()).thenReturn(1);
+
+        scheduler.reconcileCounters();
+
+        InOrder order = inOrder(transactionManager, counterRepository, snapshotRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(counterRepository).lockStatusCounters();
+        order.verify(counterRepository).reconcileStatusCounters();
+        order.verify(counterRepository).resetOrphanStatusCounters();
+        order.verify(transactionManager).commit(transaction);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(counterRepository).lockTaskComments();
+        order.verify(counterRepository).reconcileCommentCounts();
+        order.verify(transactionManager).commit(transaction);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(snapshotRepository).lockSnapshots();
+        order.verify(snapshotRepository).reconcileActiveSprints();
+        order.verify(transactionManager).commit(transaction);
+        order.verifyNoMoreInteractions();
+    }
+
+    // Échec (verrou non obtenu) : transaction annulée, rien ne remonte au planificateur
+    @Test
+    void failureRollsBackAndStopsTheRun() {
+        doThrow(new CannotAcquireLockException("lock timeout")).when(counterRepository).lockTaskComments();
+
+        scheduler.reconcileCounters();
+
+        verify(transactionManager).rollback(transaction);
+        verify(counterRepository, never()).reconcileCommentCounts();
+        verify(snapshotRepository, never()).lockSnapshots();
+    }
+}
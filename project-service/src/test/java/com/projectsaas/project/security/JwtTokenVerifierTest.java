@@ -0,0 +1,198 @@
+package com.projectsaas.project.security;
+
+import com.projectsaas.project.config.JwtProperties;
+import com.projectsaas.project.service.AuthIntegrationService;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "testSecretKey123456789012345678901234567890";
+    private static final String PREVIOUS_SECRET = "previousSecretKey12345678901234567890123456";
+    private static final String OTHER_SECRET = "otherSecretKey1234567890123456789012345678901";
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final AuthIntegrationService authService = mock(AuthIntegrationService.class);
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setPreviousSecrets(List.of(PREVIOUS_SECRET));
+        jwtProperties.setRemoteFallback(false);
+        verifier = newVerifier();
+    }
+
+    @Test
+    void validTokenIsVerifiedWithoutCallingAuthService() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        String token = token(SECRET).expiration(Date.from(expiresAt)).compact();
+
+        VerifiedToken verified = verifier.verify(token).orElseThrow();
+
+        assertThat(verified.getSubject()).isEqualTo("alice@acme.io");
+        assertThat(verified.getUsername()).isEqualTo("alice");
+        assertThat(verified.getTenantId()).isEqualTo(TENANT_ID);
+        assertThat(verified.getUserId()).isEqualTo(USER_ID);
+        assertThat(verified.getExpiresAt()).isCloseTo(expiresAt, within(1, ChronoUnit.SECONDS));
+        verify(authService, never()).validateToken(anyString());
+    }
+
+    // Second appel servi par le cache, sans nouvelle vérification de signature
+    @Test
+    void verifiedTokensAreCached() {
+        String token = token(SECRET).compact();
+
+        VerifiedToken first = verifier.verify(token).orElseThrow();
+        VerifiedToken second = verifier.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("project.jwt.verification").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatedTokenIsVerifiedAgain() {
+        String token = token(SECRET).compact();
+        VerifiedToken first = verifier.verify(token).orElseThrow();
+
+        verifier.invalidate(token);
+
+        assertThat(verifier.verify(token)).get().isNotSameAs(first);
+        assertThat(cacheGets("miss")).isEqualTo(2);
+    }
+
+    // Rotation : les tokens signés avec l'ancienne clé restent valides
+    @Test
+    void tokensSignedWithAPreviousSecretAreAccepted() {
+        assertThat(verifier.verify(token(PREVIOUS_SECRET).compact())).isPresent();
+        assertThat(verifier.verify(token(OTHER_SECRET).compact())).isEmpty();
+    }
+
+    @Test
+    void expiredOrMalformedTokensAreRejected() {
+        String expired = token(SECRET).expiration(Date.from(Instant.now().minusSeconds(60))).compact();
+
+        assertThat(verifier.verify(expired)).isEmpty();
+        assertThat(verifier.verify("not-a-jwt")).isEmpty();
+        assertThat(verifier.verify(token(SECRET).compact() + "x")).isEmpty();
+    }
+
+    @Test
+    void refreshServiceAndIncompleteTokensAreRejected() {
+        assertThat(verifier.verify(token(SECRET).claim("isRefreshToken", true).compact())).isEmpty();
+        assertThat(verifier.verify(token(SECRET).claim(ServiceTokenIssuer.SERVICE_CLAIM, "project-service").compact()))
+                .isEmpty();
+        assertThat(verifier.verify(Jwts.builder()
+                .subject("alice@acme.io")
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact())).isEmpty();
+    }
+
+    // Anciens tokens sans userId : acceptés, userId null
+    @Test
+    void userIdIsOptional() {
+        String token = Jwts.builder()
+                .subject("bob@acme.io")
+                .claim("tenantId", TENANT_ID.toString())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(verifier.verify(token)).get()
+                .satisfies(verified -> assertThat(verified.getUserId()).isNull());
+    }
+
+    // Clé inconnue : auth-service tranche, son résultat est gardé remoteTtl
+    @Test
+    void remoteFallbackVerifiesUnknownKeysAndCachesTheResult() {
+        jwtProperties.setRemoteFallback(true);
+        jwtProperties.getCache().setRemoteTtl(Duration.ofSeconds(30));
+        verifier = newVerifier();
+        String token = token(OTHER_SECRET).compact();
+        when(authService.validateToken(token)).thenReturn(true);
+        when(authService.extractUsername(token)).thenReturn("alice");
+        when(authService.extractTenantId(token)).thenReturn(TENANT_ID);
+
+        VerifiedToken verified = verifier.verify(token).orElseThrow();
+        verifier.verify(token);
+
+        assertThat(verified.getUsername()).isEqualTo("alice");
+        assertThat(verified.getTenantId()).isEqualTo(TENANT_ID);
+        assertThat(verified.getExpiresAt()).isCloseTo(Instant.now().plusSeconds(30), within(2, ChronoUnit.SECONDS));
+        verify(authService, times(1)).validateToken(token);
+    }
+
+    @Test
+    void remoteFallbackRejectionIsNotCached() {
+        jwtProperties.setRemoteFallback(true);
+        verifier = newVerifier();
+        String token = token(OTHER_SECRET).compact();
+        when(authService.validateToken(token)).thenReturn(false);
+
+        assertThat(verifier.verify(token)).isEmpty();
+        assertThat(verifier.verify(token)).isEmpty();
+
+        verify(authService, times(2)).validateToken(token);
+    }
+
+    @Test
+    void locallyValidTokensNeverReachAuthService() {
+        jwtProperties.setRemoteFallback(true);
+        verifier = newVerifier();
+
+        assertThat(verifier.verify(token(SECRET).compact())).isPresent();
+
+        verify(authService, never()).validateToken(anyString());
+    }
+
+    private JwtTokenVerifier newVerifier() {
+        JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(jwtProperties, authService, meterRegistry);
+        tokenVerifier.init();
+        return tokenVerifier;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwt-verified-tokens")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static JwtBuilder token(String secret) {
+        return Jwts.builder()
+                .subject("alice@acme.io")
+                .claim("tenantId", TENANT_ID.toString())
+                .claim("userId", USER_ID.toString())
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,261 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.config.DashboardProperties;
+import com.projectsaas.project.config.VirtualThreadExecutors;
+import com.projectsaas.project.dto.DashboardDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
+import com.projectsaas.project.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Sections chargées en parallèle, communes au tenant en cache, myOpenTasks recalculé à chaque requête
+class DashboardServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final SprintRepository sprintRepository = mock(SprintRepository.class);
+    private final TaskStatusCounterRepository counterRepository = mock(TaskStatusCounterRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardProperties properties = new DashboardProperties();
+
+    private DashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setOverdueLimit(3);
+        TenantContext.setTenantId(TENANT_ID);
+        when(userService.getCurrentUserId("token")).thenReturn(USER_ID);
+        when(counterRepository.countTasksForTenant(any())).thenReturn(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        TenantContext.clear();
+    }
+
+    // Chaque section attend les trois autres : en séquentiel, aucune ne verrait le compteur à zéro
+    @Test
+    void tenantSectionsRunConcurrently() {
+        CountDownLatch allStarted = new CountDownLatch(4);
+        Set<Boolean> overlapped = ConcurrentHashMap.newKeySet();
+        Runnable section = () -> {
+            allStarted.countDown();
+            try {
+                overlapped.add(allStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        when(projectRepository.findTop5ByTenantIdOrderByCreatedAtDesc(TENANT_ID)).thenAnswer(invocation -> {
+            section.run();
+            return List.of(project("APP"));
+        });
+        when(taskRepository.findOverdueTasks(eq(TENANT_ID), any(), any())).thenAnswer(invocation -> {
+            section.run();
+            return List.of(task("APP-1"));
+        });
+        when(taskRepository.findTop10ByTenantIdOrderByUpdatedAtDesc(TENANT_ID)).thenAnswer(invocation -> {
+            section.run();
+            return List.of(task("APP-2"), task("APP-3"));
+        });
+        when(projectRepository.countByTenantId(TENANT_ID)).thenAnswer(invocation -> {
+            section.run();
+            return 4L;
+        });
+
+        DashboardDto dashboard = service().getDashboardData("token");
+
+        assertThat(overlapped).containsOnly(true);
+        assertThat(dashboard.getRecentProjects()).extracting("key").containsExactly("APP");
+        assertThat(dashboard.getOverdueTasks()).extracting("taskKey").containsExactly("APP-1");
+        assertThat(dashboard.getRecentlyUpdatedTasks()).extracting("taskKey").containsExactly("APP-2", "APP-3");
+        assertThat(dashboard.getStats().getTotalProjects()).isEqualTo(4);
+    }
+
+    // Un COUNT pour le total, une page de overdueLimit pour la liste : pas de .size() sur tout le retard
+    @Test
+    void statsUseIndexedCounts() {
+        when(counterRepository.countTasksForTenant(TENANT_ID)).thenReturn(42L);
+        when(taskRepository.countOverdueTasks(eq(TENANT_ID), any())).thenReturn(17L);
+        when(taskRepository.findOverdueTasks(eq(TENANT_ID), any(), any()))
+                .thenReturn(List.of(task("APP-1"), task("APP-2"), task("APP-3")));
+        when(sprintRepository.countByTenantIdAndStatus(TENANT_ID, Sprint.SprintStatus.ACTIVE)).thenReturn(2L);
+        when(taskRepository.countByTenantIdAndStatusAndUpdatedAtGreaterThanEqual(
+                eq(TENANT_ID), eq(Task.TaskStatus.DONE), any())).thenReturn(5L);
+        when(taskRepository.countByTenantIdAndAssigneeIdAndStatusNot(TENANT_ID, USER_ID, Task.TaskStatus.DONE))
+                .thenReturn(6L);
+
+        DashboardDto.DashboardStats stats = service().getDashboardData("token").getStats();
+
+        assertThat(stats.getTotalTasks()).isEqualTo(42);
+        assertThat(stats.getOverdueTasksCount()).isEqualTo(17);
+        assertThat(stats.getActiveSprints()).isEqualTo(2);
+        assertThat(stats.getCompletedTasksThisWeek()).isEqualTo(5);
+        assertThat(stats.getMyOpenTasks()).isEqualTo(6);
+        verify(taskRepository).findOverdueTasks(eq(TENANT_ID), any(), eq(PageRequest.of(0, 3)));
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).countByTenantIdAndStatusAndUpdatedAtGreaterThanEqual(
+                eq(TENANT_ID), eq(Task.TaskStatus.DONE), since.capture());
+        assertThat(since.getValue().getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(since.getValue().toLocalTime()).isEqualTo(LocalTime.MIDNIGHT);
+        assertThat(since.getValue()).isBeforeOrEqualTo(LocalDateTime.now())
+                .isAfter(LocalDateTime.now().minusDays(7));
+    }
+
+    @Test
+    void tenantSectionsAreCachedButMyOpenTasksIsNot() {
+        when(taskRepository.countByTenantIdAndAssigneeIdAndStatusNot(TENANT_ID, USER_ID, Task.TaskStatus.DONE))
+                .thenReturn(1L, 2L);
+        DashboardService dashboardService = service();
+
+        assertThat(dashboardService.getDashboardData("token").getStats().getMyOpenTasks()).isEqualTo(1);
+        assertThat(dashboardService.getDashboardData("token").getStats().getMyOpenTasks()).isEqualTo(2);
+
+        verify(projectRepository, times(1)).findTop5ByTenantIdOrderByCreatedAtDesc(TENANT_ID);
+        verify(projectRepository, times(1)).countByTenantId(TENANT_ID);
+        verify(taskRepository, times(1)).findTop10ByTenantIdOrderByUpdatedAtDesc(TENANT_ID);
+        verify(taskRepository, times(2))
+                .countByTenantIdAndAssigneeIdAndStatusNot(TENANT_ID, USER_ID, Task.TaskStatus.DONE);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+
+        // Autre tenant : ses propres sections
+        UUID otherTenant = UUID.randomUUID();
+        TenantContext.setTenantId(otherTenant);
+        dashboardService.getDashboardData("token");
+        verify(projectRepository).findTop5ByTenantIdOrderByCreatedAtDesc(otherTenant);
+    }
+
+    // Sections communes rechargées une fois le TTL écoulé
+    @Test
+    void tenantSectionsExpireAfterTheTtl() throws InterruptedException {
+        properties.setCacheTtl(Duration.ofMillis(50));
+        DashboardService dashboardService = service();
+
+        dashboardService.getDashboardData("token");
+        Thread.sleep(100);
+        dashboardService.getDashboardData("token");
+
+        verify(projectRepository, times(2)).findTop5ByTenantIdOrderByCreatedAtDesc(TENANT_ID);
+    }
+
+    // Utilisateur non résolu : le tableau reste affiché, sans tâches personnelles
+    @Test
+    void unresolvedUserHasNoOpenTasks() {
+        when(userService.getCurrentUserId(anyString())).thenThrow(new RuntimeException("auth-service down"));
+
+        DashboardDto dashboard = service().getDashboardData("token");
+
+        assertThat(dashboard.getStats().getMyOpenTasks()).isZero();
+        verify(taskRepository, never()).countByTenantIdAndAssigneeIdAndStatusNot(any(), any(), any());
+    }
+
+    // Exception d'origine remontée (pas de CompletionException), rien n'est mis en cache
+    @Test
+    void failingSectionIsRethrownAndNotCached() {
+        when(taskRepository.findTop10ByTenantIdOrderByUpdatedAtDesc(TENANT_ID))
+                .thenThrow(new QueryTimeoutException("statement timeout"))
+                .thenReturn(List.of());
+        DashboardService dashboardService = service();
+
+        assertThatThrownBy(() -> dashboardService.getDashboardData("token"))
+                .isInstanceOf(QueryTimeoutException.class)
+                .hasMessage("statement timeout");
+        assertThat(dashboardService.getDashboardData("token").getRecentlyUpdatedTasks()).isEmpty();
+        verify(taskRepository, times(2)).findTop10ByTenantIdOrderByUpdatedAtDesc(TENANT_ID);
+    }
+
+    // Pool et file saturés : les sections en trop s'exécutent dans le thread de la requête
+    @Test
+    void saturatedPoolRunsSectionsOnTheCallerThread() {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(projectRepository.findTop5ByTenantIdOrderByCreatedAtDesc(TENANT_ID)).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(50);
+            return List.of();
+        });
+        when(taskRepository.findOverdueTasks(eq(TENANT_ID), any(), any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+        when(taskRepository.findTop10ByTenantIdOrderByUpdatedAtDesc(TENANT_ID)).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        DashboardDto dashboard = service().getDashboardData("token");
+
+        assertThat(dashboard.getStats()).isNotNull();
+        assertThat(threads).contains(Thread.currentThread().getName());
+        assertThat(threads).anyMatch(name -> name.startsWith("dashboard-section-"));
+    }
+
+    private DashboardService service() {
+        service = new DashboardService(projectRepository, taskRepository, sprintRepository, counterRepository,
+                userService, properties, meterRegistry, new TaskDtoAssembler(),
+                new VirtualThreadExecutors(new MockEnvironment()));
+        service.init();
+        return service;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "dashboard-sections")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static Project project(String key) {
+        return Project.builder().id(UUID.randomUUID()).tenantId(TENANT_ID).key(key).name(key).build();
+    }
+
+    private static Task task(String taskKey) {
+        return Task.builder().id(UUID.randomUUID()).tenantId(TENANT_ID).taskKey(taskKey).build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.KanbanBoardDto;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KanbanBoardCacheTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private final KanbanBoardCache cache = new KanbanBoardCache(new SimpleMeterRegistry(), new TaskDtoAssembler());
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<KanbanCardDto> todo;
+    private List<KanbanCardDto> done;
+    private boolean todoHasMore;
+
+    @BeforeEach
+    void setUp() {
+        todo = new ArrayList<>(List.of(card("APP-3", Task.TaskStatus.TODO, 3), card("APP-2", Task.TaskStatus.TODO, 2)));
+        done = new ArrayList<>(List.of(card("APP-1", Task.TaskStatus.DONE, 1)));
+        todoHasMore = false;
+        init(Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createdTaskIsInsertedOnTopWithoutReload() {
+        KanbanBoardDto before = board();
+        Task task = task("APP-4", Task.TaskStatus.TODO, 4);
+
+        commit(() -> cache.taskSaved(task, null));
+        KanbanBoardDto after = board();
+
+        assertThat(loads).hasValue(1);
+        assertThat(after.getVersion()).isNotEqualTo(before.getVersion());
+        KanbanBoardDto.KanbanColumn column = column(after, "TODO");
+        assertThat(column.getTasks()).extracting(KanbanCardDto::getTaskKey).containsExactly("APP-4", "APP-3");
+        assertThat(column.getTaskCount()).isEqualTo(3);
+        assertThat(column.isHasMore()).isTrue();
+        assertThat(column.getNextCursor()).isNotNull();
+        assertThat(after.getStatusCounts()).containsEntry("TODO", 3);
+    }
+
+    @Test
+    void statusChangeMovesTheCard() {
+        board();
+        Task task = task("APP-2", Task.TaskStatus.DONE, 2);
+
+        commit(() -> cache.taskSaved(task, Task.TaskStatus.TODO));
+        KanbanBoardDto after = board();
+
+        assertThat(loads).hasValue(1);
+        assertThat(column(after, "TODO").getTasks()).extracting(KanbanCardDto::getTaskKey).containsExactly("APP-3");
+        assertThat(column(after, "DONE").getTasks()).extracting(KanbanCardDto::getTaskKey).containsExactly("APP-2", "APP-1");
+        assertThat(after.getStatusCounts()).containsEntry("TODO", 1).containsEntry("DONE", 2);
+    }
+
+    @Test
+    void deletedTaskIsRemovedAndEmptyCountDropped() {
+        board();
+        Task task = task("APP-1", Task.TaskStatus.DONE, 1);
+
+        commit(() -> cache.taskDeleted(task));
+        KanbanBoardDto after = board();
+
+        assertThat(loads).hasValue(1);
+        assertThat(column(after, "DONE").getTasks()).isEmpty();
+        assertThat(column(after, "DONE").getTaskCount()).isZero();
+        assertThat(after.getStatusCounts()).doesNotContainKey("DONE");
+    }
+
+    @Test
+    void cardBeyondLoadedPageIsCountedButNotShown() {
+        todoHasMore = true;
+        board();
+        Task task = task("APP-0", Task.TaskStatus.TODO, 0);
+
+        commit(() -> cache.taskSaved(task, null));
+        KanbanBoardDto.KanbanColumn column = column(board(), "TODO");
+
+        assertThat(loads).hasValue(1);
+        assertThat(column.getTasks()).extracting(KanbanCardDto::getTaskKey).containsExactly("APP-3", "APP-2");
+        assertThat(column.getTaskCount()).isEqualTo(4);
+    }
+
+    @Test
+    void emptiedPageWithMoreCardsForcesReload() {
+        todo = new ArrayList<>(List.of(card("APP-3", Task.TaskStatus.TODO, 3)));
+        todoHasMore = true;
+        board();
+        Task task = task("APP-3", Task.TaskStatus.TODO, 3);
+
+        commit(() -> cache.taskDeleted(task));
+        board();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void snapshotReturnedToCallerIsACopy() {
+        board().getColumns().get(0).getTasks().clear();
+
+        assertThat(column(board(), "TODO").getTasks()).hasSize(2);
+    }
+
+    @Test
+    void tenantInvalidationReloads() {
+        board();
+
+        commit(() -> cache.invalidateTenant(TENANT_ID));
+        board();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void snapshotExpiresAfterMaxAgeEvenWhenPatched() throws InterruptedException {
+        init(Duration.ofMillis(300), 2);
+        board();
+        Thread.sleep(200);
+        Task task = task("APP-4", Task.TaskStatus.TODO, 4);
+
+        // Le patch ne prolonge pas l'entrée : les commits des autres instances sont repris
+        commit(() -> cache.taskSaved(task, null));
+        board();
+        assertThat(loads).hasValue(1);
+        Thread.sleep(200);
+        board();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private void init(Duration maxAge, int pageSize) {
+        ReflectionTestUtils.setField(cache, "maxBoards", 10L);
+        ReflectionTestUtils.setField(cache, "maxAge", maxAge);
+        ReflectionTestUtils.setField(cache, "columnPageSize", pageSize);
+        cache.init();
+    }
+
+    private KanbanBoardDto board() {
+        return cache.get(TENANT_ID, PROJECT_ID, loader());
+    }
+
+    private Supplier<KanbanBoardDto> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            Map<String, Integer> counts = new HashMap<>();
+            counts.put("TODO", todo.size());
+            counts.put("DONE", done.size());
+            return KanbanBoardDto.builder()
+                    .projectId(PROJECT_ID)
+                    .columns(List.of(column("TODO", todo, todoHasMore), column("DONE", done, false)))
+                    .statusCounts(counts)
+                    .build();
+        };
+    }
+
+    // Transaction simulée : les synchronisations enregistrées sont déclenchées comme au commit
+    private static void commit(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static KanbanBoardDto.KanbanColumn column(String status, List<KanbanCardDto> cards, boolean hasMore) {
+        return KanbanBoardDto.KanbanColumn.builder()
+                .id(status)
+                .name(status)
+                .status(status)
+                .tasks(new ArrayList<>(cards))
+                .taskCount(cards.size() + (hasMore ? 1 : 0))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static KanbanBoardDto.KanbanColumn column(KanbanBoardDto board, String status) {
+        return board.getColumns().stream()
+                .filter(column -> status.equals(column.getStatus()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static KanbanCardDto card(String key, Task.TaskStatus status, int minutes) {
+        return new TaskDtoAssembler().toCard(task(key, status, minutes));
+    }
+
+    private static Task task(String key, Task.TaskStatus status, int minutes) {
+        return Task.builder()
+                .id(UUID.nameUUIDFromBytes(key.getBytes()))
+                .tenantId(TENANT_ID)
+                .project(Project.builder().id(PROJECT_ID).build())
+                .taskKey(key)
+                .title(key)
+                .status(status)
+                .createdAt(NOW.plusMinutes(minutes))
+                .build();
+    }
+}
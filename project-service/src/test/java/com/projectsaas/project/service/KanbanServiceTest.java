@@ -0,0 +1,154 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.KanbanBoardDto;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.ProjectNotFoundException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Colonnes du tableau : une page de cartes lue en projection, curseur vers la suivante
+class KanbanServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final TaskStatusCounterRepository counterRepository = mock(TaskStatusCounterRepository.class);
+    private final KanbanBoardCache boardCache = mock(KanbanBoardCache.class);
+    private final KanbanService service = new KanbanService(taskRepository, projectRepository, counterRepository,
+            mock(TaskService.class), mock(NotificationService.class), boardCache);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "columnPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxColumnPageSize", 5);
+        TenantContext.setTenantId(TENANT_ID);
+        when(boardCache.get(eq(TENANT_ID), eq(PROJECT_ID), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<KanbanBoardDto>>getArgument(2).get());
+        when(projectRepository.existsByIdAndTenantId(PROJECT_ID, TENANT_ID)).thenReturn(true);
+        when(taskRepository.findKanbanCards(any(), any(), any(), any())).thenReturn(List.of());
+        when(counterRepository.countTasks(any(), any(), any())).thenReturn(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    // Compteurs lus dans task_status_counters, une page par colonne
+    @Test
+    void boardHasOnePageOfCardsPerColumn() {
+        when(projectRepository.findByIdAndTenantId(PROJECT_ID, TENANT_ID))
+                .thenReturn(Optional.of(Project.builder().id(PROJECT_ID).name("App").build()));
+        when(counterRepository.countByStatus(TENANT_ID, PROJECT_ID)).thenReturn(List.of(
+                new Object[]{Task.TaskStatus.TODO, 3L},
+                new Object[]{Task.TaskStatus.DONE, 1L}));
+        List<KanbanCardDto> todo = cards(Task.TaskStatus.TODO, 3);
+        when(taskRepository.findKanbanCards(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO, PageRequest.of(0, 3)))
+                .thenReturn(todo);
+
+        KanbanBoardDto board = service.getKanbanBoard(PROJECT_ID, "token");
+
+        assertThat(board.getProjectName()).isEqualTo("App");
+        assertThat(board.getStatusCounts()).containsOnlyKeys("TODO", "DONE").containsEntry("TODO", 3);
+        assertThat(board.getColumns()).extracting(KanbanBoardDto.KanbanColumn::getId)
+                .containsExactly("todo", "in-progress", "in-review", "done");
+        assertThat(board.getColumns()).extracting(KanbanBoardDto.KanbanColumn::getWipLimit)
+                .containsExactly(null, 3, 2, null);
+
+        KanbanBoardDto.KanbanColumn column = board.getColumns().get(0);
+        assertThat(column.getTaskCount()).isEqualTo(3);
+        assertThat(column.getTasks()).containsExactlyElementsOf(todo.subList(0, 2));
+        assertThat(column.isHasMore()).isTrue();
+        KeysetCursor cursor = KeysetCursor.decode(column.getNextCursor());
+        assertThat(cursor.getPosition()).isEqualTo(todo.get(1).getCreatedAt());
+        assertThat(cursor.getId()).isEqualTo(todo.get(1).getId());
+
+        assertThat(board.getColumns().get(3).isHasMore()).isFalse();
+        assertThat(board.getColumns().get(3).getNextCursor()).isNull();
+    }
+
+    @Test
+    void nextPageStartsAfterTheCursor() {
+        KanbanCardDto last = cards(Task.TaskStatus.IN_PROGRESS, 1).get(0);
+        List<KanbanCardDto> next = cards(Task.TaskStatus.IN_PROGRESS, 2);
+        when(counterRepository.countTasks(TENANT_ID, PROJECT_ID, Task.TaskStatus.IN_PROGRESS)).thenReturn(7L);
+        when(taskRepository.findKanbanCardsAfter(TENANT_ID, PROJECT_ID, Task.TaskStatus.IN_PROGRESS,
+                last.getCreatedAt(), last.getId(), PageRequest.of(0, 5))).thenReturn(next);
+
+        KanbanBoardDto.KanbanColumn column = service.getKanbanColumn(PROJECT_ID, "in-progress",
+                KeysetCursor.encode(last.getCreatedAt(), last.getId()), 4, "token");
+
+        assertThat(column.getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(column.getTaskCount()).isEqualTo(7);
+        assertThat(column.getTasks()).containsExactlyElementsOf(next);
+        assertThat(column.isHasMore()).isFalse();
+    }
+
+    // Taille demandée bornée à [1, max] ; sans taille, celle du tableau
+    @Test
+    void columnPageSizeIsClamped() {
+        service.getKanbanColumn(PROJECT_ID, "todo", null, 1000, "token");
+        service.getKanbanColumn(PROJECT_ID, "todo", null, 0, "token");
+        service.getKanbanColumn(PROJECT_ID, "todo", " ", null, "token");
+
+        verify(taskRepository).findKanbanCards(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO, PageRequest.of(0, 6));
+        verify(taskRepository).findKanbanCards(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO, PageRequest.of(0, 2));
+        verify(taskRepository).findKanbanCards(TENANT_ID, PROJECT_ID, Task.TaskStatus.TODO, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThatThrownBy(() -> service.getKanbanColumn(PROJECT_ID, "archived", null, null, "token"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Unknown task status: archived");
+        assertThatThrownBy(() -> service.getKanbanColumn(PROJECT_ID, "todo", "not-a-cursor", null, "token"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Invalid cursor");
+
+        UUID otherProject = UUID.randomUUID();
+        assertThatThrownBy(() -> service.getKanbanColumn(otherProject, "todo", null, null, "token"))
+                .isInstanceOf(ProjectNotFoundException.class);
+    }
+
+    // Cartes triées comme la requête : plus récentes d'abord
+    private static List<KanbanCardDto> cards(Task.TaskStatus status, int count) {
+        List<KanbanCardDto> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(KanbanCardDto.builder()
+                    .id(UUID.randomUUID())
+                    .taskKey("APP-" + (count - i))
+                    .status(status)
+                    .createdAt(NOW.minusMinutes(i))
+                    .build());
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,60 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+        LocalDateTime position = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000);
+        UUID id = UUID.randomUUID();
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(position, id));
+
+        assertThat(cursor.getPosition()).isEqualTo(position);
+        assertThat(cursor.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void wholeSecondsSurviveTheRoundTrip() {
+        // LocalDateTime.toString omet les secondes nulles : "2026-10-18T09:30"
+        LocalDateTime position = LocalDateTime.of(2026, 10, 18, 9, 30);
+
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(position, UUID.randomUUID())).getPosition())
+                .isEqualTo(position);
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetCursor.encode(LocalDateTime.now(), UUID.randomUUID());
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2026-10-18T09:30".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2026-10-18T09:30|42".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{"not base64!", noSeparator, badId}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                    .isInstanceOf(InvalidOperationException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.ProjectMember;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Charges utiles de l'outbox : forme attendue par les DTO de notification-service
+class NotificationServiceTest {
+
+    // Même configuration que l'ObjectMapper de Spring Boot utilisé par OutboxService
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final NotificationService notificationService = new NotificationService(outboxService);
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void taskEventCarriesUuidIdsAndIsoDeadline() throws Exception {
+        Task task = task();
+        task.setDueDate(LocalDateTime.of(2026, 11, 2, 18, 0));
+
+        notificationService.notifyTaskStatusChanged(task, Task.TaskStatus.TODO, "token");
+
+        JsonNode event = captured("task.updated", task.getProject().getId());
+        assertThat(UUID.fromString(event.get("taskId").asText())).isEqualTo(task.getId());
+        assertThat(UUID.fromString(event.get("projectId").asText())).isEqualTo(task.getProject().getId());
+        assertThat(UUID.fromString(event.get("assignedUserId").asText())).isEqualTo(task.getAssigneeId());
+        assertThat(event.get("deadline").asText()).isEqualTo("2026-11-02T18:00:00");
+        assertThat(event.get("eventType").asText()).isEqualTo("STATUS_CHANGED");
+        assertThat(event.get("previousStatus").asText()).isEqualTo("TODO");
+    }
+
+    @Test
+    void bulkEventsUseTheirOwnTopic() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        UUID assigneeId = UUID.randomUUID();
+        TenantContext.setTenantId(tenantId);
+
+        notificationService.notifyTasksBulkUpdated(assigneeId, List.of("APP-1", "APP-2"), "token");
+
+        JsonNode event = captured(NotificationService.BULK_TOPIC, tenantId);
+        assertThat(event.get("eventType").asText()).isEqualTo("BULK_UPDATED");
+        assertThat(UUID.fromString(event.get("assignedUserId").asText())).isEqualTo(assigneeId);
+        assertThat(event.get("taskKeys")).hasSize(2);
+        assertThat(event.has("taskId")).isFalse();
+    }
+
+    @Test
+    void memberEventsListRecipientsAsMemberIds() throws Exception {
+        Project project = task().getProject();
+        UUID memberId = UUID.randomUUID();
+        project.setMembers(List.of(ProjectMember.builder().userId(memberId).build()));
+
+        notificationService.notifyProjectUpdated(project, "token");
+
+        JsonNode event = captured("project.updated", project.getId());
+        assertThat(event.get("memberIds")).hasSize(1);
+        assertThat(event.get("memberIds").get(0).asText()).isEqualTo(memberId.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonNode captured(String topic, UUID key) throws Exception {
+        ArgumentCaptor<Map<String, Object>> payload = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).enqueue(eq(topic), any(), eq(key), payload.capture());
+        return objectMapper.readTree(objectMapper.writeValueAsString(payload.getValue()));
+    }
+
+    private static Task task() {
+        Project project = Project.builder()
+                .id(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .key("APP")
+                .name("Application")
+                .build();
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setTenantId(project.getTenantId());
+        task.setProject(project);
+        task.setTaskKey("APP-1");
+        task.setTitle("Task");
+        task.setStatus(Task.TaskStatus.IN_PROGRESS);
+        task.setAssigneeId(UUID.randomUUID());
+        return task;
+    }
+}
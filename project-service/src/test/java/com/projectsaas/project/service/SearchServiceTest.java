@@ -0,0 +1,105 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.SearchResultsDto;
+import com.projectsaas.project.dto.TaskSearchHitDto;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.repository.SearchRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private final SearchRepository searchRepository = mock(SearchRepository.class);
+    private final SearchService service = new SearchService(searchRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxResults", 50);
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    // Un résultat de plus que la page pour savoir s'il en reste, sans COUNT
+    @Test
+    void readsOneExtraHitToDetectMorePages() {
+        when(searchRepository.searchTasks(TENANT_ID, "login:* & bug:*", 10, 11)).thenReturn(hits(11));
+
+        SearchResultsDto<TaskSearchHitDto> results = service.searchTasks("Login bug", 1, 10);
+
+        assertThat(results.getResults()).hasSize(10);
+        assertThat(results.isHasMore()).isTrue();
+        assertThat(results.getQuery()).isEqualTo("Login bug");
+        assertThat(results.getPage()).isEqualTo(1);
+        assertThat(results.getSize()).isEqualTo(10);
+    }
+
+    @Test
+    void lastPageHasNoMore() {
+        when(searchRepository.searchTasks(TENANT_ID, "bug:*", 0, 11)).thenReturn(hits(4));
+
+        SearchResultsDto<TaskSearchHitDto> results = service.searchTasks("bug", 0, 10);
+
+        assertThat(results.getResults()).hasSize(4);
+        assertThat(results.isHasMore()).isFalse();
+    }
+
+    @Test
+    void pageSizeAndPageAreClamped() {
+        service.searchTasks("bug", 0, 500);
+        service.searchTasks("bug", -3, 0);
+
+        verify(searchRepository).searchTasks(TENANT_ID, "bug:*", 0, 21);
+        verify(searchRepository).searchTasks(TENANT_ID, "bug:*", 0, 2);
+    }
+
+    // Top-K : la dernière page autorisée ne lit pas au-delà de maxResults
+    @Test
+    void searchIsLimitedToTheTopResults() {
+        when(searchRepository.searchProjects(TENANT_ID, "app:*", 40, 10)).thenReturn(new ArrayList<>());
+
+        service.searchProjects("app", 2, 20);
+
+        verify(searchRepository).searchProjects(TENANT_ID, "app:*", 40, 10);
+        assertThatThrownBy(() -> service.searchProjects("app", 3, 20))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Search is limited to the first 50 results");
+    }
+
+    @Test
+    void termWithoutWordsReturnsNothingWithoutQuerying() {
+        SearchResultsDto<TaskSearchHitDto> results = service.searchTasks(" && ", 0, 10);
+
+        assertThat(results.getResults()).isEmpty();
+        assertThat(results.isHasMore()).isFalse();
+        verifyNoInteractions(searchRepository);
+    }
+
+    private static List<TaskSearchHitDto> hits(int count) {
+        List<TaskSearchHitDto> hits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hits.add(TaskSearchHitDto.builder().id(UUID.randomUUID()).taskKey("APP-" + i).build());
+        }
+        return hits;
+    }
+}
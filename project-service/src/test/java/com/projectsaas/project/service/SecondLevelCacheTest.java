@@ -0,0 +1,186 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.config.DashboardProperties;
+import com.projectsaas.project.config.VirtualThreadExecutors;
+import com.projectsaas.project.dto.KanbanBoardDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.entity.TaskStatusCounter;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintBurndownSnapshotRepository;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.repository.TaskStatusCounterRepository;
+import com.projectsaas.project.security.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Tableau et statistiques rechargés (snapshot du tableau expiré) : le projet vient du cache de second
+// niveau, une requête de moins par chargement. Les changements de statut de sprint relisent la base.
+@H2JpaTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SprintRepository sprintRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusCounterRepository counterRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Project project;
+    private KanbanService kanbanService;
+    private DashboardService dashboardService;
+    private SprintService sprintService;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        project = projectRepository.save(Project.builder()
+                .tenantId(UUID.randomUUID())
+                .name("App")
+                .key("APP")
+                .status(Project.ProjectStatus.ACTIVE)
+                .priority(Project.Priority.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .build());
+        counterRepository.save(TaskStatusCounter.builder()
+                .tenantId(project.getTenantId())
+                .projectId(project.getId())
+                .status(Task.TaskStatus.TODO)
+                .taskCount(3L)
+                .build());
+        TenantContext.setTenantId(project.getTenantId());
+
+        // Snapshot du tableau toujours reconstruit : seul le cache de second niveau reste
+        KanbanBoardCache boardCache = mock(KanbanBoardCache.class);
+        when(boardCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<KanbanBoardDto>>getArgument(2).get());
+        kanbanService = new KanbanService(taskRepository, projectRepository, counterRepository,
+                mock(TaskService.class), mock(NotificationService.class), boardCache);
+        ReflectionTestUtils.setField(kanbanService, "columnPageSize", 50);
+
+        dashboardService = new DashboardService(projectRepository, taskRepository, sprintRepository,
+                counterRepository, mock(UserService.class), new DashboardProperties(), new SimpleMeterRegistry(),
+                mock(TaskDtoAssembler.class), mock(VirtualThreadExecutors.class));
+
+        sprintService = new SprintService(sprintRepository, projectRepository, taskRepository,
+                mock(SprintBurndownSnapshotRepository.class), mock(UserService.class));
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        counterRepository.deleteAll();
+        sprintRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedBoardLoadsSkipTheProjectQuery() {
+        // Projet, compteurs, une page par colonne
+        KanbanBoardDto first = kanbanService.getKanbanBoard(project.getId(), "token");
+        long firstLoad = statistics.getPrepareStatementCount();
+        assertThat(firstLoad).isEqualTo(2 + KanbanService.COLUMN_STATUSES.size());
+
+        for (int i = 0; i < 3; i++) {
+            statistics.clear();
+            KanbanBoardDto board = kanbanService.getKanbanBoard(project.getId(), "token");
+
+            assertThat(board.getProjectName()).isEqualTo(first.getProjectName());
+            assertThat(board.getStatusCounts()).containsEntry("TODO", 3);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstLoad - 1);
+            assertThat(statistics.getDomainDataRegionStatistics("projects").getHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void repeatedProjectStatsSkipTheProjectQuery() {
+        dashboardService.getProjectStats(project.getId(), "token");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            assertThat(dashboardService.getProjectStats(project.getId(), "token").getTodoTasks()).isEqualTo(3);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getDomainDataRegionStatistics("projects").getHitCount()).isEqualTo(3);
+    }
+
+    // Sprint terminé sur une autre instance : le cache local le voit encore en planification,
+    // le démarrage contrôle le statut lu en base
+    @Test
+    void sprintStatusGuardsReadTheDatabase() {
+        Sprint sprint = sprintRepository.save(Sprint.builder()
+                .tenantId(project.getTenantId())
+                .project(project)
+                .name("Sprint 1")
+                .status(Sprint.SprintStatus.PLANNING)
+                .createdBy(UUID.randomUUID())
+                .build());
+        assertThat(sprintService.getSprint(sprint.getId()).getStatus()).isEqualTo(Sprint.SprintStatus.PLANNING);
+
+        jdbcTemplate.update("UPDATE project_db.sprints SET status = 'CANCELLED', version = version + 1 WHERE id = ?",
+                sprint.getId());
+
+        assertThat(sprintService.getSprint(sprint.getId()).getStatus()).isEqualTo(Sprint.SprintStatus.PLANNING);
+        assertThatThrownBy(() -> sprintService.startSprint(sprint.getId()))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Only a sprint in planning can be started");
+        assertThat(sprintService.getSprint(sprint.getId()).getStatus()).isEqualTo(Sprint.SprintStatus.CANCELLED);
+    }
+
+    @Test
+    void sprintStartAndCompleteBumpTheVersion() {
+        Sprint sprint = sprintRepository.save(Sprint.builder()
+                .tenantId(project.getTenantId())
+                .project(project)
+                .name("Sprint 1")
+                .status(Sprint.SprintStatus.PLANNING)
+                .createdBy(UUID.randomUUID())
+                .build());
+
+        sprintService.startSprint(sprint.getId());
+        sprintService.completeSprint(sprint.getId());
+
+        Sprint completed = sprintRepository.findCurrentByIdAndTenantId(sprint.getId(), project.getTenantId())
+                .orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(Sprint.SprintStatus.COMPLETED);
+        assertThat(completed.getVersion()).isEqualTo(2);
+    }
+}
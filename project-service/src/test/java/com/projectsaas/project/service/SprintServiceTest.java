@@ -0,0 +1,158 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.BurndownDto;
+import com.projectsaas.project.dto.VelocityDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.SprintBurndownSnapshot;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintBurndownSnapshotRepository;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SprintServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+
+    private final SprintRepository sprintRepository = mock(SprintRepository.class);
+    private final SprintBurndownSnapshotRepository snapshotRepository = mock(SprintBurndownSnapshotRepository.class);
+    private final SprintService service = new SprintService(sprintRepository, mock(ProjectRepository.class),
+            mock(TaskRepository.class), snapshotRepository, mock(UserService.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxVelocitySprints", 20);
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void burndownCarriesDaysWithoutSnapshotAndExcludesStartDayScope() {
+        Sprint sprint = sprint("Sprint 1", Sprint.SprintStatus.COMPLETED, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5));
+        when(snapshotRepository.findBySprintIdOrderBySnapshotDateAsc(sprint.getId())).thenReturn(List.of(
+                snapshot(sprint, LocalDate.of(2024, 1, 1), 20, 0, 5),
+                snapshot(sprint, LocalDate.of(2024, 1, 3), 23, 8, 3),
+                snapshot(sprint, LocalDate.of(2024, 1, 5), 23, 23, 0)));
+
+        BurndownDto burndown = service.getBurndown(sprint.getId());
+
+        // Ajouts du premier jour : dans le périmètre engagé, pas dans les changements
+        assertThat(burndown.getCommittedPoints()).isEqualTo(15);
+        assertThat(burndown.getTotalScopeChange()).isEqualTo(3);
+        assertThat(burndown.getPoints())
+                .extracting(BurndownDto.BurndownPoint::getDate, BurndownDto.BurndownPoint::getTotalPoints,
+                        BurndownDto.BurndownPoint::getRemainingPoints, BurndownDto.BurndownPoint::getScopeChange,
+                        BurndownDto.BurndownPoint::getIdealRemaining)
+                .containsExactly(
+                        tuple(LocalDate.of(2024, 1, 1), 20, 20, 0, 15.0),
+                        tuple(LocalDate.of(2024, 1, 2), 20, 20, 0, 11.25),
+                        tuple(LocalDate.of(2024, 1, 3), 23, 15, 3, 7.5),
+                        tuple(LocalDate.of(2024, 1, 4), 23, 15, 0, 3.75),
+                        tuple(LocalDate.of(2024, 1, 5), 23, 0, 0, 0.0));
+    }
+
+    @Test
+    void burndownOfARunningSprintStopsToday() {
+        LocalDate today = LocalDate.now();
+        Sprint sprint = sprint("Sprint 2", Sprint.SprintStatus.ACTIVE, today.minusDays(2), today.plusDays(5));
+        when(snapshotRepository.findBySprintIdOrderBySnapshotDateAsc(sprint.getId())).thenReturn(List.of());
+
+        BurndownDto burndown = service.getBurndown(sprint.getId());
+
+        assertThat(burndown.getEndDate()).isEqualTo(today.plusDays(5));
+        assertThat(burndown.getPoints()).extracting(BurndownDto.BurndownPoint::getDate)
+                .containsExactly(today.minusDays(2), today.minusDays(1), today);
+        assertThat(burndown.getCommittedPoints()).isZero();
+    }
+
+    @Test
+    void velocityListsOldestSprintFirstFromOneSnapshotQuery() {
+        Sprint older = sprint("Sprint 1", Sprint.SprintStatus.COMPLETED, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14));
+        Sprint newer = sprint("Sprint 2", Sprint.SprintStatus.COMPLETED, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 28));
+        when(sprintRepository.findByTenantIdAndProjectIdAndStatusOrderByEndDateDesc(
+                TENANT_ID, PROJECT_ID, Sprint.SprintStatus.COMPLETED, PageRequest.of(0, 20)))
+                .thenReturn(List.of(newer, older));
+        when(snapshotRepository.findBySprintIdInOrderBySprintIdAscSnapshotDateAsc(anyList())).thenReturn(List.of(
+                snapshot(older, LocalDate.of(2024, 1, 1), 10, 0, 0),
+                snapshot(older, LocalDate.of(2024, 1, 14), 12, 9, 0),
+                // Ligne écrite après la fin du sprint : ignorée
+                snapshot(older, LocalDate.of(2024, 1, 20), 12, 12, 0),
+                snapshot(newer, LocalDate.of(2024, 1, 15), 20, 0, 4),
+                snapshot(newer, LocalDate.of(2024, 1, 27), 20, 15, 0)));
+
+        VelocityDto velocity = service.getVelocity(PROJECT_ID, 100);
+
+        assertThat(velocity.getSprints())
+                .extracting(VelocityDto.SprintVelocity::getName, VelocityDto.SprintVelocity::getCommittedPoints,
+                        VelocityDto.SprintVelocity::getCompletedPoints)
+                .containsExactly(tuple("Sprint 1", 10, 9), tuple("Sprint 2", 16, 15));
+        assertThat(velocity.getAverageVelocity()).isEqualTo(12.0);
+        verify(snapshotRepository).findBySprintIdInOrderBySprintIdAscSnapshotDateAsc(List.of(older.getId(), newer.getId()));
+    }
+
+    @Test
+    void velocityWithoutCompletedSprintSkipsTheSnapshotQuery() {
+        when(sprintRepository.findByTenantIdAndProjectIdAndStatusOrderByEndDateDesc(any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        VelocityDto velocity = service.getVelocity(PROJECT_ID, 0);
+
+        verify(sprintRepository).findByTenantIdAndProjectIdAndStatusOrderByEndDateDesc(
+                TENANT_ID, PROJECT_ID, Sprint.SprintStatus.COMPLETED, PageRequest.of(0, 1));
+        verify(snapshotRepository, never()).findBySprintIdInOrderBySprintIdAscSnapshotDateAsc(anyList());
+        assertThat(velocity.getSprints()).isEmpty();
+        assertThat(velocity.getAverageVelocity()).isZero();
+    }
+
+    private Sprint sprint(String name, Sprint.SprintStatus status, LocalDate start, LocalDate end) {
+        Sprint sprint = Sprint.builder()
+                .id(UUID.randomUUID())
+                .tenantId(TENANT_ID)
+                .project(Project.builder().id(PROJECT_ID).tenantId(TENANT_ID).build())
+                .name(name)
+                .status(status)
+                .startDate(start)
+                .endDate(end)
+                .build();
+        when(sprintRepository.findByIdAndTenantId(sprint.getId(), TENANT_ID)).thenReturn(Optional.of(sprint));
+        return sprint;
+    }
+
+    private static SprintBurndownSnapshot snapshot(Sprint sprint, LocalDate date, int total, int completed, int scope) {
+        return SprintBurndownSnapshot.builder()
+                .sprintId(sprint.getId())
+                .snapshotDate(date)
+                .tenantId(TENANT_ID)
+                .totalPoints(total)
+                .completedPoints(completed)
+                .totalTasks(total / 2)
+                .completedTasks(completed / 2)
+                .scopeChange(scope)
+                .build();
+    }
+}
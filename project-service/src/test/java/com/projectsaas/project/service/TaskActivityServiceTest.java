@@ -0,0 +1,126 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.config.TaskActivityProperties;
+import com.projectsaas.project.dto.TaskActivityDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.repository.TaskActivityRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskActivityServiceTest {
+
+    private final TaskActivityRepository activityRepository = mock(TaskActivityRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskActivityProperties properties = new TaskActivityProperties();
+    private TaskActivityService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(8);
+        properties.setMaxAttempts(3);
+        properties.setMaxValueLength(20);
+        service = new TaskActivityService(activityRepository, mock(TaskRepository.class), properties, meterRegistry);
+        service.init();
+    }
+
+    @Test
+    void diffKeepsOnlyChangedFieldsAsPlainValues() {
+        Task task = task();
+        Map<String, Object> before = TaskActivityService.snapshot(task);
+        task.setStatus(Task.TaskStatus.DONE);
+        task.setStoryPoints(5);
+        task.setDescription("x".repeat(50));
+
+        Map<String, Object> changes = service.diff(before, TaskActivityService.snapshot(task));
+
+        assertThat(changes).containsOnlyKeys("status", "storyPoints", "description");
+        assertThat(changes.get("status")).isEqualTo(List.of("TODO", "DONE"));
+        assertThat(changes.get("storyPoints")).isEqualTo(Arrays.asList(null, 5));
+        // Texte long : marqueur seulement, pas de copie
+        assertThat(changes.get("description")).isEqualTo(true);
+    }
+
+    @Test
+    void unchangedTaskRecordsNothing() {
+        Task task = task();
+        service.taskUpdated(task, TaskActivityService.snapshot(task), UUID.randomUUID());
+
+        service.flush();
+
+        verify(activityRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void rejectedRowIsIsolatedAndDroppedWithoutLosingTheBatch() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(task());
+        }
+        UUID bad = tasks.get(5).getId();
+        List<UUID> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<TaskActivityDto> entries = invocation.getArgument(0);
+            if (entries.stream().anyMatch(e -> e.getTaskId().equals(bad))) {
+                throw new DataIntegrityViolationException("no partition of relation found for row");
+            }
+            written.addAll(entries.stream().map(TaskActivityDto::getTaskId).collect(Collectors.toList()));
+            return null;
+        }).when(activityRepository).insertBatch(anyList());
+
+        tasks.forEach(t -> service.taskCreated(t, UUID.randomUUID()));
+        service.flush();
+
+        assertThat(written).hasSize(7).doesNotContain(bad);
+        assertThat(meterRegistry.counter("task.activity.dropped", "reason", "rejected").count()).isEqualTo(1);
+
+        // Rien n'est remis en tampon
+        service.flush();
+        verify(activityRepository, times(7)).insertBatch(anyList());
+    }
+
+    @Test
+    void failedBatchIsRetriedThenDroppedAfterMaxAttempts() {
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(activityRepository).insertBatch(anyList());
+        service.taskCreated(task(), UUID.randomUUID());
+        service.taskCreated(task(), UUID.randomUUID());
+
+        for (int i = 0; i < 5; i++) {
+            service.flush();
+        }
+
+        verify(activityRepository, times(properties.getMaxAttempts())).insertBatch(anyList());
+        assertThat(meterRegistry.counter("task.activity.dropped", "reason", "write_failed").count()).isEqualTo(2);
+    }
+
+    private static Task task() {
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setTenantId(UUID.randomUUID());
+        task.setProject(Project.builder().id(UUID.randomUUID()).build());
+        task.setTitle("Task");
+        task.setStatus(Task.TaskStatus.TODO);
+        return task;
+    }
+}
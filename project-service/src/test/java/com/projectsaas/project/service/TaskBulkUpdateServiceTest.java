@@ -0,0 +1,274 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.BulkTaskUpdateRequest;
+import com.projectsaas.project.dto.BulkTaskUpdateResultDto;
+import com.projectsaas.project.dto.TaskActivityDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.exception.SprintNotFoundException;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// UPDATE ensembliste simulé sur une table en mémoire : lignes RETURNING, paquets, résultats par tâche
+class TaskBulkUpdateServiceTest {
+
+    private static final String TOKEN = "token";
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID ACTOR_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final UUID OTHER_PROJECT_ID = UUID.randomUUID();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final SprintRepository sprintRepository = mock(SprintRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final KanbanBoardCache boardCache = mock(KanbanBoardCache.class);
+    private final TaskActivityService activityService = mock(TaskActivityService.class);
+    private final UserService userService = mock(UserService.class);
+    private final TaskBulkUpdateService service = new TaskBulkUpdateService(jdbcTemplate, sprintRepository,
+            notificationService, boardCache, activityService, userService);
+
+    // Table tasks du tenant, par identifiant
+    private final Map<UUID, Map<String, Object>> tasks = new LinkedHashMap<>();
+    private final List<String> statements = new ArrayList<>();
+    private final List<List<UUID>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        TenantContext.setTenantId(TENANT_ID);
+        when(userService.getCurrentUserId(TOKEN)).thenReturn(ACTOR_ID);
+
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            MapSqlParameterSource params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            statements.add(sql);
+            List<UUID> ids = new ArrayList<>((List<UUID>) params.getValue("taskIds"));
+            chunks.add(ids);
+            for (UUID id : ids) {
+                Map<String, Object> row = tasks.get(id);
+                if (row == null || (params.hasValue("sprintProjectId")
+                        && !row.get("project_id").equals(params.getValue("sprintProjectId")))) {
+                    continue;
+                }
+                // RETURNING : colonnes "old_" lues avant la mise à jour
+                Map<String, Object> returned = new HashMap<>();
+                row.forEach((column, value) -> returned.put("old_" + column, value));
+                apply(row, params, "status", "status");
+                apply(row, params, "priority", "priority");
+                apply(row, params, "assigneeId", "assignee_id");
+                apply(row, params, "sprintId", "sprint_id");
+                returned.putAll(row);
+                handler.processRow(resultSet(returned));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void onlyRequestedFieldsAreSet() {
+        UUID id = task("APP-1", PROJECT_ID, null);
+
+        service.bulkUpdate(request(List.of(id)).status(Task.TaskStatus.DONE).build(), TOKEN);
+
+        assertThat(statements).singleElement().satisfies(sql -> assertThat(sql)
+                .startsWith("UPDATE tasks t SET status = :status, updated_at = NOW() FROM tasks o")
+                .contains("t.tenant_id = :tenantId", "t.id IN (:taskIds)", "o.status AS old_status")
+                .doesNotContain("priority = :priority", "sprintProjectId"));
+        assertThat(tasks.get(id)).containsEntry("status", "DONE").containsEntry("priority", "MEDIUM");
+    }
+
+    @Test
+    void requestWithoutChangesIsRejected() {
+        assertThatThrownBy(() -> service.bulkUpdate(request(List.of(UUID.randomUUID())).build(), TOKEN))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("No field to update");
+        assertThat(statements).isEmpty();
+    }
+
+    // Doublons retirés, un UPDATE par paquet de chunkSize identifiants
+    @Test
+    void identifiersAreDeduplicatedAndChunked() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        UUID a = task("APP-1", PROJECT_ID, null);
+        UUID b = task("APP-2", PROJECT_ID, null);
+        UUID c = task("APP-3", PROJECT_ID, null);
+        UUID d = task("APP-4", PROJECT_ID, null);
+        UUID e = task("APP-5", PROJECT_ID, null);
+
+        BulkTaskUpdateResultDto result = service.bulkUpdate(
+                request(List.of(a, b, a, c, d, e, b)).priority(Task.Priority.HIGH).build(), TOKEN);
+
+        assertThat(chunks).containsExactly(List.of(a, b), List.of(c, d), List.of(e));
+        assertThat(result.getRequestedCount()).isEqualTo(5);
+        assertThat(result.getUpdatedCount()).isEqualTo(5);
+        assertThat(result.getResults()).extracting(BulkTaskUpdateResultDto.TaskResult::getTaskKey)
+                .containsExactly("APP-1", "APP-2", "APP-3", "APP-4", "APP-5");
+    }
+
+    @Test
+    void unknownTasksAreReportedAsNotFound() {
+        UUID known = task("APP-1", PROJECT_ID, null);
+        UUID unknown = UUID.randomUUID();
+
+        BulkTaskUpdateResultDto result = service.bulkUpdate(
+                request(List.of(unknown, known)).status(Task.TaskStatus.IN_PROGRESS).build(), TOKEN);
+
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getFailedCount()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(BulkTaskUpdateResultDto.TaskResult::getTaskId,
+                        BulkTaskUpdateResultDto.TaskResult::getStatus,
+                        BulkTaskUpdateResultDto.TaskResult::getMessage)
+                .containsExactly(
+                        tuple(unknown, BulkTaskUpdateResultDto.ResultStatus.NOT_FOUND, "Task not found"),
+                        tuple(known, BulkTaskUpdateResultDto.ResultStatus.UPDATED, null));
+        verify(boardCache).invalidateTenant(TENANT_ID);
+    }
+
+    @Test
+    void nothingUpdatedLeavesTheBoardsCached() {
+        service.bulkUpdate(request(List.of(UUID.randomUUID())).status(Task.TaskStatus.DONE).build(), TOKEN);
+
+        verify(boardCache, never()).invalidateTenant(any());
+    }
+
+    // Un sprint ne reçoit que les tâches de son projet
+    @Test
+    void sprintChangeIsRestrictedToTheSprintProject() {
+        UUID sprintId = UUID.randomUUID();
+        when(sprintRepository.findByIdAndTenantId(sprintId, TENANT_ID)).thenReturn(Optional.of(Sprint.builder()
+                .id(sprintId)
+                .project(Project.builder().id(PROJECT_ID).build())
+                .build()));
+        UUID inProject = task("APP-1", PROJECT_ID, null);
+        UUID elsewhere = task("WEB-1", OTHER_PROJECT_ID, null);
+
+        BulkTaskUpdateResultDto result = service.bulkUpdate(
+                request(List.of(inProject, elsewhere)).sprintId(sprintId).build(), TOKEN);
+
+        assertThat(statements.get(0)).contains("sprint_id = :sprintId", "AND t.project_id = :sprintProjectId");
+        assertThat(tasks.get(inProject)).containsEntry("sprint_id", sprintId);
+        assertThat(tasks.get(elsewhere)).containsEntry("sprint_id", null);
+        assertThat(result.getResults().get(1).getMessage()).isEqualTo("Task not found or not in the sprint's project");
+    }
+
+    @Test
+    void unknownSprintIsRejectedBeforeAnyUpdate() {
+        UUID sprintId = UUID.randomUUID();
+        when(sprintRepository.findByIdAndTenantId(sprintId, TENANT_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.bulkUpdate(
+                request(List.of(task("APP-1", PROJECT_ID, null))).sprintId(sprintId).build(), TOKEN))
+                .isInstanceOf(SprintNotFoundException.class);
+        assertThat(statements).isEmpty();
+    }
+
+    // Une notification par assigné, pas une par tâche
+    @Test
+    void assigneesAreNotifiedOncePerPerson() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID carol = UUID.randomUUID();
+        UUID t1 = task("APP-1", PROJECT_ID, alice);
+        UUID t2 = task("APP-2", PROJECT_ID, alice);
+        UUID t3 = task("APP-3", PROJECT_ID, bob);
+        UUID t4 = task("APP-4", PROJECT_ID, carol);
+
+        service.bulkUpdate(request(List.of(t1, t2, t3, t4)).assigneeId(carol).build(), TOKEN);
+
+        verify(notificationService).notifyTasksBulkUpdated(carol, List.of("APP-1", "APP-2", "APP-3", "APP-4"), TOKEN);
+        verify(notificationService).notifyTasksBulkUnassigned(alice, List.of("APP-1", "APP-2"), TOKEN);
+        verify(notificationService).notifyTasksBulkUnassigned(bob, List.of("APP-3"), TOKEN);
+        verify(notificationService, never()).notifyTasksBulkUnassigned(eq(carol), anyList(), anyString());
+    }
+
+    // Historique : avant / après des seuls champs demandés, enregistré en un appel
+    @Test
+    void activityRecordsTheRequestedFieldsOnly() {
+        UUID id = task("APP-1", PROJECT_ID, null);
+        TaskActivityDto entry = TaskActivityDto.builder().id(UUID.randomUUID()).build();
+        when(activityService.bulkEntry(any(), any(), any(), any(), any(), any(), any())).thenReturn(entry);
+
+        service.bulkUpdate(request(List.of(id))
+                .status(Task.TaskStatus.DONE)
+                .priority(Task.Priority.HIGH)
+                .comment("  Sprint review  ")
+                .build(), TOKEN);
+
+        ArgumentCaptor<Map<String, Object>> before = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<String, Object>> after = ArgumentCaptor.forClass(Map.class);
+        verify(activityService).bulkEntry(eq(TENANT_ID), eq(id), eq(PROJECT_ID), eq(ACTOR_ID),
+                before.capture(), after.capture(), eq("Sprint review"));
+        assertThat(before.getValue()).containsExactly(entry("status", "TODO"), entry("priority", "MEDIUM"));
+        assertThat(after.getValue()).containsExactly(entry("status", "DONE"), entry("priority", "HIGH"));
+        verify(activityService).record(List.of(entry));
+    }
+
+    private UUID task(String key, UUID projectId, UUID assigneeId) {
+        UUID id = UUID.randomUUID();
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("task_key", key);
+        row.put("project_id", projectId);
+        row.put("assignee_id", assigneeId);
+        row.put("status", "TODO");
+        row.put("priority", "MEDIUM");
+        row.put("sprint_id", null);
+        tasks.put(id, row);
+        return id;
+    }
+
+    private static void apply(Map<String, Object> row, MapSqlParameterSource params, String param, String column) {
+        if (params.hasValue(param)) {
+            row.put(column, params.getValue(param));
+        }
+    }
+
+    private static BulkTaskUpdateRequest.BulkTaskUpdateRequestBuilder request(List<UUID> taskIds) {
+        return BulkTaskUpdateRequest.builder().taskIds(taskIds);
+    }
+
+    // Colonnes absentes : NULL, comme JDBC
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> row.get(invocation.<String>getArgument(0)));
+    }
+}
@@ -0,0 +1,131 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.dto.KanbanCardDto;
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Sprint;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.SprintRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Conversion d'une page de tâches chargée par le dépôt, puis convertie hors session
+// (comme les sections du dashboard) : aucune requête de plus, aucun proxy initialisé.
+@H2JpaTest
+class TaskDtoAssemblerTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SprintRepository sprintRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final TaskDtoAssembler assembler = new TaskDtoAssembler();
+
+    private Statistics statistics;
+    private Project project;
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        project = projectRepository.save(Project.builder()
+                .tenantId(UUID.randomUUID())
+                .name("App")
+                .key("APP")
+                .status(Project.ProjectStatus.ACTIVE)
+                .priority(Project.Priority.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .build());
+        sprint = sprintRepository.save(Sprint.builder()
+                .tenantId(project.getTenantId())
+                .project(project)
+                .name("Sprint 1")
+                .status(Sprint.SprintStatus.ACTIVE)
+                .createdBy(UUID.randomUUID())
+                .build());
+        for (int i = 1; i <= 5; i++) {
+            taskRepository.save(Task.builder()
+                    .tenantId(project.getTenantId())
+                    .project(project)
+                    .sprint(i % 2 == 0 ? sprint : null)
+                    .title("Task " + i)
+                    .taskKey("APP-" + i)
+                    .status(Task.TaskStatus.TODO)
+                    .priority(Task.Priority.MEDIUM)
+                    .taskType(Task.TaskType.TASK)
+                    .reporterId(UUID.randomUUID())
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        sprintRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    void convertsADetachedPageWithoutAnyQuery() {
+        List<Task> tasks = loadPage();
+        statistics.clear();
+
+        List<TaskDto> dtos = assembler.toDtos(tasks);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(dtos).hasSize(5).allSatisfy(dto -> {
+            assertThat(dto.getProjectId()).isEqualTo(project.getId());
+            assertThat(dto.getCommentCount()).isZero();
+        });
+        assertThat(dtos).filteredOn(dto -> dto.getSprintId() != null)
+                .extracting(TaskDto::getTaskKey)
+                .containsExactlyInAnyOrder("APP-2", "APP-4");
+        assertThat(dtos).filteredOn(dto -> dto.getSprintId() != null)
+                .allSatisfy(dto -> assertThat(dto.getSprintId()).isEqualTo(sprint.getId()));
+        assertThat(tasks).allSatisfy(task -> assertThat(Hibernate.isInitialized(task.getProject())).isFalse());
+    }
+
+    @Test
+    void kanbanCardsReadTheSprintFromTheProxy() {
+        List<Task> tasks = loadPage();
+        statistics.clear();
+
+        List<KanbanCardDto> cards = tasks.stream().map(assembler::toCard).toList();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cards).extracting(KanbanCardDto::getSprintId).containsOnly(sprint.getId(), null);
+        assertThat(tasks).filteredOn(task -> task.getSprint() != null)
+                .hasSize(2)
+                .allSatisfy(task -> assertThat(Hibernate.isInitialized(task.getSprint())).isFalse());
+    }
+
+    // Une requête, puis la session est fermée : les entités sont détachées
+    private List<Task> loadPage() {
+        statistics.clear();
+        List<Task> tasks = taskRepository.findProjectTasks(project.getTenantId(), project.getId(), PageRequest.of(0, 10));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        return tasks;
+    }
+}
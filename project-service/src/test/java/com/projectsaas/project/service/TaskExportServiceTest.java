@@ -0,0 +1,219 @@
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.TaskExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class TaskExportServiceTest {
+
+    private static final UUID TASK_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 2, 3, 10, 15, 30);
+
+    private final TaskExportRepository exportRepository = mock(TaskExportRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TaskExportService service = new TaskExportService(mock(ProjectRepository.class),
+            exportRepository, mock(PlatformTransactionManager.class), objectMapper);
+
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Project project = Project.builder()
+            .id(UUID.randomUUID())
+            .tenantId(UUID.randomUUID())
+            .key("APP")
+            .build();
+    private int rowsRead;
+
+    @BeforeEach
+    void setUp() {
+        service.init();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object[] row : rows) {
+                rowsRead++;
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(exportRepository).streamProjectTasks(eq(project.getTenantId()), eq(project.getId()), any());
+    }
+
+    @Test
+    void csvQuotesOnlyWhatNeedsQuoting() throws IOException {
+        rows.add(row("Plain title", null, 3));
+        rows.add(row("Title, with comma", "Line 1\nsaid \"hi\"", null));
+
+        String csv = export(TaskExportService.ExportFormat.CSV);
+
+        assertThat(csv.split("\r\n", -1)).containsExactly(
+                "id,taskKey,title,description,status,priority,taskType,storyPoints,assigneeId,reporterId,"
+                        + "dueDate,sprintId,createdAt,updatedAt,commentCount",
+                TASK_ID + ",APP-1,Plain title,,TODO,HIGH,BUG,3,,,,,2024-02-03T10:15:30,,0",
+                TASK_ID + ",APP-1,\"Title, with comma\",\"Line 1\nsaid \"\"hi\"\"\",TODO,HIGH,BUG,,,,,,"
+                        + "2024-02-03T10:15:30,,0",
+                "");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineWithNumbersAndNulls() throws IOException {
+        rows.add(row("First", "a \"quoted\" word", 5));
+        rows.add(row("Second", null, null));
+
+        String[] lines = export(TaskExportService.ExportFormat.NDJSON).split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo(TASK_ID.toString());
+        assertThat(first.get("description").asText()).isEqualTo("a \"quoted\" word");
+        assertThat(first.get("storyPoints").isInt()).isTrue();
+        assertThat(first.get("storyPoints").asInt()).isEqualTo(5);
+        assertThat(first.get("commentCount").asInt()).isZero();
+        assertThat(first.get("createdAt").asText()).isEqualTo("2024-02-03T10:15:30");
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("title").asText()).isEqualTo("Second");
+        assertThat(second.get("storyPoints").isNull()).isTrue();
+        assertThat(second.get("description").isNull()).isTrue();
+    }
+
+    @Test
+    void disconnectedClientStopsTheDatabaseRead() {
+        // Descriptions longues : le tampon de 64 Ko se vide après quelques lignes
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row("Task " + i, "x".repeat(10_000), i));
+        }
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.exportProjectTasks(project, TaskExportService.ExportFormat.CSV)
+                .writeTo(closed))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(rowsRead).isLessThan(20);
+    }
+
+    // 500 000 lignes vers un flux qui jette les octets : le tas mesuré après GC reste au même niveau
+    // entre le début et la fin de l'export (une liste des lignes lues se verrait en dizaines de Mo)
+    @Test
+    void largeExportKeepsTheHeapFlat() throws IOException {
+        int total = 500_000;
+        long[] heapAfter = new long[2];
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            Object[] row = row(null, null, null);
+            ResultSet rs = streamingResultSet(row);
+            for (int i = 0; i < total; i++) {
+                row[1] = "APP-" + i;
+                row[2] = "Task " + i;
+                row[3] = "Description of task " + i + ", with a comma";
+                row[7] = i % 13;
+                handler.processRow(rs);
+                if (i == 50_000) {
+                    heapAfter[0] = usedHeapAfterGc();
+                }
+            }
+            heapAfter[1] = usedHeapAfterGc();
+            return null;
+        }).when(exportRepository).streamProjectTasks(eq(project.getTenantId()), eq(project.getId()), any());
+        long[] written = {0};
+        OutputStream discarding = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written[0]++;
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                written[0] += length;
+            }
+        };
+
+        service.exportProjectTasks(project, TaskExportService.ExportFormat.CSV).writeTo(discarding);
+
+        assertThat(written[0]).isGreaterThan(total * 100L);
+        assertThat(heapAfter[1] - heapAfter[0]).isLessThan(8L * 1024 * 1024);
+    }
+
+    @Test
+    void formatIsParsedCaseInsensitively() {
+        assertThat(TaskExportService.ExportFormat.parse("ndjson")).isEqualTo(TaskExportService.ExportFormat.NDJSON);
+        assertThat(TaskExportService.ExportFormat.parse("CSV").getMediaType().toString())
+                .isEqualTo("text/csv;charset=UTF-8");
+        assertThatThrownBy(() -> TaskExportService.ExportFormat.parse("xml"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private String export(TaskExportService.ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportProjectTasks(project, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // Colonnes dans l'ordre de TaskExportRepository
+    private static Object[] row(String title, String description, Integer storyPoints) {
+        return new Object[]{TASK_ID, "APP-1", title, description, "TODO", "HIGH", "BUG", storyPoints,
+                null, null, null, null, Timestamp.valueOf(CREATED_AT), null, 0};
+    }
+
+    private static ResultSet resultSet(Object[] row) {
+        Object[] last = new Object[1];
+        return mock(ResultSet.class, invocation -> {
+            if (invocation.getMethod().getName().equals("wasNull")) {
+                return last[0] == null;
+            }
+            Object value = row[invocation.<Integer>getArgument(0) - 1];
+            last[0] = value;
+            return switch (invocation.getMethod().getName()) {
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                default -> value;
+            };
+        });
+    }
+
+    // Même ResultSet pour toutes les lignes, sans Mockito (500 000 lignes x 15 colonnes)
+    private static ResultSet streamingResultSet(Object[] row) {
+        Object[] last = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return last[0] == null;
+                    }
+                    Object value = row[(Integer) args[0] - 1];
+                    last[0] = value;
+                    return method.getName().equals("getInt") ? (value == null ? 0 : ((Number) value).intValue()) : value;
+                });
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,109 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.dto.TaskDto;
+import com.projectsaas.project.dto.TaskFilterRequest;
+import com.projectsaas.project.dto.TaskFilterResultDto;
+import com.projectsaas.project.repository.TaskFilterRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskFilterServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private final TaskFilterRepository repository = mock(TaskFilterRepository.class);
+    private final TaskFilterService service = new TaskFilterService(repository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxPageSize", 5);
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void firstPageReadsOneExtraTaskAndFacets() {
+        List<TaskDto> tasks = tasks(3);
+        TaskFilterRequest filter = TaskFilterRequest.builder().searchTerm("Login page").build();
+        when(repository.filter(eq(TENANT_ID), eq(filter), eq("login:* & page:*"), isNull(), isNull(), eq(3), eq(true)))
+                .thenReturn(TaskFilterResultDto.builder()
+                        .items(tasks)
+                        .statusCounts(Map.of("TODO", 3L))
+                        .build());
+
+        TaskFilterResultDto result = service.filterTasks(filter, null, null, true);
+
+        assertThat(result.getItems()).containsExactlyElementsOf(tasks.subList(0, 2));
+        assertThat(result.getSize()).isEqualTo(2);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getStatusCounts()).containsEntry("TODO", 3L);
+
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertThat(next.getPosition()).isEqualTo(tasks.get(1).getCreatedAt());
+        assertThat(next.getId()).isEqualTo(tasks.get(1).getId());
+    }
+
+    @Test
+    void laterPagesSkipFacetsAndResumeAfterTheCursor() {
+        LocalDateTime position = LocalDateTime.of(2024, 5, 1, 8, 30);
+        UUID afterId = UUID.randomUUID();
+        TaskFilterRequest filter = new TaskFilterRequest();
+        when(repository.filter(any(), any(), any(), any(), any(), anyInt(), eq(false)))
+                .thenReturn(TaskFilterResultDto.builder().items(tasks(1)).build());
+
+        TaskFilterResultDto result = service.filterTasks(filter, KeysetCursor.encode(position, afterId), 50, true);
+
+        verify(repository).filter(TENANT_ID, filter, null, position, afterId, 6, false);
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void overdueCursorFollowsTheDueDate() {
+        List<TaskDto> tasks = tasks(2);
+        TaskFilterRequest filter = TaskFilterRequest.builder().overdue(true).build();
+        when(repository.filter(any(), any(), any(), any(), any(), anyInt(), eq(false)))
+                .thenReturn(TaskFilterResultDto.builder().items(tasks).build());
+
+        TaskFilterResultDto result = service.filterTasks(filter, null, 1, false);
+
+        assertThat(KeysetCursor.decode(result.getNextCursor()).getPosition()).isEqualTo(tasks.get(0).getDueDate());
+    }
+
+    private static List<TaskDto> tasks(int count) {
+        List<TaskDto> tasks = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            tasks.add(TaskDto.builder()
+                    .id(UUID.randomUUID())
+                    .taskKey("APP-" + (i + 1))
+                    .createdAt(now.minusHours(i))
+                    .dueDate(now.minusDays(10 - i))
+                    .build());
+        }
+        return tasks;
+    }
+}
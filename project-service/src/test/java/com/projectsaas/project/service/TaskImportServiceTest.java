@@ -0,0 +1,270 @@
+package com.projectsaas.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectsaas.project.dto.TaskImportResultDto;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.Task;
+import com.projectsaas.project.exception.InvalidOperationException;
+import com.projectsaas.project.repository.ProjectRepository;
+import com.projectsaas.project.repository.TaskRepository;
+import com.projectsaas.project.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskImportServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID REPORTER_ID = UUID.randomUUID();
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskKeyAllocator taskKeyAllocator = mock(TaskKeyAllocator.class);
+    private final UserService userService = mock(UserService.class);
+    private final TaskImportService service = new TaskImportService(projectRepository, taskRepository,
+            taskKeyAllocator, mock(KanbanBoardCache.class), userService, mock(PlatformTransactionManager.class),
+            new ObjectMapper());
+
+    private final Project project = Project.builder()
+            .id(UUID.randomUUID())
+            .tenantId(TENANT_ID)
+            .key("APP")
+            .build();
+    private final List<Task> saved = new ArrayList<>();
+    private long nextNumber = 1;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxRows", 50_000);
+        ReflectionTestUtils.setField(service, "maxErrors", 100);
+        service.init();
+        TenantContext.setTenantId(TENANT_ID);
+
+        when(projectRepository.findByIdAndTenantId(project.getId(), TENANT_ID)).thenReturn(Optional.of(project));
+        when(userService.getCurrentUserId("token")).thenReturn(REPORTER_ID);
+        when(taskKeyAllocator.reserveNumbers(eq(project), anyInt())).thenAnswer(invocation -> {
+            long first = nextNumber;
+            nextNumber += invocation.<Integer>getArgument(1);
+            return first;
+        });
+        doAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        }).when(taskRepository).saveAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void readsAJiraCsvExport() {
+        UUID assigneeId = UUID.randomUUID();
+        String csv = "﻿Summary,Issue key,Issue Type,Status,Priority,Assignee,Due Date,"
+                + "Custom field (Story Points),Description,Sprint,Sprint\r\n"
+                + "Login page,JRA-1,Bug,In Progress,Highest," + assigneeId + ",12/Mar/24 5:00 PM,3.0,"
+                + "\"First line\r\nsecond, with \"\"quotes\"\"\",S1,S2\r\n"
+                + "\r\n"
+                + "  Signup  ,JRA-2,Sub-task,Closed,Minor,John Smith,2024-04-01,,,,\r\n";
+
+        TaskImportResultDto result = importCsv(csv);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(saved).extracting(Task::getTitle, Task::getTaskType, Task::getStatus, Task::getPriority,
+                        Task::getStoryPoints, Task::getAssigneeId, Task::getDueDate)
+                .containsExactly(
+                        tuple("Login page", Task.TaskType.BUG, Task.TaskStatus.IN_PROGRESS, Task.Priority.CRITICAL,
+                                3, assigneeId, LocalDateTime.of(2024, 3, 12, 17, 0)),
+                        // Nom d'utilisateur Jira : tâche non assignée
+                        tuple("Signup", Task.TaskType.SUBTASK, Task.TaskStatus.DONE, Task.Priority.LOW,
+                                null, null, LocalDateTime.of(2024, 4, 1, 0, 0)));
+        assertThat(saved.get(0).getDescription()).isEqualTo("First line\r\nsecond, with \"quotes\"");
+        assertThat(saved).allSatisfy(task -> {
+            assertThat(task.getTenantId()).isEqualTo(TENANT_ID);
+            assertThat(task.getReporterId()).isEqualTo(REPORTER_ID);
+            assertThat(task.getProject()).isSameAs(project);
+        });
+    }
+
+    @Test
+    void invalidRowsAreSkippedWithTheirLineNumber() {
+        String csv = "title,status,storyPoints,dueDate\n"
+                + "Valid,todo,2,\n"
+                + ",TODO,,\n"
+                + "Bad status,Someday,,\n"
+                + "Bad points,,-1,\n"
+                + "Bad date,,,31/31/2024\n"
+                + "x".repeat(256) + ",,,\n"
+                + "Also valid,,,\n";
+
+        TaskImportResultDto result = importCsv(csv);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getSkippedCount()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(TaskImportResultDto.RowError::getRow,
+                        TaskImportResultDto.RowError::getMessage)
+                .containsExactly(
+                        tuple(3, "Title is required"),
+                        tuple(4, "Unknown status: Someday"),
+                        tuple(5, "Story points must not be negative"),
+                        tuple(6, "Invalid due date: 31/31/2024"),
+                        tuple(7, "Title exceeds 255 characters"));
+        assertThat(saved).extracting(Task::getTitle).containsExactly("Valid", "Also valid");
+    }
+
+    @Test
+    void writesOneChunkPerTransactionWithConsecutiveKeys() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        StringBuilder csv = new StringBuilder("title\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append("Task ").append(i).append('\n');
+        }
+
+        TaskImportResultDto result = importCsv(csv.toString());
+
+        assertThat(result.getChunkCount()).isEqualTo(3);
+        assertThat(result.getFirstTaskKey()).isEqualTo("APP-1");
+        assertThat(result.getLastTaskKey()).isEqualTo("APP-5");
+        assertThat(saved).extracting(Task::getTaskKey).containsExactly("APP-1", "APP-2", "APP-3", "APP-4", "APP-5");
+        verify(taskKeyAllocator).reserveNumbers(project, 1);
+        verify(taskKeyAllocator, times(2)).reserveNumbers(project, 2);
+    }
+
+    @Test
+    void failedChunkStopsTheImportAndKeepsEarlierChunks() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        doAnswer(invocation -> {
+            if (!saved.isEmpty()) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        }).when(taskRepository).saveAll(anyList());
+
+        TaskImportResultDto result = importCsv("title\nA\nB\nC\nD\nE\n");
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(TaskImportResultDto.RowError::getRow,
+                        TaskImportResultDto.RowError::getMessage)
+                .containsExactly(tuple(4, "Chunk starting at row 4 could not be saved"));
+    }
+
+    @Test
+    void rowLimitStopsTheImport() {
+        ReflectionTestUtils.setField(service, "maxRows", 2);
+
+        TaskImportResultDto result = importCsv("title\nA\nB\nC\n");
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(TaskImportResultDto.RowError::getRow).containsExactly(4);
+    }
+
+    @Test
+    void rejectsFilesThatCannotBeRead() {
+        assertThatThrownBy(() -> importCsv(""))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Empty CSV file");
+        assertThatThrownBy(() -> importCsv("Issue key,Status\nJRA-1,Open\n"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("title or summary");
+        assertThatThrownBy(() -> importCsv("title\n\"never closed\n"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("unterminated quoted field in record 2");
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void readsJiraIssuesFromTheRestApi() {
+        String json = "[{\"key\": \"JRA-1\", \"fields\": {\"summary\": \"From Jira\", "
+                + "\"issuetype\": {\"name\": \"Story\"}, \"status\": {\"name\": \"Code Review\"}, "
+                + "\"priority\": {\"name\": \"Major\"}, \"assignee\": {\"displayName\": \"Jane\"}, "
+                + "\"customfield_story_points\": 5, \"duedate\": \"2024-06-30\", \"description\": null}},"
+                + " 42]";
+
+        TaskImportResultDto result = importJson(json);
+
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(TaskImportResultDto.RowError::getRow,
+                        TaskImportResultDto.RowError::getMessage)
+                .containsExactly(tuple(2, "Expected a JSON object"));
+        Task task = saved.get(0);
+        assertThat(task.getTitle()).isEqualTo("From Jira");
+        assertThat(task.getTaskType()).isEqualTo(Task.TaskType.STORY);
+        assertThat(task.getStatus()).isEqualTo(Task.TaskStatus.IN_REVIEW);
+        assertThat(task.getPriority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(task.getAssigneeId()).isNull();
+        assertThat(task.getStoryPoints()).isEqualTo(5);
+        assertThat(task.getDescription()).isNull();
+    }
+
+    @Test
+    void readsTheNdjsonExport() {
+        UUID assigneeId = UUID.randomUUID();
+        String ndjson = "{\"taskKey\": \"OLD-1\", \"title\": \"Exported\", \"taskType\": \"EPIC\", "
+                + "\"storyPoints\": 8, \"assigneeId\": \"" + assigneeId + "\", \"dueDate\": \"2024-05-02T09:30\"}\n"
+                + "{\"title\": \"Second\"}\n";
+
+        TaskImportResultDto result = importJson(ndjson);
+
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(saved.get(0).getTaskKey()).isEqualTo("APP-1");
+        assertThat(saved.get(0).getTaskType()).isEqualTo(Task.TaskType.EPIC);
+        assertThat(saved.get(0).getStoryPoints()).isEqualTo(8);
+        assertThat(saved.get(0).getAssigneeId()).isEqualTo(assigneeId);
+        assertThat(saved.get(0).getDueDate()).isEqualTo(LocalDateTime.of(2024, 5, 2, 9, 30));
+        assertThat(saved.get(1).getStatus()).isEqualTo(Task.TaskStatus.TODO);
+        assertThat(saved.get(1).getPriority()).isEqualTo(Task.Priority.MEDIUM);
+    }
+
+    @Test
+    void formatIsParsedCaseInsensitively() {
+        assertThat(TaskImportService.ImportFormat.parse("csv")).isEqualTo(TaskImportService.ImportFormat.CSV);
+        assertThat(TaskImportService.ImportFormat.parse("ndjson")).isEqualTo(TaskImportService.ImportFormat.JSON);
+        assertThatThrownBy(() -> TaskImportService.ImportFormat.parse("xlsx"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private TaskImportResultDto importCsv(String content) {
+        return importFile(TaskImportService.ImportFormat.CSV, content);
+    }
+
+    private TaskImportResultDto importJson(String content) {
+        return importFile(TaskImportService.ImportFormat.JSON, content);
+    }
+
+    private TaskImportResultDto importFile(TaskImportService.ImportFormat format, String content) {
+        return service.importTasks(project.getId(), format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "token");
+    }
+}
@@ -0,0 +1,161 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.H2JpaTest;
+import com.projectsaas.project.entity.Project;
+import com.projectsaas.project.entity.ProjectTaskCounter;
+import com.projectsaas.project.repository.ProjectTaskCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Numérotation sur une vraie base (verrous de ligne H2) : blocs partagés par la JVM,
+// réservés et validés hors de la transaction de création
+@H2JpaTest
+class TaskKeyAllocatorTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    @Autowired
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate createTransaction;
+    private TaskKeyAllocator allocator;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        createTransaction = new TransactionTemplate(transactionManager);
+        allocator = new TaskKeyAllocator(counterRepository, transactionManager);
+        ReflectionTestUtils.setField(allocator, "blockSize", BLOCK_SIZE);
+        allocator.init();
+
+        project = Project.builder().id(UUID.randomUUID()).tenantId(UUID.randomUUID()).key("APP").build();
+        counterRepository.save(ProjectTaskCounter.builder()
+                .projectId(project.getId())
+                .tenantId(project.getTenantId())
+                .nextNumber(1L)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+    }
+
+    // Un seul passage par le compteur par bloc : 2000 créations, 200 réservations
+    @Test
+    void parallelCreatesShareBlocksWithoutDuplicates() throws Exception {
+        List<String> keys = createInParallel(8, 250, 0);
+
+        assertThat(keys).hasSize(2000).doesNotHaveDuplicates();
+        assertThat(counterEnd()).isEqualTo(2001);
+    }
+
+    // Rollback : trou dans la numérotation, numéro jamais redistribué, bloc conservé
+    @Test
+    void rolledBackCreatesLeaveGapsButNeverReuseNumbers() throws Exception {
+        List<String> keys = createInParallel(8, 250, 5);
+
+        assertThat(keys).hasSize(1600).doesNotHaveDuplicates();
+        assertThat(counterEnd()).isEqualTo(2001);
+    }
+
+    @Test
+    void blockSurvivesTheTransactionThatReservedIt() {
+        assertThatThrownBy(() -> createTransaction.executeWithoutResult(status -> {
+            allocator.nextNumber(project);
+            throw new IllegalStateException("insert failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(allocator.nextNumber(project)).isEqualTo(2L);
+        assertThat(counterEnd()).isEqualTo(1 + BLOCK_SIZE);
+    }
+
+    // Le compteur n'est pas verrouillé pendant la création : une autre instance réserve sans attendre
+    @Test
+    void counterRowIsNotLockedUntilTheCreateCommits() throws Exception {
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        try {
+            long first = createTransaction.execute(status -> {
+                allocator.nextNumber(project);
+                Future<Long> reserved = otherInstance.submit(() -> allocator.reserveNumbers(project, 100));
+                try {
+                    return reserved.get(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(first).isEqualTo(1L + BLOCK_SIZE);
+        } finally {
+            otherInstance.shutdownNow();
+        }
+    }
+
+    @Test
+    void importRangeIsReservedInOneStep() {
+        long first = createTransaction.execute(status -> allocator.reserveNumbers(project, 500));
+
+        assertThat(first).isEqualTo(1L);
+        assertThat(allocator.nextNumber(project)).isEqualTo(501L);
+        assertThat(counterEnd()).isEqualTo(501 + BLOCK_SIZE);
+    }
+
+    private long counterEnd() {
+        return counterRepository.findById(project.getId()).orElseThrow().getNextNumber();
+    }
+
+    // threads x perThread créations, chacune dans sa transaction ; une sur rollbackEvery est annulée
+    private List<String> createInParallel(int threads, int perThread, int rollbackEvery) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> committed = new ArrayList<>();
+                    for (int i = 1; i <= perThread; i++) {
+                        boolean rollback = rollbackEvery > 0 && i % rollbackEvery == 0;
+                        String key = createTransaction.execute(status -> {
+                            String taskKey = allocator.nextTaskKey(project);
+                            // Connexion de la transaction de création réellement prise
+                            counterRepository.count();
+                            if (rollback) {
+                                status.setRollbackOnly();
+                            }
+                            return taskKey;
+                        });
+                        if (!rollback) {
+                            committed.add(key);
+                        }
+                    }
+                    return committed;
+                }));
+            }
+            List<String> keys = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                keys.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return keys;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
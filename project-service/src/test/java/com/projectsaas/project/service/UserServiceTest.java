@@ -0,0 +1,164 @@
+package com.projectsaas.project.service;
+
+import com.projectsaas.project.config.JwtProperties;
+import com.projectsaas.project.config.UserDirectoryProperties;
+import com.projectsaas.project.config.VirtualThreadExecutors;
+import com.projectsaas.project.dto.UserDto;
+import com.projectsaas.project.security.JwtTokenVerifier;
+import com.projectsaas.project.security.ServiceTokenIssuer;
+import com.projectsaas.project.security.TenantContext;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.client.ResourceAccessException;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private static final String SECRET = "testSecretKey123456789012345678901234567890";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UserDto ALICE = user("alice@acme.io");
+    private static final UserDto BOB = user("bob@acme.io");
+
+    private final AuthIntegrationService authService = mock(AuthIntegrationService.class);
+    private final UserDirectoryProperties properties = new UserDirectoryProperties();
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private JwtTokenVerifier tokenVerifier;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setRemoteFallback(false);
+        properties.setMinReloadInterval(Duration.ZERO);
+        tokenVerifier = new JwtTokenVerifier(jwtProperties, authService, new SimpleMeterRegistry());
+        tokenVerifier.init();
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void directoryIsLoadedWithAServiceTokenNotTheUserToken() {
+        when(authService.fetchTeamMembers(anyString(), eq(TENANT_ID.toString()))).thenReturn(List.of(ALICE));
+        start();
+        String userToken = userToken("alice@acme.io");
+
+        assertThat(userService.getCurrentUser(userToken)).isEqualTo(ALICE);
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(authService).fetchTeamMembers(token.capture(), eq(TENANT_ID.toString()));
+        assertThat(token.getValue()).isNotEqualTo(userToken);
+        Claims claims = Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token.getValue()).getPayload();
+        assertThat(claims.get("service", String.class)).isEqualTo("project-service");
+        assertThat(claims.get("tenantId", String.class)).isEqualTo(TENANT_ID.toString());
+        verify(authService, never()).getTeamMembers(anyString(), anyString());
+    }
+
+    @Test
+    void serviceTokenIsNotAcceptedByThisService() {
+        String serviceToken = new ServiceTokenIssuer(jwtProperties, properties).issue(TENANT_ID).orElseThrow();
+
+        assertThat(tokenVerifier.verify(serviceToken)).isEmpty();
+    }
+
+    @Test
+    void failedFirstLoadIsNotCached() {
+        when(authService.fetchTeamMembers(anyString(), anyString()))
+                .thenThrow(new ResourceAccessException("auth-service down"))
+                .thenReturn(List.of(ALICE));
+        start();
+        String userToken = userToken("alice@acme.io");
+
+        assertThatThrownBy(() -> userService.getCurrentUser(userToken)).isInstanceOf(ResourceAccessException.class);
+        assertThat(userService.getCurrentUser(userToken)).isEqualTo(ALICE);
+    }
+
+    @Test
+    void failedReloadKeepsTheCachedDirectory() {
+        when(authService.fetchTeamMembers(anyString(), anyString()))
+                .thenReturn(List.of(ALICE))
+                .thenThrow(new ResourceAccessException("auth-service down"));
+        start();
+        userService.getCurrentUser(userToken("alice@acme.io"));
+
+        // Bob absent : rechargement forcé, en échec
+        assertThatThrownBy(() -> userService.getCurrentUser(userToken("bob@acme.io")))
+                .hasMessage("Current user not found");
+
+        assertThat(userService.getCurrentUser(userToken("alice@acme.io"))).isEqualTo(ALICE);
+        verify(authService, times(2)).fetchTeamMembers(anyString(), anyString());
+    }
+
+    @Test
+    void failedBackgroundRefreshKeepsTheCachedDirectory() throws InterruptedException {
+        properties.setRefreshAfter(Duration.ofMillis(50));
+        when(authService.fetchTeamMembers(anyString(), anyString()))
+                .thenReturn(List.of(ALICE))
+                .thenThrow(new ResourceAccessException("auth-service down"))
+                .thenReturn(List.of(ALICE, BOB));
+        start();
+        String aliceToken = userToken("alice@acme.io");
+        userService.getCurrentUser(aliceToken);
+
+        Thread.sleep(100);
+        assertThat(userService.getCurrentUser(aliceToken)).isEqualTo(ALICE);
+        verify(authService, timeout(1000).times(2)).fetchTeamMembers(anyString(), anyString());
+
+        // Rafraîchissement suivant réussi : l'annuaire est remplacé
+        Thread.sleep(100);
+        userService.getCurrentUser(aliceToken);
+        verify(authService, timeout(1000).times(3)).fetchTeamMembers(anyString(), anyString());
+        Thread.sleep(50);
+        properties.setMinReloadInterval(Duration.ofHours(1));
+        assertThat(userService.getCurrentUser(userToken("bob@acme.io"))).isEqualTo(BOB);
+    }
+
+    private void start() {
+        VirtualThreadExecutors virtualThreads = mock(VirtualThreadExecutors.class);
+        userService = new UserService(authService, tokenVerifier, new ServiceTokenIssuer(jwtProperties, properties),
+                properties, new SimpleMeterRegistry(), virtualThreads);
+        userService.init();
+    }
+
+    private static String userToken(String email) {
+        return Jwts.builder()
+                .subject(email)
+                .claim("tenantId", TENANT_ID.toString())
+                .claim("isRefreshToken", false)
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(KEY, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    private static UserDto user(String email) {
+        return UserDto.builder().id(UUID.randomUUID()).email(email).build();
+    }
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# ===========================================
+# file-download-benchmark.sh - Débit et CPU par Go des téléchargements (file-service)
+# Usage : TOKEN=<jwt> FILE_ID=<uuid> SERVICE_PID=<pid du file-service>
+#         [BASE_URL=http://localhost:8083] [ROUNDS=20] [CLIENTS=4] scripts/file-download-benchmark.sh
+# Utiliser un gros fichier (>= 500 Mo). Lancer deux fois, même machine, même fichier :
+#   FILE_DOWNLOAD_SENDFILE=true  : le connecteur Tomcat envoie le fichier (sendfile, zéro copie)
+#   FILE_DOWNLOAD_SENDFILE=false : copie par la mémoire de la JVM, comme l'ancien InputStreamResource
+# Le CPU est lu dans /proc/<pid>/stat (utime + stime du processus Java), client exclu.
+# ===========================================
+set -euo pipefail
+
+: "${TOKEN:?TOKEN requis}"
+: "${FILE_ID:?FILE_ID requis}"
+: "${SERVICE_PID:?SERVICE_PID requis}"
+BASE_URL=${BASE_URL:-http://localhost:8083}
+ROUNDS=${ROUNDS:-20}
+CLIENTS=${CLIENTS:-4}
+URL="$BASE_URL/api/files/$FILE_ID/download"
+
+TICKS=$(getconf CLK_TCK)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Temps CPU (utilisateur + système) du service, en ticks
+cpu_ticks() {
+    awk '{ print $14 + $15 }' "/proc/$SERVICE_PID/stat"
+}
+
+size=$(curl -s -o /dev/null -w '%{size_download}' -H "Authorization: Bearer $TOKEN" "$URL")
+echo "File size: $size bytes, $ROUNDS rounds x $CLIENTS clients"
+
+# 1. Téléchargements complets en parallèle
+cpu_before=$(cpu_ticks)
+start=$(now_ms)
+seq 1 "$CLIENTS" | xargs -P "$CLIENTS" -I{} sh -c "
+    for i in \$(seq 1 $ROUNDS); do
+        curl -s -o /dev/null -H 'Authorization: Bearer $TOKEN' '$URL'
+    done"
+elapsed_ms=$(( $(now_ms) - start ))
+cpu_after=$(cpu_ticks)
+
+awk -v bytes="$(( size * ROUNDS * CLIENTS ))" -v ms="$elapsed_ms" \
+    -v ticks="$(( cpu_after - cpu_before ))" -v hz="$TICKS" 'BEGIN {
+    gb = bytes / (1024 * 1024 * 1024)
+    printf "Full download : %.2f GB in %d ms -> %.0f MB/s, %.2f CPU s/GB\n",
+           gb, ms, bytes / 1048576 / (ms / 1000), (ticks / hz) / gb
+}'
+
+# 2. Reprise / lecture vidéo : dernier Mo seulement (206), puis revalidation (304)
+range_start=$(( size > 1048576 ? size - 1048576 : 0 ))
+curl -s -o /dev/null -H "Authorization: Bearer $TOKEN" -H "Range: bytes=$range_start-" \
+    -w 'Range (last MB): HTTP %{http_code}, %{size_download} bytes in %{time_total} s\n' "$URL"
+
+etag=$(curl -s -o /dev/null -D - -H "Authorization: Bearer $TOKEN" -H "Range: bytes=0-0" "$URL" \
+    | awk -F': ' 'tolower($1) == "etag" { sub(/\r$/, "", $2); print $2 }')
+curl -s -o /dev/null -H "Authorization: Bearer $TOKEN" -H "If-None-Match: $etag" \
+    -w 'Revalidation  : HTTP %{http_code}, %{size_download} bytes in %{time_total} s\n' "$URL"
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# ===========================================
+# file-resumable-upload-test.sh - Upload reprenable d'un gros fichier en parties parallèles (file-service)
+# Usage : TOKEN=<jwt> [BASE_URL=http://localhost:8083] [SIZE_MB=4096] [PARALLEL=8]
+#         scripts/file-resumable-upload-test.sh
+# Déroulé : session ouverte, parties envoyées dans le désordre par PARALLEL clients en
+# sautant une partie sur sept (coupure simulée), état relu (plages reçues), parties
+# manquantes renvoyées, assemblage, puis téléchargement et comparaison du SHA-256.
+# A lancer avec storage.provider=local, s3 puis minio : seul l'assemblage change
+# (le téléchargement de contrôle n'est servi que par le stockage local : VERIFY=false sinon).
+# ===========================================
+set -euo pipefail
+
+: "${TOKEN:?TOKEN requis}"
+BASE_URL=${BASE_URL:-http://localhost:8083}
+SIZE_MB=${SIZE_MB:-4096}
+PARALLEL=${PARALLEL:-8}
+VERIFY=${VERIFY:-true}
+API="$BASE_URL/api/files/uploads"
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+SOURCE="$WORK_DIR/payload.bin"
+
+now_ms() {
+    date +%s%3N
+}
+
+json_field() {
+    grep -o "\"$1\":[^,}]*" | head -1 | cut -d: -f2- | tr -d '"'
+}
+
+echo "Generating $SIZE_MB MB payload..."
+head -c "$(( SIZE_MB * 1024 * 1024 ))" /dev/urandom > "$SOURCE"
+size=$(stat -c %s "$SOURCE")
+expected=$(sha256sum "$SOURCE" | cut -d' ' -f1)
+
+session=$(curl -s -X POST "$API" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H "Content-Type: application/json" \
+    -d "{\"filename\": \"resumable-test.bin\", \"contentType\": \"application/octet-stream\", \"size\": $size}")
+upload_id=$(echo "$session" | json_field id)
+chunk_size=$(echo "$session" | json_field chunkSize)
+part_count=$(echo "$session" | json_field partCount)
+echo "Session $upload_id: $part_count parts of $chunk_size bytes"
+
+# Partie n : octets [(n - 1) * chunk_size, n * chunk_size) du fichier source
+cat > "$WORK_DIR/put-part.sh" <<PART
+#!/usr/bin/env bash
+n=\$1
+dd if="$SOURCE" bs=$chunk_size skip=\$(( n - 1 )) count=1 status=none \
+    | curl -s -o /dev/null -w "%{http_code}\n" -X PUT --data-binary @- \
+        -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/octet-stream" \
+        "$API/$upload_id/parts/\$n"
+PART
+chmod +x "$WORK_DIR/put-part.sh"
+
+# 1. Envoi dans le désordre, une partie sur sept manquante
+start=$(now_ms)
+seq 1 "$part_count" | shuf | awk 'NR % 7 != 0' \
+    | xargs -P "$PARALLEL" -I{} "$WORK_DIR/put-part.sh" {} > "$WORK_DIR/first.out"
+first_ms=$(( $(now_ms) - start ))
+echo "First pass : $(grep -c '^200$' "$WORK_DIR/first.out") parts in ${first_ms} ms," \
+    "$(grep -vc '^200$' "$WORK_DIR/first.out" || true) failed"
+
+# 2. Reprise : seules les parties absentes de receivedParts sont renvoyées
+status=$(curl -s -H "Authorization: Bearer $TOKEN" "$API/$upload_id")
+echo "Received   : $(echo "$status" | json_field receivedBytes) of $size bytes"
+received=$(echo "$status" | grep -o '"receivedParts":\[[^]]*\]' | grep -o '[0-9]*' || true)
+start=$(now_ms)
+comm -23 <(seq 1 "$part_count" | sort) <(echo "$received" | sort) \
+    | xargs -r -P "$PARALLEL" -I{} "$WORK_DIR/put-part.sh" {} > "$WORK_DIR/resume.out"
+resume_ms=$(( $(now_ms) - start ))
+echo "Resume     : $(wc -l < "$WORK_DIR/resume.out") parts in ${resume_ms} ms"
+
+# 3. Assemblage et vérification du contenu
+start=$(now_ms)
+complete=$(curl -s -X POST -H "Authorization: Bearer $TOKEN" "$API/$upload_id/complete")
+complete_ms=$(( $(now_ms) - start ))
+file_id=$(echo "$complete" | json_field id)
+echo "Complete   : file $file_id in ${complete_ms} ms"
+
+awk -v mb="$SIZE_MB" -v ms="$(( first_ms + resume_ms ))" 'BEGIN {
+    printf "Throughput : %.0f MB/s (parts only)\n", mb / (ms / 1000)
+}'
+if [ "$VERIFY" = "true" ]; then
+    actual=$(curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/files/$file_id/download" | sha256sum | cut -d' ' -f1)
+    [ "$actual" = "$expected" ] && echo "SHA-256    : ok" || { echo "SHA-256    : MISMATCH"; exit 1; }
+fi
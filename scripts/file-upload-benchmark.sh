@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# ===========================================
+# file-upload-benchmark.sh - Upload d'un gros fichier : flux brut vs multipart (file-service)
+# Usage : TOKEN=<jwt> SERVICE_PID=<pid du file-service>
+#         [BASE_URL=http://localhost:8083] [SIZE_MB=1024] scripts/file-upload-benchmark.sh
+# Démarrer le service avec une limite suffisante : FILE_UPLOAD_MAX_SIZE=2GB
+#   /api/files/upload/stream : corps écrit une seule fois dans le StorageProvider, SHA-256,
+#                              signature et scan calculés au passage
+#   /api/files/upload        : même pipeline, mais Tomcat écrit d'abord la partie multipart
+#                              dans un fichier temporaire (une écriture disque de plus)
+# Le CPU est lu dans /proc/<pid>/stat (utime + stime du processus Java), client exclu.
+# ===========================================
+set -euo pipefail
+
+: "${TOKEN:?TOKEN requis}"
+: "${SERVICE_PID:?SERVICE_PID requis}"
+BASE_URL=${BASE_URL:-http://localhost:8083}
+SIZE_MB=${SIZE_MB:-1024}
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+SOURCE="$WORK_DIR/payload.bin"
+
+TICKS=$(getconf CLK_TCK)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Temps CPU (utilisateur + système) du service, en ticks
+cpu_ticks() {
+    awk '{ print $14 + $15 }' "/proc/$SERVICE_PID/stat"
+}
+
+echo "Generating $SIZE_MB MB payload..."
+head -c "$(( SIZE_MB * 1024 * 1024 ))" /dev/urandom > "$SOURCE"
+expected=$(sha256sum "$SOURCE" | cut -d' ' -f1)
+
+# $1 : libellé, reste : arguments curl
+run() {
+    local label=$1
+    shift
+    local cpu_before start elapsed_ms cpu_after status
+    cpu_before=$(cpu_ticks)
+    start=$(now_ms)
+    status=$(curl -s -o "$WORK_DIR/response.json" -w '%{http_code}' \
+        -H "Authorization: Bearer $TOKEN" "$@")
+    elapsed_ms=$(( $(now_ms) - start ))
+    cpu_after=$(cpu_ticks)
+
+    local checksum="mismatch"
+    grep -q "$expected" "$WORK_DIR/response.json" && checksum="ok"
+
+    awk -v label="$label" -v status="$status" -v mb="$SIZE_MB" -v ms="$elapsed_ms" \
+        -v ticks="$(( cpu_after - cpu_before ))" -v hz="$TICKS" -v checksum="$checksum" 'BEGIN {
+        printf "%-10s: HTTP %s, %d ms -> %.0f MB/s, %.2f CPU s/GB, sha256 %s\n",
+               label, status, ms, mb / (ms / 1000), (ticks / hz) / (mb / 1024), checksum
+    }'
+}
+
+run "stream" -X POST --data-binary "@$SOURCE" -H "Content-Type: application/octet-stream" \
+    "$BASE_URL/api/files/upload/stream?filename=bench-stream.bin"
+run "multipart" -X POST -F "file=@$SOURCE;type=application/octet-stream" \
+    "$BASE_URL/api/files/upload"
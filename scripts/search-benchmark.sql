@@ -0,0 +1,72 @@
+-- ===========================================
+-- search-benchmark.sql - Jeu de 1M tâches et comparaison LIKE / plein texte
+-- Usage : psql -d saas_project_db_dev -v ON_ERROR_STOP=1 -f scripts/search-benchmark.sql
+-- Les données sont créées dans un tenant dédié puis supprimées à la fin.
+-- ===========================================
+
+SET search_path TO project_db;
+\timing on
+
+\set bench_tenant '''00000000-0000-0000-0000-00000000b0b0'''
+\set task_count 1000000
+
+-- Projets du tenant de benchmark
+INSERT INTO projects (id, tenant_id, name, description, key, status, priority, created_by)
+SELECT gen_random_uuid(), :bench_tenant, 'Bench project ' || i, 'Benchmark project number ' || i,
+       'BN' || i, 'ACTIVE', 'MEDIUM', :bench_tenant
+FROM generate_series(1, 100) AS i;
+
+-- Tâches : titres et descriptions tirés d'un petit vocabulaire
+WITH words AS (
+    SELECT ARRAY['login', 'payment', 'invoice', 'dashboard', 'export', 'upload', 'search', 'kanban',
+                 'sprint', 'report', 'notification', 'timeout', 'crash', 'refactor', 'database',
+                 'migration', 'cache', 'mobile', 'android', 'ios', 'email', 'password', 'billing',
+                 'latency', 'memory', 'thumbnail', 'permissions', 'tenant', 'webhook', 'analytics'] AS w
+), bench_projects AS (
+    SELECT id, key, row_number() OVER (ORDER BY key) AS n
+    FROM projects WHERE tenant_id = :bench_tenant
+)
+INSERT INTO tasks (tenant_id, project_id, title, description, task_key, status, priority, task_type, reporter_id, created_at)
+SELECT :bench_tenant,
+       p.id,
+       initcap(w[1 + (i * 7) % 30]) || ' ' || w[1 + (i * 13) % 30] || ' issue #' || i,
+       'When the user opens the ' || w[1 + (i * 11) % 30] || ' page the ' || w[1 + (i * 17) % 30] ||
+       ' fails with a ' || w[1 + (i * 19) % 30] || ' error. Steps: ' || repeat('lorem ipsum ', 1 + i % 20),
+       p.key || '-' || i,
+       (ARRAY['TODO', 'IN_PROGRESS', 'IN_REVIEW', 'DONE', 'BLOCKED'])[1 + i % 5],
+       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[1 + i % 4],
+       'TASK',
+       :bench_tenant,
+       NOW() - (i || ' seconds')::interval
+FROM generate_series(1, :task_count) AS i
+CROSS JOIN words
+JOIN bench_projects p ON p.n = 1 + (i % 100);
+
+ANALYZE tasks;
+ANALYZE projects;
+
+-- Ancienne requête : LIKE '%term%' sans limite (scan séquentiel du tenant)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM tasks t
+WHERE t.tenant_id = :bench_tenant
+  AND (LOWER(t.title) LIKE '%payment timeout%'
+       OR LOWER(t.description) LIKE '%payment timeout%'
+       OR LOWER(t.task_key) LIKE '%payment timeout%')
+ORDER BY t.created_at DESC;
+
+-- Nouvelle requête : index GIN idx_tasks_search, top 20 classé (même SQL que SearchRepository)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, ts_rank(
+           setweight(to_tsvector('simple', COALESCE(t.task_key, '')), 'A') ||
+           setweight(to_tsvector('simple', COALESCE(t.title, '')), 'A') ||
+           setweight(to_tsvector('simple', COALESCE(t.description, '')), 'B'), q.query) AS rank
+FROM tasks t, to_tsquery('simple', 'payment:* & timeout:*') AS q(query)
+WHERE t.tenant_id = :bench_tenant
+  AND (setweight(to_tsvector('simple', COALESCE(t.task_key, '')), 'A') ||
+       setweight(to_tsvector('simple', COALESCE(t.title, '')), 'A') ||
+       setweight(to_tsvector('simple', COALESCE(t.description, '')), 'B')) @@ q.query
+ORDER BY rank DESC, t.created_at DESC, t.id
+LIMIT 21;
+
+-- Nettoyage (les tâches et compteurs suivent par ON DELETE CASCADE)
+DELETE FROM projects WHERE tenant_id = :bench_tenant;
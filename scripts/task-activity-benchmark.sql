@@ -0,0 +1,59 @@
+-- ===========================================
+-- task-activity-benchmark.sql - Débit d'écriture de l'historique des tâches (V20)
+-- Usage : psql -d saas_project_db_dev -v ON_ERROR_STOP=1 -f scripts/task-activity-benchmark.sql
+-- Compare un INSERT par entrée (un aller-retour chacun, via \gexec) et des INSERT
+-- multi-lignes de 500 entrées (ce qu'envoie TaskActivityService avec reWriteBatchedInserts),
+-- puis lit une page de l'historique d'une tâche. Tout est annulé à la fin (ROLLBACK).
+-- ===========================================
+
+SET search_path TO project_db;
+
+\set entry_count 20000
+\set batch_size 500
+\set bench_tenant '''00000000-0000-0000-0000-00000000b0b1'''
+
+BEGIN;
+
+-- 1. Un INSERT par entrée
+SELECT clock_timestamp() AS started \gset
+SELECT format('INSERT INTO task_activity (id, tenant_id, task_id, project_id, action, changes, created_at) ' ||
+              'VALUES (gen_random_uuid(), %L, %L, %L, ''UPDATED'', %L, %L)',
+              :bench_tenant,
+              ('00000000-0000-0000-0000-' || lpad((i % 100)::TEXT, 12, '0'))::UUID,
+              :bench_tenant,
+              '{"status": ["TODO", "IN_PROGRESS"]}',
+              now() - make_interval(secs => i))
+FROM generate_series(1, :entry_count) AS i
+\gexec
+SELECT :entry_count AS entries,
+       round(extract(epoch FROM clock_timestamp() - :'started'::TIMESTAMPTZ) * 1000) AS per_row_ms,
+       round(:entry_count / extract(epoch FROM clock_timestamp() - :'started'::TIMESTAMPTZ)) AS per_row_entries_per_sec;
+
+-- 2. INSERT multi-lignes par lots de batch_size entrées
+SELECT clock_timestamp() AS started \gset
+SELECT 'INSERT INTO task_activity (id, tenant_id, task_id, project_id, action, changes, created_at) VALUES ' ||
+       string_agg(format('(gen_random_uuid(), %L, %L, %L, ''UPDATED'', %L, %L)',
+                         :bench_tenant,
+                         ('00000000-0000-0000-0000-' || lpad((i % 100)::TEXT, 12, '0'))::UUID,
+                         :bench_tenant,
+                         '{"status": ["IN_PROGRESS", "DONE"]}',
+                         now() - make_interval(secs => i)), ', ')
+FROM generate_series(1, :entry_count) AS i
+GROUP BY (i - 1) / :batch_size
+\gexec
+SELECT :entry_count AS entries,
+       round(extract(epoch FROM clock_timestamp() - :'started'::TIMESTAMPTZ) * 1000) AS batched_ms,
+       round(:entry_count / extract(epoch FROM clock_timestamp() - :'started'::TIMESTAMPTZ)) AS batched_entries_per_sec;
+
+-- 3. Première page d'une tâche : seules les partitions depuis le mois de création sont lues
+ANALYZE task_activity;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT a.id, a.task_id, a.project_id, a.actor_id, a.action, a.changes, a.comment, a.created_at
+FROM task_activity a
+WHERE a.task_id = '00000000-0000-0000-0000-000000000001'
+  AND a.tenant_id = :bench_tenant
+  AND a.created_at >= date_trunc('month', now())::TIMESTAMP
+ORDER BY a.created_at DESC, a.id DESC
+LIMIT 51;
+
+ROLLBACK;
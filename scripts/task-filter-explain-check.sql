@@ -0,0 +1,96 @@
+-- ===========================================
+-- task-filter-explain-check.sql - Aucune combinaison de filtres ne doit parcourir toute la table tasks
+-- Usage : psql -d saas_project_db_dev -v ON_ERROR_STOP=1 -f scripts/task-filter-explain-check.sql
+-- Échoue (code retour non nul) si un plan contient un Seq Scan sur tasks.
+-- Les requêtes reprennent la forme générée par TaskFilterRepository.
+-- Tout est exécuté dans une transaction annulée à la fin : aucune donnée ne reste.
+-- ===========================================
+
+SET search_path TO project_db;
+BEGIN;
+
+\set bench_tenant '''00000000-0000-0000-0000-00000000b0b2'''
+
+-- 50 tenants de 4 000 tâches : le tenant filtré ne représente que 2 % de la table
+INSERT INTO projects (id, tenant_id, name, key, status, priority, created_by)
+SELECT gen_random_uuid(),
+       CASE WHEN n = 1 THEN :bench_tenant::uuid ELSE ('00000000-0000-0000-0001-' || lpad(n::text, 12, '0'))::uuid END,
+       'Filter bench ' || n || '-' || p, 'FB' || n || 'X' || p, 'ACTIVE', 'MEDIUM', :bench_tenant
+FROM generate_series(1, 50) AS n, generate_series(1, 4) AS p;
+
+INSERT INTO tasks (tenant_id, project_id, title, task_key, status, priority, task_type, reporter_id,
+                   assignee_id, sprint_id, due_date, created_at)
+SELECT pr.tenant_id, pr.id, 'Filter task ' || i, pr.key || '-' || i,
+       (ARRAY['TODO', 'IN_PROGRESS', 'IN_REVIEW', 'DONE'])[1 + i % 4],
+       (ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[1 + i % 4],
+       'TASK', pr.tenant_id,
+       ('00000000-0000-0000-0002-' || lpad((i % 20)::text, 12, '0'))::uuid,
+       NULL,
+       CASE WHEN i % 3 = 0 THEN NOW() - ((i % 500) || ' hours')::interval END,
+       NOW() - (i || ' seconds')::interval
+FROM projects pr, generate_series(1, 1000) AS i
+WHERE pr.name LIKE 'Filter bench %';
+
+ANALYZE tasks;
+
+SELECT id AS bench_project FROM projects WHERE tenant_id = :bench_tenant LIMIT 1 \gset
+SELECT set_config('bench.tenant', :bench_tenant, true);
+SELECT set_config('bench.project', :'bench_project', true);
+
+DO $$
+DECLARE
+    tenant TEXT := current_setting('bench.tenant');
+    project TEXT := current_setting('bench.project');
+    filters TEXT[] := ARRAY[
+        -- Tenant seul, tri par création (idx_tasks_tenant_created)
+        '',
+        -- Projet (idx_tasks_project_created)
+        format(' AND t.project_id = %L', project),
+        -- Projet + statut (idx_tasks_kanban_column)
+        format(' AND t.project_id = %L AND t.status = ''TODO''', project),
+        -- Plusieurs statuts et priorités (idx_tasks_tenant_status)
+        ' AND t.status IN (''TODO'', ''IN_PROGRESS'') AND t.priority IN (''HIGH'', ''CRITICAL'')',
+        -- Assigné (idx_tasks_assignee_created)
+        ' AND t.assignee_id = ''00000000-0000-0000-0002-000000000007''',
+        -- Rapporteur (idx_tasks_tenant_reporter)
+        format(' AND t.reporter_id = %L', tenant),
+        -- Échéances (idx_tasks_overdue_keyset pour le retard)
+        ' AND t.due_date IS NOT NULL AND t.due_date < NOW() AND t.status NOT IN (''DONE'')',
+        ' AND t.due_date >= NOW() - interval ''2 days'' AND t.due_date <= NOW()',
+        -- Texte (idx_tasks_search)
+        ' AND (setweight(to_tsvector(''simple'', COALESCE(t.task_key, '''')), ''A'') || '
+            || 'setweight(to_tsvector(''simple'', COALESCE(t.title, '''')), ''A'') || '
+            || 'setweight(to_tsvector(''simple'', COALESCE(t.description, '''')), ''B'')) '
+            || '@@ to_tsquery(''simple'', ''task:* & 42:*'')'
+    ];
+    f TEXT;
+    query TEXT;
+    line TEXT;
+    plan TEXT;
+    failures INT := 0;
+BEGIN
+    FOREACH f IN ARRAY filters LOOP
+        -- Page (LIMIT) et facettes (GROUPING SETS) : les deux parcours sont vérifiés
+        FOREACH query IN ARRAY ARRAY[
+            format('SELECT t.* FROM tasks t WHERE t.tenant_id = %L%s ORDER BY t.created_at DESC, t.id DESC LIMIT 51', tenant, f),
+            format('SELECT t.status, t.priority, COUNT(*) FROM tasks t WHERE t.tenant_id = %L%s '
+                   || 'GROUP BY GROUPING SETS ((t.status), (t.priority))', tenant, f)
+        ] LOOP
+            plan := '';
+            FOR line IN EXECUTE 'EXPLAIN ' || query LOOP
+                plan := plan || line || E'\n';
+            END LOOP;
+            IF plan ~ 'Seq Scan on tasks' THEN
+                failures := failures + 1;
+                RAISE WARNING E'Sequential scan for filter [%]:\n%', f, plan;
+            END IF;
+        END LOOP;
+    END LOOP;
+
+    IF failures > 0 THEN
+        RAISE EXCEPTION '% task filter plan(s) fall back to a sequential scan', failures;
+    END IF;
+    RAISE NOTICE 'All task filter plans use an index';
+END $$;
+
+ROLLBACK;
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# ===========================================
+# task-import-benchmark.sh - Import en masse vs création tâche par tâche
+# Usage : TOKEN=<jwt> PROJECT_ID=<uuid> [ROWS=2000] [BASE_URL=http://localhost:8082] scripts/task-import-benchmark.sh
+# Les tâches sont créées dans le projet indiqué : utiliser un projet de test.
+# Les deux passes réutilisent une seule connexion HTTP (curl -K) : l'écart mesuré
+# vient des allers-retours avec la base (un INSERT par tâche vs lots JDBC par paquet).
+# ===========================================
+set -euo pipefail
+
+: "${TOKEN:?TOKEN requis}"
+: "${PROJECT_ID:?PROJECT_ID requis}"
+ROWS=${ROWS:-2000}
+BASE_URL=${BASE_URL:-http://localhost:8082}
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+rate() {
+    awk -v rows="$1" -v ms="$2" 'BEGIN { printf "%.0f", rows * 1000 / (ms > 0 ? ms : 1) }'
+}
+
+# 1. Création tâche par tâche (POST /api/tasks)
+for i in $(seq 1 "$ROWS"); do
+    [ "$i" -gt 1 ] && echo "next"
+    cat <<REQ
+url = "$BASE_URL/api/tasks"
+header = "Content-Type: application/json"
+header = "Authorization: Bearer $TOKEN"
+data = "{\\"projectId\\": \\"$PROJECT_ID\\", \\"title\\": \\"Per-row benchmark task $i\\", \\"priority\\": \\"MEDIUM\\", \\"storyPoints\\": 3}"
+output = "/dev/null"
+write-out = "%{http_code}\\n"
+REQ
+done > "$WORK_DIR/per-row.curl"
+
+start=$(now_ms)
+failed=$(curl -s -K "$WORK_DIR/per-row.curl" | grep -vc '^201$' || true)
+per_row_ms=$(( $(now_ms) - start ))
+echo "Per-row save : $ROWS tasks in ${per_row_ms} ms ($(rate "$ROWS" "$per_row_ms") rows/s, $failed failed)"
+
+# 2. Import en masse (POST /api/projects/{id}/tasks/import)
+{
+    echo "Summary,Status,Priority,Issue Type,Story Points"
+    for i in $(seq 1 "$ROWS"); do
+        echo "Import benchmark task $i,To Do,Medium,Task,3"
+    done
+} > "$WORK_DIR/tasks.csv"
+
+start=$(now_ms)
+response=$(curl -s -X POST "$BASE_URL/api/projects/$PROJECT_ID/tasks/import?format=csv" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H "Content-Type: text/csv" \
+    --data-binary "@$WORK_DIR/tasks.csv")
+import_ms=$(( $(now_ms) - start ))
+imported=$(echo "$response" | grep -o '"importedCount":[0-9]*' | cut -d: -f2)
+echo "Bulk import  : ${imported:-0} tasks in ${import_ms} ms ($(rate "${imported:-0}" "$import_ms") rows/s)"
+echo "Server side  : $(echo "$response" | grep -o '"rowsPerSecond":[0-9.]*' | cut -d: -f2) rows/s"
@@ -0,0 +1,80 @@
+-- ===========================================
+-- task-pagination-benchmark.sql - Page 1 / page 1000 : OFFSET contre curseur (keyset)
+-- Usage : psql -d saas_project_db_dev -v ON_ERROR_STOP=1 -f scripts/task-pagination-benchmark.sql
+-- Les données sont créées dans un tenant dédié puis supprimées à la fin.
+-- ===========================================
+
+SET search_path TO project_db;
+\timing on
+
+\set bench_tenant '''00000000-0000-0000-0000-00000000b0b1'''
+\set task_count 200000
+\set page_size 50
+
+-- Un projet de 200k tâches
+INSERT INTO projects (id, tenant_id, name, description, key, status, priority, created_by)
+VALUES (gen_random_uuid(), :bench_tenant, 'Pagination bench', 'Keyset pagination benchmark',
+        'PGBN', 'ACTIVE', 'MEDIUM', :bench_tenant);
+
+INSERT INTO tasks (tenant_id, project_id, title, task_key, status, priority, task_type, reporter_id,
+                   assignee_id, due_date, created_at)
+SELECT :bench_tenant, p.id, 'Bench task ' || i, 'PGBN-' || i,
+       (ARRAY['TODO', 'IN_PROGRESS', 'IN_REVIEW', 'DONE'])[1 + i % 4], 'MEDIUM', 'TASK', :bench_tenant,
+       :bench_tenant,
+       NOW() - ((i % 5000) || ' hours')::interval,
+       NOW() - (i || ' seconds')::interval
+FROM generate_series(1, :task_count) AS i
+CROSS JOIN (SELECT id FROM projects WHERE tenant_id = :bench_tenant) AS p;
+
+ANALYZE tasks;
+
+SELECT id AS bench_project FROM projects WHERE tenant_id = :bench_tenant \gset
+
+-- ===== Tâches d'un projet (created_at DESC, id DESC) =====
+
+-- Ancienne requête, page 1 : OFFSET 0 + COUNT(*) de Page<TaskDto>
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project'
+ORDER BY created_at DESC, id DESC LIMIT :page_size OFFSET 0;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project';
+
+-- Ancienne requête, page 1000 : 49 950 lignes lues puis jetées
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project'
+ORDER BY created_at DESC, id DESC LIMIT :page_size OFFSET 49950;
+
+-- Nouvelle requête, page 1 (même SQL que TaskRepository.findProjectTasks)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project'
+ORDER BY created_at DESC, id DESC LIMIT :page_size + 1;
+
+-- Curseur de la page 1000 : position de la dernière tâche de la page 999
+SELECT created_at AS cursor_created_at, id AS cursor_id
+FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project'
+ORDER BY created_at DESC, id DESC OFFSET 49949 LIMIT 1 \gset
+
+-- Nouvelle requête, page 1000 (findProjectTasksAfter) : borne d'index, même coût que la page 1
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND project_id = :'bench_project'
+  AND (created_at, id) < (:'cursor_created_at', :'cursor_id')
+ORDER BY created_at DESC, id DESC LIMIT :page_size + 1;
+
+-- ===== Tâches en retard (due_date ASC, id ASC) =====
+
+SELECT due_date AS overdue_due_date, id AS overdue_id
+FROM tasks WHERE tenant_id = :bench_tenant AND due_date < NOW() AND status NOT IN ('DONE')
+ORDER BY due_date, id OFFSET 49949 LIMIT 1 \gset
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND due_date < NOW() AND status NOT IN ('DONE')
+ORDER BY due_date, id LIMIT :page_size OFFSET 49950;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE tenant_id = :bench_tenant AND due_date < NOW() AND status NOT IN ('DONE')
+  AND (due_date, id) > (:'overdue_due_date', :'overdue_id')
+ORDER BY due_date, id LIMIT :page_size + 1;
+
+-- Nettoyage (les tâches et compteurs suivent par ON DELETE CASCADE)
+DELETE FROM projects WHERE tenant_id = :bench_tenant;
@@ -0,0 +1,150 @@
+#!/usr/bin/env bash
+# ===========================================
+# thumbnail-benchmark.sh - Mémoire et débit de la génération des miniatures (file-service)
+# Usage : [TOKEN=<jwt>] [BASE_URL=http://localhost:8083] [MEGAPIXELS=50] [COUNT=20]
+#         [PARALLEL=4] [SERVICE_PID=<pid du file-service>] scripts/thumbnail-benchmark.sh
+# 1. Dans une JVM séparée : décodage complet (ImageIO.read) contre décodage sous-échantillonné
+#    (celui de ThumbnailService) d'un JPEG de MEGAPIXELS, temps et pic de heap.
+# 2. Avec TOKEN : COUNT images envoyées par /api/files/upload/stream, attente des trois
+#    miniatures, débit obtenu et pic de mémoire résidente du service (VmHWM, SERVICE_PID).
+# Comparer avec le même service en thumbnail.enabled=false pour isoler le coût des miniatures.
+# ===========================================
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8083}
+MEGAPIXELS=${MEGAPIXELS:-50}
+COUNT=${COUNT:-20}
+PARALLEL=${PARALLEL:-4}
+HEAP=${HEAP:-1g}
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+IMAGE="$WORK_DIR/source.jpg"
+
+now_ms() {
+    date +%s%3N
+}
+
+json_field() {
+    grep -o "\"$1\":[^,}]*" | head -1 | cut -d: -f2- | tr -d '"'
+}
+
+cat > "$WORK_DIR/ThumbnailBench.java" <<'JAVA'
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+public class ThumbnailBench {
+    public static void main(String[] args) throws Exception {
+        File file = new File(args[1]);
+        if (args[0].equals("generate")) {
+            long pixels = Long.parseLong(args[2]) * 1_000_000L;
+            int width = (int) Math.sqrt(pixels * 3 / 2);
+            int height = (int) (pixels / width);
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            int[] row = new int[width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = ((x * 255 / width) << 16) | ((y * 255 / height) << 8) | ((x ^ y) & 0xff);
+                }
+                image.setRGB(0, y, width, 1, row, 0, width);
+            }
+            ImageIO.write(image, "jpeg", file);
+            System.out.printf("Generated %dx%d JPEG (%d MB)%n", width, height, file.length() >> 20);
+            return;
+        }
+
+        boolean subsampled = args[0].equals("subsampled");
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        BufferedImage decoded;
+        try (FileImageInputStream input = new FileImageInputStream(file)) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            reader.setInput(input, true, true);
+            ImageReadParam param = reader.getDefaultReadParam();
+            if (subsampled) {
+                // Même facteur que ThumbnailService : au moins deux fois la taille LARGE (600)
+                int factor = Math.max(1, Math.max(reader.getWidth(0) / 1200, reader.getHeight(0) / 1200));
+                param.setSourceSubsampling(factor, factor, 0, 0);
+            }
+            decoded = reader.read(0, param);
+            reader.dispose();
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%-11s decoded %5dx%-5d in %5d ms, peak heap %4d MB%n",
+                args[0], decoded.getWidth(), decoded.getHeight(), elapsed, peakHeap >> 20);
+    }
+}
+JAVA
+
+echo "== Decode ($MEGAPIXELS MP source, -Xmx$HEAP) =="
+java -Xmx2g "$WORK_DIR/ThumbnailBench.java" generate "$IMAGE" "$MEGAPIXELS"
+for mode in full subsampled; do
+    java -Xmx"$HEAP" "$WORK_DIR/ThumbnailBench.java" "$mode" "$IMAGE" \
+        || echo "$mode decode failed with -Xmx$HEAP"
+done
+
+if [ -z "${TOKEN:-}" ]; then
+    echo "TOKEN not set: service benchmark skipped"
+    exit 0
+fi
+
+echo "== Service ($COUNT uploads, $PARALLEL in parallel) =="
+cat > "$WORK_DIR/upload.sh" <<UPLOAD
+#!/usr/bin/env bash
+curl -s -X POST --data-binary @"$IMAGE" \
+    -H "Authorization: Bearer $TOKEN" -H "Content-Type: image/jpeg" \
+    "$BASE_URL/api/files/upload/stream?filename=thumb-bench-\$1.jpg"
+echo
+UPLOAD
+chmod +x "$WORK_DIR/upload.sh"
+
+start=$(now_ms)
+seq 1 "$COUNT" | xargs -P "$PARALLEL" -I{} "$WORK_DIR/upload.sh" {} > "$WORK_DIR/uploads.json"
+uploaded=$(now_ms)
+ids=$(grep -o '"id":"[^"]*"' "$WORK_DIR/uploads.json" | cut -d'"' -f4)
+echo "Uploads: $(echo "$ids" | wc -l) files in $(( uploaded - start )) ms"
+
+# Miniatures prêtes quand thumbnailSmall est renseigné
+pending=$ids
+deadline=$(( $(date +%s) + 600 ))
+while [ -n "$pending" ] && [ "$(date +%s)" -lt "$deadline" ]; do
+    still=""
+    for id in $pending; do
+        small=$(curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/files/$id" | json_field thumbnailSmall)
+        if [ -z "$small" ] || [ "$small" = "null" ]; then
+            still="$still $id"
+        fi
+    done
+    pending=$(echo "$still" | xargs)
+    [ -n "$pending" ] && sleep 0.5
+done
+done_ms=$(now_ms)
+
+ready=$(( $(echo "$ids" | wc -l) - $(echo "$pending" | wc -w) ))
+total=$(( done_ms - start ))
+echo "Thumbnails: $ready/$(echo "$ids" | wc -l) ready after $total ms" \
+     "($(awk -v n="$ready" -v ms="$total" 'BEGIN { printf "%.2f", n * 1000 / ms }') images/s)"
+
+first=$(echo "$ids" | head -1)
+for size in small medium large; do
+    curl -s -o /dev/null -w "  $size: %{http_code}, %{size_download} bytes, %{time_total}s\n" \
+        -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/files/$first/thumbnails/$size"
+done
+
+if [ -n "${SERVICE_PID:-}" ] && [ -r "/proc/$SERVICE_PID/status" ]; then
+    grep -E 'VmHWM|VmRSS' "/proc/$SERVICE_PID/status"
+fi
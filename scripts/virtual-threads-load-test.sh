@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# ===========================================
+# virtual-threads-load-test.sh - Requêtes simultanées : threads plateforme vs virtuels
+# Usage : TOKEN=<jwt> [BASE_URL=http://localhost:8082] [ENDPOINT=/api/dashboard]
+#         [LEVELS="50 100 200 400"] [REQUESTS=20] scripts/virtual-threads-load-test.sh
+# Lancer deux fois contre project-service démarré sur Java 21 avec le même pool Hikari
+# et le même plafond Tomcat, seul le mode change :
+#   SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE=10 SERVER_TOMCAT_THREADS_MAX=50 VIRTUAL_THREADS_ENABLED=false
+#   SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE=10 SERVER_TOMCAT_THREADS_MAX=50 VIRTUAL_THREADS_ENABLED=true
+# Le endpoint par défaut bloque sur JDBC et sur l'appel à auth-service (annuaire) : en mode
+# plateforme les requêtes au-delà de threads.max attendent un thread Tomcat, en mode
+# virtuel seules celles qui attendent une connexion Hikari patientent.
+# ===========================================
+set -euo pipefail
+
+: "${TOKEN:?TOKEN requis}"
+BASE_URL=${BASE_URL:-http://localhost:8082}
+ENDPOINT=${ENDPOINT:-/api/dashboard}
+LEVELS=${LEVELS:-"50 100 200 400"}
+REQUESTS=${REQUESTS:-20}
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+# Une connexion HTTP par client, REQUESTS requêtes enchaînées (curl -K)
+for i in $(seq 1 "$REQUESTS"); do
+    [ "$i" -gt 1 ] && echo "next"
+    cat <<REQ
+url = "$BASE_URL$ENDPOINT"
+header = "Authorization: Bearer $TOKEN"
+output = "/dev/null"
+write-out = "%{http_code} %{time_total}\\n"
+REQ
+done > "$WORK_DIR/client.curl"
+
+printf "%-8s %-9s %-8s %-10s %-9s %-9s %-9s\n" clients requests errors req/s p50_ms p95_ms max_ms
+for clients in $LEVELS; do
+    start=$(now_ms)
+    seq 1 "$clients" | xargs -P "$clients" -I{} \
+        sh -c "curl -s -K '$WORK_DIR/client.curl' > '$WORK_DIR/client-{}.out' || true"
+    elapsed_ms=$(( $(now_ms) - start ))
+
+    cat "$WORK_DIR"/client-*.out > "$WORK_DIR/all.out"
+    rm -f "$WORK_DIR"/client-*.out
+
+    total=$(wc -l < "$WORK_DIR/all.out")
+    errors=$(grep -vc '^200 ' "$WORK_DIR/all.out" || true)
+    awk '{ print $2 * 1000 }' "$WORK_DIR/all.out" | sort -n > "$WORK_DIR/latencies"
+    percentile() {
+        awk -v p="$1" '{ v[NR] = $1 } END { i = int(NR * p); if (i < 1) i = 1; printf "%.0f", v[i] }' "$WORK_DIR/latencies"
+    }
+    rps=$(awk -v n="$total" -v ms="$elapsed_ms" 'BEGIN { printf "%.0f", n * 1000 / (ms > 0 ? ms : 1) }')
+
+    printf "%-8s %-9s %-8s %-10s %-9s %-9s %-9s\n" \
+        "$clients" "$total" "$errors" "$rps" "$(percentile 0.50)" "$(percentile 0.95)" "$(percentile 1.0)"
+done